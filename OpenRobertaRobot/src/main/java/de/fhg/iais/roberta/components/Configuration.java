@@ -1,5 +1,7 @@
 package de.fhg.iais.roberta.components;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -14,7 +16,9 @@ import de.fhg.iais.roberta.util.dbc.DbcException;
 /**
  * This class represents model of the hardware configuration of a robot (assume we have "left" and "right" motor). It is used in the code generation. <br>
  * <br>
- * The {@link Configuration} contains four sensor ports and four actor ports. Client cannot connect more than that.
+ * The {@link Configuration} contains four sensor ports and four actor ports. Client cannot connect more than that.<br>
+ * <br>
+ * Immutable. Thus a configuration may be shared by many programs, see {@link de.fhg.iais.roberta.robotCommunication.ConfigurationCache}.
  */
 public abstract class Configuration {
     protected final Map<IActorPort, Actor> actors;
@@ -35,8 +39,8 @@ public abstract class Configuration {
      */
     public Configuration(Map<IActorPort, Actor> actors, Map<ISensorPort, Sensor> sensors, double wheelDiameterCM, double trackWidthCM) {
         super();
-        this.actors = actors;
-        this.sensors = sensors;
+        this.actors = actors == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(actors));
+        this.sensors = sensors == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(sensors));
         this.wheelDiameterCM = wheelDiameterCM;
         this.trackWidthCM = trackWidthCM;
     }
@@ -1,5 +1,9 @@
 package de.fhg.iais.roberta.factory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
@@ -11,6 +15,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.inject.AbstractModule;
 
+import de.fhg.iais.roberta.blockly.generated.Block;
 import de.fhg.iais.roberta.components.Category;
 import de.fhg.iais.roberta.inter.mode.action.IDriveDirection;
 import de.fhg.iais.roberta.inter.mode.action.IMotorMoveMode;
@@ -33,12 +38,15 @@ import de.fhg.iais.roberta.mode.general.ListElementOperations;
 import de.fhg.iais.roberta.mode.general.PickColor;
 import de.fhg.iais.roberta.mode.sensor.TimerSensorMode;
 import de.fhg.iais.roberta.syntax.BlockTypeContainer;
+import de.fhg.iais.roberta.syntax.Phrase;
+import de.fhg.iais.roberta.transformer.Jaxb2AstTransformer;
 import de.fhg.iais.roberta.util.Util1;
 import de.fhg.iais.roberta.util.dbc.Assert;
 import de.fhg.iais.roberta.util.dbc.DbcException;
 
 public abstract class AbstractRobotFactory implements IRobotFactory {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractRobotFactory.class);
+    private static final MethodType JAXB_TO_AST_TYPE = MethodType.methodType(Phrase.class, Block.class, Jaxb2AstTransformer.class);
     private Properties robotProperties;
 
     public AbstractRobotFactory() {
@@ -335,8 +343,30 @@ public abstract class AbstractRobotFactory implements IRobotFactory {
                     throw new DbcException("Class not found", e);
                 }
                 String[] blocklyNames = Arrays.copyOfRange(attributes, 2, attributes.length);
-                BlockTypeContainer.add(name, category, astClass, blocklyNames);
+                BlockTypeContainer.add(name, category, astClass, resolveJaxbToAst(astClass), blocklyNames);
             }
         }
     }
+
+    /**
+     * resolve the static factory method <code>jaxbToAst(Block, Jaxb2AstTransformer)</code> of an AST class once, when the block type is registered. Thus
+     * the transformation of a blockly XML program needs no reflection.
+     *
+     * @param astClass the AST class of a block type
+     * @return the method handle of the factory method, typed as <code>(Block,Jaxb2AstTransformer)Phrase</code>; null, if the class has no such method
+     */
+    private static MethodHandle resolveJaxbToAst(Class<?> astClass) {
+        Method jaxbToAst;
+        try {
+            jaxbToAst = astClass.getMethod("jaxbToAst", Block.class, Jaxb2AstTransformer.class);
+        } catch ( NoSuchMethodException e ) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect(jaxbToAst).asType(JAXB_TO_AST_TYPE);
+        } catch ( Exception e ) {
+            LOG.error("jaxbToAst of the AstClass \"{}\" is not accessible", astClass.getName());
+            throw new DbcException("jaxbToAst not accessible", e);
+        }
+    }
 }
@@ -1,26 +1,36 @@
 package de.fhg.iais.roberta.jaxb;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 
 import javax.xml.XMLConstants;
 import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
 
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 import de.fhg.iais.roberta.blockly.generated.BlockSet;
+import de.fhg.iais.roberta.blockly.generated.Instance;
 import de.fhg.iais.roberta.factory.IRobotFactory;
+import de.fhg.iais.roberta.syntax.Phrase;
+import de.fhg.iais.roberta.syntax.blocksequence.Location;
 import de.fhg.iais.roberta.transformer.Jaxb2BlocklyProgramTransformer;
+import de.fhg.iais.roberta.util.dbc.DbcException;
 
 public class JaxbHelper {
     private static final Logger LOG = LoggerFactory.getLogger(JaxbHelper.class);
@@ -40,24 +50,102 @@ public class JaxbHelper {
         }
     }
 
+    // unmarshallers, marshallers and validators are expensive to create, but not thread-safe. Every thread reuses its own instances
+    private static final ThreadLocal<Unmarshaller> validatingUnmarshaller = new ThreadLocal<Unmarshaller>() {
+        @Override
+        protected Unmarshaller initialValue() {
+            Unmarshaller unmarshaller = createUnmarshaller();
+            unmarshaller.setSchema(blockSetSchema);
+            return unmarshaller;
+        }
+    };
+    private static final ThreadLocal<Unmarshaller> unmarshaller = new ThreadLocal<Unmarshaller>() {
+        @Override
+        protected Unmarshaller initialValue() {
+            return createUnmarshaller();
+        }
+    };
+    private static final ThreadLocal<Marshaller> validatingMarshaller = new ThreadLocal<Marshaller>() {
+        @Override
+        protected Marshaller initialValue() {
+            try {
+                Marshaller marshaller = jaxbContext.createMarshaller();
+                marshaller.setSchema(blockSetSchema);
+                return marshaller;
+            } catch ( JAXBException e ) {
+                throw new DbcException("marshaller for blockly XML could not be created", e);
+            }
+        }
+    };
+    private static final ThreadLocal<Marshaller> fragmentMarshaller = new ThreadLocal<Marshaller>() {
+        @Override
+        protected Marshaller initialValue() {
+            try {
+                Marshaller marshaller = jaxbContext.createMarshaller();
+                marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+                return marshaller;
+            } catch ( JAXBException e ) {
+                throw new DbcException("marshaller for blockly XML could not be created", e);
+            }
+        }
+    };
+    private static final ThreadLocal<Validator> validator = new ThreadLocal<Validator>() {
+        @Override
+        protected Validator initialValue() {
+            return blockSetSchema.newValidator();
+        }
+    };
+
     private JaxbHelper() {
         // no objects
     }
 
     /**
-     * return the BlockSet generated by a jaxb unmarshaller for a given blockly XML string.
+     * return the BlockSet generated by a jaxb unmarshaller for a given blockly XML string. The XML is validated against blockly.xsd.
      *
      * @param blocklyXml the blockly XML as String
      * @return the BlockSet instance corresponding to the XML
      * @throws Exception
      */
     public static BlockSet xml2BlockSet(String blocklyXml) throws Exception {
-        Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
-        jaxbUnmarshaller.setSchema(blockSetSchema);
+        return xml2BlockSet(blocklyXml, true);
+    }
+
+    /**
+     * return the BlockSet generated by a jaxb unmarshaller for a given blockly XML string.
+     *
+     * @param blocklyXml the blockly XML as String
+     * @param validate if true, the XML is validated against blockly.xsd. Use false only for XML, that was validated before, e.g. programs loaded from the
+     *        database
+     * @return the BlockSet instance corresponding to the XML
+     * @throws Exception
+     */
+    public static BlockSet xml2BlockSet(String blocklyXml, boolean validate) throws Exception {
+        return xml2BlockSet(new StringReader(blocklyXml), validate);
+    }
+
+    /**
+     * return the BlockSet generated by a jaxb unmarshaller for blockly XML read from a reader. The reader is not closed.
+     *
+     * @param blocklyXml the reader supplying the blockly XML
+     * @param validate if true, the XML is validated against blockly.xsd
+     * @return the BlockSet instance corresponding to the XML
+     * @throws Exception
+     */
+    public static BlockSet xml2BlockSet(Reader blocklyXml, boolean validate) throws Exception {
+        Unmarshaller jaxbUnmarshaller = validate ? validatingUnmarshaller.get() : unmarshaller.get();
+        return (BlockSet) jaxbUnmarshaller.unmarshal(new InputSource(blocklyXml));
+    }
 
-        InputStream stream = new ByteArrayInputStream(blocklyXml.getBytes(StandardCharsets.UTF_8));
-        InputSource src = new InputSource(stream);
-        return (BlockSet) jaxbUnmarshaller.unmarshal(src);
+    /**
+     * validate blockly XML against blockly.xsd without unmarshalling it.
+     *
+     * @param blocklyXml the blockly XML as String
+     * @throws SAXException if the XML is not valid
+     * @throws IOException never thrown for a String
+     */
+    public static void validate(String blocklyXml) throws SAXException, IOException {
+        validator.get().validate(new StreamSource(new StringReader(blocklyXml)));
     }
 
     /**
@@ -68,13 +156,49 @@ public class JaxbHelper {
      * @throws Exception
      */
     public static String blockSet2xml(BlockSet blockSet) throws Exception {
-        Marshaller jaxbmarshaller = jaxbContext.createMarshaller();
-        jaxbmarshaller.setSchema(blockSetSchema);
         StringWriter writer = new StringWriter();
-        jaxbmarshaller.marshal(blockSet, writer);
+        validatingMarshaller.get().marshal(blockSet, writer);
+        return writer.toString();
+    }
+
+    /**
+     * return the XML generated by a jaxb marshaller for a given BlockSet as it is sent to the client: without XML declaration and without validation.
+     *
+     * @param blockSet the BlockSet from which XML has to be generated for
+     * @return the XML as a String
+     * @throws JAXBException
+     */
+    public static String blockSet2xmlFragment(BlockSet blockSet) throws JAXBException {
+        StringWriter writer = new StringWriter();
+        fragmentMarshaller.get().marshal(blockSet, writer);
         return writer.toString();
     }
 
+    /**
+     * return the BlockSet for an AST, e.g. for a program, to which a program check attached errors and warnings.
+     *
+     * @param astProgram the AST of the program
+     * @return the BlockSet corresponding to the AST
+     */
+    public static BlockSet astToBlockSet(ArrayList<ArrayList<Phrase<Void>>> astProgram) {
+        BlockSet blockSet = new BlockSet();
+
+        Instance instance = null;
+        for ( ArrayList<Phrase<Void>> tree : astProgram ) {
+            for ( Phrase<Void> phrase : tree ) {
+                if ( phrase.getKind().hasName("LOCATION") ) {
+                    blockSet.getInstance().add(instance);
+                    instance = new Instance();
+                    instance.setX(((Location<Void>) phrase).getX());
+                    instance.setY(((Location<Void>) phrase).getY());
+                }
+                instance.getBlock().add(phrase.astToBlock());
+            }
+        }
+        blockSet.getInstance().add(instance);
+        return blockSet;
+    }
+
     /**
      * return the BlockSet generated by a jaxb unmarshaller for a file-path to blockly XML.
      *
@@ -83,7 +207,9 @@ public class JaxbHelper {
      * @throws Exception
      */
     public static BlockSet path2BlockSet(String pathToblocklyXml) throws Exception {
-        return xml2BlockSet(IOUtils.toString(JaxbHelper.class.getResourceAsStream(pathToblocklyXml), "UTF-8"));
+        try (Reader reader = new InputStreamReader(JaxbHelper.class.getResourceAsStream(pathToblocklyXml), StandardCharsets.UTF_8)) {
+            return xml2BlockSet(reader, true);
+        }
     }
 
     /**
@@ -101,4 +227,11 @@ public class JaxbHelper {
         return transformer;
     }
 
+    private static Unmarshaller createUnmarshaller() {
+        try {
+            return jaxbContext.createUnmarshaller();
+        } catch ( JAXBException e ) {
+            throw new DbcException("unmarshaller for blockly XML could not be created", e);
+        }
+    }
 }
@@ -0,0 +1,169 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.FileUtils;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.util.dbc.Assert;
+
+/**
+ * stores the last compiled program of every robot, until the robot downloads it. The program is kept in memory, thus compiling and downloading a program
+ * doesn't need any temporary file. Programs larger than the spill threshold are written to a file in the spill directory to bound the heap used.<br>
+ * <br>
+ * The artifact of a token is replaced, when the next program for this token is compiled, and removed, when the robot disconnects. Thread-safe.
+ */
+public class ArtifactStore {
+    private static final Logger LOG = LoggerFactory.getLogger(ArtifactStore.class);
+
+    public static final String SPILL_THRESHOLD_PROPERTY_KEY = "artifact.store.spill.threshold";
+    public static final long DEFAULT_SPILL_THRESHOLD = 1024L * 1024L;
+
+    private final long spillThreshold;
+    private final File spillDir;
+    private final Map<String, Artifact> artifacts = new ConcurrentHashMap<>();
+
+    private final AtomicLong bytesInMemory = new AtomicLong(0);
+    private final AtomicLong stored = new AtomicLong(0);
+    private final AtomicLong spilled = new AtomicLong(0);
+
+    /**
+     * create a store, that keeps all artifacts in memory
+     */
+    public ArtifactStore() {
+        this(Long.MAX_VALUE, null);
+    }
+
+    /**
+     * @param spillThreshold artifacts larger than this number of bytes are written to the spill directory
+     * @param spillDir the directory for large artifacts; if null, all artifacts are kept in memory
+     */
+    public ArtifactStore(long spillThreshold, String spillDir) {
+        Assert.isTrue(spillThreshold >= 0, "the spill threshold of the artifact store must not be negative");
+        this.spillThreshold = spillThreshold;
+        this.spillDir = spillDir == null ? null : new File(spillDir);
+    }
+
+    /**
+     * store the program of a robot. A program stored before for the same token is dropped
+     *
+     * @param token the token of the robot, that will download the program
+     * @param fileName the name of the file, that is sent to the robot
+     * @param content the program. The caller must not modify the array afterwards
+     */
+    public void put(String token, String fileName, byte[] content) {
+        Assert.isTrue(token != null && fileName != null && content != null);
+        Artifact artifact = null;
+        if ( this.spillDir != null && content.length > this.spillThreshold ) {
+            try {
+                FileUtils.forceMkdir(this.spillDir);
+                File spillFile = File.createTempFile("artifact", ".bin", this.spillDir);
+                FileUtils.writeByteArrayToFile(spillFile, content);
+                artifact = new Artifact(fileName, content.length, null, spillFile);
+                this.spilled.incrementAndGet();
+            } catch ( IOException e ) {
+                LOG.error("artifact of token " + token + " could not be spilled to disk. It is kept in memory", e);
+            }
+        }
+        if ( artifact == null ) {
+            artifact = new Artifact(fileName, content.length, content, null);
+            this.bytesInMemory.addAndGet(content.length);
+        }
+        this.stored.incrementAndGet();
+        release(this.artifacts.put(token, artifact));
+    }
+
+    /**
+     * @param token the token of the robot
+     * @return the last program stored for the robot; null, if none is available
+     */
+    public Artifact get(String token) {
+        return this.artifacts.get(token);
+    }
+
+    /**
+     * drop the program of a robot, e.g. because the robot disconnected
+     *
+     * @param token the token of the robot
+     */
+    public void remove(String token) {
+        if ( token != null ) {
+            release(this.artifacts.remove(token));
+        }
+    }
+
+    public int getNumberOfArtifacts() {
+        return this.artifacts.size();
+    }
+
+    /**
+     * @return the sum of the sizes of all artifacts kept in memory
+     */
+    public long getBytesInMemory() {
+        return this.bytesInMemory.get();
+    }
+
+    /**
+     * @return number of stored artifacts, number of artifacts kept now, bytes in memory and number of spilled artifacts
+     */
+    public JSONObject getStatistics() throws JSONException {
+        JSONObject statistics = new JSONObject();
+        statistics.put("artifacts", getNumberOfArtifacts()).put("bytesInMemory", getBytesInMemory());
+        statistics.put("stored", this.stored.get()).put("spilled", this.spilled.get());
+        return statistics;
+    }
+
+    private void release(Artifact artifact) {
+        if ( artifact == null ) {
+            return;
+        }
+        if ( artifact.spillFile == null ) {
+            this.bytesInMemory.addAndGet(-artifact.size);
+        } else if ( !artifact.spillFile.delete() ) {
+            LOG.error("spill file " + artifact.spillFile.getPath() + " could not be deleted");
+        }
+    }
+
+    /**
+     * a program waiting to be downloaded by a robot. Immutable
+     */
+    public static class Artifact {
+        private final String fileName;
+        private final long size;
+        private final byte[] content;
+        private final File spillFile;
+
+        private Artifact(String fileName, long size, byte[] content, File spillFile) {
+            this.fileName = fileName;
+            this.size = size;
+            this.content = content;
+            this.spillFile = spillFile;
+        }
+
+        public String getFileName() {
+            return this.fileName;
+        }
+
+        public long getSize() {
+            return this.size;
+        }
+
+        /**
+         * @return a stream of the content of the program. The caller has to close it
+         * @throws IOException if a spilled program could not be read. This happens, if the program was replaced or removed in the meantime
+         */
+        public InputStream openStream() throws IOException {
+            return this.content != null ? new ByteArrayInputStream(this.content) : new FileInputStream(this.spillFile);
+        }
+    }
+}
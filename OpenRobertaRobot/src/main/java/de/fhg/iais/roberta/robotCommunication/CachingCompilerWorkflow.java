@@ -0,0 +1,71 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.components.Configuration;
+import de.fhg.iais.roberta.factory.IRobotFactory;
+import de.fhg.iais.roberta.transformer.BlocklyProgramAndConfigTransformer;
+import de.fhg.iais.roberta.util.RobertaProperties;
+
+/**
+ * wraps the compiler workflow of a robot plugin with a {@link CompileCache}. If the same program is run again with the same configuration, code generation
+ * and the cross compiler are skipped. The {@link CompilationResult} of the first compilation contains all artifacts and is returned instead.
+ */
+public class CachingCompilerWorkflow implements ICompilerWorkflow {
+    private static final Logger LOG = LoggerFactory.getLogger(CachingCompilerWorkflow.class);
+
+    private final String robotName;
+    private final ICompilerWorkflow delegate;
+    private final CompileCache compileCache;
+    private final String generatorVersion;
+
+    /**
+     * @param robotName name of the robot plugin, part of the cache key
+     * @param delegate the compiler workflow of the robot plugin
+     * @param compileCache the cache to be used
+     */
+    public CachingCompilerWorkflow(String robotName, ICompilerWorkflow delegate, CompileCache compileCache) {
+        this.robotName = robotName;
+        this.delegate = delegate;
+        this.compileCache = compileCache;
+        this.generatorVersion = RobertaProperties.getStringProperty("openRobertaServer.version");
+    }
+
+    @Override
+    public CompilationResult execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
+        String key = CompileCache.key(this.robotName, this.generatorVersion, programName, data.getProgramText(), data.getConfigurationText());
+        CompileCache.Entry cached = this.compileCache.get(key);
+        if ( cached != null ) {
+            LOG.info("program {} for robot {} taken from the compile cache", programName, this.robotName);
+            return cached.getResult();
+        }
+        CompilationResult result = this.delegate.execute(token, programName, data);
+        if ( result.isSuccess() ) {
+            this.compileCache.put(key, new CompileCache.Entry(result));
+        }
+        return result;
+    }
+
+    @Override
+    public String generateSourceCode(IRobotFactory factory, String token, String programName, String programText, String configurationText) {
+        return this.delegate.generateSourceCode(factory, token, programName, programText, configurationText);
+    }
+
+    @Override
+    public String generateSourceCode(String programName, BlocklyProgramAndConfigTransformer data) {
+        return this.delegate.generateSourceCode(programName, data);
+    }
+
+    @Override
+    public Configuration generateConfiguration(IRobotFactory factory, String blocklyXml) throws Exception {
+        return this.delegate.generateConfiguration(factory, blocklyXml);
+    }
+
+    /**
+     * @return the wrapped compiler workflow
+     */
+    public ICompilerWorkflow getDelegate() {
+        return this.delegate;
+    }
+}
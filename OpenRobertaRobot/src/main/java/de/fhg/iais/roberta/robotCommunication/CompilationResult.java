@@ -0,0 +1,94 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+import de.fhg.iais.roberta.util.Key;
+import de.fhg.iais.roberta.util.dbc.Assert;
+
+/**
+ * the result of one execution of a {@link ICompilerWorkflow}. Every call of {@link ICompilerWorkflow#execute} gets its own result. Thus compiler workflows
+ * don't keep state between calls and concurrent runs of the same robot plugin can't see each other's results. Immutable.
+ */
+public class CompilationResult {
+    private final Key messageKey;
+    private final String sourceCode;
+    private final String compiledCode;
+    private final String programFileName;
+    private final byte[] program;
+
+    private CompilationResult(Key messageKey, String sourceCode, String compiledCode, String programFileName, byte[] program) {
+        Assert.notNull(messageKey);
+        this.messageKey = messageKey;
+        this.sourceCode = sourceCode;
+        this.compiledCode = compiledCode;
+        this.programFileName = programFileName;
+        this.program = program;
+    }
+
+    /**
+     * @param sourceCode the generated program
+     * @param compiledCode the compiled program, if it is sent to the client (e.g. the hex file for mbed robots); null, if the robot gets the compiled program
+     *        by a /download request
+     * @return the result of a successful compilation
+     */
+    public static CompilationResult success(String sourceCode, String compiledCode) {
+        return new CompilationResult(Key.COMPILERWORKFLOW_SUCCESS, sourceCode, compiledCode, null, null);
+    }
+
+    /**
+     * @param sourceCode the generated program
+     * @param programFileName the name of the file, under which the robot gets the program by a /download request, e.g. <code>NEPOprog.jar</code>
+     * @param program the content of this file. The caller must not modify the array afterwards
+     * @return the result of a successful compilation for a robot, that downloads its program
+     */
+    public static CompilationResult success(String sourceCode, String programFileName, byte[] program) {
+        Assert.isTrue(programFileName != null && program != null);
+        return new CompilationResult(Key.COMPILERWORKFLOW_SUCCESS, sourceCode, null, programFileName, program);
+    }
+
+    /**
+     * @param messageKey the reason for the failure, never null
+     * @param sourceCode the generated program, if the failure happened after code generation; null otherwise
+     * @return the result of a failed compilation
+     */
+    public static CompilationResult error(Key messageKey, String sourceCode) {
+        return new CompilationResult(messageKey, sourceCode, null, null, null);
+    }
+
+    /**
+     * @return {@link Key#COMPILERWORKFLOW_SUCCESS} or a message key describing the failure. Never null
+     */
+    public Key getMessageKey() {
+        return this.messageKey;
+    }
+
+    public boolean isSuccess() {
+        return this.messageKey == Key.COMPILERWORKFLOW_SUCCESS;
+    }
+
+    /**
+     * @return the generated program; may be null, if the compilation failed
+     */
+    public String getSourceCode() {
+        return this.sourceCode;
+    }
+
+    /**
+     * @return the compiled program, if it is sent to the client (e.g. the hex file for mbed robots); null otherwise
+     */
+    public String getCompiledCode() {
+        return this.compiledCode;
+    }
+
+    /**
+     * @return the name of the file, that the robot downloads; null, if the robot doesn't download its program
+     */
+    public String getProgramFileName() {
+        return this.programFileName;
+    }
+
+    /**
+     * @return the program, that the robot downloads (jar, rxe, python source, ...); null, if the robot doesn't download its program. Must not be modified
+     */
+    public byte[] getProgram() {
+        return this.program;
+    }
+}
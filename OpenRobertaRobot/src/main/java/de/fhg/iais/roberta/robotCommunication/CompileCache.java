@@ -0,0 +1,188 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.codec.binary.Hex;
+
+import de.fhg.iais.roberta.util.RobertaProperties;
+import de.fhg.iais.roberta.util.dbc.Assert;
+import de.fhg.iais.roberta.util.dbc.DbcException;
+
+/**
+ * content-addressed cache of compilation results. The key is a hash of everything, that determines the result of a compilation (robot plugin, program XML,
+ * configuration XML, program name and server version). The value is the {@link CompilationResult}, that
+ * contains all artifacts (generated source, jar, rxe, hex, ...).<br>
+ * <br>
+ * The cache is bounded by the sum of the sizes of all artifacts. If it is exceeded, the least recently used entries are evicted. Thread-safe.
+ */
+public class CompileCache {
+    public static final String MAX_BYTES_PROPERTY_KEY = "compiler.cache.maxbytes";
+    private static final long DEFAULT_MAX_BYTES = 64L * 1024L * 1024L;
+
+    private static CompileCache sharedCache = null;
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // access order == LRU order
+    private long bytes = 0; // guarded by this
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong evictions = new AtomicLong(0);
+
+    /**
+     * @param maxBytes the maximal sum of the sizes of all cached artifacts. If 0, nothing is cached
+     */
+    public CompileCache(long maxBytes) {
+        Assert.isTrue(maxBytes >= 0, "the size of the compile cache must not be negative");
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return the compile cache shared by all robot plugins. Its size is taken from the property <code>compiler.cache.maxbytes</code>
+     */
+    public static synchronized CompileCache getSharedCache() {
+        if ( sharedCache == null ) {
+            String maxBytes = RobertaProperties.getStringProperty(MAX_BYTES_PROPERTY_KEY);
+            sharedCache = new CompileCache(maxBytes == null ? DEFAULT_MAX_BYTES : Long.parseLong(maxBytes.trim()));
+        }
+        return sharedCache;
+    }
+
+    /**
+     * compute the key of a compilation
+     *
+     * @param parts everything, that determines the result of the compilation. null is allowed
+     * @return the SHA-256 of the parts as hex string
+     */
+    public static String key(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for ( String part : parts ) {
+                byte[] bytes = String.valueOf(part).getBytes(StandardCharsets.UTF_8);
+                digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII)); // length prefix: ("ab","c") != ("a","bc")
+                digest.update((byte) ':');
+                digest.update(bytes);
+            }
+            return Hex.encodeHexString(digest.digest());
+        } catch ( NoSuchAlgorithmException e ) {
+            throw new DbcException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @param key of the compilation
+     * @return the cached result of the compilation; null, if not found
+     */
+    public synchronized Entry get(String key) {
+        Entry entry = this.entries.get(key);
+        if ( entry == null ) {
+            this.misses.incrementAndGet();
+        } else {
+            this.hits.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * store the result of a successful compilation. Evicts least recently used entries, if the cache gets too large. An entry larger than the cache is not
+     * stored.
+     *
+     * @param key of the compilation
+     * @param entry result of the compilation
+     */
+    public synchronized void put(String key, Entry entry) {
+        if ( entry.getBytes() > this.maxBytes ) {
+            return;
+        }
+        Entry oldEntry = this.entries.put(key, entry);
+        if ( oldEntry != null ) {
+            this.bytes -= oldEntry.getBytes();
+        }
+        this.bytes += entry.getBytes();
+        Iterator<Entry> lruFirst = this.entries.values().iterator();
+        while ( this.bytes > this.maxBytes ) {
+            Entry evicted = lruFirst.next();
+            lruFirst.remove();
+            this.bytes -= evicted.getBytes();
+            this.evictions.incrementAndGet();
+        }
+    }
+
+    public synchronized void clear() {
+        this.entries.clear();
+        this.bytes = 0;
+    }
+
+    public synchronized int getNumberOfEntries() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return the sum of the sizes of all cached artifacts
+     */
+    public synchronized long getBytes() {
+        return this.bytes;
+    }
+
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    /**
+     * @return hits / (hits + misses); 0, if the cache was never accessed
+     */
+    public double getHitRatio() {
+        long hits = this.hits.get();
+        long accesses = hits + this.misses.get();
+        return accesses == 0 ? 0.0 : (double) hits / accesses;
+    }
+
+    /**
+     * the immutable result of a successful compilation
+     */
+    public static class Entry {
+        private final CompilationResult result;
+        private final long bytes;
+
+        /**
+         * @param result the result of the successful compilation. It contains all artifacts (generated source, compiled program)
+         */
+        public Entry(CompilationResult result) {
+            this.result = result;
+            long bytes = 2L * (length(result.getSourceCode()) + length(result.getCompiledCode()));
+            if ( result.getProgram() != null ) {
+                bytes += result.getProgram().length;
+            }
+            this.bytes = bytes;
+        }
+
+        public CompilationResult getResult() {
+            return this.result;
+        }
+
+        public long getBytes() {
+            return this.bytes;
+        }
+
+        private static long length(String s) {
+            return s == null ? 0 : s.length();
+        }
+    }
+}
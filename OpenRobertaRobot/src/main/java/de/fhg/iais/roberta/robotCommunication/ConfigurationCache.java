@@ -0,0 +1,148 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.fhg.iais.roberta.components.Configuration;
+import de.fhg.iais.roberta.factory.IRobotFactory;
+import de.fhg.iais.roberta.util.RobertaProperties;
+import de.fhg.iais.roberta.util.dbc.Assert;
+
+/**
+ * interning cache of brick configurations. Most programs are run with the default configuration of the robot or with one of a few standard
+ * configurations, thus the same configuration XML is transformed again and again. The key is a hash of the robot plugin and of the configuration XML, in
+ * which whitespace between tags is ignored. The value is the {@link Configuration}, that is immutable and therefore shared by all programs.<br>
+ * <br>
+ * The cache is bounded by the number of entries. If it is exceeded, the least recently used entries are evicted. Thread-safe.
+ */
+public class ConfigurationCache {
+    public static final String MAX_ENTRIES_PROPERTY_KEY = "configuration.cache.maxentries";
+    private static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private static ConfigurationCache sharedCache = null;
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Configuration> entries = new LinkedHashMap<>(16, 0.75f, true); // access order == LRU order
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong evictions = new AtomicLong(0);
+
+    /**
+     * @param maxEntries the maximal number of cached configurations. If 0, nothing is cached
+     */
+    public ConfigurationCache(int maxEntries) {
+        Assert.isTrue(maxEntries >= 0, "the size of the configuration cache must not be negative");
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return the configuration cache shared by all robot plugins. Its size is taken from the property <code>configuration.cache.maxentries</code>
+     */
+    public static synchronized ConfigurationCache getSharedCache() {
+        if ( sharedCache == null ) {
+            String maxEntries = RobertaProperties.getStringProperty(MAX_ENTRIES_PROPERTY_KEY);
+            sharedCache = new ConfigurationCache(maxEntries == null ? DEFAULT_MAX_ENTRIES : Integer.parseInt(maxEntries.trim()));
+        }
+        return sharedCache;
+    }
+
+    /**
+     * get the configuration for a configuration XML. If it is not cached, it is generated by the compiler workflow of the robot plugin and stored.
+     *
+     * @param factory the factory of the robot plugin
+     * @param configurationText the configuration as XML
+     * @return the configuration; never null
+     * @throws Exception if the configuration cannot be generated. Failures are not cached
+     */
+    public Configuration getConfiguration(IRobotFactory factory, String configurationText) throws Exception {
+        if ( configurationText == null ) {
+            return factory.getRobotCompilerWorkflow().generateConfiguration(factory, configurationText);
+        }
+        String key = key(factory, configurationText);
+        Configuration configuration = get(key);
+        if ( configuration == null ) {
+            configuration = factory.getRobotCompilerWorkflow().generateConfiguration(factory, configurationText);
+            put(key, configuration);
+        }
+        return configuration;
+    }
+
+    /**
+     * compute the key of a configuration. Whitespace between tags does not change the configuration and is ignored
+     *
+     * @param factory the factory of the robot plugin
+     * @param configurationText the configuration as XML
+     * @return the SHA-256 of the plugin and the normalized configuration as hex string
+     */
+    public static String key(IRobotFactory factory, String configurationText) {
+        return CompileCache.key(factory.getClass().getName(), configurationText.replaceAll(">\\s+<", "><").trim());
+    }
+
+    /**
+     * @param key of the configuration
+     * @return the cached configuration; null, if not found
+     */
+    public synchronized Configuration get(String key) {
+        Configuration configuration = this.entries.get(key);
+        if ( configuration == null ) {
+            this.misses.incrementAndGet();
+        } else {
+            this.hits.incrementAndGet();
+        }
+        return configuration;
+    }
+
+    /**
+     * store a configuration. Evicts the least recently used entry, if the cache gets too large.
+     *
+     * @param key of the configuration
+     * @param configuration the generated configuration
+     */
+    public synchronized void put(String key, Configuration configuration) {
+        if ( this.maxEntries == 0 || configuration == null ) {
+            return;
+        }
+        this.entries.put(key, configuration);
+        Iterator<Configuration> lruFirst = this.entries.values().iterator();
+        while ( this.entries.size() > this.maxEntries ) {
+            lruFirst.next();
+            lruFirst.remove();
+            this.evictions.incrementAndGet();
+        }
+    }
+
+    public synchronized void clear() {
+        this.entries.clear();
+    }
+
+    public synchronized int getNumberOfEntries() {
+        return this.entries.size();
+    }
+
+    public int getMaxEntries() {
+        return this.maxEntries;
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    /**
+     * @return hits / (hits + misses); 0, if the cache was never accessed
+     */
+    public double getHitRatio() {
+        long hits = this.hits.get();
+        long accesses = hits + this.misses.get();
+        return accesses == 0 ? 0.0 : (double) hits / accesses;
+    }
+}
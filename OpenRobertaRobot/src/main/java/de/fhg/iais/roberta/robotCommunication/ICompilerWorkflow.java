@@ -3,7 +3,6 @@ package de.fhg.iais.roberta.robotCommunication;
 import de.fhg.iais.roberta.components.Configuration;
 import de.fhg.iais.roberta.factory.IRobotFactory;
 import de.fhg.iais.roberta.transformer.BlocklyProgramAndConfigTransformer;
-import de.fhg.iais.roberta.util.Key;
 
 public interface ICompilerWorkflow {
 
@@ -21,9 +20,9 @@ public interface ICompilerWorkflow {
      * @param programName name of the program
      * @param programText source of the program
      * @param configurationText the hardware configuration source that describes characteristic data of the robot
-     * @return a message key in case of an error; null otherwise
+     * @return the result of this compilation, never null. The result belongs to this call only, thus the workflow may be used concurrently
      */
-    Key execute(String token, String programName, BlocklyProgramAndConfigTransformer data);
+    CompilationResult execute(String token, String programName, BlocklyProgramAndConfigTransformer data);
 
     /**
      * - take the program given<br>
@@ -41,6 +40,16 @@ public interface ICompilerWorkflow {
      */
     String generateSourceCode(IRobotFactory iRobotFactory, String token, String programName, String programText, String configurationText);
 
+    /**
+     * generate source code in the right language for the robot from a program, whose XML was already parsed and transformed into an AST. Use this, if the
+     * caller needs the AST anyway (e.g. for the program checks), to avoid parsing the program and the configuration a second time.
+     *
+     * @param programName name of the program
+     * @param data the AST of the program and the brick configuration; must not contain an error message
+     * @return the generated source code
+     */
+    String generateSourceCode(String programName, BlocklyProgramAndConfigTransformer data);
+
     /**
      * return the brick configuration for given XML configuration text.
      *
@@ -50,6 +59,4 @@ public interface ICompilerWorkflow {
      */
     Configuration generateConfiguration(IRobotFactory factory, String blocklyXml) throws Exception;
 
-    String getCompiledCode();
-
 }
\ No newline at end of file
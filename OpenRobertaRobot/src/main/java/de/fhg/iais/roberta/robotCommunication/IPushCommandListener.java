@@ -0,0 +1,14 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+/**
+ * callback for asynchronous push requests of a robot. See {@link RobotCommunicationData#robotHasSentAnAsyncPushRequest(IPushCommandListener)}
+ */
+public interface IPushCommandListener {
+    /**
+     * the push request of the robot terminates. Called exactly once. Called while the monitor of the {@link RobotCommunicationData} object is held, thus the
+     * implementation must not block.
+     *
+     * @param command the command to be sent to the robot. May be null, if the push was aborted (e.g. because the robot was disconnected)
+     */
+    void pushCommandAvailable(String command);
+}
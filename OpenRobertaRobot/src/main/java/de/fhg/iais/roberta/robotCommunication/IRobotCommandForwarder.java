@@ -0,0 +1,38 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+import org.codehaus.jettison.json.JSONObject;
+
+import de.fhg.iais.roberta.util.Key;
+
+/**
+ * forwards the commands for a robot to the node of the cluster, that owns the robot (see {@link IRobotRegistry}). The owner executes the command as if it was
+ * issued by one of its own users. Failures (e.g. the owner is not reachable) are logged and reported as if the robot was not connected.
+ */
+public interface IRobotCommandForwarder {
+    /**
+     * @see RobotCommunicator#aTokenAgreementWasSent(String, String)
+     */
+    Key forwardTokenAgreement(String node, String token, String robot);
+
+    /**
+     * the program is sent together with the command, because the robot downloads it from its owner
+     *
+     * @see RobotCommunicator#postRunCommand(String, String)
+     */
+    boolean forwardRunCommand(String node, String token, String programName, String programFileName, byte[] program);
+
+    /**
+     * @see RobotCommunicator#firmwareUpdateRequested(String)
+     */
+    boolean forwardFirmwareUpdate(String node, String token);
+
+    /**
+     * @see RobotCommunicator#disconnect(String)
+     */
+    void forwardDisconnect(String node, String token);
+
+    /**
+     * @return the information about the state of the robot, that the owner adds to the responses for its own users; null, if the robot is unknown
+     */
+    JSONObject forwardRobotInfo(String node, String token);
+}
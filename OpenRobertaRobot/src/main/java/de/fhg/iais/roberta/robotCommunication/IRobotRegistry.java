@@ -0,0 +1,30 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+/**
+ * the registry of a cluster of servers, that knows for every robot (identified by its token) the node, that owns the robot. A robot is owned by the node, that
+ * got its registration and receives its push requests. The other nodes forward the commands for this robot to the owner (see
+ * {@link IRobotCommandForwarder}).<br>
+ * <br>
+ * Implementations must be thread-safe. All nodes of a cluster must see the same registry.
+ */
+public interface IRobotRegistry {
+    /**
+     * @param token the token of the robot
+     * @param node the node, that owns the robot from now on
+     */
+    void register(String token, String node);
+
+    /**
+     * remove the robot from the registry, if it is owned by the node. A registration of another node is kept
+     *
+     * @param token the token of the robot
+     * @param node the node, that owned the robot
+     */
+    void unregister(String token, String node);
+
+    /**
+     * @param token the token of the robot
+     * @return the node, that owns the robot; null, if the robot is not registered
+     */
+    String getOwner(String token);
+}
@@ -0,0 +1,31 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * a robot registry, that is kept in memory. It can be shared by the nodes of a cluster, that run in one JVM (used for tests). Nodes in different JVMs need a
+ * registry backed by a store, that all nodes can access. Thread-safe.
+ */
+public class InMemoryRobotRegistry implements IRobotRegistry {
+    private final Map<String, String> owners = new ConcurrentHashMap<>();
+
+    @Override
+    public void register(String token, String node) {
+        this.owners.put(token, node);
+    }
+
+    @Override
+    public void unregister(String token, String node) {
+        this.owners.remove(token, node);
+    }
+
+    @Override
+    public String getOwner(String token) {
+        return this.owners.get(token);
+    }
+
+    public int getNumberOfRobots() {
+        return this.owners.size();
+    }
+}
@@ -0,0 +1,265 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.util.dbc.Assert;
+
+/**
+ * a hashed timing wheel for the timeouts of push requests of robots. Scheduling and cancelling a timeout is O(1). The timer thread only touches the bucket
+ * of the actual tick, thus idle robots cost nothing and tens of thousands of pending push requests are cheap.<br>
+ * <br>
+ * Only the timer thread modifies the wheel. New and cancelled timeouts are handed over by lock-free queues and processed at the next tick. Thus the precision
+ * of a timeout is the length of a tick. Thread-safe.
+ */
+public class PushTimer {
+    private static final Logger LOG = LoggerFactory.getLogger(PushTimer.class);
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final long startTime;
+    private long tick = 0; // only accessed by the timer thread
+
+    private final AtomicInteger pendingTimeouts = new AtomicInteger(0);
+    private final AtomicLong expiredTimeouts = new AtomicLong(0);
+    private final AtomicLong sumOfLatenessMsec = new AtomicLong(0);
+    private final AtomicLong maxLatenessMsec = new AtomicLong(0);
+
+    /**
+     * create the timer and start the timer thread
+     *
+     * @param name of the timer thread
+     * @param tickMsec the length of a tick. This is the precision of the timer
+     * @param ticksPerWheel number of buckets of the wheel. Rounded up to a power of 2
+     */
+    public PushTimer(String name, long tickMsec, int ticksPerWheel) {
+        Assert.isTrue(tickMsec > 0 && ticksPerWheel > 0, "invalid timer parameter");
+        int wheelSize = 1;
+        while ( wheelSize < ticksPerWheel ) {
+            wheelSize <<= 1;
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMsec);
+        this.wheel = new Bucket[wheelSize];
+        for ( int i = 0; i < wheelSize; i++ ) {
+            this.wheel[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+        this.startTime = System.nanoTime();
+        Runnable timerRunner = new Runnable() {
+            @Override
+            public void run() {
+                runTimer();
+            }
+        };
+        Thread timerThread = new Thread(null, timerRunner, name);
+        timerThread.setDaemon(true);
+        timerThread.start();
+    }
+
+    /**
+     * schedule a task. The task is executed by the timer thread and must not block.
+     *
+     * @param task to be executed after the delay, if the timeout is not cancelled before
+     * @param delayMsec the delay
+     * @return the timeout, which may be cancelled
+     */
+    public Timeout schedule(Runnable task, long delayMsec) {
+        Timeout timeout = new Timeout(this, task, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMsec));
+        this.pendingTimeouts.incrementAndGet();
+        this.newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return the number of scheduled timeouts, that are neither expired nor cancelled
+     */
+    public int getPendingTimeouts() {
+        return this.pendingTimeouts.get();
+    }
+
+    /**
+     * @return the number of expired timeouts since the timer was started
+     */
+    public long getExpiredTimeouts() {
+        return this.expiredTimeouts.get();
+    }
+
+    /**
+     * @return the average difference between the deadline of a timeout and the time its task was executed. 0, if no timeout has expired yet
+     */
+    public long getAverageLatenessMsec() {
+        long expired = this.expiredTimeouts.get();
+        return expired == 0 ? 0 : this.sumOfLatenessMsec.get() / expired;
+    }
+
+    /**
+     * @return the maximal difference between the deadline of a timeout and the time its task was executed
+     */
+    public long getMaxLatenessMsec() {
+        return this.maxLatenessMsec.get();
+    }
+
+    private void runTimer() {
+        while ( true ) {
+            long deadlineOfTick = this.startTime + (this.tick + 1) * this.tickNanos;
+            long sleepNanos = deadlineOfTick - System.nanoTime();
+            if ( sleepNanos > 0 ) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch ( InterruptedException e ) {
+                    // OK
+                }
+                continue;
+            }
+            try {
+                processCancelledTimeouts();
+                transferNewTimeoutsToWheel();
+                expireTimeouts(this.wheel[(int) (this.tick & this.mask)]);
+            } catch ( Exception e ) {
+                LOG.error("push timer tick failed. The timer continues", e);
+            }
+            this.tick++;
+        }
+    }
+
+    private void processCancelledTimeouts() {
+        for ( Timeout timeout = this.cancelledTimeouts.poll(); timeout != null; timeout = this.cancelledTimeouts.poll() ) {
+            if ( timeout.bucket != null ) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferNewTimeoutsToWheel() {
+        for ( Timeout timeout = this.newTimeouts.poll(); timeout != null; timeout = this.newTimeouts.poll() ) {
+            if ( timeout.state.get() != Timeout.ST_SCHEDULED ) {
+                continue;
+            }
+            long ticksUntilDeadline = (timeout.deadline - this.startTime + this.tickNanos - 1) / this.tickNanos;
+            long deadlineTick = Math.max(ticksUntilDeadline, this.tick); // timeouts, that should already have expired, expire now
+            timeout.remainingRounds = (deadlineTick - this.tick) / this.wheel.length;
+            this.wheel[(int) (deadlineTick & this.mask)].add(timeout);
+        }
+    }
+
+    private void expireTimeouts(Bucket bucket) {
+        Timeout timeout = bucket.head;
+        while ( timeout != null ) {
+            Timeout next = timeout.next;
+            if ( timeout.remainingRounds <= 0 ) {
+                bucket.remove(timeout);
+                if ( timeout.state.compareAndSet(Timeout.ST_SCHEDULED, Timeout.ST_EXPIRED) ) {
+                    expire(timeout);
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    private void expire(Timeout timeout) {
+        this.pendingTimeouts.decrementAndGet();
+        long latenessMsec = Math.max(0, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - timeout.deadline));
+        this.expiredTimeouts.incrementAndGet();
+        this.sumOfLatenessMsec.addAndGet(latenessMsec);
+        if ( latenessMsec > this.maxLatenessMsec.get() ) {
+            this.maxLatenessMsec.set(latenessMsec); // only the timer thread writes
+        }
+        try {
+            timeout.task.run();
+        } catch ( Exception e ) {
+            LOG.error("task of an expired push timeout failed", e);
+        }
+    }
+
+    /**
+     * a scheduled task. Member of a doubly linked list, thus removing it from its bucket is O(1)
+     */
+    public static class Timeout {
+        private static final int ST_SCHEDULED = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final PushTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_SCHEDULED);
+
+        // the following fields are only accessed by the timer thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(PushTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * cancel this timeout. The task will not be executed. O(1)
+         *
+         * @return true, if the timeout was cancelled; false, if it had already been cancelled or expired
+         */
+        public boolean cancel() {
+            if ( !this.state.compareAndSet(ST_SCHEDULED, ST_CANCELLED) ) {
+                return false;
+            }
+            this.timer.pendingTimeouts.decrementAndGet();
+            this.timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isExpired() {
+            return this.state.get() == ST_EXPIRED;
+        }
+    }
+
+    /**
+     * doubly linked list of timeouts. Only accessed by the timer thread
+     */
+    private static class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if ( this.head == null ) {
+                this.head = this.tail = timeout;
+            } else {
+                this.tail.next = timeout;
+                timeout.prev = this.tail;
+                this.tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if ( timeout.prev != null ) {
+                timeout.prev.next = timeout.next;
+            }
+            if ( timeout.next != null ) {
+                timeout.next.prev = timeout.prev;
+            }
+            if ( timeout == this.head ) {
+                this.head = timeout.next;
+            }
+            if ( timeout == this.tail ) {
+                this.tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
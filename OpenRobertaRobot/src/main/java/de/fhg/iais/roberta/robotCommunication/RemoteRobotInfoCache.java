@@ -0,0 +1,102 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * caches the information about the state of robots owned by other nodes of the cluster. This information is requested from the owner by HTTP, thus the
+ * REST requests of the browsers must not wait for it. The cache returns the information fetched last and, if it is older than the maximal age, starts the
+ * next request in a small pool of threads. At most one request per token is running. Thread-safe.
+ */
+public class RemoteRobotInfoCache {
+    private static final Logger LOG = LoggerFactory.getLogger(RemoteRobotInfoCache.class);
+    private static final int FETCH_THREADS = 4;
+
+    private final RobotCommunicator robotCommunicator;
+    private final long maxAgeMsec;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ExecutorService fetcher;
+
+    /**
+     * @param robotCommunicator to request the information from the other nodes
+     * @param maxAgeMsec the age, after which the information is requested again
+     */
+    public RemoteRobotInfoCache(RobotCommunicator robotCommunicator, long maxAgeMsec) {
+        this.robotCommunicator = robotCommunicator;
+        this.maxAgeMsec = maxAgeMsec;
+        this.fetcher = Executors.newFixedThreadPool(FETCH_THREADS, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "RemoteRobotInfoCache");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * get the information fetched last, never waits for the other node. If the information is too old, the next request is started
+     *
+     * @param token identifying the robot
+     * @return the information fetched last; null, if nothing was fetched yet or the robot is not owned by another node
+     */
+    public JSONObject get(String token) {
+        Entry entry = this.entries.get(token);
+        if ( entry == null ) {
+            Entry created = new Entry();
+            entry = this.entries.putIfAbsent(token, created);
+            if ( entry == null ) {
+                entry = created;
+            }
+        }
+        if ( System.currentTimeMillis() - entry.fetchedAt > this.maxAgeMsec && entry.fetching.compareAndSet(false, true) ) {
+            fetch(token, entry);
+        }
+        return entry.robotInfo;
+    }
+
+    public void shutdown() {
+        this.fetcher.shutdownNow();
+    }
+
+    private void fetch(final String token, final Entry entry) {
+        try {
+            this.fetcher.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        JSONObject robotInfo = RemoteRobotInfoCache.this.robotCommunicator.getRemoteRobotInfo(token);
+                        entry.robotInfo = robotInfo;
+                        entry.fetchedAt = System.currentTimeMillis();
+                        if ( robotInfo == null ) {
+                            // the robot is not owned by another node (anymore). Don't keep entries of tokens, that may never be requested again
+                            RemoteRobotInfoCache.this.entries.remove(token, entry);
+                        }
+                    } catch ( Exception e ) {
+                        LOG.error("the robot info for token " + token + " could not be fetched from the other nodes", e);
+                        RemoteRobotInfoCache.this.entries.remove(token, entry);
+                    } finally {
+                        entry.fetching.set(false);
+                    }
+                }
+            });
+        } catch ( RejectedExecutionException e ) {
+            entry.fetching.set(false);
+        }
+    }
+
+    private static class Entry {
+        volatile JSONObject robotInfo = null;
+        volatile long fetchedAt = 0;
+        final AtomicBoolean fetching = new AtomicBoolean(false);
+    }
+}
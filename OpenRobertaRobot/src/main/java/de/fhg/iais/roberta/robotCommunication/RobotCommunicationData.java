@@ -1,5 +1,8 @@
 package de.fhg.iais.roberta.robotCommunication;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,14 +16,19 @@ import de.fhg.iais.roberta.util.Clock;
  * user has issued a command in the browser (in most cases a run) or a timer expires . This unfreezes the thread and the responses tells the robot what to do.
  * E.g. if a run command has been issued, the already generated jar is requested to be downloaded to the robot.<br>
  * <br>
- * TODO: This implementation is resource intensive as it freezes an expensive resource, namely a thread. It should be replaced later by async technology.
+ * Freezing a thread is resource intensive. Thus a push request may be issued asynchronously, too: the caller supplies a {@link IPushCommandListener}, the
+ * method returns at once and the listener is called when the server issues a push command, the timer expires or the push is aborted.<br>
+ * <br>
+ * Commands for the robot (e.g. "download" after the run button was pressed) are posted to a mailbox with one slot. If the robot is waiting in a push request,
+ * the command is delivered at once. If the robot is between two push requests, the command is delivered, when the next push request arrives. The poster
+ * gets a future, that is completed with true, when the robot picks up the command, and with false, when the command is withdrawn, replaced by a newer
+ * one or the robot is disconnected. Nobody sleeps or waits while holding the monitor of this object.
  *
  * @author rbudde
  */
 public class RobotCommunicationData {
     private static final Logger LOG = LoggerFactory.getLogger(RobotCommunicationData.class);
     private static final int TIMEOUT_UNTIL_TOKEN_EXPIRES_WHEN_USER_DOESNT_APPROVE = 300000;
-    private static final int WAIT_FOR_A_ROBOT_PUSH_COMMAND = 1000;
     private static final int TIMEOUT_UNTIL_ASSUME_DISCONNECTED_IF_ROBOT_DOESNT_PUSH = 10000;
 
     private final String token;
@@ -31,6 +39,8 @@ public class RobotCommunicationData {
     private final String firmwarename;
     private final String firmwareversion;
     private JSONObject sensorvalues;
+    private String sensorvaluesText; // a frame, that is converted into the sensor values, when they are requested
+    private SensorTimeSeries sensorLog;
     private int nepoExitValue;
 
     private Clock timerStartedByLastRequest;
@@ -41,6 +51,8 @@ public class RobotCommunicationData {
 
     private String command;
     private String programName;
+    private IPushCommandListener pushCommandListener;
+    private PendingCommand pendingCommand;
 
     public RobotCommunicationData(
         String token,
@@ -149,6 +161,7 @@ public class RobotCommunicationData {
             }
             this.state = State.ROBOT_WAITING_FOR_PUSH_FROM_SERVER;
             this.timerStartedByLastRequest = Clock.start();
+            deliverPendingCommand();
             while ( this.state == State.ROBOT_WAITING_FOR_PUSH_FROM_SERVER ) {
                 try {
                     wait();
@@ -160,6 +173,41 @@ public class RobotCommunicationData {
         LOG.debug("ROBOT push request terminated.");
     }
 
+    /**
+     * method called from a thread, which is triggered by a ROBOT push command request. Contrary to {@link #robotHasSentAPushRequest()} this method does NOT
+     * block. The listener is called when either the server issues a push command, a timer thread triggers a timeout or the push is aborted. The listener is
+     * called while the monitor of this object is held. It must not block.
+     *
+     * @param listener to be called exactly once with the command for the robot; never null
+     */
+    public synchronized void robotHasSentAnAsyncPushRequest(IPushCommandListener listener) {
+        if ( this.state == State.WAIT_FOR_TOKENAPPROVAL_FROM_USER ) {
+            LOG.error(
+                "Robot has sent an async push request, but the server waits for a token approval by an user. The request ist ignored. "
+                    + "Waiting started "
+                    + this.timerStartedByLastRequest.elapsedSecFormatted()
+                    + " ago. ");
+            listener.pushCommandAvailable(this.command);
+            return;
+        }
+        if ( this.state != State.WAIT_FOR_PUSH_CMD_FROM_ROBOT && this.state != State.ROBOT_IS_BUSY ) {
+            LOG.error(
+                "Robot has sent an async push request not awaited for. Programming error: Logic or Time race? The request is ACCEPTED. State is "
+                    + this.state
+                    + ". The state setting request was scheduled "
+                    + this.timerStartedByLastRequest.elapsedSecFormatted()
+                    + " ago. ");
+        }
+        if ( this.pushCommandListener != null ) {
+            // the pending listener belongs to an outdated request of the same robot
+            this.pushCommandListener.pushCommandAvailable("repeat");
+        }
+        this.state = State.ROBOT_WAITING_FOR_PUSH_FROM_SERVER;
+        this.timerStartedByLastRequest = Clock.start();
+        this.pushCommandListener = listener;
+        deliverPendingCommand();
+    }
+
     /**
      * this object is outdated. This method is called to abort an eventually pending request from a robot should be aborted. The notifyAll is for that. This
      * object will be removed from the map holding all valid robot-server connection. The state is set to GARBAGE to express that.
@@ -167,6 +215,11 @@ public class RobotCommunicationData {
     public synchronized void abortPush() {
         this.state = State.GARBAGE;
         notifyAll();
+        releasePushCommandListener();
+        if ( this.pendingCommand != null ) {
+            this.pendingCommand.acknowledgement.complete(false);
+            this.pendingCommand = null;
+        }
     }
 
     /**
@@ -179,61 +232,84 @@ public class RobotCommunicationData {
             this.command = "repeat";
             this.timerStartedByLastRequest = Clock.start();
             notifyAll();
+            releasePushCommandListener();
         }
     }
 
     /**
-     * method called from a server thread. This method terminates immediately (if the robot waits for a push command) or after 1 sec (if we expect a push
-     * command in the very near future. It wakes up the thread, which runs on behalf of a push command request from the robot.
+     * method called from a server thread. Post a command for the robot. This method never blocks. If the robot waits for a push command, the command is
+     * delivered at once. If the robot is between two push requests, the command is put into the mailbox and delivered with the next push request. A
+     * command, that is still in the mailbox, is replaced; its future is completed with false.
      *
-     * @return true, if the robot was waiting for a "run" command, false otherwise
+     * @param command the command for the robot, either "download" or "update"
+     * @param programName the name of the program to be downloaded; null, if the command doesn't refer to a program
+     * @return the future, that is completed with true, when the robot picks up the command, and with false, when the command is not delivered
      */
-    public synchronized boolean runButtonPressed(String programName) {
-        if ( !isRobotWaitingForPushCommand() ) {
-            LOG.error("RUN button pressed, but robot is not waiting for that event. Bad luck!");
-            return false;
+    public synchronized CompletableFuture<Boolean> postCommand(String command, String programName) {
+        CompletableFuture<Boolean> acknowledgement = new CompletableFuture<>();
+        if ( this.state != State.ROBOT_WAITING_FOR_PUSH_FROM_SERVER && this.state != State.WAIT_FOR_PUSH_CMD_FROM_ROBOT && this.state != State.ROBOT_IS_BUSY ) {
+            LOG.error("command " + command + " posted, but robot is in state " + this.state + ". The command is not delivered");
+            acknowledgement.complete(false);
+            return acknowledgement;
+        }
+        if ( this.pendingCommand != null ) {
+            LOG.info("command " + this.pendingCommand.command + " was not picked up by the robot and is replaced by command " + command);
+            this.pendingCommand.acknowledgement.complete(false);
+        }
+        this.pendingCommand = new PendingCommand(command, programName, acknowledgement);
+        if ( this.state == State.ROBOT_WAITING_FOR_PUSH_FROM_SERVER ) {
+            deliverPendingCommand();
         } else {
-            LOG.info(
-                "RUN button pressed and robot is waiting for that event. Wait state entered " + this.timerStartedByLastRequest.elapsedSecFormatted() + " ago");
-            this.command = "download";
-            this.programName = programName;
-            this.timerStartedByLastRequest = Clock.start();
-            this.state = State.ROBOT_IS_BUSY;
-            notifyAll();
-            return true;
+            LOG.info("command " + command + " posted, it is delivered with the next push request of the robot");
         }
+        return acknowledgement;
     }
 
     /**
-     * method called from a server thread. This method terminates immediately (if the brick waits for a push command) or after 1 sec (if we expect a push
-     * command in the very near future. It wakes up the thread, which runs on behalf of a push command request from the brick.
+     * method called from a server thread. Remove a command from the mailbox, if the robot has not picked it up yet. Then its future is completed with false.
      *
-     * @return the state of the brick
+     * @param acknowledgement the future returned by {@link #postCommand(String, String)} for the command
      */
-    public synchronized boolean firmwareUpdate() {
-        if ( !isRobotWaitingForPushCommand() ) {
-            LOG.error("UPDATE button pressed, but brick is not waiting. Bad luck!");
-            return false;
-        } else {
-            LOG.debug("UPDATE button pressed. Wait state entered " + this.timerStartedByLastRequest.elapsedSecFormatted() + " ago");
-            this.command = "update";
-            this.timerStartedByLastRequest = Clock.start();
+    public synchronized void withdrawCommand(CompletableFuture<Boolean> acknowledgement) {
+        if ( this.pendingCommand != null && this.pendingCommand.acknowledgement == acknowledgement ) {
+            LOG.info("command " + this.pendingCommand.command + " was not picked up by the robot and is withdrawn");
+            this.pendingCommand = null;
+            acknowledgement.complete(false);
+        }
+    }
 
-            // brick is disconnected after firmware update
-            abortPush();
-            return true;
+    /**
+     * if a command is in the mailbox and the robot waits for a push command, hand the command to the robot. Must be called while the monitor of this object is
+     * held.
+     */
+    private void deliverPendingCommand() {
+        PendingCommand pending = this.pendingCommand;
+        if ( pending == null || this.state != State.ROBOT_WAITING_FOR_PUSH_FROM_SERVER ) {
+            return;
+        }
+        this.pendingCommand = null;
+        LOG.info("command " + pending.command + " is picked up by the robot. Wait state entered " + this.timerStartedByLastRequest.elapsedSecFormatted() + " ago");
+        this.command = pending.command;
+        if ( pending.programName != null ) {
+            this.programName = pending.programName;
         }
+        this.timerStartedByLastRequest = Clock.start();
+        // brick is disconnected after firmware update
+        this.state = pending.command.equals("update") ? State.GARBAGE : State.ROBOT_IS_BUSY;
+        notifyAll();
+        releasePushCommandListener();
+        pending.acknowledgement.complete(true);
     }
 
-    private boolean isRobotWaitingForPushCommand() {
-        if ( this.state == State.WAIT_FOR_PUSH_CMD_FROM_ROBOT ) {
-            try {
-                Thread.sleep(WAIT_FOR_A_ROBOT_PUSH_COMMAND);
-            } catch ( InterruptedException e ) {
-                // ok
-            }
+    /**
+     * if an async push request is pending, hand the actual command to its listener. Must be called while the monitor of this object is held.
+     */
+    private void releasePushCommandListener() {
+        IPushCommandListener listener = this.pushCommandListener;
+        if ( listener != null ) {
+            this.pushCommandListener = null;
+            listener.pushCommandAvailable(this.command);
         }
-        return this.state == State.ROBOT_WAITING_FOR_PUSH_FROM_SERVER;
     }
 
     /**
@@ -269,8 +345,48 @@ public class RobotCommunicationData {
         this.battery = battery;
     }
 
-    public void setSensorValues(JSONObject sensorvalues) {
+    public synchronized void setSensorValues(JSONObject sensorvalues) {
         this.sensorvalues = sensorvalues;
+        this.sensorvaluesText = null;
+    }
+
+    /**
+     * store the actual sensor values and append them to the sensor log of the robot. The log is created, when the robot logs the first time
+     *
+     * @param sensorvalues the sensor values sent by the robot
+     */
+    public void logSensorValues(JSONObject sensorvalues) throws Exception {
+        setSensorValues(sensorvalues);
+        getOrCreateSensorLog().append(System.currentTimeMillis(), SensorTimeSeries.frameOf(sensorvalues));
+    }
+
+    /**
+     * store the actual sensor values and append them to the sensor log of the robot. The frame is not converted to JSON here, this is deferred until the
+     * sensor values are requested (see {@link #getSensorValues()}), what happens much less often than frames arrive.
+     *
+     * @param frameText the frame as sent by the robot, including the token
+     * @param frame the parsed frame
+     */
+    public void logSensorValues(String frameText, SensorFrame frame) throws Exception {
+        synchronized ( this ) {
+            this.sensorvalues = null;
+            this.sensorvaluesText = frameText;
+        }
+        getOrCreateSensorLog().append(System.currentTimeMillis(), frame);
+    }
+
+    private synchronized SensorTimeSeries getOrCreateSensorLog() {
+        if ( this.sensorLog == null ) {
+            this.sensorLog = SensorTimeSeries.fromProperties();
+        }
+        return this.sensorLog;
+    }
+
+    /**
+     * @return the sensor log of the robot; null, if the robot never logged sensor values
+     */
+    public synchronized SensorTimeSeries getSensorLog() {
+        return this.sensorLog;
     }
 
     public void setNepoExitValue(int nepoExitValue) {
@@ -309,7 +425,12 @@ public class RobotCommunicationData {
         return this.firmwareversion;
     }
 
-    public JSONObject getSensorValues() {
+    public synchronized JSONObject getSensorValues() throws JSONException {
+        if ( this.sensorvaluesText != null ) {
+            this.sensorvalues = new JSONObject(this.sensorvaluesText);
+            this.sensorvalues.remove("token");
+            this.sensorvaluesText = null;
+        }
         return this.sensorvalues;
     }
 
@@ -317,6 +438,21 @@ public class RobotCommunicationData {
         return this.nepoExitValue;
     }
 
+    /**
+     * the single slot of the mailbox: a command posted for the robot, that the robot has not picked up yet
+     */
+    private static class PendingCommand {
+        final String command;
+        final String programName;
+        final CompletableFuture<Boolean> acknowledgement;
+
+        PendingCommand(String command, String programName, CompletableFuture<Boolean> acknowledgement) {
+            this.command = command;
+            this.programName = programName;
+            this.acknowledgement = acknowledgement;
+        }
+    }
+
     /**
      * the states of communication between the brick and the browser client.
      */
@@ -1,12 +1,19 @@
 package de.fhg.iais.roberta.robotCommunication;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import org.apache.commons.io.IOUtils;
+import org.codehaus.jettison.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import de.fhg.iais.roberta.robotCommunication.RobotCommunicationData.State;
 import de.fhg.iais.roberta.util.Key;
 import de.fhg.iais.roberta.util.dbc.Assert;
 
@@ -14,30 +21,70 @@ import de.fhg.iais.roberta.util.dbc.Assert;
  * class, that synchronizes the communication between the bricks and the web-app. Thread-safe. See class {@link RobotCommunicationData} for further
  * explanations.<br>
  * <br>
- * The class <b>must</b> be used as a singleton. Use <b>GUICE</b> to enforce that.
+ * The class <b>must</b> be used as a singleton. Use <b>GUICE</b> to enforce that.<br>
+ * <br>
+ * If the server is a node of a cluster, the robots registered at this node are published in a {@link IRobotRegistry}. Commands for robots owned by another
+ * node are forwarded to the owner by a {@link IRobotCommandForwarder}. The owner executes them with the methods <code>...Local</code>.
  *
  * @author rbudde
  */
 public class RobotCommunicator {
     private static final Logger LOG = LoggerFactory.getLogger(RobotCommunicator.class);
-    private static final long PUSH_TIMER_INTERVALL = 2000;
+    private static final long PUSH_TIMER_TICK = 100;
+    private static final int PUSH_TIMER_TICKS_PER_WHEEL = 512;
     private static final long PUSH_TIMEOUT_INTERVALL = 10000;
+    private static final long WAIT_FOR_THE_ROBOT_TO_PICK_UP_A_COMMAND = 1000;
+    private static final long REMOTE_ROBOT_INFO_MAX_AGE = 1000;
 
     private final Map<String, RobotCommunicationData> allStates = new ConcurrentHashMap<>();
+    private final Map<String, String> identificatorToToken = new ConcurrentHashMap<>(); // index into allStates. "usb" and "unknown" are not unique
+    private final Object registrationLock = new Object();
+    private final PushTimer pushTimer;
+    private final ArtifactStore artifactStore;
+    private final IRobotRegistry registry; // null, if the server is not a node of a cluster
+    private final String node;
+    private final IRobotCommandForwarder forwarder;
+    private final RemoteRobotInfoCache remoteRobotInfoCache; // null, if the server is not a node of a cluster
 
+    /**
+     * create a communicator, that keeps all programs to be downloaded in memory
+     */
     public RobotCommunicator() {
-        Runnable pushTimerThread = new Runnable() {
-            @Override
-            public void run() {
-                pushTimerRunner();
-            }
-        };
-        new Thread(null, pushTimerThread, "PushTimer").start();
+        this(new ArtifactStore());
+    }
+
+    /**
+     * @param artifactStore the store of the programs, that wait to be downloaded by the robots
+     */
+    public RobotCommunicator(ArtifactStore artifactStore) {
+        this(artifactStore, null, null, null);
+    }
+
+    /**
+     * create a communicator for a node of a cluster
+     *
+     * @param artifactStore the store of the programs, that wait to be downloaded by the robots
+     * @param registry the registry shared by all nodes of the cluster; null, if the server is not a node of a cluster
+     * @param node the name of this node, used by the other nodes to forward commands to this node
+     * @param forwarder to forward commands to other nodes
+     */
+    public RobotCommunicator(ArtifactStore artifactStore, IRobotRegistry registry, String node, IRobotCommandForwarder forwarder) {
+        Assert.notNull(artifactStore);
+        Assert.isTrue(registry == null || node != null && forwarder != null, "a node of a cluster needs a name and a forwarder");
+        this.artifactStore = artifactStore;
+        this.registry = registry;
+        this.node = node;
+        this.forwarder = forwarder;
+        this.pushTimer = new PushTimer("PushTimer", PUSH_TIMER_TICK, PUSH_TIMER_TICKS_PER_WHEEL);
+        this.remoteRobotInfoCache = registry == null ? null : new RemoteRobotInfoCache(this, REMOTE_ROBOT_INFO_MAX_AGE);
         LOG.info("timer thread created");
     }
 
     /**
-     * check the new registration ticket. only used by brickWantsTokenToBeApproved(), extracted for testing
+     * check the new registration ticket. only used by brickWantsTokenToBeApproved(), extracted for testing.<br>
+     * <br>
+     * If another token is registered for the same robot, the old request is aborted and the old token is removed. The old token is found by the
+     * identificator index in O(1). The token map and the index are updated together under the registration lock.
      *
      * @throws assertions for various types of issues
      * @return true if the ticket has been accepted
@@ -46,26 +93,40 @@ public class RobotCommunicator {
         String token = newRobotCommunicationData.getToken();
         String newIdentificator = newRobotCommunicationData.getRobotIdentificator();
         Assert.isTrue(token != null && newIdentificator != null);
-        RobotCommunicationData existingRobotCommunicationData = this.allStates.get(token);
-        if ( existingRobotCommunicationData != null ) {
-            String existingIdentificator = existingRobotCommunicationData.getRobotIdentificator();
-            if ( existingIdentificator == null
-                || !existingIdentificator.equals(newIdentificator)
-                || existingIdentificator.equals("usb")
-                || existingIdentificator.equals("unknown") ) {
-                LOG.info("token already used. New token required");
-                return false;
+        if ( remoteOwner(token) != null ) {
+            LOG.info("token already used by a robot of another node. New token required");
+            return false;
+        }
+        RobotCommunicationData storedState = null;
+        synchronized ( this.registrationLock ) {
+            RobotCommunicationData existingRobotCommunicationData = this.allStates.get(token);
+            if ( existingRobotCommunicationData != null ) {
+                String existingIdentificator = existingRobotCommunicationData.getRobotIdentificator();
+                if ( existingIdentificator == null || !existingIdentificator.equals(newIdentificator) || !isIndexed(existingIdentificator) ) {
+                    LOG.info("token already used. New token required");
+                    return false;
+                }
+            }
+            if ( isIndexed(newIdentificator) ) {
+                String storedToken = this.identificatorToToken.put(newIdentificator, token);
+                if ( storedToken != null ) {
+                    storedState = this.allStates.remove(storedToken);
+                }
             }
+            this.allStates.put(token, newRobotCommunicationData);
         }
-        for ( String storedToken : this.allStates.keySet() ) {
-            RobotCommunicationData storedState = this.allStates.get(storedToken);
-            if ( newIdentificator.equals(storedState.getRobotIdentificator()) && !newIdentificator.equals("usb") && !newIdentificator.equals("unknown") ) {
-                LOG.error("Token approval request for robot [" + newIdentificator + "], but an old request is pending. Old request aborted.");
-                storedState.abortPush(); // notifyAll() executed
-                this.allStates.remove(storedToken);
+        if ( storedState != null ) {
+            if ( !storedState.getToken().equals(token) ) {
+                // the old token of the robot is invalid. If the robot registers again with the same token, its registration and program are kept
+                unregister(storedState.getToken());
+                this.artifactStore.remove(storedState.getToken());
             }
+            LOG.error("Token approval request for robot [" + newIdentificator + "], but an old request is pending. Old request aborted.");
+            storedState.abortPush(); // notifyAll() executed
+        }
+        if ( this.registry != null ) {
+            this.registry.register(token, this.node);
         }
-        this.allStates.put(token, newRobotCommunicationData);
         return true;
     }
 
@@ -89,7 +150,12 @@ public class RobotCommunicator {
         if ( state != null ) {
             state.setBattery(batteryvoltage);
             state.setNepoExitValue(nepoExitValue);
-            state.robotHasSentAPushRequest();
+            PushTimer.Timeout timeout = schedulePushTimeout(state);
+            try {
+                state.robotHasSentAPushRequest();
+            } finally {
+                timeout.cancel();
+            }
             return state.getCommand();
         } else {
             LOG.error("a push request from a robot arrived, but no matching state was found in the server - we provoke a server error");
@@ -97,7 +163,48 @@ public class RobotCommunicator {
         }
     }
 
+    /**
+     * called by the robot to inform the server about the fact, that the robot is still connected and ready to get a command pushed to it. Contrary to
+     * {@link #brickWaitsForAServerPush(String, String, int)} this method does not block. The command for the robot is delivered to the listener later.
+     *
+     * @param token identifying the robot
+     * @param batteryvoltage changes over time
+     * @param nepoExitValue the return value of the last user program, that was executed. Is 0 if no exitvalue is provided by the robot system.
+     * @param listener called exactly once with a legal command for the robot (in 99% a "repeat" :)
+     * @return true, if the push request was accepted; false, if no matching state was found. Then the listener is NOT called
+     */
+    public boolean brickWaitsForAnAsyncServerPush(String token, String batteryvoltage, int nepoExitValue, final IPushCommandListener listener) {
+        RobotCommunicationData state = getState(token);
+        if ( state != null ) {
+            state.setBattery(batteryvoltage);
+            state.setNepoExitValue(nepoExitValue);
+            final PushTimer.Timeout timeout = schedulePushTimeout(state);
+            state.robotHasSentAnAsyncPushRequest(new IPushCommandListener() {
+                @Override
+                public void pushCommandAvailable(String command) {
+                    timeout.cancel();
+                    listener.pushCommandAvailable(command);
+                }
+            });
+            return true;
+        } else {
+            LOG.error("an async push request from a robot arrived, but no matching state was found in the server");
+            return false;
+        }
+    }
+
+    /**
+     * a user approved the token of a robot. If the robot is owned by another node of the cluster, the approval is forwarded to it
+     */
     public Key aTokenAgreementWasSent(String token, String robot) {
+        String owner = remoteOwner(token);
+        if ( owner != null ) {
+            return this.forwarder.forwardTokenAgreement(owner, token, robot);
+        }
+        return aTokenAgreementWasSentLocal(token, robot);
+    }
+
+    public Key aTokenAgreementWasSentLocal(String token, String robot) {
         RobotCommunicationData state = this.allStates.get(token);
         if ( state == null ) {
             LOG.info("token " + token + " is not waiting for. Typing error of the user?");
@@ -113,44 +220,220 @@ public class RobotCommunicator {
         }
     }
 
+    /**
+     * disconnect a robot. If the robot is owned by another node of the cluster, the disconnect is forwarded to it
+     */
     public void disconnect(String token) {
-        RobotCommunicationData state = this.allStates.get(token);
+        String owner = remoteOwner(token);
+        if ( owner != null ) {
+            this.forwarder.forwardDisconnect(owner, token);
+        } else {
+            disconnectLocal(token);
+        }
+    }
+
+    public void disconnectLocal(String token) {
+        RobotCommunicationData state;
+        synchronized ( this.registrationLock ) {
+            state = this.allStates.remove(token);
+            if ( state != null ) {
+                this.identificatorToToken.remove(state.getRobotIdentificator(), token);
+            }
+        }
         if ( state == null ) {
             LOG.info("token " + token + " is not waited for. Ok.");
         } else {
+            unregister(token);
+            this.artifactStore.remove(token);
             state.abortPush(); // notifyAll() executed
-            this.allStates.remove(token);
             LOG.info("Robot [" + state.getRobotIdentificator() + "] token " + token + " disconnected.");
         }
     }
 
-    public boolean theRunButtonWasPressed(String token, String programName) {
+    /**
+     * the run button was pressed. Post the "download" command for a program to the mailbox of a robot. Never waits for the robot: if the robot doesn't pick
+     * up the command within one second, the push timer withdraws it.<br>
+     * <br>
+     * If the robot is owned by another node of the cluster, the command and the program, that was stored in the artifact store for the robot, are
+     * forwarded to it. The owner answers, when its robot picked up the command or the command is withdrawn. Then the future is returned completed.
+     *
+     * @param token identifying the robot
+     * @param programName the name of the program to be downloaded
+     * @return the future, that is completed with true, when the robot picks up the command, and with false, when the command is not delivered
+     */
+    public CompletableFuture<Boolean> postRunCommand(String token, String programName) {
+        String owner = remoteOwner(token);
+        if ( owner != null ) {
+            return CompletableFuture.completedFuture(forwardRunCommand(owner, token, programName));
+        }
         RobotCommunicationData state = getState(token);
-        return state.runButtonPressed(programName);
+        if ( state == null ) {
+            LOG.error("run command for token " + token + ", but no matching state was found in the server");
+            return CompletableFuture.completedFuture(false);
+        }
+        return withdrawIfNotPickedUp(state, state.postCommand("download", programName));
     }
 
+    private boolean forwardRunCommand(String owner, String token, String programName) {
+        ArtifactStore.Artifact artifact = this.artifactStore.get(token);
+        if ( artifact == null ) {
+            LOG.error("run command for token " + token + " of node " + owner + ", but no program was stored");
+            return false;
+        }
+        byte[] program;
+        try (InputStream programStream = artifact.openStream()) {
+            program = IOUtils.toByteArray(programStream);
+        } catch ( IOException e ) {
+            LOG.error("the program for token " + token + " could not be read", e);
+            return false;
+        } finally {
+            this.artifactStore.remove(token); // the robot downloads the program from its owner
+        }
+        return this.forwarder.forwardRunCommand(owner, token, programName, artifact.getFileName(), program);
+    }
+
+    private CompletableFuture<Boolean> withdrawIfNotPickedUp(final RobotCommunicationData state, final CompletableFuture<Boolean> pickedUp) {
+        if ( !pickedUp.isDone() ) {
+            Runnable withdraw = new Runnable() {
+                @Override
+                public void run() {
+                    state.withdrawCommand(pickedUp);
+                }
+            };
+            final PushTimer.Timeout timeout = this.pushTimer.schedule(withdraw, WAIT_FOR_THE_ROBOT_TO_PICK_UP_A_COMMAND);
+            pickedUp.thenRun(new Runnable() {
+                @Override
+                public void run() {
+                    timeout.cancel();
+                }
+            });
+        }
+        return pickedUp;
+    }
+
+    /**
+     * the owner of a robot executes a run command forwarded by another node of the cluster. Post the "download" command and wait (without holding any
+     * lock) until the robot picks it up. If the robot doesn't pick up the command within one second, it is withdrawn.
+     *
+     * @return true, if the robot picked up the command; false otherwise
+     */
+    public boolean theRunButtonWasPressedLocal(String token, String programName) {
+        RobotCommunicationData state = getState(token);
+        return state != null && waitUntilPickedUp(state, state.postCommand("download", programName));
+    }
+
+    /**
+     * a firmware update was requested. Post the "update" command and wait (without holding any lock) until the robot picks it up. If the robot doesn't pick
+     * up the command within one second, it is withdrawn. If the robot is owned by another node of the cluster, the request is forwarded to it.
+     *
+     * @return true, if the robot picked up the command; false otherwise
+     */
     public boolean firmwareUpdateRequested(String token) {
+        String owner = remoteOwner(token);
+        if ( owner != null ) {
+            return this.forwarder.forwardFirmwareUpdate(owner, token);
+        }
+        return firmwareUpdateRequestedLocal(token);
+    }
+
+    public boolean firmwareUpdateRequestedLocal(String token) {
         RobotCommunicationData state = getState(token);
-        return state.firmwareUpdate();
+        return state != null && waitUntilPickedUp(state, state.postCommand("update", null));
+    }
+
+    private static boolean waitUntilPickedUp(RobotCommunicationData state, CompletableFuture<Boolean> pickedUp) {
+        try {
+            return pickedUp.get(WAIT_FOR_THE_ROBOT_TO_PICK_UP_A_COMMAND, TimeUnit.MILLISECONDS);
+        } catch ( TimeoutException e ) {
+            state.withdrawCommand(pickedUp);
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            state.withdrawCommand(pickedUp);
+        } catch ( ExecutionException e ) {
+            LOG.error("command for token " + state.getToken() + " failed", e);
+            return false;
+        }
+        // either the command is withdrawn or the robot picked it up meanwhile
+        return pickedUp.getNow(false);
     }
 
+    /**
+     * @return the state of a robot owned by this node; null, if the robot is unknown or owned by another node of the cluster
+     */
     public RobotCommunicationData getState(String token) {
         return this.allStates.get(token);
     }
 
-    private void pushTimerRunner() {
-        while ( true ) {
-            try {
-                Thread.sleep(PUSH_TIMER_INTERVALL);
-            } catch ( InterruptedException e ) {
-                // OK
-            }
-            for ( RobotCommunicationData state : this.allStates.values() ) {
-                if ( state.getState() == State.ROBOT_WAITING_FOR_PUSH_FROM_SERVER && state.getElapsedMsecOfStartOfLastRequest() > PUSH_TIMEOUT_INTERVALL ) {
-                    state.terminatePushAndRequestNextPush();
-                }
-            }
+    /**
+     * @return the information about the state of a robot owned by another node of the cluster; null, if the robot is not owned by another node
+     */
+    public JSONObject getRemoteRobotInfo(String token) {
+        String owner = remoteOwner(token);
+        return owner == null ? null : this.forwarder.forwardRobotInfo(owner, token);
+    }
+
+    /**
+     * same as {@link #getRemoteRobotInfo(String)}, but doesn't wait for the other node. The information fetched last is returned, it may be up to one
+     * second old. Used for the responses of REST requests
+     *
+     * @return the information about the state of a robot owned by another node of the cluster; null, if the robot is not owned by another node or if
+     *         nothing was fetched yet
+     */
+    public JSONObject getCachedRemoteRobotInfo(String token) {
+        if ( this.remoteRobotInfoCache == null || token == null || this.allStates.containsKey(token) ) {
+            return null;
+        }
+        return this.remoteRobotInfoCache.get(token);
+    }
+
+    /**
+     * @return the node owning a robot, if this is another node of the cluster; null, if the robot is owned by this node, is unknown or if this server is not
+     *         a node of a cluster
+     */
+    private String remoteOwner(String token) {
+        if ( this.registry == null || token == null || this.allStates.containsKey(token) ) {
+            return null;
+        }
+        String owner = this.registry.getOwner(token);
+        return owner == null || owner.equals(this.node) ? null : owner;
+    }
+
+    private void unregister(String token) {
+        if ( this.registry != null ) {
+            this.registry.unregister(token, this.node);
         }
     }
 
+    private static boolean isIndexed(String identificator) {
+        return !identificator.equals("usb") && !identificator.equals("unknown");
+    }
+
+    /**
+     * @return the store of the programs, that wait to be downloaded by the robots
+     */
+    public ArtifactStore getArtifactStore() {
+        return this.artifactStore;
+    }
+
+    /**
+     * @return the timer, that terminates push requests of robots, if no command is pushed to the robot for some time. Exposed for metrics
+     */
+    public PushTimer getPushTimer() {
+        return this.pushTimer;
+    }
+
+    /**
+     * schedule the termination of a push request. If no command is pushed to the robot within the timeout interval, the robot is requested to repeat the
+     * push request. The timeout has to be cancelled when the push request terminates.
+     */
+    private PushTimer.Timeout schedulePushTimeout(final RobotCommunicationData state) {
+        Runnable terminatePush = new Runnable() {
+            @Override
+            public void run() {
+                state.terminatePushAndRequestNextPush();
+            }
+        };
+        return this.pushTimer.schedule(terminatePush, PUSH_TIMEOUT_INTERVALL);
+    }
+
 }
@@ -0,0 +1,293 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * a reusable parser for the sensor frames logged by robots. A frame is a flat JSON object: the token of the robot and the values of the sensors, e.g.
+ * <code>{"token":"5ZAB7GHF","S1-touch":false,"S4-ultrasonic-distance":23.5}</code>. The frame is parsed straight into primitive arrays, without building a
+ * {@link org.codehaus.jettison.json.JSONObject}. The token and the sensor keys are compared with the strings of the previous frames, thus for a robot, that
+ * sends the same sensors again and again, parsing a frame allocates (almost) nothing.<br>
+ * <br>
+ * Frames, that are not flat (nested objects or arrays), that contain escaped keys or that are malformed, are not parsed by this class. {@link #parse(String)}
+ * returns false and the caller falls back to the generic JSON parser. Not thread-safe: use one instance per connection or per thread.
+ */
+public class SensorFrame implements SensorTimeSeries.Frame {
+    private static final String TOKEN = "token";
+    private static final int MAX_KEYS = 64;
+    private static final int MAX_VALUES = 64;
+    private static final int MAX_MANTISSA_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = new double[MAX_MANTISSA_DIGITS + 1];
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        for ( int i = 1; i < POWERS_OF_TEN.length; i++ ) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+        }
+    }
+
+    private static final AtomicLong streamedFrames = new AtomicLong(0);
+    private static final AtomicLong genericFrames = new AtomicLong(0);
+
+    private final String[] knownKeys = new String[MAX_KEYS];
+    private int numberOfKnownKeys = 0;
+
+    private final int[] keys = new int[MAX_VALUES];
+    private final double[] values = new double[MAX_VALUES];
+    private int numberOfValues;
+    private int droppedValues;
+    private String token;
+    private String text;
+    private int pos;
+
+    /**
+     * parse a frame. If successful, the token and the values are available until the next frame is parsed.
+     *
+     * @param text the frame as sent by the robot
+     * @return true, if the frame was parsed; false, if the frame must be parsed by the generic JSON parser
+     */
+    public boolean parse(String text) {
+        this.text = text;
+        this.pos = 0;
+        this.numberOfValues = 0;
+        this.droppedValues = 0;
+        String previousToken = this.token;
+        this.token = null;
+        boolean parsed = parseObject(previousToken);
+        this.text = null;
+        if ( parsed && this.token != null ) {
+            SensorFrame.streamedFrames.incrementAndGet();
+            return true;
+        } else {
+            this.token = previousToken;
+            this.numberOfValues = 0;
+            SensorFrame.genericFrames.incrementAndGet();
+            return false;
+        }
+    }
+
+    /**
+     * @return the token of the robot, that sent the last frame parsed
+     */
+    public String getToken() {
+        return this.token;
+    }
+
+    public int getNumberOfValues() {
+        return this.numberOfValues;
+    }
+
+    public String getKey(int i) {
+        return this.knownKeys[this.keys[i]];
+    }
+
+    public double getValue(int i) {
+        return this.values[i];
+    }
+
+    @Override
+    public void fill(SensorTimeSeries.Sample sample) {
+        for ( int i = 0; i < this.numberOfValues; i++ ) {
+            sample.set(this.knownKeys[this.keys[i]], this.values[i]);
+        }
+        if ( this.droppedValues > 0 ) {
+            SensorTimeSeries.countDroppedValues(this.droppedValues);
+        }
+    }
+
+    public static long getStreamedFrames() {
+        return SensorFrame.streamedFrames.get();
+    }
+
+    public static long getGenericFrames() {
+        return SensorFrame.genericFrames.get();
+    }
+
+    private boolean parseObject(String previousToken) {
+        skipWhitespace();
+        if ( !consume('{') ) {
+            return false;
+        }
+        skipWhitespace();
+        if ( consume('}') ) {
+            return atEnd();
+        }
+        while ( true ) {
+            if ( !consume('"') ) {
+                return false;
+            }
+            int keyStart = this.pos;
+            int keyEnd = this.text.indexOf('"', keyStart);
+            if ( keyEnd < 0 || this.text.indexOf('\\', keyStart) >= 0 && this.text.indexOf('\\', keyStart) < keyEnd ) {
+                return false;
+            }
+            this.pos = keyEnd + 1;
+            skipWhitespace();
+            if ( !consume(':') ) {
+                return false;
+            }
+            skipWhitespace();
+            if ( !parseValue(keyStart, keyEnd, previousToken) ) {
+                return false;
+            }
+            skipWhitespace();
+            if ( consume('}') ) {
+                return atEnd();
+            } else if ( !consume(',') ) {
+                return false;
+            }
+            skipWhitespace();
+        }
+    }
+
+    private boolean parseValue(int keyStart, int keyEnd, String previousToken) {
+        if ( this.pos >= this.text.length() ) {
+            return false;
+        }
+        char c = this.text.charAt(this.pos);
+        if ( c == '"' ) {
+            int valueStart = this.pos + 1;
+            if ( !skipString() ) {
+                return false;
+            }
+            if ( isKey(keyStart, keyEnd, TOKEN) ) {
+                int valueEnd = this.pos - 1;
+                if ( this.text.indexOf('\\', valueStart) >= 0 && this.text.indexOf('\\', valueStart) < valueEnd ) {
+                    return false;
+                }
+                this.token = isKey(valueStart, valueEnd, previousToken) ? previousToken : this.text.substring(valueStart, valueEnd);
+            } else {
+                this.droppedValues++;
+            }
+            return true;
+        } else if ( c == 't' || c == 'f' || c == 'n' ) {
+            String literal = c == 't' ? "true" : c == 'f' ? "false" : "null";
+            if ( !this.text.startsWith(literal, this.pos) ) {
+                return false;
+            }
+            this.pos += literal.length();
+            if ( c == 'n' ) {
+                this.droppedValues++;
+                return true;
+            }
+            return addValue(keyStart, keyEnd, c == 't' ? 1.0 : 0.0);
+        } else if ( c == '-' || c >= '0' && c <= '9' ) {
+            return parseNumber(keyStart, keyEnd);
+        } else {
+            return false; // nested objects and arrays are left to the generic parser
+        }
+    }
+
+    /**
+     * parse a number. Numbers with up to 15 digits and without exponent are computed from their digits: mantissa and power of ten are exact doubles, the
+     * division is correctly rounded and the result equals {@link Double#parseDouble(String)}. Other numbers are parsed by {@link Double#parseDouble(String)}
+     */
+    private boolean parseNumber(int keyStart, int keyEnd) {
+        int start = this.pos;
+        boolean negative = this.text.charAt(this.pos) == '-';
+        if ( negative ) {
+            this.pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+        boolean simple = true;
+        while ( this.pos < this.text.length() ) {
+            char c = this.text.charAt(this.pos);
+            if ( c >= '0' && c <= '9' ) {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if ( fraction ) {
+                    scale++;
+                }
+            } else if ( c == '.' && !fraction ) {
+                fraction = true;
+            } else if ( c == 'e' || c == 'E' || c == '+' || c == '-' ) {
+                simple = false;
+            } else {
+                break;
+            }
+            this.pos++;
+        }
+        if ( digits == 0 ) {
+            return false;
+        }
+        double value;
+        if ( simple && digits <= MAX_MANTISSA_DIGITS ) {
+            value = mantissa / POWERS_OF_TEN[scale];
+            value = negative ? -value : value;
+        } else {
+            try {
+                value = Double.parseDouble(this.text.substring(start, this.pos));
+            } catch ( NumberFormatException e ) {
+                return false;
+            }
+        }
+        return addValue(keyStart, keyEnd, value);
+    }
+
+    private boolean addValue(int keyStart, int keyEnd, double value) {
+        if ( this.numberOfValues == MAX_VALUES ) {
+            return false;
+        }
+        int key = knownKey(keyStart, keyEnd);
+        if ( key < 0 ) {
+            return false;
+        }
+        this.keys[this.numberOfValues] = key;
+        this.values[this.numberOfValues] = value;
+        this.numberOfValues++;
+        return true;
+    }
+
+    /**
+     * @return the index of the key in the known keys; the key is added, if it is unknown; -1, if there are too many different keys
+     */
+    private int knownKey(int keyStart, int keyEnd) {
+        for ( int k = 0; k < this.numberOfKnownKeys; k++ ) {
+            if ( isKey(keyStart, keyEnd, this.knownKeys[k]) ) {
+                return k;
+            }
+        }
+        if ( this.numberOfKnownKeys == MAX_KEYS ) {
+            return -1;
+        }
+        this.knownKeys[this.numberOfKnownKeys] = this.text.substring(keyStart, keyEnd);
+        return this.numberOfKnownKeys++;
+    }
+
+    private boolean isKey(int start, int end, String key) {
+        return key != null && key.length() == end - start && this.text.regionMatches(start, key, 0, key.length());
+    }
+
+    private boolean skipString() {
+        this.pos++;
+        while ( this.pos < this.text.length() ) {
+            char c = this.text.charAt(this.pos++);
+            if ( c == '\\' ) {
+                this.pos++;
+            } else if ( c == '"' ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while ( this.pos < this.text.length() && Character.isWhitespace(this.text.charAt(this.pos)) ) {
+            this.pos++;
+        }
+    }
+
+    private boolean consume(char c) {
+        if ( this.pos < this.text.length() && this.text.charAt(this.pos) == c ) {
+            this.pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean atEnd() {
+        skipWhitespace();
+        return this.pos == this.text.length();
+    }
+}
@@ -0,0 +1,452 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.codehaus.jettison.json.JSONObject;
+
+import de.fhg.iais.roberta.util.RobertaProperties;
+import de.fhg.iais.roberta.util.dbc.Assert;
+
+/**
+ * the history of the sensor values logged by a robot. A sample is the set of values of all sensors (channels) at one time. The samples are kept in a ring
+ * buffer of fixed capacity. In addition the samples are downsampled on the fly into buckets of several resolutions (e.g. 1 sec, 10 sec, 1 min), each
+ * bucket keeps min, max and mean of every channel. Each resolution is again a ring buffer of the same capacity, thus the coarser resolutions reach back
+ * further in time.<br>
+ * <br>
+ * All data is stored in primitive arrays allocated in the constructor, the memory per robot is bounded and appending a sample allocates nothing. The number
+ * of channels is bounded, too. Values of channels exceeding this bound are dropped. Missing values are stored as NaN.<br>
+ * <br>
+ * For plots the samples of a time range are exported as CSV or JSON in the finest resolution, that does not exceed a maximal number of points. The export
+ * copies the range under the lock and writes it without holding the lock. Thread-safe.
+ */
+public class SensorTimeSeries {
+    public static final String CAPACITY_PROPERTY_KEY = "sensorlogging.capacity";
+    public static final String MAX_CHANNELS_PROPERTY_KEY = "sensorlogging.maxchannels";
+    public static final String RESOLUTIONS_PROPERTY_KEY = "sensorlogging.resolutions";
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final int DEFAULT_MAX_CHANNELS = 8;
+    private static final String DEFAULT_RESOLUTIONS = "1000,10000,60000";
+
+    private static final AtomicLong appendedSamples = new AtomicLong(0);
+    private static final AtomicLong appendedValues = new AtomicLong(0);
+    private static final AtomicLong droppedValues = new AtomicLong(0);
+
+    private final int capacity;
+    private final String[] channelNames;
+    private final Map<String, Integer> channelIndexes = new HashMap<>();
+    private int numberOfChannels = 0;
+
+    // the raw samples
+    private final long[] time;
+    private final double[][] values;
+    private int next = 0;
+    private int size = 0;
+
+    // the downsampled samples, ordered from fine to coarse
+    private final Bucket[] resolutions;
+
+    // the sample, that is filled by a frame
+    private final double[] sample;
+    private final Sample sampleSetter = new Sample() {
+        @Override
+        public void set(String channel, double value) {
+            setValue(channel, value);
+        }
+    };
+
+    /**
+     * @param capacity the number of samples kept for each resolution
+     * @param maxChannels the maximal number of sensors logged
+     * @param resolutionsMsec the bucket sizes of the downsampled resolutions in msec, ordered from fine to coarse
+     */
+    public SensorTimeSeries(int capacity, int maxChannels, long... resolutionsMsec) {
+        Assert.isTrue(capacity > 0 && maxChannels > 0, "capacity and number of channels of a sensor time series must be positive");
+        this.capacity = capacity;
+        this.channelNames = new String[maxChannels];
+        this.time = new long[capacity];
+        this.values = new double[maxChannels][capacity];
+        for ( double[] channel : this.values ) {
+            Arrays.fill(channel, Double.NaN);
+        }
+        this.resolutions = new Bucket[resolutionsMsec.length];
+        for ( int i = 0; i < resolutionsMsec.length; i++ ) {
+            Assert.isTrue(resolutionsMsec[i] > 0 && (i == 0 || resolutionsMsec[i] > resolutionsMsec[i - 1]), "resolutions must be positive and ascending");
+            this.resolutions[i] = new Bucket(resolutionsMsec[i], capacity, maxChannels);
+        }
+        this.sample = new double[maxChannels];
+    }
+
+    /**
+     * @return a time series sized by the properties <code>sensorlogging.capacity</code>, <code>sensorlogging.maxchannels</code> and
+     *         <code>sensorlogging.resolutions</code>
+     */
+    public static SensorTimeSeries fromProperties() {
+        String capacity = RobertaProperties.getStringProperty(CAPACITY_PROPERTY_KEY);
+        String maxChannels = RobertaProperties.getStringProperty(MAX_CHANNELS_PROPERTY_KEY);
+        String resolutions = RobertaProperties.getStringProperty(RESOLUTIONS_PROPERTY_KEY);
+        String[] resolutionParts = (resolutions == null ? DEFAULT_RESOLUTIONS : resolutions).split(",");
+        long[] resolutionsMsec = new long[resolutionParts.length];
+        for ( int i = 0; i < resolutionParts.length; i++ ) {
+            resolutionsMsec[i] = Long.parseLong(resolutionParts[i].trim());
+        }
+        return new SensorTimeSeries(
+            capacity == null ? DEFAULT_CAPACITY : Integer.parseInt(capacity.trim()),
+            maxChannels == null ? DEFAULT_MAX_CHANNELS : Integer.parseInt(maxChannels.trim()),
+            resolutionsMsec);
+    }
+
+    /**
+     * append a sample. The values of the frame are filled into a preallocated sample, then the sample is stored in the ring buffer and added to the buckets
+     * of all resolutions. If filling the frame fails, nothing is stored.
+     *
+     * @param timeMsec the time of the sample
+     * @param frame supplying the values of the sample
+     */
+    public synchronized void append(long timeMsec, Frame frame) throws Exception {
+        Arrays.fill(this.sample, Double.NaN);
+        frame.fill(this.sampleSetter);
+        this.time[this.next] = timeMsec;
+        for ( int c = 0; c < this.values.length; c++ ) {
+            this.values[c][this.next] = this.sample[c];
+        }
+        this.next = (this.next + 1) % this.capacity;
+        if ( this.size < this.capacity ) {
+            this.size++;
+        }
+        for ( Bucket resolution : this.resolutions ) {
+            resolution.add(timeMsec, this.sample, this.numberOfChannels);
+        }
+        SensorTimeSeries.appendedSamples.incrementAndGet();
+    }
+
+    private void setValue(String channel, double value) {
+        Integer index = this.channelIndexes.get(channel);
+        if ( index == null ) {
+            if ( this.numberOfChannels == this.channelNames.length ) {
+                SensorTimeSeries.droppedValues.incrementAndGet();
+                return;
+            }
+            index = this.numberOfChannels++;
+            this.channelNames[index] = channel;
+            this.channelIndexes.put(channel, index);
+        }
+        this.sample[index] = value;
+        SensorTimeSeries.appendedValues.incrementAndGet();
+    }
+
+    /**
+     * @return a frame with the numeric and boolean values of a JSON object (true is 1, false is 0). Other values are dropped
+     */
+    public static Frame frameOf(final JSONObject sensorValues) {
+        return new Frame() {
+            @Override
+            public void fill(Sample sample) throws Exception {
+                Iterator<?> keys = sensorValues.keys();
+                while ( keys.hasNext() ) {
+                    String key = (String) keys.next();
+                    Object value = sensorValues.get(key);
+                    if ( value instanceof Number ) {
+                        sample.set(key, ((Number) value).doubleValue());
+                    } else if ( value instanceof Boolean ) {
+                        sample.set(key, ((Boolean) value) ? 1.0 : 0.0);
+                    } else {
+                        SensorTimeSeries.droppedValues.incrementAndGet();
+                    }
+                }
+            }
+        };
+    }
+
+    public synchronized List<String> getChannels() {
+        return new ArrayList<>(Arrays.asList(this.channelNames).subList(0, this.numberOfChannels));
+    }
+
+    public synchronized int getNumberOfSamples() {
+        return this.size;
+    }
+
+    /**
+     * @return the number of resolutions including the raw samples (resolution 0)
+     */
+    public int getNumberOfResolutions() {
+        return this.resolutions.length + 1;
+    }
+
+    /**
+     * @param resolution 0 for the raw samples, 1 .. for the downsampled samples
+     * @return the bucket size of the resolution in msec; 0 for the raw samples
+     */
+    public long getResolutionMsec(int resolution) {
+        return resolution == 0 ? 0 : this.resolutions[resolution - 1].width;
+    }
+
+    /**
+     * choose the finest resolution, that has no more than maxPoints samples in a time range. If there is none, the coarsest resolution is returned
+     *
+     * @param fromMsec start of the time range (inclusive)
+     * @param toMsec end of the time range (inclusive)
+     * @param maxPoints maximal number of samples wanted
+     * @return the resolution
+     */
+    public synchronized int chooseResolution(long fromMsec, long toMsec, int maxPoints) {
+        int rawPoints = 0;
+        for ( int i = 0; i < this.size; i++ ) {
+            long t = this.time[(this.next - this.size + i + this.capacity) % this.capacity];
+            if ( t >= fromMsec && t <= toMsec ) {
+                rawPoints++;
+            }
+        }
+        if ( rawPoints <= maxPoints ) {
+            return 0;
+        }
+        for ( int r = 0; r < this.resolutions.length; r++ ) {
+            if ( this.resolutions[r].count(fromMsec, toMsec) <= maxPoints ) {
+                return r + 1;
+            }
+        }
+        return this.resolutions.length;
+    }
+
+    /**
+     * write the samples of a time range as CSV. The header is <code>time,channel,...</code> for the raw samples and
+     * <code>time,channel.min,channel.mean,channel.max,...</code> for the downsampled samples. Missing values are empty
+     */
+    public void exportCsv(Writer out, long fromMsec, long toMsec, int resolution) throws IOException {
+        Snapshot snapshot = snapshot(fromMsec, toMsec, resolution);
+        out.write("time");
+        for ( String column : snapshot.columns ) {
+            out.write(',');
+            out.write(csvQuote(column));
+        }
+        out.write('\n');
+        for ( int row = 0; row < snapshot.time.length; row++ ) {
+            out.write(Long.toString(snapshot.time[row]));
+            for ( double[] column : snapshot.values ) {
+                out.write(',');
+                if ( !Double.isNaN(column[row]) ) {
+                    out.write(Double.toString(column[row]));
+                }
+            }
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * write the samples of a time range as JSON: <code>{"resolution":msec,"columns":["time",...],"samples":[[time,value,...],...]}</code>. The columns are
+     * named as in the CSV export. Missing values are null
+     */
+    public void exportJson(Writer out, long fromMsec, long toMsec, int resolution) throws IOException {
+        Snapshot snapshot = snapshot(fromMsec, toMsec, resolution);
+        out.write("{\"resolution\":");
+        out.write(Long.toString(getResolutionMsec(resolution)));
+        out.write(",\"columns\":[\"time\"");
+        for ( String column : snapshot.columns ) {
+            out.write(',');
+            out.write(JSONObject.quote(column));
+        }
+        out.write("],\"samples\":[");
+        for ( int row = 0; row < snapshot.time.length; row++ ) {
+            if ( row > 0 ) {
+                out.write(',');
+            }
+            out.write('[');
+            out.write(Long.toString(snapshot.time[row]));
+            for ( double[] column : snapshot.values ) {
+                out.write(',');
+                out.write(Double.isNaN(column[row]) ? "null" : Double.toString(column[row]));
+            }
+            out.write(']');
+        }
+        out.write("]}");
+        out.flush();
+    }
+
+    private synchronized Snapshot snapshot(long fromMsec, long toMsec, int resolution) {
+        Assert.isTrue(resolution >= 0 && resolution <= this.resolutions.length, "invalid resolution: " + resolution);
+        List<String> columns = new ArrayList<>();
+        if ( resolution == 0 ) {
+            int first = (this.next - this.size + this.capacity) % this.capacity;
+            int[] rows = rowsInRange(this.time, first, this.size, fromMsec, toMsec);
+            columns.addAll(getChannels());
+            Snapshot snapshot = new Snapshot(columns, rows.length);
+            for ( int row = 0; row < rows.length; row++ ) {
+                snapshot.time[row] = this.time[rows[row]];
+                for ( int c = 0; c < this.numberOfChannels; c++ ) {
+                    snapshot.values[c][row] = this.values[c][rows[row]];
+                }
+            }
+            return snapshot;
+        } else {
+            Bucket bucket = this.resolutions[resolution - 1];
+            int[] rows = rowsInRange(bucket.start, bucket.oldest(), bucket.size, fromMsec, toMsec);
+            for ( int c = 0; c < this.numberOfChannels; c++ ) {
+                columns.add(this.channelNames[c] + ".min");
+                columns.add(this.channelNames[c] + ".mean");
+                columns.add(this.channelNames[c] + ".max");
+            }
+            Snapshot snapshot = new Snapshot(columns, rows.length);
+            for ( int row = 0; row < rows.length; row++ ) {
+                int slot = rows[row];
+                snapshot.time[row] = bucket.start[slot];
+                for ( int c = 0; c < this.numberOfChannels; c++ ) {
+                    boolean empty = bucket.count[c][slot] == 0;
+                    snapshot.values[3 * c][row] = empty ? Double.NaN : bucket.min[c][slot];
+                    snapshot.values[3 * c + 1][row] = empty ? Double.NaN : bucket.sum[c][slot] / bucket.count[c][slot];
+                    snapshot.values[3 * c + 2][row] = empty ? Double.NaN : bucket.max[c][slot];
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    private int[] rowsInRange(long[] times, int first, int size, long fromMsec, long toMsec) {
+        int[] rows = new int[size];
+        int found = 0;
+        for ( int i = 0; i < size; i++ ) {
+            int slot = (first + i) % this.capacity;
+            if ( times[slot] >= fromMsec && times[slot] <= toMsec ) {
+                rows[found++] = slot;
+            }
+        }
+        return Arrays.copyOf(rows, found);
+    }
+
+    private static String csvQuote(String value) {
+        if ( value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 ) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    static void countDroppedValues(int dropped) {
+        SensorTimeSeries.droppedValues.addAndGet(dropped);
+    }
+
+    public static long getAppendedSamples() {
+        return SensorTimeSeries.appendedSamples.get();
+    }
+
+    public static long getAppendedValues() {
+        return SensorTimeSeries.appendedValues.get();
+    }
+
+    public static long getDroppedValues() {
+        return SensorTimeSeries.droppedValues.get();
+    }
+
+    /**
+     * the values of one sensor frame, as sent by the robot
+     */
+    public interface Frame {
+        /**
+         * @param sample to be filled with the values of the frame
+         */
+        void fill(Sample sample) throws Exception;
+    }
+
+    /**
+     * the sample, into which a frame is filled
+     */
+    public interface Sample {
+        /**
+         * @param channel the name of the sensor
+         * @param value the value of the sensor
+         */
+        void set(String channel, double value);
+    }
+
+    /**
+     * the ring buffer of one downsampled resolution. A slot is the bucket of all samples, whose time falls into [start, start + width)
+     */
+    private static class Bucket {
+        final long width;
+        final long[] start;
+        final double[][] min;
+        final double[][] max;
+        final double[][] sum;
+        final int[][] count;
+        int current = 0;
+        int size = 0;
+
+        Bucket(long width, int capacity, int maxChannels) {
+            this.width = width;
+            this.start = new long[capacity];
+            this.min = new double[maxChannels][capacity];
+            this.max = new double[maxChannels][capacity];
+            this.sum = new double[maxChannels][capacity];
+            this.count = new int[maxChannels][capacity];
+        }
+
+        void add(long timeMsec, double[] sample, int numberOfChannels) {
+            long bucketStart = timeMsec - Math.floorMod(timeMsec, this.width);
+            if ( this.size == 0 || bucketStart > this.start[this.current] ) {
+                // a sample older than the current bucket (clock adjusted) is added to the current bucket
+                if ( this.size > 0 ) {
+                    this.current = (this.current + 1) % this.start.length;
+                }
+                if ( this.size < this.start.length ) {
+                    this.size++;
+                }
+                this.start[this.current] = bucketStart;
+                for ( int c = 0; c < this.count.length; c++ ) {
+                    this.count[c][this.current] = 0;
+                    this.sum[c][this.current] = 0.0;
+                }
+            }
+            for ( int c = 0; c < numberOfChannels; c++ ) {
+                double value = sample[c];
+                if ( Double.isNaN(value) ) {
+                    continue;
+                }
+                if ( this.count[c][this.current] == 0 ) {
+                    this.min[c][this.current] = value;
+                    this.max[c][this.current] = value;
+                } else {
+                    this.min[c][this.current] = Math.min(this.min[c][this.current], value);
+                    this.max[c][this.current] = Math.max(this.max[c][this.current], value);
+                }
+                this.sum[c][this.current] += value;
+                this.count[c][this.current]++;
+            }
+        }
+
+        int oldest() {
+            return (this.current - this.size + 1 + this.start.length) % this.start.length;
+        }
+
+        int count(long fromMsec, long toMsec) {
+            int points = 0;
+            for ( int i = 0; i < this.size; i++ ) {
+                long t = this.start[(oldest() + i) % this.start.length];
+                if ( t >= fromMsec && t <= toMsec ) {
+                    points++;
+                }
+            }
+            return points;
+        }
+    }
+
+    /**
+     * the samples of a time range, copied out of the ring buffers
+     */
+    private static class Snapshot {
+        final List<String> columns;
+        final long[] time;
+        final double[][] values;
+
+        Snapshot(List<String> columns, int rows) {
+            this.columns = columns;
+            this.time = new long[rows];
+            this.values = new double[columns.size()][rows];
+        }
+    }
+}
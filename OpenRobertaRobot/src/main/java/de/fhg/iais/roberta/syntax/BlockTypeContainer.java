@@ -1,5 +1,6 @@
 package de.fhg.iais.roberta.syntax;
 
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -46,8 +47,8 @@ public class BlockTypeContainer {
         add("TEXT_CHANGE_CASE_FUNCT", Category.FUNCTION);
     }
 
-    public static void add(String name, Category category, Class<?> astClass, String... blocklyNames) {
-        BlockType blockType = new BlockType(name, category, astClass, blocklyNames);
+    public static void add(String name, Category category, Class<?> astClass, MethodHandle jaxbToAst, String... blocklyNames) {
+        BlockType blockType = new BlockType(name, category, astClass, jaxbToAst, blocklyNames);
         BlockType oldValue = blockTypesByName.put(name.toLowerCase(), blockType);
         Assert.isNull(oldValue, "Block name %s is mapped twice. Initialization aborted", name);
         for ( String blocklyName : blocklyNames ) {
@@ -57,7 +58,7 @@ public class BlockTypeContainer {
     }
 
     private static void add(String name, Category category) {
-        add(name, category, null, NO_BLOCKLY_NAMES);
+        add(name, category, null, null, NO_BLOCKLY_NAMES);
     }
 
     /**
@@ -89,7 +90,7 @@ public class BlockTypeContainer {
 
     /**
      * Registers a property file to avoid loading property files more than once. Properties are not loaded by calling this method use the
-     * {@link #add(String, Category, Class, String...)}
+     * {@link #add(String, Category, Class, MethodHandle, String...)}
      *
      * @param propertyFileName
      * @return true if the property file was already loaded or false otherwise
@@ -107,12 +108,14 @@ public class BlockTypeContainer {
         private final String name;
         private final Category category;
         private final Class<?> astClass;
+        private final MethodHandle jaxbToAst;
         private final String[] blocklyNames;
 
-        private BlockType(String name, Category category, Class<?> astClass, String... blocklyNames) {
+        private BlockType(String name, Category category, Class<?> astClass, MethodHandle jaxbToAst, String... blocklyNames) {
             this.name = name;
             this.category = category;
             this.astClass = astClass;
+            this.jaxbToAst = jaxbToAst;
             this.blocklyNames = blocklyNames;
         }
 
@@ -137,6 +140,14 @@ public class BlockTypeContainer {
             return this.astClass;
         }
 
+        /**
+         * @return the static factory method <code>jaxbToAst</code> of the astClass, typed as <code>(Block,Jaxb2AstTransformer)Phrase</code>. Resolved once,
+         *         when the block type is registered. May be null, if the astClass has no such method
+         */
+        public MethodHandle getJaxbToAst() {
+            return this.jaxbToAst;
+        }
+
         /**
          * @return the blocklyNames
          */
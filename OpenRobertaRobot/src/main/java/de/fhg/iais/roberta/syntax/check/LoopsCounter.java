@@ -0,0 +1,74 @@
+package de.fhg.iais.roberta.syntax.check;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * numbers the loops of a program in the order, in which they are visited, and records for every loop, whether a break or continue inside of a wait
+ * statement needs a label. The visitor traversing the AST reports loops, wait statements and flow control statements. This allows to compute the loop
+ * labels in the same traversal as other analyses, see {@link de.fhg.iais.roberta.syntax.hardwarecheck.AbstractCheckVisitor}. Not thread-safe, one object per
+ * traversal.
+ */
+public class LoopsCounter {
+    private int loopCounter = 0;
+    private int currenLoop = 0;
+    private int ignoredWaits = 0;
+    private final HashMap<Integer, Boolean> loopsLabelContainer = new HashMap<Integer, Boolean>();
+    private final HashMap<Integer, Integer> waitsInLoops = new HashMap<>();
+
+    /**
+     * Returns map of loop number and boolean value that indicates if the loop is labeled in Blockly program.
+     *
+     * @return map of loops and boolean value
+     */
+    public Map<Integer, Boolean> getloopsLabelContainer() {
+        return this.loopsLabelContainer;
+    }
+
+    /**
+     * a loop (a repeat statement, whose mode is not WAIT) is entered
+     */
+    public void enterLoop() {
+        if ( this.ignoredWaits == 0 ) {
+            this.loopCounter++;
+            this.currenLoop = this.loopCounter;
+            this.loopsLabelContainer.put(this.loopCounter, false);
+            this.waitsInLoops.put(this.loopCounter, 0);
+        }
+    }
+
+    public void exitLoop() {
+        if ( this.ignoredWaits == 0 ) {
+            this.currenLoop--;
+        }
+    }
+
+    /**
+     * a wait statement is entered. Wait statements before the first loop are ignored together with their content
+     */
+    public void enterWait() {
+        if ( this.ignoredWaits > 0 || this.waitsInLoops.get(this.loopCounter) == null ) {
+            this.ignoredWaits++;
+        } else {
+            this.waitsInLoops.put(this.loopCounter, this.waitsInLoops.get(this.loopCounter) + 1);
+        }
+    }
+
+    public void exitWait() {
+        if ( this.ignoredWaits > 0 ) {
+            this.ignoredWaits--;
+        } else {
+            this.waitsInLoops.put(this.loopCounter, this.waitsInLoops.get(this.loopCounter) - 1);
+        }
+    }
+
+    /**
+     * a break or continue statement is visited
+     */
+    public void flowControl() {
+        if ( this.ignoredWaits == 0 ) {
+            boolean isInWaitStmt = this.waitsInLoops.get(this.currenLoop) != 0;
+            this.loopsLabelContainer.put(this.currenLoop, isInWaitStmt);
+        }
+    }
+}
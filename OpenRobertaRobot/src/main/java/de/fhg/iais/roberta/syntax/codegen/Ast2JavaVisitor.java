@@ -18,7 +18,6 @@ import de.fhg.iais.roberta.syntax.blocksequence.ActivityTask;
 import de.fhg.iais.roberta.syntax.blocksequence.Location;
 import de.fhg.iais.roberta.syntax.blocksequence.MainTask;
 import de.fhg.iais.roberta.syntax.blocksequence.StartActivityTask;
-import de.fhg.iais.roberta.syntax.check.LoopsCounterVisitor;
 import de.fhg.iais.roberta.syntax.expr.ActionExpr;
 import de.fhg.iais.roberta.syntax.expr.Binary;
 import de.fhg.iais.roberta.syntax.expr.Binary.Op;
@@ -679,8 +678,15 @@ public abstract class Ast2JavaVisitor implements AstVisitor<Void> {
         }
     }
 
-    protected void genearateCode(ArrayList<ArrayList<Phrase<Void>>> phrasesSet, boolean withWrapping) {
-        this.loopsLabels = new LoopsCounterVisitor(phrasesSet).getloopsLabelContainer();
+    /**
+     * generate the code of a program
+     *
+     * @param phrasesSet the program
+     * @param loopsLabels the labels of the loops, as computed by the analysis of the program, that runs before the code generation
+     * @param withWrapping if false the generated code will be without the surrounding configuration code
+     */
+    protected void genearateCode(ArrayList<ArrayList<Phrase<Void>>> phrasesSet, Map<Integer, Boolean> loopsLabels, boolean withWrapping) {
+        this.loopsLabels = loopsLabels;
         generatePrefix(phrasesSet, withWrapping);
         generateCodeFromPhrases(phrasesSet, withWrapping);
         generateSuffix(withWrapping);
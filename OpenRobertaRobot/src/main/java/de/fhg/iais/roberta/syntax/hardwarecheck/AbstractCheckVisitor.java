@@ -0,0 +1,55 @@
+package de.fhg.iais.roberta.syntax.hardwarecheck;
+
+import java.util.Map;
+
+import de.fhg.iais.roberta.syntax.check.LoopsCounter;
+import de.fhg.iais.roberta.syntax.stmt.RepeatStmt;
+import de.fhg.iais.roberta.syntax.stmt.StmtFlowCon;
+import de.fhg.iais.roberta.syntax.stmt.WaitStmt;
+import de.fhg.iais.roberta.visitor.AstVisitor;
+
+/**
+ * base class of the visitors, that inspect the whole AST of a program before code generation, e.g. to collect the used hardware or to check the program
+ * against the configuration. Shared by the generic {@link CheckVisitor} and the robot specific check visitors. Every traversal numbers the loops of the
+ * program, thus the code generators get the loop labels from the analysis, that they run anyway, and don't need an extra traversal.
+ */
+public abstract class AbstractCheckVisitor implements AstVisitor<Void> {
+    private final LoopsCounter loopsCounter = new LoopsCounter();
+
+    /**
+     * Returns map of loop number and boolean value that indicates if the loop is labeled in Blockly program. Valid after the traversal.
+     *
+     * @return map of loops and boolean value
+     */
+    public Map<Integer, Boolean> getloopsLabelContainer() {
+        return this.loopsCounter.getloopsLabelContainer();
+    }
+
+    @Override
+    public Void visitRepeatStmt(RepeatStmt<Void> repeatStmt) {
+        boolean isLoop = repeatStmt.getMode() != RepeatStmt.Mode.WAIT;
+        repeatStmt.getExpr().visit(this);
+        if ( isLoop ) {
+            this.loopsCounter.enterLoop();
+        }
+        repeatStmt.getList().visit(this);
+        if ( isLoop ) {
+            this.loopsCounter.exitLoop();
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitStmtFlowCon(StmtFlowCon<Void> stmtFlowCon) {
+        this.loopsCounter.flowControl();
+        return null;
+    }
+
+    @Override
+    public Void visitWaitStmt(WaitStmt<Void> waitStmt) {
+        this.loopsCounter.enterWait();
+        waitStmt.getStatements().visit(this);
+        this.loopsCounter.exitWait();
+        return null;
+    }
+}
@@ -69,18 +69,13 @@ import de.fhg.iais.roberta.syntax.stmt.ExprStmt;
 import de.fhg.iais.roberta.syntax.stmt.FunctionStmt;
 import de.fhg.iais.roberta.syntax.stmt.IfStmt;
 import de.fhg.iais.roberta.syntax.stmt.MethodStmt;
-import de.fhg.iais.roberta.syntax.stmt.RepeatStmt;
 import de.fhg.iais.roberta.syntax.stmt.SensorStmt;
 import de.fhg.iais.roberta.syntax.stmt.Stmt;
-import de.fhg.iais.roberta.syntax.stmt.StmtFlowCon;
 import de.fhg.iais.roberta.syntax.stmt.StmtList;
-import de.fhg.iais.roberta.syntax.stmt.WaitStmt;
 import de.fhg.iais.roberta.syntax.stmt.WaitTimeStmt;
-import de.fhg.iais.roberta.visitor.AstVisitor;
 
-public abstract class CheckVisitor implements AstVisitor<Void> {
+public abstract class CheckVisitor extends AbstractCheckVisitor {
     protected List<String> globalVariables = new ArrayList<String>();
-
     @Override
     public Void visitNumConst(NumConst<Void> numConst) {
         return null;
@@ -208,24 +203,12 @@ public abstract class CheckVisitor implements AstVisitor<Void> {
         return null;
     }
 
-    @Override
-    public Void visitRepeatStmt(RepeatStmt<Void> repeatStmt) {
-        repeatStmt.getExpr().visit(this);
-        repeatStmt.getList().visit(this);
-        return null;
-    }
-
     @Override
     public Void visitSensorStmt(SensorStmt<Void> sensorStmt) {
         sensorStmt.getSensor().visit(this);
         return null;
     }
 
-    @Override
-    public Void visitStmtFlowCon(StmtFlowCon<Void> stmtFlowCon) {
-        return null;
-    }
-
     @Override
     public Void visitStmtList(StmtList<Void> stmtList) {
         for ( Stmt<Void> stmt : stmtList.get() ) {
@@ -316,12 +299,6 @@ public abstract class CheckVisitor implements AstVisitor<Void> {
         return null;
     }
 
-    @Override
-    public Void visitWaitStmt(WaitStmt<Void> waitStmt) {
-        waitStmt.getStatements().visit(this);
-        return null;
-    }
-
     @Override
     public Void visitWaitTimeStmt(WaitTimeStmt<Void> waitTimeStmt) {
         waitTimeStmt.getTime().visit(this);
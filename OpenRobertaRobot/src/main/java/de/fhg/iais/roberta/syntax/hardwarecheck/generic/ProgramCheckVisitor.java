@@ -34,6 +34,7 @@ public abstract class ProgramCheckVisitor extends CheckVisitor {
 
     protected ArrayList<ArrayList<Phrase<Void>>> checkedProgram;
     protected int errorCount = 0;
+    protected int warningCount = 0;
     protected Configuration brickConfiguration;
 
     public ProgramCheckVisitor(Configuration brickConfiguration) {
@@ -65,6 +66,13 @@ public abstract class ProgramCheckVisitor extends CheckVisitor {
         return this.errorCount;
     }
 
+    /**
+     * @return the number of warnings attached to the checked program. Warnings don't prevent the program from running
+     */
+    public int getWarningCount() {
+        return this.warningCount;
+    }
+
     protected abstract void checkSensorPort(BaseSensor<Void> sensor);
 
     @Override
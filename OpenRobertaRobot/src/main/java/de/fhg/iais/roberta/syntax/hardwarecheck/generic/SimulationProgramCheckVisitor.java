@@ -25,42 +25,49 @@ public class SimulationProgramCheckVisitor extends ProgramCheckVisitor {
     @Override
     public Void visitBluetoothReceiveAction(BluetoothReceiveAction<Void> bluetoothReceiveAction) {
         bluetoothReceiveAction.addInfo(NepoInfo.warning("SIM_BLOCK_NOT_SUPPORTED"));
+        this.warningCount++;
         return null;
     }
 
     @Override
     public Void visitBluetoothConnectAction(BluetoothConnectAction<Void> bluetoothConnectAction) {
         bluetoothConnectAction.addInfo(NepoInfo.warning("SIM_BLOCK_NOT_SUPPORTED"));
+        this.warningCount++;
         return null;
     }
 
     @Override
     public Void visitBluetoothSendAction(BluetoothSendAction<Void> bluetoothSendAction) {
         bluetoothSendAction.addInfo(NepoInfo.warning("SIM_BLOCK_NOT_SUPPORTED"));
+        this.warningCount++;
         return null;
     }
 
     @Override
     public Void visitBluetoothWaitForConnectionAction(BluetoothWaitForConnectionAction<Void> bluetoothWaitForConnection) {
         bluetoothWaitForConnection.addInfo(NepoInfo.warning("SIM_BLOCK_NOT_SUPPORTED"));
+        this.warningCount++;
         return null;
     }
 
     @Override
     public Void visitMethodReturn(MethodReturn<Void> methodReturn) {
         methodReturn.addInfo(NepoInfo.warning("SIM_BLOCK_NOT_SUPPORTED"));
+        this.warningCount++;
         return null;
     }
 
     @Override
     public Void visitMethodIfReturn(MethodIfReturn<Void> methodIfReturn) {
         methodIfReturn.addInfo(NepoInfo.warning("SIM_BLOCK_NOT_SUPPORTED"));
+        this.warningCount++;
         return null;
     }
 
     @Override
     public Void visitStmtFlowCon(StmtFlowCon<Void> stmtFlowCon) {
         stmtFlowCon.addInfo(NepoInfo.warning("SIM_BLOCK_NOT_SUPPORTED"));
+        this.warningCount++;
         return null;
     }
 
@@ -70,34 +77,41 @@ public class SimulationProgramCheckVisitor extends ProgramCheckVisitor {
         if ( usedSensor == null ) {
             if ( sensor.getKind().hasName("INFRARED_SENSING") ) {
                 sensor.addInfo(NepoInfo.warning("SIM_CONFIGURATION_WARNING_WRONG_INFRARED_SENSOR_PORT"));
+                this.warningCount++;
             } else {
                 sensor.addInfo(NepoInfo.warning("SIM_CONFIGURATION_WARNING_SENSOR_MISSING"));
+                this.warningCount++;
             }
         } else {
             switch ( sensor.getKind().getName() ) {
                 case "COLOR_SENSING":
                     if ( usedSensor.getType() != SensorType.COLOR && usedSensor.getType() != SensorType.HT_COLOR ) {
                         sensor.addInfo(NepoInfo.warning("SIM_CONFIGURATION_WARNING_WRONG_SENSOR_PORT"));
+                        this.warningCount++;
                     }
                     break;
                 case "TOUCH_SENSING":
                     if ( usedSensor.getType() != SensorType.TOUCH ) {
                         sensor.addInfo(NepoInfo.warning("SIM_CONFIGURATION_WARNING_WRONG_SENSOR_PORT"));
+                        this.warningCount++;
                     }
                     break;
                 case "ULTRASONIC_SENSING":
                     if ( usedSensor.getType() != SensorType.ULTRASONIC ) {
                         sensor.addInfo(NepoInfo.warning("SIM_CONFIGURATION_WARNING_WRONG_SENSOR_PORT"));
+                        this.warningCount++;
                     }
                     break;
                 case "INFRARED_SENSING":
                     if ( usedSensor.getType() != SensorType.INFRARED ) {
                         sensor.addInfo(NepoInfo.warning("SIM_CONFIGURATION_WARNING_WRONG_INFRARED_SENSOR_PORT"));
+                        this.warningCount++;
                     }
                     break;
                 case "GYRO_SENSING":
                     if ( usedSensor.getType() != SensorType.GYRO ) {
                         sensor.addInfo(NepoInfo.warning("SIM_CONFIGURATION_WARNING_WRONG_SENSOR_PORT"));
+                        this.warningCount++;
                     }
                     break;
                 default:
@@ -109,18 +123,21 @@ public class SimulationProgramCheckVisitor extends ProgramCheckVisitor {
     @Override
     public Void visitConnectConst(ConnectConst<Void> connectConst) {
         connectConst.addInfo(NepoInfo.warning("SIM_BLOCK_NOT_SUPPORTED"));
+        this.warningCount++;
         return null;
     }
 
     @Override
     public Void visitBluetoothCheckConnectAction(BluetoothCheckConnectAction<Void> bluetoothCheckConnectAction) {
         bluetoothCheckConnectAction.addInfo(NepoInfo.warning("SIM_BLOCK_NOT_SUPPORTED"));
+        this.warningCount++;
         return null;
     }
 
     @Override
     public Void visitVoltageSensor(VoltageSensor<Void> voltageSensor) {
         voltageSensor.addInfo(NepoInfo.warning("SIM_BLOCK_NOT_SUPPORTED"));
+        this.warningCount++;
         return null;
     }
 }
@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import de.fhg.iais.roberta.components.Configuration;
 import de.fhg.iais.roberta.factory.IRobotFactory;
 import de.fhg.iais.roberta.jaxb.JaxbHelper;
+import de.fhg.iais.roberta.robotCommunication.ConfigurationCache;
 import de.fhg.iais.roberta.syntax.Phrase;
 import de.fhg.iais.roberta.util.Key;
 
@@ -21,12 +22,21 @@ public class BlocklyProgramAndConfigTransformer {
     private Key errorMessage;
     private Jaxb2BlocklyProgramTransformer<Void> programTransformer;
     private Configuration brickConfiguration;
+    private final String programText;
+    private final String configurationText;
 
-    private BlocklyProgramAndConfigTransformer(Key errorMessage, Jaxb2BlocklyProgramTransformer<Void> programTransformer, Configuration brickConfiguration) {
+    private BlocklyProgramAndConfigTransformer(
+        Key errorMessage,
+        Jaxb2BlocklyProgramTransformer<Void> programTransformer,
+        Configuration brickConfiguration,
+        String programText,
+        String configurationText) {
         super();
         this.errorMessage = errorMessage;
         this.programTransformer = programTransformer;
         this.brickConfiguration = brickConfiguration;
+        this.programText = programText;
+        this.configurationText = configurationText;
     }
 
     /**
@@ -50,6 +60,20 @@ public class BlocklyProgramAndConfigTransformer {
         return this.brickConfiguration;
     }
 
+    /**
+     * @return the program as XML, from which the AST was generated
+     */
+    public String getProgramText() {
+        return this.programText;
+    }
+
+    /**
+     * @return the brick configuration as XML, from which the brick configuration was generated
+     */
+    public String getConfigurationText() {
+        return this.configurationText;
+    }
+
     /**
      * @return the AST of the user program
      */
@@ -81,11 +105,11 @@ public class BlocklyProgramAndConfigTransformer {
         }
         Configuration brickConfiguration = null;
         try {
-            brickConfiguration = factory.getRobotCompilerWorkflow().generateConfiguration(factory, configurationText);
+            brickConfiguration = ConfigurationCache.getSharedCache().getConfiguration(factory, configurationText);
         } catch ( Exception e ) {
             LOG.error("Generation of the configuration failed", e);
             errorMessage = Key.COMPILERWORKFLOW_ERROR_CONFIGURATION_TRANSFORM_FAILED;
         }
-        return new BlocklyProgramAndConfigTransformer(errorMessage, programTransformer, brickConfiguration);
+        return new BlocklyProgramAndConfigTransformer(errorMessage, programTransformer, brickConfiguration, programText, configurationText);
     }
 }
@@ -1,7 +1,6 @@
 package de.fhg.iais.roberta.transformer;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -20,6 +19,7 @@ import de.fhg.iais.roberta.util.dbc.DbcException;
  * JAXB to AST transformer. Client should provide tree of jaxb objects.
  */
 public class Jaxb2BlocklyProgramTransformer<V> extends Jaxb2AstTransformer<V> {
+    private boolean containsCheckResults = false;
 
     public Jaxb2BlocklyProgramTransformer(IRobotFactory robotFactory) {
         super(robotFactory);
@@ -51,8 +51,18 @@ public class Jaxb2BlocklyProgramTransformer<V> extends Jaxb2AstTransformer<V> {
         this.data.getTree().add(range);
     }
 
+    /**
+     * @return true, if a block of the transformed program contains an error or a warning, attached by an earlier check of the program
+     */
+    public boolean containsCheckResults() {
+        return this.containsCheckResults;
+    }
+
     @Override
     protected Phrase<V> blockToAST(Block block) {
+        if ( block != null && (block.getError() != null || block.getWarning() != null) ) {
+            this.containsCheckResults = true;
+        }
         return invokeJaxbToAstTransform(block);
     }
 
@@ -63,18 +73,21 @@ public class Jaxb2BlocklyProgramTransformer<V> extends Jaxb2AstTransformer<V> {
         String type = block.getType().trim().toLowerCase();
         BlockType matchingBlockType = BlockTypeContainer.getByBlocklyName(type);
         Assert.notNull(matchingBlockType, "Invalid Block: " + block.getType());
-        return invokeMethod(block, matchingBlockType.getAstClass().getName());
+        return invokeJaxbToAst(block, matchingBlockType);
     }
 
     @SuppressWarnings("unchecked")
-    private Phrase<V> invokeMethod(Block block, String className) {
-        Method method;
+    private Phrase<V> invokeJaxbToAst(Block block, BlockType blockType) {
+        MethodHandle jaxbToAst = blockType.getJaxbToAst();
+        if ( jaxbToAst == null ) {
+            throw new DbcException("No jaxbToAst method found for block type " + blockType.getName() + " (block: " + block.getType() + ")");
+        }
         try {
-            method = Class.forName(className).getMethod("jaxbToAst", Block.class, Jaxb2AstTransformer.class);
-            return (Phrase<V>) method.invoke(null, block, this);
-        } catch ( NoSuchMethodException | SecurityException | ClassNotFoundException | IllegalAccessException | IllegalArgumentException
-            | InvocationTargetException | DbcException e ) {
-            throw new DbcException(e.getCause().getMessage());
+            return (Phrase<V>) jaxbToAst.invokeExact(block, (Jaxb2AstTransformer<?>) this);
+        } catch ( DbcException | Error e ) {
+            throw e;
+        } catch ( Throwable e ) {
+            throw new DbcException("Transformation of block " + block.getType() + " failed: " + e.getMessage(), e);
         }
     }
 }
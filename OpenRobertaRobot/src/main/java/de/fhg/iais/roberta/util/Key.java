@@ -86,6 +86,7 @@ public enum Key {
     COMPILERWORKFLOW_ERROR_PROGRAM_STORE_FAILED,
     COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED,
     COMPILERWORKFLOW_ERROR_PROGRAM_GENERATION_FAILED,
+    COMPILERWORKFLOW_ERROR_SERVER_BUSY,
     COMPILERWORKFLOW_PROGRAM_GENERATION_SUCCESS,
     ACCESS_RIGHT_CHANGED,
     ACCESS_RIGHT_DELETED,
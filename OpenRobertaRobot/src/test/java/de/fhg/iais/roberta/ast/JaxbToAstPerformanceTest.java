@@ -0,0 +1,110 @@
+package de.fhg.iais.roberta.ast;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.blockly.generated.Block;
+import de.fhg.iais.roberta.blockly.generated.BlockSet;
+import de.fhg.iais.roberta.factory.IRobotFactory;
+import de.fhg.iais.roberta.jaxb.JaxbHelper;
+import de.fhg.iais.roberta.syntax.BlockTypeContainer;
+import de.fhg.iais.roberta.syntax.Phrase;
+import de.fhg.iais.roberta.transformer.Jaxb2AstTransformer;
+import de.fhg.iais.roberta.transformer.Jaxb2BlocklyProgramTransformer;
+import de.fhg.iais.roberta.util.Clock;
+import de.fhg.iais.roberta.util.dbc.DbcException;
+import de.fhg.iais.roberta.util.test.Helper;
+import de.fhg.iais.roberta.util.testsetup.IntegrationTest;
+
+/**
+ * compares the dispatch of the jaxb->AST transformation by method handles (resolved once per block type) with the old dispatch by reflection (resolved
+ * for every block). All programs of the test corpus are transformed many times. The XML is parsed once before the measurement starts.
+ */
+@Ignore
+@Category(IntegrationTest.class)
+public class JaxbToAstPerformanceTest {
+    private static final Logger LOG = LoggerFactory.getLogger(JaxbToAstPerformanceTest.class);
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 1000;
+
+    private final Helper h = new Helper();
+
+    @Test
+    public void compareDispatchByMethodHandleAndByReflection() throws Exception {
+        IRobotFactory robotFactory = this.h.getRobotFactory();
+        List<BlockSet> corpus = loadCorpus(robotFactory);
+        LOG.info(corpus.size() + " programs of the test corpus are transformed");
+
+        run(corpus, robotFactory, false, WARMUP_ROUNDS);
+        run(corpus, robotFactory, true, WARMUP_ROUNDS);
+        long methodHandleMsec = run(corpus, robotFactory, false, MEASURED_ROUNDS);
+        long reflectionMsec = run(corpus, robotFactory, true, MEASURED_ROUNDS);
+        LOG.info("method handle dispatch: " + methodHandleMsec + " msec for " + MEASURED_ROUNDS + " rounds");
+        LOG.info("reflective dispatch:    " + reflectionMsec + " msec for " + MEASURED_ROUNDS + " rounds");
+    }
+
+    private static List<BlockSet> loadCorpus(IRobotFactory robotFactory) throws Exception {
+        List<BlockSet> corpus = new ArrayList<>();
+        File corpusDir = new File("src/test/resources/ast");
+        for ( File xml : FileUtils.listFiles(corpusDir, new String[] {
+            "xml"
+        }, true) ) {
+            String path = "/ast/" + corpusDir.toURI().relativize(xml.toURI()).getPath();
+            try {
+                BlockSet blockSet = JaxbHelper.path2BlockSet(path);
+                new Jaxb2BlocklyProgramTransformer<Void>(robotFactory).transform(blockSet);
+                corpus.add(blockSet);
+            } catch ( Exception e ) {
+                // programs, that are expected to fail, are not part of the corpus
+            }
+        }
+        Assert.assertFalse(corpus.isEmpty());
+        return corpus;
+    }
+
+    private static long run(List<BlockSet> corpus, IRobotFactory robotFactory, boolean reflective, int rounds) {
+        Clock clock = Clock.start();
+        for ( int i = 0; i < rounds; i++ ) {
+            for ( BlockSet blockSet : corpus ) {
+                Jaxb2BlocklyProgramTransformer<Void> transformer =
+                    reflective ? new ReflectiveTransformer(robotFactory) : new Jaxb2BlocklyProgramTransformer<Void>(robotFactory);
+                transformer.transform(blockSet);
+            }
+        }
+        return clock.elapsedMsec();
+    }
+
+    /**
+     * the dispatch as it was implemented before the jaxbToAst method was resolved once per block type
+     */
+    private static class ReflectiveTransformer extends Jaxb2BlocklyProgramTransformer<Void> {
+        ReflectiveTransformer(IRobotFactory robotFactory) {
+            super(robotFactory);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        protected Phrase<Void> blockToAST(Block block) {
+            String className = BlockTypeContainer.getByBlocklyName(block.getType().trim().toLowerCase()).getAstClass().getName();
+            try {
+                return (Phrase<Void>) Class
+                    .forName(className)
+                    .getMethod("jaxbToAst", Block.class, Jaxb2AstTransformer.class)
+                    .invoke(null, block, this);
+            } catch ( ReflectiveOperationException e ) {
+                throw new DbcException("reflective dispatch failed", e instanceof InvocationTargetException ? e.getCause() : e);
+            }
+        }
+    }
+}
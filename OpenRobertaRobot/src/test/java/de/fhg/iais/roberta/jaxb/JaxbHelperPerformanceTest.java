@@ -0,0 +1,134 @@
+package de.fhg.iais.roberta.jaxb;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.XMLConstants;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.InputSource;
+
+import de.fhg.iais.roberta.blockly.generated.BlockSet;
+import de.fhg.iais.roberta.util.Clock;
+import de.fhg.iais.roberta.util.testsetup.IntegrationTest;
+
+/**
+ * parses the blockly XML files of the test resources of all robot plugins. Compares the pooled unmarshallers of {@link JaxbHelper} (with and without
+ * schema validation) with the old behavior: a new unmarshaller with the schema attached and a copy of the XML into a byte array for every parse.
+ */
+@Ignore
+@Category(IntegrationTest.class)
+public class JaxbHelperPerformanceTest {
+    private static final Logger LOG = LoggerFactory.getLogger(JaxbHelperPerformanceTest.class);
+
+    private static final String[] MODULES = {
+        "OpenRobertaRobot",
+        "RobotEV3",
+        "RobotNXT",
+        "RobotArdu",
+        "RobotMbed",
+        "RobotNAO",
+        "OpenRobertaServer"
+    };
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Test
+    public void compareParsingWithAndWithoutPooling() throws Exception {
+        List<String> corpus = loadCorpus();
+        LOG.info(corpus.size() + " blockly XML files of the test resources are parsed");
+        JAXBContext jaxbContext = JAXBContext.newInstance(BlockSet.class);
+        InputStream xsdStream = JaxbHelper.class.getClassLoader().getResourceAsStream("blockly.xsd");
+        Schema schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(new StreamSource(xsdStream));
+
+        for ( int i = 0; i < WARMUP_ROUNDS; i++ ) {
+            parseUnpooled(corpus, jaxbContext, schema);
+            parsePooled(corpus, true);
+            parsePooled(corpus, false);
+        }
+        Clock clock = Clock.start();
+        for ( int i = 0; i < MEASURED_ROUNDS; i++ ) {
+            parseUnpooled(corpus, jaxbContext, schema);
+        }
+        long unpooledMsec = clock.elapsedMsec();
+        clock = Clock.start();
+        for ( int i = 0; i < MEASURED_ROUNDS; i++ ) {
+            parsePooled(corpus, true);
+        }
+        long pooledMsec = clock.elapsedMsec();
+        clock = Clock.start();
+        for ( int i = 0; i < MEASURED_ROUNDS; i++ ) {
+            parsePooled(corpus, false);
+        }
+        long pooledWithoutValidationMsec = clock.elapsedMsec();
+        long parses = (long) MEASURED_ROUNDS * corpus.size();
+        LOG.info("new unmarshaller per parse:  " + unpooledMsec + " msec for " + parses + " parses, " + parses * 1000 / Math.max(1, unpooledMsec) + " per sec");
+        LOG.info("pooled, validating:          " + pooledMsec + " msec for " + parses + " parses, " + parses * 1000 / Math.max(1, pooledMsec) + " per sec");
+        LOG.info(
+            "pooled, without validation:  "
+                + pooledWithoutValidationMsec
+                + " msec for "
+                + parses
+                + " parses, "
+                + parses * 1000 / Math.max(1, pooledWithoutValidationMsec)
+                + " per sec");
+    }
+
+    /**
+     * @return all XML files of the test resources, that are valid blockly XML. Other XML files are skipped
+     */
+    private static List<String> loadCorpus() throws Exception {
+        List<String> corpus = new ArrayList<>();
+        int skipped = 0;
+        for ( String module : MODULES ) {
+            File resources = new File("../" + module + "/src/test/resources");
+            if ( !resources.isDirectory() ) {
+                continue;
+            }
+            for ( File xml : FileUtils.listFiles(resources, new String[] {
+                "xml"
+            }, true) ) {
+                String blocklyXml = FileUtils.readFileToString(xml, StandardCharsets.UTF_8);
+                try {
+                    JaxbHelper.xml2BlockSet(blocklyXml);
+                    corpus.add(blocklyXml);
+                } catch ( Exception e ) {
+                    skipped++;
+                }
+            }
+        }
+        LOG.info(skipped + " XML files are no valid blockly XML and skipped");
+        Assert.assertFalse(corpus.isEmpty());
+        return corpus;
+    }
+
+    private static void parseUnpooled(List<String> corpus, JAXBContext jaxbContext, Schema schema) throws Exception {
+        for ( String blocklyXml : corpus ) {
+            Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
+            jaxbUnmarshaller.setSchema(schema);
+            InputStream stream = new ByteArrayInputStream(blocklyXml.getBytes(StandardCharsets.UTF_8));
+            Assert.assertNotNull(jaxbUnmarshaller.unmarshal(new InputSource(stream)));
+        }
+    }
+
+    private static void parsePooled(List<String> corpus, boolean validate) throws Exception {
+        for ( String blocklyXml : corpus ) {
+            Assert.assertNotNull(JaxbHelper.xml2BlockSet(blocklyXml, validate));
+        }
+    }
+}
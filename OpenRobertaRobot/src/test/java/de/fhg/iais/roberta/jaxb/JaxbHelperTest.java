@@ -0,0 +1,75 @@
+package de.fhg.iais.roberta.jaxb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+import de.fhg.iais.roberta.blockly.generated.BlockSet;
+
+public class JaxbHelperTest {
+    private static final String VALID_XML =
+        "<block_set xmlns='http://de.fhg.iais.roberta.blockly' robottype='ev3'><instance x='1' y='2'>"
+            + "<block type='math_number' id='1'><field name='NUM'>0</field></block>"
+            + "</instance></block_set>";
+    private static final String INVALID_XML = "<block_set xmlns='http://de.fhg.iais.roberta.blockly' unknown='attribute'/>";
+
+    @Test
+    public void testXmlIsParsedAndSerializedAgain() throws Exception {
+        BlockSet blockSet = JaxbHelper.xml2BlockSet(VALID_XML);
+        Assert.assertEquals("ev3", blockSet.getRobottype());
+        BlockSet blockSetAgain = JaxbHelper.xml2BlockSet(JaxbHelper.blockSet2xml(blockSet));
+        Assert.assertEquals("math_number", blockSetAgain.getInstance().get(0).getBlock().get(0).getType());
+    }
+
+    @Test
+    public void testFragmentHasNoXmlDeclaration() throws Exception {
+        String fragment = JaxbHelper.blockSet2xmlFragment(JaxbHelper.xml2BlockSet(VALID_XML));
+        Assert.assertTrue(fragment.startsWith("<block_set"));
+        Assert.assertEquals("ev3", JaxbHelper.xml2BlockSet(fragment).getRobottype());
+    }
+
+    @Test
+    public void testValidationCanBeSwitchedOff() throws Exception {
+        try {
+            JaxbHelper.xml2BlockSet(INVALID_XML);
+            Assert.fail("invalid XML must be rejected");
+        } catch ( Exception e ) {
+            // expected
+        }
+        Assert.assertNotNull(JaxbHelper.xml2BlockSet(INVALID_XML, false));
+        JaxbHelper.validate(VALID_XML);
+    }
+
+    @Test(expected = SAXException.class)
+    public void testValidatorRejectsInvalidXml() throws Exception {
+        JaxbHelper.validate(INVALID_XML);
+    }
+
+    @Test
+    public void testConcurrentParsing() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for ( int i = 0; i < 100; i++ ) {
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        return JaxbHelper.xml2BlockSet(VALID_XML).getRobottype();
+                    }
+                }));
+            }
+            for ( Future<String> result : results ) {
+                Assert.assertEquals("ev3", result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package de.fhg.iais.roberta.robotCommunication.generic;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.robotCommunication.ArtifactStore;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicationData;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
+
+public class ArtifactStoreTest {
+
+    @Test
+    public void testProgramIsReplacedAndRemoved() throws Exception {
+        ArtifactStore store = new ArtifactStore();
+        store.put("TOKEN001", "prog.jar", bytes("first"));
+        store.put("TOKEN001", "prog.jar", bytes("second"));
+        Assert.assertEquals("second", content(store.get("TOKEN001")));
+        Assert.assertEquals(1, store.getNumberOfArtifacts());
+        Assert.assertEquals(6, store.getBytesInMemory());
+        store.remove("TOKEN001");
+        Assert.assertNull(store.get("TOKEN001"));
+        Assert.assertEquals(0, store.getBytesInMemory());
+    }
+
+    @Test
+    public void testLargeProgramIsSpilledToDisk() throws Exception {
+        File spillDir = Files.createTempDirectory("artifactStoreTest").toFile();
+        try {
+            ArtifactStore store = new ArtifactStore(4, spillDir.getPath());
+            store.put("TOKEN001", "small.py", bytes("abc"));
+            store.put("TOKEN002", "large.py", bytes("abcdefgh"));
+            Assert.assertEquals(3, store.getBytesInMemory());
+            Assert.assertEquals(1, spillDir.list().length);
+            Assert.assertEquals("large.py", store.get("TOKEN002").getFileName());
+            Assert.assertEquals("abcdefgh", content(store.get("TOKEN002")));
+            store.remove("TOKEN002");
+            Assert.assertEquals(0, spillDir.list().length);
+        } finally {
+            FileUtils.deleteDirectory(spillDir);
+        }
+    }
+
+    @Test
+    public void testProgramIsRemovedWhenTheRobotDisconnects() throws Exception {
+        RobotCommunicator communicator = new RobotCommunicator();
+        RobotCommunicationData state = new RobotCommunicationData("TOKEN001", "ev3", "00:00:00:00:00:01", "EV3", "9.1", "1.0", "lejos", "1.0");
+        Assert.assertTrue(communicator.addNewRegistration(state));
+        communicator.getArtifactStore().put("TOKEN001", "prog.jar", bytes("jar"));
+        communicator.disconnect("TOKEN001");
+        Assert.assertNull(communicator.getArtifactStore().get("TOKEN001"));
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String content(ArtifactStore.Artifact artifact) throws Exception {
+        try (InputStream stream = artifact.openStream()) {
+            return IOUtils.toString(stream, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package de.fhg.iais.roberta.robotCommunication.generic;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.components.Configuration;
+import de.fhg.iais.roberta.factory.IRobotFactory;
+import de.fhg.iais.roberta.robotCommunication.CachingCompilerWorkflow;
+import de.fhg.iais.roberta.robotCommunication.CompilationResult;
+import de.fhg.iais.roberta.robotCommunication.CompileCache;
+import de.fhg.iais.roberta.robotCommunication.ICompilerWorkflow;
+import de.fhg.iais.roberta.transformer.BlocklyProgramAndConfigTransformer;
+import de.fhg.iais.roberta.util.Key;
+import de.fhg.iais.roberta.util.test.Helper;
+
+public class CompileCacheTest {
+    private final Helper h = new Helper();
+
+    @Test
+    public void testKeyDependsOnAllParts() {
+        Assert.assertEquals(CompileCache.key("ev3", "<xml/>", null), CompileCache.key("ev3", "<xml/>", null));
+        Assert.assertNotEquals(CompileCache.key("ev3", "<xml/>"), CompileCache.key("nxt", "<xml/>"));
+        Assert.assertNotEquals(CompileCache.key("ab", "c"), CompileCache.key("a", "bc"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        CompileCache cache = new CompileCache(25);
+        cache.put("a", entry(10));
+        cache.put("b", entry(10));
+        Assert.assertNotNull(cache.get("a")); // b is now the least recently used entry
+        cache.put("c", entry(10));
+        Assert.assertNull(cache.get("b"));
+        Assert.assertNotNull(cache.get("a"));
+        Assert.assertNotNull(cache.get("c"));
+        Assert.assertEquals(20, cache.getBytes());
+        Assert.assertEquals(1, cache.getEvictions());
+        Assert.assertEquals(0.75, cache.getHitRatio(), 0.001);
+    }
+
+    @Test
+    public void testTooLargeEntryIsNotCached() {
+        CompileCache cache = new CompileCache(25);
+        cache.put("a", entry(10));
+        cache.put("huge", entry(26));
+        Assert.assertNull(cache.get("huge"));
+        Assert.assertNotNull(cache.get("a"));
+        Assert.assertEquals(10, cache.getBytes());
+    }
+
+    @Test
+    public void testSecondRunIsTakenFromTheCache() throws Exception {
+        CountingCompilerWorkflow compiler = new CountingCompilerWorkflow();
+        CachingCompilerWorkflow cachingCompiler = new CachingCompilerWorkflow("test", compiler, new CompileCache(1000));
+        BlocklyProgramAndConfigTransformer data = BlocklyProgramAndConfigTransformer.transform(this.h.getRobotFactory(), "program", "config");
+
+        Assert.assertEquals(Key.COMPILERWORKFLOW_SUCCESS, cachingCompiler.execute("TOKEN001", "prog", data).getMessageKey());
+        CompilationResult result = cachingCompiler.execute("TOKEN002", "prog", data);
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertEquals(1, compiler.numberOfCompilations);
+        Assert.assertEquals("prog.bin", result.getProgramFileName());
+        Assert.assertEquals("binary", new String(result.getProgram(), StandardCharsets.UTF_8));
+
+        BlocklyProgramAndConfigTransformer otherData = BlocklyProgramAndConfigTransformer.transform(this.h.getRobotFactory(), "program2", "config");
+        Assert.assertEquals(Key.COMPILERWORKFLOW_SUCCESS, cachingCompiler.execute("TOKEN002", "prog", otherData).getMessageKey());
+        Assert.assertEquals(2, compiler.numberOfCompilations);
+    }
+
+    @Test
+    public void testFailedCompilationIsNotCached() throws Exception {
+        CachingCompilerWorkflow cachingCompiler = new CachingCompilerWorkflow("test", new CountingCompilerWorkflow(), new CompileCache(1000));
+        BlocklyProgramAndConfigTransformer data = BlocklyProgramAndConfigTransformer.transform(this.h.getRobotFactory(), "fail", "config");
+
+        Assert.assertFalse(cachingCompiler.execute("TOKEN001", "prog", data).isSuccess());
+        Assert.assertFalse(cachingCompiler.execute("TOKEN001", "prog", data).isSuccess());
+    }
+
+    private static CompileCache.Entry entry(int size) {
+        return new CompileCache.Entry(CompilationResult.success(null, "prog.bin", new byte[size]));
+    }
+
+    private static class CountingCompilerWorkflow implements ICompilerWorkflow {
+        int numberOfCompilations = 0;
+
+        @Override
+        public CompilationResult execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
+            this.numberOfCompilations++;
+            if ( "fail".equals(data.getProgramText()) ) {
+                return CompilationResult.error(Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED, null);
+            }
+            return CompilationResult.success(null, programName + ".bin", "binary".getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String generateSourceCode(IRobotFactory factory, String token, String programName, String programText, String configurationText) {
+            return null;
+        }
+
+        @Override
+        public String generateSourceCode(String programName, BlocklyProgramAndConfigTransformer data) {
+            return null;
+        }
+
+        @Override
+        public Configuration generateConfiguration(IRobotFactory factory, String blocklyXml) throws Exception {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package de.fhg.iais.roberta.robotCommunication.generic;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.components.Actor;
+import de.fhg.iais.roberta.components.Configuration;
+import de.fhg.iais.roberta.inter.mode.action.IActorPort;
+import de.fhg.iais.roberta.robotCommunication.ConfigurationCache;
+import de.fhg.iais.roberta.util.test.Helper;
+
+public class ConfigurationCacheTest {
+    private final Helper h = new Helper();
+
+    @Test
+    public void testKeyIgnoresWhitespaceBetweenTags() {
+        String key = ConfigurationCache.key(this.h.getRobotFactory(), "<config><block type=\"robBrick_EV3-Brick\"/></config>");
+        Assert.assertEquals(key, ConfigurationCache.key(this.h.getRobotFactory(), "  <config>\n    <block type=\"robBrick_EV3-Brick\"/>\n</config>\n"));
+        Assert.assertNotEquals(key, ConfigurationCache.key(this.h.getRobotFactory(), "<config><block type=\"robBrick_EV3 - Brick\"/></config>"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        ConfigurationCache cache = new ConfigurationCache(2);
+        cache.put("a", configuration());
+        cache.put("b", configuration());
+        Assert.assertNotNull(cache.get("a")); // b is now the least recently used entry
+        cache.put("c", configuration());
+        Assert.assertNull(cache.get("b"));
+        Assert.assertNotNull(cache.get("a"));
+        Assert.assertNotNull(cache.get("c"));
+        Assert.assertEquals(2, cache.getNumberOfEntries());
+        Assert.assertEquals(1, cache.getEvictions());
+        Assert.assertEquals(0.75, cache.getHitRatio(), 0.001);
+    }
+
+    @Test
+    public void testNothingIsCachedIfSizeIsZero() {
+        ConfigurationCache cache = new ConfigurationCache(0);
+        cache.put("a", configuration());
+        Assert.assertNull(cache.get("a"));
+        Assert.assertEquals(0, cache.getNumberOfEntries());
+        Assert.assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testCachedConfigurationIsImmutable() {
+        ConfigurationCache cache = new ConfigurationCache(1);
+        cache.put("a", configuration());
+        try {
+            cache.get("a").getActors().clear();
+            Assert.fail("a shared configuration must not be modifiable");
+        } catch ( UnsupportedOperationException e ) {
+            // expected
+        }
+    }
+
+    private static Configuration configuration() {
+        return new Configuration(new HashMap<IActorPort, Actor>(), null, 0, 0) {
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package de.fhg.iais.roberta.robotCommunication.generic;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.robotCommunication.PushTimer;
+
+public class PushTimerTest {
+
+    @Test
+    public void testTimeoutExpires() throws Exception {
+        PushTimer pushTimer = new PushTimer("TestTimer", 10, 8);
+        final CountDownLatch expired = new CountDownLatch(1);
+        PushTimer.Timeout timeout = pushTimer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                expired.countDown();
+            }
+        }, 50);
+        Assert.assertEquals(1, pushTimer.getPendingTimeouts());
+        Assert.assertTrue(expired.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(timeout.isExpired());
+        Assert.assertFalse(timeout.cancel());
+        Assert.assertEquals(0, pushTimer.getPendingTimeouts());
+        Assert.assertEquals(1, pushTimer.getExpiredTimeouts());
+    }
+
+    @Test
+    public void testTimeoutLongerThanOneRoundOfTheWheelExpires() throws Exception {
+        PushTimer pushTimer = new PushTimer("TestTimer", 5, 4);
+        final CountDownLatch expired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        pushTimer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                expired.countDown();
+            }
+        }, 100);
+        Assert.assertTrue(expired.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+    }
+
+    @Test
+    public void testCancelledTimeoutDoesNotExpire() throws Exception {
+        PushTimer pushTimer = new PushTimer("TestTimer", 10, 8);
+        final AtomicInteger runs = new AtomicInteger(0);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                runs.incrementAndGet();
+            }
+        };
+        PushTimer.Timeout cancelled = pushTimer.schedule(task, 30);
+        PushTimer.Timeout other = pushTimer.schedule(task, 30);
+        Assert.assertEquals(2, pushTimer.getPendingTimeouts());
+        Assert.assertTrue(cancelled.cancel());
+        Assert.assertFalse(cancelled.cancel());
+        Assert.assertEquals(1, pushTimer.getPendingTimeouts());
+        Thread.sleep(300);
+        Assert.assertEquals(1, runs.get());
+        Assert.assertFalse(cancelled.isExpired());
+        Assert.assertTrue(other.isExpired());
+        Assert.assertEquals(0, pushTimer.getPendingTimeouts());
+    }
+}
@@ -1,8 +1,15 @@
 package de.fhg.iais.roberta.robotCommunication.generic;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import de.fhg.iais.roberta.robotCommunication.IPushCommandListener;
 import de.fhg.iais.roberta.robotCommunication.RobotCommunicationData;
 import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
 import de.fhg.iais.roberta.util.dbc.DbcException;
@@ -37,4 +44,129 @@ public class RobotCommunicatorTest {
         robotCommunicator.addNewRegistration(goodRegistration1);
         Assert.assertFalse(robotCommunicator.addNewRegistration(goodRegistration2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRegisterAgainWithNewTokenRemovesOldToken() throws Exception {
+        RobotCommunicator robotCommunicator = new RobotCommunicator();
+        RobotCommunicationData oldRegistration = new RobotCommunicationData("OLD00001", "ev3", "00:11:22:33:44:88", "ev3", "8.1", "", "lejos", "");
+        RobotCommunicationData newRegistration = new RobotCommunicationData("NEW00001", "ev3", "00:11:22:33:44:88", "ev3", "8.1", "", "lejos", "");
+        Assert.assertTrue(robotCommunicator.addNewRegistration(oldRegistration));
+        Assert.assertTrue(robotCommunicator.addNewRegistration(newRegistration));
+        Assert.assertNull(robotCommunicator.getState("OLD00001"));
+        Assert.assertSame(newRegistration, robotCommunicator.getState("NEW00001"));
+        robotCommunicator.disconnect("OLD00001");
+        Assert.assertSame(newRegistration, robotCommunicator.getState("NEW00001"));
+        robotCommunicator.disconnect("NEW00001");
+        Assert.assertTrue(robotCommunicator.addNewRegistration(oldRegistration));
+    }
+
+    @Test
+    public void testUsbRobotsDontReplaceEachOther() throws Exception {
+        RobotCommunicator robotCommunicator = new RobotCommunicator();
+        Assert.assertTrue(robotCommunicator.addNewRegistration(new RobotCommunicationData("USB00001", "ev3", "usb", "ev3", "8.1", "", "lejos", "")));
+        Assert.assertTrue(robotCommunicator.addNewRegistration(new RobotCommunicationData("USB00002", "ev3", "usb", "ev3", "8.1", "", "lejos", "")));
+        Assert.assertNotNull(robotCommunicator.getState("USB00001"));
+        Assert.assertNotNull(robotCommunicator.getState("USB00002"));
+        Assert.assertFalse(robotCommunicator.addNewRegistration(new RobotCommunicationData("USB00001", "ev3", "usb", "ev3", "8.1", "", "lejos", "")));
+    }
+
+    @Test
+    public void testAsyncPushIsResumedByRun() throws Exception {
+        RobotCommunicator robotCommunicator = new RobotCommunicator();
+        RobotCommunicationData state = new RobotCommunicationData("ASYNC001", "ev3", "00:11:22:33:44:66", "ev3", "8.1", "", "lejos", "");
+        robotCommunicator.addNewRegistration(state);
+        state.userApprovedTheRobotToken();
+        CommandCollector commands = new CommandCollector();
+        Assert.assertTrue(robotCommunicator.brickWaitsForAnAsyncServerPush("ASYNC001", "8.1", 0, commands));
+        Assert.assertTrue(commands.commands.isEmpty());
+        Assert.assertTrue(robotCommunicator.postRunCommand("ASYNC001", "prog").get(2, TimeUnit.SECONDS));
+        Assert.assertEquals(Arrays.asList("download"), commands.commands);
+        Assert.assertEquals("prog", state.getProgramName());
+    }
+
+    @Test
+    public void testAsyncPushIsTerminatedByTimerAndDisconnect() throws Exception {
+        RobotCommunicator robotCommunicator = new RobotCommunicator();
+        RobotCommunicationData state = new RobotCommunicationData("ASYNC002", "ev3", "00:11:22:33:44:77", "ev3", "8.1", "", "lejos", "");
+        robotCommunicator.addNewRegistration(state);
+        state.userApprovedTheRobotToken();
+        CommandCollector commands = new CommandCollector();
+        robotCommunicator.brickWaitsForAnAsyncServerPush("ASYNC002", "8.1", 0, commands);
+        state.terminatePushAndRequestNextPush();
+        Assert.assertEquals(Arrays.asList("repeat"), commands.commands);
+        commands = new CommandCollector();
+        robotCommunicator.brickWaitsForAnAsyncServerPush("ASYNC002", "8.1", 0, commands);
+        robotCommunicator.disconnect("ASYNC002");
+        Assert.assertEquals(1, commands.commands.size());
+        Assert.assertFalse(robotCommunicator.brickWaitsForAnAsyncServerPush("ASYNC002", "8.1", 0, new CommandCollector()));
+    }
+
+    @Test
+    public void testRunPostedBetweenPushesIsDeliveredWithTheNextPush() throws Exception {
+        RobotCommunicator robotCommunicator = new RobotCommunicator();
+        RobotCommunicationData state = new RobotCommunicationData("MAIL0001", "ev3", "00:11:22:33:44:99", "ev3", "8.1", "", "lejos", "");
+        robotCommunicator.addNewRegistration(state);
+        state.userApprovedTheRobotToken();
+        CompletableFuture<Boolean> pickedUp = robotCommunicator.postRunCommand("MAIL0001", "prog");
+        Assert.assertFalse(pickedUp.isDone());
+        CommandCollector commands = new CommandCollector();
+        robotCommunicator.brickWaitsForAnAsyncServerPush("MAIL0001", "8.1", 0, commands);
+        Assert.assertEquals(Arrays.asList("download"), commands.commands);
+        Assert.assertTrue(pickedUp.getNow(false));
+        Assert.assertEquals("prog", state.getProgramName());
+    }
+
+    @Test
+    public void testRunButtonWaitsForThePickUpWithoutBlockingThePush() throws Exception {
+        final RobotCommunicator robotCommunicator = new RobotCommunicator();
+        RobotCommunicationData state = new RobotCommunicationData("MAIL0002", "ev3", "00:11:22:33:44:aa", "ev3", "8.1", "", "lejos", "");
+        robotCommunicator.addNewRegistration(state);
+        state.userApprovedTheRobotToken();
+        final CommandCollector commands = new CommandCollector();
+        Thread robot = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                } catch ( InterruptedException e ) {
+                    // push at once
+                }
+                robotCommunicator.brickWaitsForAnAsyncServerPush("MAIL0002", "8.1", 0, commands);
+            }
+        };
+        robot.start();
+        Assert.assertTrue(robotCommunicator.postRunCommand("MAIL0002", "prog").get(2, TimeUnit.SECONDS));
+        robot.join();
+        Assert.assertEquals(Arrays.asList("download"), commands.commands);
+    }
+
+    @Test
+    public void testCommandNotPickedUpIsWithdrawnOrReplaced() throws Exception {
+        RobotCommunicator robotCommunicator = new RobotCommunicator();
+        RobotCommunicationData state = new RobotCommunicationData("MAIL0003", "ev3", "00:11:22:33:44:bb", "ev3", "8.1", "", "lejos", "");
+        robotCommunicator.addNewRegistration(state);
+        state.userApprovedTheRobotToken();
+        Assert.assertFalse(robotCommunicator.postRunCommand("MAIL0003", "prog1").get(2, TimeUnit.SECONDS));
+        CommandCollector commands = new CommandCollector();
+        robotCommunicator.brickWaitsForAnAsyncServerPush("MAIL0003", "8.1", 0, commands);
+        Assert.assertTrue(commands.commands.isEmpty()); // the withdrawn command is not delivered
+        state.terminatePushAndRequestNextPush();
+
+        CompletableFuture<Boolean> first = robotCommunicator.postRunCommand("MAIL0003", "prog2");
+        CompletableFuture<Boolean> second = robotCommunicator.postRunCommand("MAIL0003", "prog3");
+        Assert.assertFalse(first.getNow(true));
+        Assert.assertFalse(second.isDone());
+        robotCommunicator.disconnect("MAIL0003");
+        Assert.assertFalse(second.getNow(true));
+        Assert.assertFalse(robotCommunicator.postRunCommand("MAIL0003", "prog4").getNow(true));
+    }
+
+    private static class CommandCollector implements IPushCommandListener {
+        final List<String> commands = new ArrayList<>();
+
+        @Override
+        public void pushCommandAvailable(String command) {
+            this.commands.add(command);
+        }
+    }
+}
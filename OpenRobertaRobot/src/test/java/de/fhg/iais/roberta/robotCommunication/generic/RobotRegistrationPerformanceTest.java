@@ -0,0 +1,82 @@
+package de.fhg.iais.roberta.robotCommunication.generic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicationData;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
+import de.fhg.iais.roberta.util.Clock;
+import de.fhg.iais.roberta.util.testsetup.IntegrationTest;
+
+/**
+ * registration storm: a lot of robots register, then all of them register again with a new token (e.g. after a Wi-Fi outage of a school). Every second
+ * registration has to find and abort the old registration of the same robot.
+ */
+@Ignore
+@Category(IntegrationTest.class)
+public class RobotRegistrationPerformanceTest {
+    private static final Logger LOG = LoggerFactory.getLogger(RobotRegistrationPerformanceTest.class);
+
+    private static final int NUMBER_OF_ROBOTS = 10000;
+    private static final int NUMBER_OF_THREADS = 16;
+
+    @Test
+    public void registrationStorm() throws Exception {
+        RobotCommunicator robotCommunicator = new RobotCommunicator();
+        ExecutorService executorService = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        try {
+            Clock clock = Clock.start();
+            registerAllRobots(robotCommunicator, executorService, "A");
+            long firstStormMsec = clock.elapsedMsec();
+            LOG.info(NUMBER_OF_ROBOTS + " robots registered in " + firstStormMsec + " msec");
+
+            clock = Clock.start();
+            registerAllRobots(robotCommunicator, executorService, "B");
+            long secondStormMsec = clock.elapsedMsec();
+            LOG.info(NUMBER_OF_ROBOTS + " robots registered again with a new token in " + secondStormMsec + " msec");
+            LOG.info("registrations per sec: " + (NUMBER_OF_ROBOTS * 1000L / Math.max(1, secondStormMsec)));
+
+            for ( int i = 0; i < NUMBER_OF_ROBOTS; i++ ) {
+                Assert.assertNull(robotCommunicator.getState(token("A", i)));
+                Assert.assertNotNull(robotCommunicator.getState(token("B", i)));
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private static void registerAllRobots(final RobotCommunicator robotCommunicator, ExecutorService executorService, final String tokenPrefix)
+        throws Exception {
+        List<Future<Boolean>> results = new ArrayList<>();
+        for ( int i = 0; i < NUMBER_OF_ROBOTS; i++ ) {
+            final int robotNumber = i;
+            results.add(executorService.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    String mac = String.format("00:00:00:%02x:%02x:%02x", robotNumber >> 16 & 0xff, robotNumber >> 8 & 0xff, robotNumber & 0xff);
+                    RobotCommunicationData state =
+                        new RobotCommunicationData(token(tokenPrefix, robotNumber), "ev3", mac, "ev3-" + robotNumber, "8.1", "2.2.0", "lejos", "0.9.1");
+                    return robotCommunicator.addNewRegistration(state);
+                }
+            }));
+        }
+        for ( Future<Boolean> result : results ) {
+            Assert.assertTrue(result.get());
+        }
+    }
+
+    private static String token(String prefix, int robotNumber) {
+        return String.format("%s%07d", prefix, robotNumber);
+    }
+}
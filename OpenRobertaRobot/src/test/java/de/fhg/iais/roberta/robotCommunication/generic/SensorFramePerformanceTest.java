@@ -0,0 +1,100 @@
+package de.fhg.iais.roberta.robotCommunication.generic;
+
+import java.util.Random;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.robotCommunication.SensorFrame;
+import de.fhg.iais.roberta.robotCommunication.SensorTimeSeries;
+import de.fhg.iais.roberta.util.Clock;
+import de.fhg.iais.roberta.util.testsetup.IntegrationTest;
+
+/**
+ * sensor logging of an EV3 with touch, color, gyro and ultrasonic sensor and two motors: the frames are ingested with the generic JSON parser (as before)
+ * and with the streaming parser. The frames are generated with the keys and value types an EV3 sends.
+ */
+@Ignore
+@Category(IntegrationTest.class)
+public class SensorFramePerformanceTest {
+    private static final Logger LOG = LoggerFactory.getLogger(SensorFramePerformanceTest.class);
+
+    private static final int NUMBER_OF_FRAMES = 1000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 100;
+
+    @Test
+    public void ingestFrames() throws Exception {
+        String[] frames = frames();
+        for ( int i = 0; i < WARMUP_ROUNDS; i++ ) {
+            ingestGeneric(frames);
+            ingestStreaming(frames);
+        }
+        Clock clock = Clock.start();
+        for ( int i = 0; i < MEASURED_ROUNDS; i++ ) {
+            ingestGeneric(frames);
+        }
+        long genericMsec = clock.elapsedMsec();
+        clock = Clock.start();
+        for ( int i = 0; i < MEASURED_ROUNDS; i++ ) {
+            ingestStreaming(frames);
+        }
+        long streamingMsec = clock.elapsedMsec();
+        long ingested = (long) NUMBER_OF_FRAMES * MEASURED_ROUNDS;
+        LOG.info("generic JSON parser: " + ingested + " frames in " + genericMsec + " msec");
+        LOG.info("streaming parser:    " + ingested + " frames in " + streamingMsec + " msec");
+    }
+
+    private static void ingestGeneric(String[] frames) throws Exception {
+        SensorTimeSeries series = new SensorTimeSeries(256, 8, 1000, 10000, 60000);
+        for ( int i = 0; i < frames.length; i++ ) {
+            JSONObject frame = new JSONObject(frames[i]);
+            Assert.assertNotNull(frame.remove("token"));
+            series.append(i * 50L, SensorTimeSeries.frameOf(frame));
+        }
+    }
+
+    private static void ingestStreaming(String[] frames) throws Exception {
+        SensorTimeSeries series = new SensorTimeSeries(256, 8, 1000, 10000, 60000);
+        SensorFrame frame = new SensorFrame();
+        for ( int i = 0; i < frames.length; i++ ) {
+            Assert.assertTrue(frame.parse(frames[i]));
+            series.append(i * 50L, frame);
+        }
+    }
+
+    private static String[] frames() {
+        Random random = new Random(4711);
+        String[] colors = {
+            "NONE",
+            "BLACK",
+            "RED",
+            "WHITE"
+        };
+        String[] frames = new String[NUMBER_OF_FRAMES];
+        for ( int i = 0; i < NUMBER_OF_FRAMES; i++ ) {
+            frames[i] =
+                "{\"token\":\"5ZAB7GHF\",\"S1-touch\":"
+                    + random.nextBoolean()
+                    + ",\"S2-color-colour\":\""
+                    + colors[random.nextInt(colors.length)]
+                    + "\",\"S2-color-light\":"
+                    + random.nextInt(100)
+                    + ",\"S3-gyro-angle\":"
+                    + (random.nextInt(720) - 360)
+                    + ",\"S4-ultrasonic-distance\":"
+                    + random.nextInt(2550) / 10.0
+                    + ",\"B-motor-degree\":"
+                    + (i * 7)
+                    + ",\"C-motor-degree\":"
+                    + (i * -7)
+                    + "}";
+        }
+        return frames;
+    }
+}
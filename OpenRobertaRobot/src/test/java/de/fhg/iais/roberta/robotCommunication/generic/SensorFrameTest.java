@@ -0,0 +1,52 @@
+package de.fhg.iais.roberta.robotCommunication.generic;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.robotCommunication.SensorFrame;
+
+public class SensorFrameTest {
+    private static final String FRAME =
+        "{\"token\":\"5ZAB7GHF\", \"S1-touch\":true, \"S2-color-colour\":\"RED\", \"S4-ultrasonic-distance\":23.5, \"A-motor-degree\":-720, "
+            + "\"B-motor-degree\":0.125, \"S3-gyro-angle\":1.5E2, \"S3-gyro-rate\":null}";
+
+    @Test
+    public void testValuesAreTheSameAsWithTheGenericParser() throws Exception {
+        SensorFrame frame = new SensorFrame();
+        Assert.assertTrue(frame.parse(FRAME));
+        Assert.assertEquals("5ZAB7GHF", frame.getToken());
+        JSONObject generic = new JSONObject(FRAME);
+        Assert.assertEquals(5, frame.getNumberOfValues());
+        for ( int i = 0; i < frame.getNumberOfValues(); i++ ) {
+            Object expected = generic.get(frame.getKey(i));
+            double expectedValue = expected instanceof Boolean ? (((Boolean) expected) ? 1.0 : 0.0) : ((Number) expected).doubleValue();
+            Assert.assertEquals(frame.getKey(i), expectedValue, frame.getValue(i), 0.0);
+        }
+    }
+
+    @Test
+    public void testTokenAndKeysAreReused() throws Exception {
+        SensorFrame frame = new SensorFrame();
+        Assert.assertTrue(frame.parse(FRAME));
+        String token = frame.getToken();
+        String key = frame.getKey(0);
+        Assert.assertTrue(frame.parse(FRAME.replace("23.5", "24.75")));
+        Assert.assertSame(token, frame.getToken());
+        Assert.assertSame(key, frame.getKey(0));
+        Assert.assertEquals("S4-ultrasonic-distance", frame.getKey(1));
+        Assert.assertEquals(24.75, frame.getValue(1), 0.0);
+    }
+
+    @Test
+    public void testUnusualFramesAreLeftToTheGenericParser() throws Exception {
+        SensorFrame frame = new SensorFrame();
+        Assert.assertFalse(frame.parse("{\"token\":\"5ZAB7GHF\",\"S1\":[1,2]}"));
+        Assert.assertFalse(frame.parse("{\"token\":\"5ZAB7GHF\",\"S\\u0031\":1}"));
+        Assert.assertFalse(frame.parse("{\"S1\":1}"));
+        Assert.assertFalse(frame.parse("{\"token\":\"5ZAB7GHF\",\"S1\":1"));
+        Assert.assertFalse(frame.parse("{\"token\":\"5ZAB7GHF\",\"S1\":1} trailing"));
+        Assert.assertTrue(frame.parse(" { \"token\" : \"5ZAB7GHF\" } "));
+        Assert.assertEquals(0, frame.getNumberOfValues());
+    }
+}
@@ -0,0 +1,73 @@
+package de.fhg.iais.roberta.robotCommunication.generic;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.robotCommunication.SensorTimeSeries;
+
+public class SensorTimeSeriesTest {
+
+    @Test
+    public void testRawSamplesAreExportedAsCsv() throws Exception {
+        SensorTimeSeries series = new SensorTimeSeries(4, 2, 1000);
+        series.append(100, frame("{\"S1\":1.5,\"touch\":true}"));
+        series.append(200, frame("{\"touch\":false,\"color\":\"RED\"}"));
+        Assert.assertEquals(Arrays.asList("S1", "touch"), series.getChannels());
+        Assert.assertEquals("time,S1,touch\n100,1.5,1.0\n200,,0.0\n", csv(series, 0, Long.MAX_VALUE, 0));
+        Assert.assertEquals("time,S1,touch\n200,,0.0\n", csv(series, 150, 250, 0));
+    }
+
+    @Test
+    public void testRingBufferKeepsTheLatestSamples() throws Exception {
+        SensorTimeSeries series = new SensorTimeSeries(3, 1);
+        for ( int t = 1; t <= 5; t++ ) {
+            series.append(t, frame("{\"S1\":" + t + "}"));
+        }
+        Assert.assertEquals(3, series.getNumberOfSamples());
+        Assert.assertEquals("time,S1\n3,3.0\n4,4.0\n5,5.0\n", csv(series, 0, Long.MAX_VALUE, 0));
+    }
+
+    @Test
+    public void testSamplesAreDownsampled() throws Exception {
+        SensorTimeSeries series = new SensorTimeSeries(2, 1, 1000, 10000);
+        series.append(100, frame("{\"S1\":1}"));
+        series.append(900, frame("{\"S1\":3}"));
+        series.append(1100, frame("{\"S1\":5}"));
+        series.append(2100, frame("{\"S1\":7}"));
+        Assert.assertEquals("time,S1.min,S1.mean,S1.max\n1000,5.0,5.0,5.0\n2000,7.0,7.0,7.0\n", csv(series, 0, Long.MAX_VALUE, 1));
+        Assert.assertEquals("time,S1.min,S1.mean,S1.max\n0,1.0,4.0,7.0\n", csv(series, 0, Long.MAX_VALUE, 2));
+        Assert.assertEquals(0, series.chooseResolution(0, Long.MAX_VALUE, 2));
+        Assert.assertEquals(2, series.chooseResolution(0, Long.MAX_VALUE, 1));
+        Assert.assertEquals(10000, series.getResolutionMsec(2));
+    }
+
+    @Test
+    public void testJsonExportAndDroppedChannels() throws Exception {
+        long droppedBefore = SensorTimeSeries.getDroppedValues();
+        SensorTimeSeries series = new SensorTimeSeries(2, 1, 1000);
+        series.append(100, frame("{\"S1\":2}"));
+        series.append(200, frame("{\"S2\":3}"));
+        Assert.assertEquals(1, SensorTimeSeries.getDroppedValues() - droppedBefore);
+        StringWriter json = new StringWriter();
+        series.exportJson(json, 0, Long.MAX_VALUE, 0);
+        JSONObject exported = new JSONObject(json.toString());
+        Assert.assertEquals(0, exported.getInt("resolution"));
+        Assert.assertEquals("[\"time\",\"S1\"]", exported.getJSONArray("columns").toString());
+        Assert.assertEquals(2, exported.getJSONArray("samples").length());
+        Assert.assertTrue(exported.getJSONArray("samples").getJSONArray(1).isNull(1));
+    }
+
+    private static SensorTimeSeries.Frame frame(String json) throws Exception {
+        return SensorTimeSeries.frameOf(new JSONObject(json));
+    }
+
+    private static String csv(SensorTimeSeries series, long from, long to, int resolution) throws Exception {
+        StringWriter csv = new StringWriter();
+        series.exportCsv(csv, from, to, resolution);
+        return csv.toString();
+    }
+}
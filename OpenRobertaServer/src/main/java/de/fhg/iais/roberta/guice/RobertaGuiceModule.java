@@ -12,6 +12,7 @@ import com.google.inject.TypeLiteral;
 import com.google.inject.name.Names;
 
 import de.fhg.iais.roberta.factory.IRobotFactory;
+import de.fhg.iais.roberta.javaServer.compiler.CompilerScheduler;
 import de.fhg.iais.roberta.javaServer.restServices.all.ClientAdmin;
 import de.fhg.iais.roberta.javaServer.restServices.all.ClientConfiguration;
 import de.fhg.iais.roberta.javaServer.restServices.all.ClientPing;
@@ -54,6 +55,7 @@ public class RobertaGuiceModule extends AbstractModule {
 
         bind(SessionFactoryWrapper.class).in(Singleton.class);
         bind(RobotCommunicator.class).toInstance(this.robotCommunicator);
+        bind(CompilerScheduler.class).toInstance(new CompilerScheduler(this.openRobertaProperties));
         bind(MailManagement.class).in(Singleton.class);
 
         bind(new TypeLiteral<Map<String, IRobotFactory>>() {
@@ -11,6 +11,9 @@ import com.sun.jersey.guice.JerseyServletModule;
 import com.sun.jersey.guice.spi.container.servlet.GuiceContainer;
 
 import de.fhg.iais.roberta.factory.IRobotFactory;
+import de.fhg.iais.roberta.javaServer.restServices.robot.RobotCommandAsync;
+import de.fhg.iais.roberta.javaServer.restServices.robot.RobotCommunicatorRpc;
+import de.fhg.iais.roberta.javaServer.websocket.RobotStateWebSocketServlet;
 import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
 
 public class RobertaGuiceServletConfig extends GuiceServletContextListener {
@@ -52,6 +55,17 @@ public class RobertaGuiceServletConfig extends GuiceServletContextListener {
                     + "de.fhg.iais.roberta.javaServer.restServices.robot,"
                     + "de.fhg.iais.roberta.javaServer.provider";
                 initParams.put("com.sun.jersey.config.property.packages", packages);
+                if ( Boolean.parseBoolean(RobertaGuiceServletConfig.this.openRobertaProperties.getProperty("server.pushcmd.async")) ) {
+                    // robot push requests are suspended instead of freezing a thread. Must be served before jersey gets all requests
+                    serve("/pushcmd", "/pushcmd/*").with(RobotCommandAsync.class);
+                }
+                String clusterNode = RobertaGuiceServletConfig.this.openRobertaProperties.getProperty("cluster.node");
+                if ( clusterNode != null && !clusterNode.trim().isEmpty() ) {
+                    // commands forwarded by the other nodes of the cluster
+                    serve("/cluster").with(RobotCommunicatorRpc.class);
+                }
+                // the robot state websocket is bound to the HTTP session of the REST API
+                serve("/robotState").with(RobotStateWebSocketServlet.class);
                 serve("/*").with(GuiceContainer.class, initParams);
             }
         };
@@ -0,0 +1,305 @@
+package de.fhg.iais.roberta.javaServer.compiler;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.robotCommunication.CompilationResult;
+import de.fhg.iais.roberta.util.Key;
+import de.fhg.iais.roberta.util.dbc.Assert;
+import de.fhg.iais.roberta.util.dbc.DbcException;
+
+/**
+ * runs the compilations of robot programs on a bounded number of worker threads. Every robot plugin has its own pool of workers and its own bounded queue.
+ * Thus a class, in which 30 pupils press "run" at the same moment, cannot starve the server and a slow cross compiler cannot block other plugins.<br>
+ * <br>
+ * The queue of a plugin is fair: the jobs are grouped by session and the sessions are served round robin. If the queue is full, a compilation is rejected
+ * at once with {@link Key#COMPILERWORKFLOW_ERROR_SERVER_BUSY}. The client should retry after {@link #getRetryAfterSec(String)} seconds. The request thread
+ * waits for a bounded time only. If the compilation (including its time in the queue) takes longer, it is cancelled, the worker is interrupted and a
+ * compiler error is returned.<br>
+ * <br>
+ * Configured by the properties <code>robot.plugin.N.compiler.workers</code>, <code>robot.plugin.N.compiler.queue</code> and
+ * <code>robot.plugin.N.compiler.timeout</code> (in sec) of the plugin N. Thread-safe.
+ */
+public class CompilerScheduler {
+    private static final Logger LOG = LoggerFactory.getLogger(CompilerScheduler.class);
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 30;
+    public static final int DEFAULT_NUMBER_OF_WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    public static final int DEFAULT_TIMEOUT_SEC = 120;
+
+    private final Properties robertaProperties;
+    private final Map<String, Pool> pools = new HashMap<>(); // guarded by this
+
+    /**
+     * @param robertaProperties the properties of the server. The pool of a robot plugin is created when it is used first
+     */
+    public CompilerScheduler(Properties robertaProperties) {
+        Assert.notNull(robertaProperties);
+        this.robertaProperties = robertaProperties;
+    }
+
+    /**
+     * run a compilation on a worker of the robot plugin and wait for its result. If the queue of the plugin is full, return at once.
+     *
+     * @param robotName the name of the robot plugin, whose pool is used
+     * @param sessionNumber the session requesting the compilation, used for fair ordering
+     * @param compilation the compilation to be run
+     * @return the result of the compilation; {@link Key#COMPILERWORKFLOW_ERROR_SERVER_BUSY}, if the queue is full;
+     *         {@link Key#COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED}, if the compilation timed out
+     * @throws InterruptedException if the requesting thread is interrupted while waiting
+     */
+    public CompilationResult compile(String robotName, long sessionNumber, Callable<CompilationResult> compilation) throws InterruptedException {
+        Pool pool = getPool(robotName);
+        Job job = new Job(pool, compilation);
+        if ( !pool.offer(sessionNumber, job) ) {
+            pool.rejected.incrementAndGet();
+            LOG.warn("compile queue of robot {} is full. Compilation of session {} rejected", robotName, sessionNumber);
+            return CompilationResult.error(Key.COMPILERWORKFLOW_ERROR_SERVER_BUSY, null);
+        }
+        try {
+            return job.get(pool.timeoutSec, TimeUnit.SECONDS);
+        } catch ( TimeoutException e ) {
+            job.cancel(true);
+            pool.timedOut.incrementAndGet();
+            LOG.error("compilation for robot {} of session {} timed out after {} sec and was cancelled", robotName, sessionNumber, pool.timeoutSec);
+            return CompilationResult.error(Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED, null);
+        } catch ( ExecutionException e ) {
+            Throwable cause = e.getCause();
+            if ( cause instanceof RuntimeException ) {
+                throw (RuntimeException) cause;
+            } else if ( cause instanceof Error ) {
+                throw (Error) cause;
+            } else {
+                throw new DbcException("compilation for robot " + robotName + " failed", cause);
+            }
+        }
+    }
+
+    /**
+     * estimate, how long a client should wait before it retries a rejected compilation
+     *
+     * @param robotName the name of the robot plugin
+     * @return the number of seconds until the queue is expected to have space again. At least 1
+     */
+    public int getRetryAfterSec(String robotName) {
+        Pool pool = getPool(robotName);
+        long completed = pool.completed.get();
+        long avgServiceMsec = completed == 0 ? 1000 : pool.sumOfServiceMsec.get() / completed;
+        long retryAfterMsec = avgServiceMsec * (pool.getQueueLength() / pool.numberOfWorkers + 1);
+        return (int) Math.max(1, (retryAfterMsec + 999) / 1000);
+    }
+
+    /**
+     * @param robotName the name of the robot plugin
+     * @return the number of compilations waiting for a worker
+     */
+    public int getQueueLength(String robotName) {
+        return getPool(robotName).getQueueLength();
+    }
+
+    /**
+     * @return for every robot plugin, that has compiled at least once: queue length, workers, completed, rejected and timed out compilations, average and
+     *         maximal wait and service time
+     */
+    public JSONObject getStatistics() throws JSONException {
+        JSONObject statistics = new JSONObject();
+        synchronized ( this ) {
+            for ( Map.Entry<String, Pool> entry : this.pools.entrySet() ) {
+                statistics.put(entry.getKey(), entry.getValue().getStatistics());
+            }
+        }
+        return statistics;
+    }
+
+    private synchronized Pool getPool(String robotName) {
+        Pool pool = this.pools.get(robotName);
+        if ( pool == null ) {
+            int pluginNumber = getPluginNumber(robotName);
+            int numberOfWorkers = getIntProperty("robot.plugin." + pluginNumber + ".compiler.workers", DEFAULT_NUMBER_OF_WORKERS);
+            int queueCapacity = getIntProperty("robot.plugin." + pluginNumber + ".compiler.queue", DEFAULT_QUEUE_CAPACITY);
+            int timeoutSec = getIntProperty("robot.plugin." + pluginNumber + ".compiler.timeout", DEFAULT_TIMEOUT_SEC);
+            pool = new Pool(robotName, numberOfWorkers, queueCapacity, timeoutSec);
+            this.pools.put(robotName, pool);
+            LOG.info(
+                "compiler pool for robot {} created with {} workers, a queue of {} and a timeout of {} sec",
+                robotName,
+                numberOfWorkers,
+                queueCapacity,
+                timeoutSec);
+        }
+        return pool;
+    }
+
+    /**
+     * @return the number N of the properties <code>robot.plugin.N.*</code> of the robot plugin; -1, if the plugin is not declared
+     */
+    private int getPluginNumber(String robotName) {
+        for ( int i = 1; i < 1000; i++ ) {
+            String value = this.robertaProperties.getProperty("robot.plugin." + i + ".name");
+            if ( value == null ) {
+                return -1;
+            } else if ( value.equals(robotName) ) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int getIntProperty(String propertyName, int defaultValue) {
+        String value = this.robertaProperties.getProperty(propertyName);
+        return value == null || value.trim().isEmpty() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    /**
+     * workers, queue and statistics of one robot plugin
+     */
+    private static class Pool {
+        private final int numberOfWorkers;
+        private final int queueCapacity;
+        private final int timeoutSec;
+        private final LinkedHashMap<Long, ArrayDeque<Job>> jobsOfSessions = new LinkedHashMap<>(); // guarded by this. Iteration order is round robin order
+        private int queueLength = 0; // guarded by this
+
+        private final AtomicLong completed = new AtomicLong(0);
+        private final AtomicLong rejected = new AtomicLong(0);
+        private final AtomicLong timedOut = new AtomicLong(0);
+        private final AtomicLong sumOfWaitMsec = new AtomicLong(0);
+        private final AtomicLong maxWaitMsec = new AtomicLong(0);
+        private final AtomicLong sumOfServiceMsec = new AtomicLong(0);
+        private final AtomicLong maxServiceMsec = new AtomicLong(0);
+
+        Pool(String robotName, int numberOfWorkers, int queueCapacity, int timeoutSec) {
+            Assert.isTrue(numberOfWorkers > 0 && queueCapacity > 0 && timeoutSec > 0, "invalid compiler pool configuration for robot " + robotName);
+            this.numberOfWorkers = numberOfWorkers;
+            this.queueCapacity = queueCapacity;
+            this.timeoutSec = timeoutSec;
+            for ( int i = 0; i < numberOfWorkers; i++ ) {
+                Runnable worker = new Runnable() {
+                    @Override
+                    public void run() {
+                        runWorker();
+                    }
+                };
+                Thread workerThread = new Thread(null, worker, "compiler-" + robotName + "-" + i);
+                workerThread.setDaemon(true);
+                workerThread.start();
+            }
+        }
+
+        synchronized boolean offer(long sessionNumber, Job job) {
+            if ( this.queueLength >= this.queueCapacity ) {
+                return false;
+            }
+            ArrayDeque<Job> jobsOfSession = this.jobsOfSessions.get(sessionNumber);
+            if ( jobsOfSession == null ) {
+                jobsOfSession = new ArrayDeque<>();
+                this.jobsOfSessions.put(sessionNumber, jobsOfSession);
+            }
+            jobsOfSession.add(job);
+            this.queueLength++;
+            notify();
+            return true;
+        }
+
+        /**
+         * take the oldest job of the session, that is next in round robin order. If this session has more jobs, it is moved to the end
+         */
+        synchronized Job take() throws InterruptedException {
+            while ( this.queueLength == 0 ) {
+                wait();
+            }
+            Iterator<Map.Entry<Long, ArrayDeque<Job>>> sessions = this.jobsOfSessions.entrySet().iterator();
+            Map.Entry<Long, ArrayDeque<Job>> nextSession = sessions.next();
+            sessions.remove();
+            Job job = nextSession.getValue().poll();
+            if ( !nextSession.getValue().isEmpty() ) {
+                this.jobsOfSessions.put(nextSession.getKey(), nextSession.getValue());
+            }
+            this.queueLength--;
+            return job;
+        }
+
+        synchronized int getQueueLength() {
+            return this.queueLength;
+        }
+
+        JSONObject getStatistics() throws JSONException {
+            long completed = this.completed.get();
+            JSONObject statistics = new JSONObject();
+            statistics.put("queueLength", getQueueLength()).put("queueCapacity", this.queueCapacity).put("workers", this.numberOfWorkers);
+            statistics.put("completed", completed).put("rejected", this.rejected.get()).put("timedOut", this.timedOut.get());
+            statistics.put("avgWaitMsec", completed == 0 ? 0 : this.sumOfWaitMsec.get() / completed).put("maxWaitMsec", this.maxWaitMsec.get());
+            statistics.put("avgServiceMsec", completed == 0 ? 0 : this.sumOfServiceMsec.get() / completed).put("maxServiceMsec", this.maxServiceMsec.get());
+            return statistics;
+        }
+
+        void recordCompletion(long waitMsec, long serviceMsec) {
+            this.sumOfWaitMsec.addAndGet(waitMsec);
+            this.sumOfServiceMsec.addAndGet(serviceMsec);
+            updateMax(this.maxWaitMsec, waitMsec);
+            updateMax(this.maxServiceMsec, serviceMsec);
+            this.completed.incrementAndGet();
+        }
+
+        private void runWorker() {
+            while ( true ) {
+                try {
+                    take().run();
+                } catch ( InterruptedException e ) {
+                    // OK
+                } catch ( Exception e ) {
+                    LOG.error("compiler worker failed. The worker continues", e);
+                }
+            }
+        }
+
+        private static void updateMax(AtomicLong max, long value) {
+            long actualMax = max.get();
+            while ( value > actualMax && !max.compareAndSet(actualMax, value) ) {
+                actualMax = max.get();
+            }
+        }
+    }
+
+    /**
+     * a queued compilation. Exceptions of the compilation are passed to the waiting request thread
+     */
+    private static class Job extends FutureTask<CompilationResult> {
+        private final Pool pool;
+        private final long enqueuedAt = System.nanoTime();
+
+        Job(Pool pool, Callable<CompilationResult> compilation) {
+            super(compilation);
+            this.pool = pool;
+        }
+
+        @Override
+        public void run() {
+            if ( isCancelled() ) {
+                return; // timed out while waiting in the queue
+            }
+            long startedAt = System.nanoTime();
+            try {
+                super.run();
+            } finally {
+                long finishedAt = System.nanoTime();
+                this.pool.recordCompletion(TimeUnit.NANOSECONDS.toMillis(startedAt - this.enqueuedAt), TimeUnit.NANOSECONDS.toMillis(finishedAt - startedAt));
+            }
+        }
+    }
+}
@@ -28,7 +28,7 @@ import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
 @Provider
 public class OraDataProvider implements InjectableProvider<OraData, Parameter> {
     private static final Logger LOG = LoggerFactory.getLogger(OraDataProvider.class);
-    private static final String OPEN_ROBERTA_STATE = "openRobertaState";
+    public static final String OPEN_ROBERTA_STATE = "openRobertaState";
     private static final AtomicLong SESSION_COUNTER = new AtomicLong();
 
     public OraDataProvider() {
@@ -12,6 +12,18 @@ import org.codehaus.jettison.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.inject.Inject;
+
+import de.fhg.iais.roberta.javaServer.compiler.CompilerScheduler;
+import de.fhg.iais.roberta.javaServer.websocket.RobotStatePublisher;
+import de.fhg.iais.roberta.javaServer.websocket.RobotStateWS;
+import de.fhg.iais.roberta.persistence.util.SessionFactoryWrapper;
+import de.fhg.iais.roberta.robotCommunication.CompileCache;
+import de.fhg.iais.roberta.robotCommunication.ConfigurationCache;
+import de.fhg.iais.roberta.robotCommunication.PushTimer;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
+import de.fhg.iais.roberta.robotCommunication.SensorFrame;
+import de.fhg.iais.roberta.robotCommunication.SensorTimeSeries;
 import de.fhg.iais.roberta.util.AliveData;
 
 @Path("/alive")
@@ -20,10 +32,46 @@ public class Alive {
     private static final int EVERY_REQUEST = 10; // after arrival of EVERY_PING many /alive requests, a log entry is written
     private static final AtomicInteger aliveRequestCounterForLogging = new AtomicInteger(0);
 
+    private final RobotCommunicator brickCommunicator;
+    private final CompilerScheduler compilerScheduler;
+    private final SessionFactoryWrapper sessionFactoryWrapper;
+
+    @Inject
+    public Alive(RobotCommunicator brickCommunicator, CompilerScheduler compilerScheduler, SessionFactoryWrapper sessionFactoryWrapper) {
+        this.brickCommunicator = brickCommunicator;
+        this.compilerScheduler = compilerScheduler;
+        this.sessionFactoryWrapper = sessionFactoryWrapper;
+    }
+
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     public Response tellTheState() throws Exception {
         JSONObject answer = AliveData.getAndUpdateAliveState();
+        PushTimer pushTimer = this.brickCommunicator.getPushTimer();
+        answer.put("pushTimeoutsPending", pushTimer.getPendingTimeouts()).put("pushTimeoutsExpired", pushTimer.getExpiredTimeouts());
+        answer.put("pushTimerAvgLatenessMsec", pushTimer.getAverageLatenessMsec()).put("pushTimerMaxLatenessMsec", pushTimer.getMaxLatenessMsec());
+        CompileCache compileCache = CompileCache.getSharedCache();
+        answer.put("compileCacheHits", compileCache.getHits()).put("compileCacheMisses", compileCache.getMisses());
+        answer.put("compileCacheHitRatio", compileCache.getHitRatio()).put("compileCacheBytes", compileCache.getBytes());
+        answer.put("compileCacheEntries", compileCache.getNumberOfEntries()).put("compileCacheEvictions", compileCache.getEvictions());
+        ConfigurationCache configurationCache = ConfigurationCache.getSharedCache();
+        answer.put("configurationCacheHits", configurationCache.getHits()).put("configurationCacheMisses", configurationCache.getMisses());
+        answer.put("configurationCacheHitRatio", configurationCache.getHitRatio()).put("configurationCacheEntries", configurationCache.getNumberOfEntries());
+        answer.put("configurationCacheEvictions", configurationCache.getEvictions());
+        answer.put("compilerScheduler", this.compilerScheduler.getStatistics());
+        answer.put("artifactStore", this.brickCommunicator.getArtifactStore().getStatistics());
+        answer.put("sensorLogSamples", SensorTimeSeries.getAppendedSamples());
+        answer.put("sensorLogValues", SensorTimeSeries.getAppendedValues());
+        answer.put("sensorLogDroppedValues", SensorTimeSeries.getDroppedValues());
+        answer.put("sensorFramesStreamed", SensorFrame.getStreamedFrames());
+        answer.put("sensorFramesGeneric", SensorFrame.getGenericFrames());
+        RobotStatePublisher robotStatePublisher = RobotStateWS.getPublisher();
+        if ( robotStatePublisher != null ) {
+            answer.put("robotStateSubscriptions", robotStatePublisher.getNumberOfSubscriptions());
+            answer.put("robotStateMessagesSent", robotStatePublisher.getSentMessages());
+            answer.put("robotStateSlowBrowsersSkipped", robotStatePublisher.getSkippedSlowBrowsers());
+        }
+        answer.put("dbSessionsOpenedPerCommand", new JSONObject(this.sessionFactoryWrapper.getOpenedSessionsPerCommand()));
         int counter = aliveRequestCounterForLogging.incrementAndGet();
         boolean logAlive = counter % EVERY_REQUEST == 0;
         if ( logAlive ) {
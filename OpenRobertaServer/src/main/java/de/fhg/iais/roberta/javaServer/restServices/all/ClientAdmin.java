@@ -54,6 +54,7 @@ public class ClientAdmin {
         try {
             JSONObject request = fullRequest.getJSONObject("data");
             String cmd = request.getString("cmd");
+            dbSession.setCommand("admin/" + cmd);
             LOG.info("command is: " + cmd);
             response.put("cmd", cmd);
             if ( cmd.equals("init") ) {
@@ -59,6 +59,7 @@ public class ClientConfiguration {
         try {
             JSONObject request = fullRequest.getJSONObject("data");
             String cmd = request.getString("cmd");
+            dbSession.setCommand("conf/" + cmd);
             ClientConfiguration.LOG.info("command is: " + cmd);
             response.put("cmd", cmd);
             ConfigurationProcessor cp = new ConfigurationProcessor(dbSession, httpSessionState);
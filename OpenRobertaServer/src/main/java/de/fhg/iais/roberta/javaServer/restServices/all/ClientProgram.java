@@ -1,9 +1,11 @@
 package de.fhg.iais.roberta.javaServer.restServices.all;
 
-import java.io.InputStream;
-import java.io.StringWriter;
 import java.sql.Timestamp;
-import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
@@ -11,14 +13,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
-import javax.xml.XMLConstants;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.transform.stream.StreamSource;
-import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
-import javax.xml.validation.Validator;
 
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
@@ -30,8 +25,8 @@ import org.slf4j.MDC;
 import com.google.inject.Inject;
 
 import de.fhg.iais.roberta.blockly.generated.BlockSet;
-import de.fhg.iais.roberta.blockly.generated.Instance;
 import de.fhg.iais.roberta.factory.IRobotFactory;
+import de.fhg.iais.roberta.javaServer.compiler.CompilerScheduler;
 import de.fhg.iais.roberta.javaServer.provider.OraData;
 import de.fhg.iais.roberta.jaxb.JaxbHelper;
 import de.fhg.iais.roberta.persistence.AbstractProcessor;
@@ -44,10 +39,9 @@ import de.fhg.iais.roberta.persistence.bo.User;
 import de.fhg.iais.roberta.persistence.util.DbSession;
 import de.fhg.iais.roberta.persistence.util.HttpSessionState;
 import de.fhg.iais.roberta.persistence.util.SessionFactoryWrapper;
+import de.fhg.iais.roberta.robotCommunication.CompilationResult;
 import de.fhg.iais.roberta.robotCommunication.ICompilerWorkflow;
 import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
-import de.fhg.iais.roberta.syntax.Phrase;
-import de.fhg.iais.roberta.syntax.blocksequence.Location;
 import de.fhg.iais.roberta.syntax.hardwarecheck.generic.ProgramCheckVisitor;
 import de.fhg.iais.roberta.syntax.hardwarecheck.generic.RobotProgramCheckVisitor;
 import de.fhg.iais.roberta.syntax.hardwarecheck.generic.SimulationProgramCheckVisitor;
@@ -61,15 +55,17 @@ import de.fhg.iais.roberta.util.Util1;
 @Path("/program")
 public class ClientProgram {
     private static final Logger LOG = LoggerFactory.getLogger(ClientProgram.class);
+    private static final long WAIT_FOR_THE_PICK_UP_SEC = 5;
 
     private final SessionFactoryWrapper sessionFactoryWrapper;
     private final RobotCommunicator brickCommunicator;
+    private final CompilerScheduler compilerScheduler;
 
     @Inject
-    public ClientProgram(SessionFactoryWrapper sessionFactoryWrapper, RobotCommunicator brickCommunicator) {
+    public ClientProgram(SessionFactoryWrapper sessionFactoryWrapper, RobotCommunicator brickCommunicator, CompilerScheduler compilerScheduler) {
         this.sessionFactoryWrapper = sessionFactoryWrapper;
         this.brickCommunicator = brickCommunicator;
-
+        this.compilerScheduler = compilerScheduler;
     }
 
     @POST
@@ -92,6 +88,7 @@ public class ClientProgram {
         try {
             final JSONObject request = fullRequest.getJSONObject("data");
             final String cmd = request.getString("cmd");
+            dbSession.setCommand("program/" + cmd);
             ClientProgram.LOG.info("command is: " + cmd + ", userId is " + userId);
             response.put("cmd", cmd);
             final ProgramProcessor pp = new ProgramProcessor(dbSession, httpSessionState);
@@ -124,11 +121,15 @@ public class ClientProgram {
                 Util.addResultInfo(response, pp);
 
             } else if ( cmd.equals("showSourceP") ) {
-                final String token = httpSessionState.getToken();
                 final String programName = request.getString("name");
                 final String programText = request.getString("programText");
                 final String configurationText = request.getString("configurationText");
-                final String sourceCode = robotCompilerWorkflow.generateSourceCode(robotFactory, token, programName, programText, configurationText);
+                final BlocklyProgramAndConfigTransformer programAndConfigTransformer =
+                    BlocklyProgramAndConfigTransformer.transform(robotFactory, programText, configurationText);
+                final String sourceCode =
+                    programAndConfigTransformer.getErrorMessage() == null
+                        ? robotCompilerWorkflow.generateSourceCode(programName, programAndConfigTransformer)
+                        : null;
 
                 final AbstractProcessor forMessages = new DummyProcessor();
                 if ( sourceCode == null ) {
@@ -155,23 +156,17 @@ public class ClientProgram {
             } else if ( cmd.equals("importXML") ) {
                 final String xmlText = request.getString("program");
                 String programName = request.getString("name");
-                final InputStream xsdStream = ClientProgram.class.getClassLoader().getResourceAsStream("blockly.xsd");
-                final SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-                final Schema schema = schemaFactory.newSchema(new StreamSource(xsdStream));
-                final Validator validator = schema.newValidator();
-
                 if ( !Util1.isValidJavaIdentifier(programName) ) {
                     programName = "NEPOprog";
                 }
                 boolean xmlIsValid = true;
                 try {
-                    validator.validate(new StreamSource(new java.io.StringReader(xmlText)));
-
+                    JaxbHelper.validate(xmlText);
                 } catch ( final org.xml.sax.SAXException e ) {
                     xmlIsValid = false;
                 }
                 if ( xmlIsValid ) {
-                    final BlockSet jaxbProgramSet = JaxbHelper.xml2BlockSet(xmlText);
+                    final BlockSet jaxbProgramSet = JaxbHelper.xml2BlockSet(xmlText, false); // validated above
                     final String robotType = jaxbProgramSet.getRobottype();
                     if ( robotType.equals(robot) ) {
                         response.put("name", programName);
@@ -230,15 +225,20 @@ public class ClientProgram {
                 // TODO: this is quick fix not to check the program for arduino
                 if ( !(httpSessionState.getRobotName().equals("ardu") || httpSessionState.getRobotName().equals("nao")) ) {
                     final RobotProgramCheckVisitor programChecker = new RobotProgramCheckVisitor(programAndConfigTransformer.getBrickConfiguration());
-                    messageKey = programConfigurationCompatibilityCheck(response, programAndConfigTransformer.getTransformedProgram(), programChecker);
+                    messageKey = programConfigurationCompatibilityCheck(response, programAndConfigTransformer, programChecker);
                 } else {
                     response.put("data", programText);
                 }
                 if ( messageKey == null ) {
                     ClientProgram.LOG.info("compiler workflow started for program {}", programName);
-                    messageKey = robotCompilerWorkflow.execute(token, programName, programAndConfigTransformer);
+                    CompilationResult compilationResult =
+                        compile(httpSessionState, robotCompilerWorkflow, token, programName, programAndConfigTransformer, response);
+                    messageKey = compilationResult.getMessageKey();
                     if ( messageKey == Key.COMPILERWORKFLOW_SUCCESS ) {
-                        wasRobotWaiting = this.brickCommunicator.theRunButtonWasPressed(token, programName);
+                        if ( token != null && compilationResult.getProgram() != null ) {
+                            this.brickCommunicator.getArtifactStore().put(token, compilationResult.getProgramFileName(), compilationResult.getProgram());
+                        }
+                        wasRobotWaiting = waitUntilPickedUp(this.brickCommunicator.postRunCommand(token, programName));
                     } else {
                         if ( messageKey != null ) {
                             LOG.info(messageKey.toString());
@@ -261,9 +261,11 @@ public class ClientProgram {
                 if ( messageKey == null ) {
                     ClientProgram.LOG.info("compiler workflow started for program {}", programName);
 
-                    messageKey = robotCompilerWorkflow.execute(token, programName, programAndConfigTransformer);
+                    final CompilationResult compilationResult =
+                        compile(httpSessionState, robotCompilerWorkflow, token, programName, programAndConfigTransformer, response);
+                    messageKey = compilationResult.getMessageKey();
                     if ( messageKey == Key.COMPILERWORKFLOW_SUCCESS ) {
-                        response.put("compiledCode", robotCompilerWorkflow.getCompiledCode());
+                        response.put("compiledCode", compilationResult.getCompiledCode());
                         response.put("rc", "ok");
                     } else {
                         if ( messageKey != null ) {
@@ -287,14 +289,16 @@ public class ClientProgram {
                 final BlocklyProgramAndConfigTransformer programAndConfigTransformer =
                     BlocklyProgramAndConfigTransformer.transform(robotFactory, programText, configurationText);
                 messageKey = programAndConfigTransformer.getErrorMessage();
-                //TODO program checks should be in compiler workflow
-                SimulationProgramCheckVisitor programChecker = robotFactory.getProgramCheckVisitor(programAndConfigTransformer.getBrickConfiguration());
-                messageKey = programConfigurationCompatibilityCheck(response, programAndConfigTransformer.getTransformedProgram(), programChecker);
+                if ( messageKey == null ) {
+                    //TODO program checks should be in compiler workflow
+                    SimulationProgramCheckVisitor programChecker = robotFactory.getProgramCheckVisitor(programAndConfigTransformer.getBrickConfiguration());
+                    messageKey = programConfigurationCompatibilityCheck(response, programAndConfigTransformer, programChecker);
+                }
 
                 if ( messageKey == null ) {
                     ClientProgram.LOG.info("JavaScript code generation started for program {}", programName);
-                    final String javaScriptCode =
-                        robotFactory.getSimCompilerWorkflow().generateSourceCode(robotFactory, token, programName, programText, configurationText);
+                    // the AST built for the program check is reused, the XML is not parsed again
+                    final String javaScriptCode = robotFactory.getSimCompilerWorkflow().generateSourceCode(programName, programAndConfigTransformer);
 
                     ClientProgram.LOG.info("JavaScriptCode \n{}", javaScriptCode);
                     response.put("javaScriptProgram", javaScriptCode);
@@ -324,11 +328,24 @@ public class ClientProgram {
         return Response.ok(response).build();
     }
 
-    private Key programConfigurationCompatibilityCheck(JSONObject response, ArrayList<ArrayList<Phrase<Void>>> program, ProgramCheckVisitor programChecker)
+    /**
+     * check the program against the configuration. The XML of the program is put into the response. It is generated from the checked AST only if the check
+     * attached errors or warnings or the program sent by the client still contains them from an earlier check. Otherwise the client's XML is returned
+     * unchanged and the expensive AST to XML round-trip is avoided
+     */
+    private Key programConfigurationCompatibilityCheck(
+        JSONObject response,
+        BlocklyProgramAndConfigTransformer programAndConfigTransformer,
+        ProgramCheckVisitor programChecker)
         throws JSONException,
         JAXBException {
-        final int errorCounter = programChecker.check(program);
-        response.put("data", ClientProgram.jaxbToXml(ClientProgram.astToJaxb(programChecker.getCheckedProgram())));
+        final String programText = programAndConfigTransformer.getProgramText();
+        final int errorCounter = programChecker.check(programAndConfigTransformer.getTransformedProgram());
+        if ( errorCounter > 0 || programChecker.getWarningCount() > 0 || programAndConfigTransformer.getProgramTransformer().containsCheckResults() ) {
+            response.put("data", JaxbHelper.blockSet2xmlFragment(JaxbHelper.astToBlockSet(programChecker.getCheckedProgram())));
+        } else {
+            response.put("data", programText);
+        }
         response.put("errorCounter", errorCounter);
         if ( errorCounter > 0 ) {
             return Key.PROGRAM_CONFIGURATION_NOT_COMPATIBLE;
@@ -336,32 +353,42 @@ public class ClientProgram {
         return null;
     }
 
-    private static String jaxbToXml(BlockSet blockSet) throws JAXBException {
-        final JAXBContext jaxbContext = JAXBContext.newInstance(BlockSet.class);
-        final Marshaller m = jaxbContext.createMarshaller();
-        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
-        final StringWriter writer = new StringWriter();
-        m.marshal(blockSet, writer);
-        return writer.toString();
+    /**
+     * run the compiler workflow on a worker of the {@link CompilerScheduler}. If the server is busy, the client is told when to retry
+     */
+    private CompilationResult compile(
+        HttpSessionState httpSessionState,
+        final ICompilerWorkflow robotCompilerWorkflow,
+        final String token,
+        final String programName,
+        final BlocklyProgramAndConfigTransformer programAndConfigTransformer,
+        JSONObject response)
+        throws InterruptedException,
+        JSONException {
+        final String robotName = httpSessionState.getRobotName();
+        final CompilationResult result = this.compilerScheduler.compile(robotName, httpSessionState.getSessionNumber(), new Callable<CompilationResult>() {
+            @Override
+            public CompilationResult call() {
+                return robotCompilerWorkflow.execute(token, programName, programAndConfigTransformer);
+            }
+        });
+        if ( result.getMessageKey() == Key.COMPILERWORKFLOW_ERROR_SERVER_BUSY ) {
+            response.put("retryAfter", this.compilerScheduler.getRetryAfterSec(robotName));
+        }
+        return result;
     }
 
-    private static BlockSet astToJaxb(ArrayList<ArrayList<Phrase<Void>>> astProgram) {
-        final BlockSet blockSet = new BlockSet();
-
-        Instance instance = null;
-        for ( final ArrayList<Phrase<Void>> tree : astProgram ) {
-            for ( final Phrase<Void> phrase : tree ) {
-                if ( phrase.getKind().hasName("LOCATION") ) {
-                    blockSet.getInstance().add(instance);
-                    instance = new Instance();
-                    instance.setX(((Location<Void>) phrase).getX());
-                    instance.setY(((Location<Void>) phrase).getY());
-                }
-                instance.getBlock().add(phrase.astToBlock());
-            }
+    /**
+     * answer, when the robot picked up the run command. The command is withdrawn, if the robot doesn't pick it up within one second, thus the timeout is a
+     * safety net only
+     */
+    private static boolean waitUntilPickedUp(CompletableFuture<Boolean> pickedUp) throws InterruptedException {
+        try {
+            return pickedUp.get(WAIT_FOR_THE_PICK_UP_SEC, TimeUnit.SECONDS);
+        } catch ( ExecutionException | TimeoutException e ) {
+            LOG.error("the robot did not acknowledge the run command", e);
+            return false;
         }
-        blockSet.getInstance().add(instance);
-        return blockSet;
     }
 
     private static void handleRunProgramError(JSONObject response, Key messageKey, String token, boolean wasRobotWaiting) throws JSONException {
@@ -52,6 +52,7 @@ public class ClientToolbox {
         try {
             JSONObject request = fullRequest.getJSONObject("data");
             String cmd = request.getString("cmd");
+            dbSession.setCommand("toolbox/" + cmd);
             LOG.info("command is: " + cmd);
             response.put("cmd", cmd);
             ToolboxProcessor tp = new ToolboxProcessor(dbSession, httpSessionState);
@@ -0,0 +1,148 @@
+package de.fhg.iais.roberta.javaServer.restServices.robot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.IOUtils;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.robotCommunication.IRobotCommandForwarder;
+import de.fhg.iais.roberta.util.Key;
+
+/**
+ * forwards the commands for a robot to its owner with a JSON POST to the RPC of the owner ({@link RobotCommunicatorRpc}). The name of a node is the base
+ * URL of the node, e.g. <code>http://10.0.0.5:1999</code>. If the owner cannot be reached or fails, the failure is logged and reported as if the robot was
+ * not connected. Thread-safe.
+ */
+public class HttpRobotCommandForwarder implements IRobotCommandForwarder {
+    private static final Logger LOG = LoggerFactory.getLogger(HttpRobotCommandForwarder.class);
+
+    private static final String RPC_PATH = "/rest/cluster";
+    private static final int CONNECT_TIMEOUT_MSEC = 2000;
+    private static final int READ_TIMEOUT_MSEC = 10000; // the owner waits up to 1 sec for the robot to pick up a command
+
+    private final String secret;
+
+    private final AtomicLong forwarded = new AtomicLong(0);
+    private final AtomicLong failed = new AtomicLong(0);
+
+    /**
+     * @param secret shared by all nodes of the cluster
+     */
+    public HttpRobotCommandForwarder(String secret) {
+        this.secret = secret;
+    }
+
+    @Override
+    public Key forwardTokenAgreement(String node, String token, String robot) {
+        try {
+            JSONObject answer = call(node, request("setToken", token).put("robot", robot));
+            return answer == null ? Key.TOKEN_SET_ERROR_NO_ROBOT_WAITING : Key.valueOf(answer.getString("key"));
+        } catch ( JSONException | IllegalArgumentException e ) {
+            LOG.error("invalid answer of node " + node + " for the token agreement of token " + token, e);
+            return Key.TOKEN_SET_ERROR_NO_ROBOT_WAITING;
+        }
+    }
+
+    @Override
+    public boolean forwardRunCommand(String node, String token, String programName, String programFileName, byte[] program) {
+        try {
+            JSONObject request = request("run", token).put("programName", programName).put("programFileName", programFileName);
+            request.put("program", Base64.getEncoder().encodeToString(program));
+            JSONObject answer = call(node, request);
+            return answer != null && answer.getBoolean("result");
+        } catch ( JSONException e ) {
+            LOG.error("invalid answer of node " + node + " for the run command of token " + token, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean forwardFirmwareUpdate(String node, String token) {
+        try {
+            JSONObject answer = call(node, request("update", token));
+            return answer != null && answer.getBoolean("result");
+        } catch ( JSONException e ) {
+            LOG.error("invalid answer of node " + node + " for the firmware update of token " + token, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void forwardDisconnect(String node, String token) {
+        try {
+            call(node, request("disconnect", token));
+        } catch ( JSONException e ) {
+            LOG.error("the disconnect of token " + token + " could not be forwarded to node " + node, e);
+        }
+    }
+
+    @Override
+    public JSONObject forwardRobotInfo(String node, String token) {
+        try {
+            JSONObject answer = call(node, request("robotInfo", token));
+            return answer == null ? null : answer.optJSONObject("robotInfo");
+        } catch ( JSONException e ) {
+            LOG.error("the robot info of token " + token + " could not be requested from node " + node, e);
+            return null;
+        }
+    }
+
+    public long getForwarded() {
+        return this.forwarded.get();
+    }
+
+    public long getFailed() {
+        return this.failed.get();
+    }
+
+    private static JSONObject request(String cmd, String token) throws JSONException {
+        return new JSONObject().put("cmd", cmd).put("token", token);
+    }
+
+    /**
+     * @return the answer of the node; null, if the node could not be reached or failed
+     */
+    private JSONObject call(String node, JSONObject request) throws JSONException {
+        this.forwarded.incrementAndGet();
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(node + RPC_PATH).openConnection();
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MSEC);
+            connection.setReadTimeout(READ_TIMEOUT_MSEC);
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+            connection.setRequestProperty(RobotCommunicatorRpc.SECRET_HEADER, this.secret);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(request.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            int status = connection.getResponseCode();
+            if ( status != HttpURLConnection.HTTP_OK ) {
+                LOG.error("node " + node + " answered the cluster command " + request.getString("cmd") + " with status " + status);
+                this.failed.incrementAndGet();
+                return null;
+            }
+            try (InputStream in = connection.getInputStream()) {
+                return new JSONObject(IOUtils.toString(in, StandardCharsets.UTF_8));
+            }
+        } catch ( IOException e ) {
+            LOG.error("node " + node + " could not be reached for the cluster command " + request.getString("cmd"), e);
+            this.failed.incrementAndGet();
+            return null;
+        } finally {
+            if ( connection != null ) {
+                connection.disconnect();
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package de.fhg.iais.roberta.javaServer.restServices.robot;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.apache.commons.io.IOUtils;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import de.fhg.iais.roberta.robotCommunication.IPushCommandListener;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicationData;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
+import de.fhg.iais.roberta.util.AliveData;
+
+/**
+ * the asynchronous variant of the /pushcmd resource {@link RobotCommand}. A push request of a robot does NOT freeze a server thread. The request is suspended
+ * (servlet 3 async) and resumed, when the server pushes a command to the robot (run, firmware update), the push is aborted or the push timer expires.<br>
+ * Thus the number of threads doesn't grow with the number of connected robots. All other commands (e.g. register) are delegated to {@link RobotCommand}.<br>
+ * <br>
+ * Enabled by the property <code>server.pushcmd.async</code>.
+ */
+@Singleton
+public class RobotCommandAsync extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOG = LoggerFactory.getLogger(RobotCommandAsync.class);
+
+    /**
+     * the push timer of the {@link RobotCommunicator} terminates a push after about 10 sec. The servlet container's timeout is only a safety net
+     */
+    private static final long ASYNC_TIMEOUT_MSEC = 30000;
+
+    private static final String CMD = "cmd";
+    private static final String CMD_PUSH = "push";
+    private static final String CMD_REPEAT = "repeat";
+
+    private final RobotCommunicator brickCommunicator;
+    private final RobotCommand robotCommand;
+
+    @Inject
+    public RobotCommandAsync(RobotCommunicator brickCommunicator) {
+        this.brickCommunicator = brickCommunicator;
+        this.robotCommand = new RobotCommand(brickCommunicator);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        JSONObject requestEntity;
+        String cmd;
+        try {
+            requestEntity = new JSONObject(IOUtils.toString(request.getReader()));
+            cmd = requestEntity.getString(CMD);
+        } catch ( JSONException e ) {
+            LOG.error("Robot request aborted. Robot uses a wrong JSON", e);
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            return;
+        }
+        if ( !CMD_PUSH.equals(cmd) ) {
+            delegateToRobotCommand(requestEntity, response);
+            return;
+        }
+        AliveData.rememberRobotCall();
+        String token = requestEntity.optString("token", null);
+        if ( token == null || requestEntity.optString("firmwarename", null) == null ) {
+            LOG.error("Robot request aborted. Robot uses a wrong JSON: " + requestEntity);
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            return;
+        }
+        String batteryvoltage = requestEntity.optString("battery", "");
+        int nepoExitValue = requestEntity.optInt("nepoexitvalue", 0);
+
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(ASYNC_TIMEOUT_MSEC);
+        PushResponder pushResponder = new PushResponder(this.brickCommunicator, token, asyncContext);
+        asyncContext.addListener(pushResponder);
+        if ( !this.brickCommunicator.brickWaitsForAnAsyncServerPush(token, batteryvoltage, nepoExitValue, pushResponder) ) {
+            pushResponder.pushCommandAvailable(null);
+        }
+    }
+
+    private void delegateToRobotCommand(JSONObject requestEntity, HttpServletResponse response) throws IOException {
+        try {
+            Response jerseyResponse = this.robotCommand.handle(requestEntity);
+            response.setStatus(jerseyResponse.getStatus());
+            Object entity = jerseyResponse.getEntity();
+            if ( entity != null ) {
+                response.setContentType(MediaType.APPLICATION_JSON);
+                response.getWriter().write(entity.toString());
+            }
+        } catch ( Exception e ) {
+            LOG.error("Robot request aborted", e);
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * writes the command for the robot and completes the suspended request. Called either by the {@link RobotCommunicationData} (when the push terminates)
+     * or by the servlet container (timeout, error). Only the first call has an effect.<br>
+     * <br>
+     * The {@link RobotCommunicationData} calls this listener while holding its monitor. Thus the command is only recorded there; writing the response to
+     * the (maybe slow) robot and completing the request is done by a thread of the servlet container ({@link AsyncContext#start(Runnable)}).
+     */
+    private static class PushResponder implements IPushCommandListener, AsyncListener {
+        private final RobotCommunicator brickCommunicator;
+        private final String token;
+        private final AsyncContext asyncContext;
+        private final AtomicBoolean completed = new AtomicBoolean(false);
+
+        PushResponder(RobotCommunicator brickCommunicator, String token, AsyncContext asyncContext) {
+            this.brickCommunicator = brickCommunicator;
+            this.token = token;
+            this.asyncContext = asyncContext;
+        }
+
+        @Override
+        public void pushCommandAvailable(final String command) {
+            if ( this.completed.compareAndSet(false, true) ) {
+                this.asyncContext.start(new Runnable() {
+                    @Override
+                    public void run() {
+                        respond(command);
+                    }
+                });
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            respondInContainerThread(CMD_REPEAT);
+            RobotCommunicationData state = this.brickCommunicator.getState(this.token);
+            if ( state != null ) {
+                state.terminatePushAndRequestNextPush(); // the listener is already completed, thus this only resets the state
+            }
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            respondInContainerThread(CMD_REPEAT);
+        }
+
+        /**
+         * the container expects the request to be completed when a timeout or error callback returns, thus the response is written by the calling thread
+         */
+        private void respondInContainerThread(String command) {
+            if ( this.completed.compareAndSet(false, true) ) {
+                respond(command);
+            }
+        }
+
+        private void respond(String command) {
+            HttpServletResponse response = (HttpServletResponse) this.asyncContext.getResponse();
+            try {
+                if ( command == null ) {
+                    LOG.error("No valid command issued by the server as response to a push command request for token " + this.token);
+                    response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                } else {
+                    if ( !command.equals(CMD_REPEAT) ) {
+                        LOG.info("the command " + command + " is pushed to the robot with token " + this.token);
+                    }
+                    response.setContentType(MediaType.APPLICATION_JSON);
+                    response.getWriter().write(new JSONObject().put(CMD, command).toString());
+                }
+            } catch ( Exception e ) {
+                LOG.error("the command " + command + " could not be pushed to the robot with token " + this.token, e);
+            } finally {
+                this.asyncContext.complete();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // nothing to do
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // nothing to do
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package de.fhg.iais.roberta.javaServer.restServices.robot;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
+
+import org.apache.commons.io.IOUtils;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicationData;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
+import de.fhg.iais.roberta.util.Util;
+
+/**
+ * the internal RPC of a cluster of servers. Another node forwards the commands for a robot owned by this node (see
+ * {@link de.fhg.iais.roberta.robotCommunication.IRobotCommandForwarder}). The command is executed by the <code>...Local</code> methods of the
+ * {@link RobotCommunicator}, thus a command is never forwarded twice.<br>
+ * <br>
+ * The request must carry the secret shared by the nodes in the header <code>X-Cluster-Secret</code>. If no secret is configured (property
+ * <code>cluster.secret</code>), all requests are rejected. Served at <code>/rest/cluster</code>, if the property <code>cluster.node</code> is set.
+ */
+@Singleton
+public class RobotCommunicatorRpc extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOG = LoggerFactory.getLogger(RobotCommunicatorRpc.class);
+
+    public static final String SECRET_HEADER = "X-Cluster-Secret";
+
+    private final RobotCommunicator brickCommunicator;
+    private final byte[] secret;
+
+    @Inject
+    public RobotCommunicatorRpc(RobotCommunicator brickCommunicator, @Named("cluster.secret") String secret) {
+        this.brickCommunicator = brickCommunicator;
+        this.secret = (secret == null ? "" : secret.trim()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if ( !isSecretValid(request.getHeader(SECRET_HEADER)) ) {
+            LOG.error("cluster RPC rejected: missing or wrong secret");
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        try {
+            JSONObject requestEntity = new JSONObject(IOUtils.toString(request.getReader()));
+            JSONObject answer = handle(requestEntity);
+            response.setContentType(MediaType.APPLICATION_JSON);
+            response.getWriter().write(answer.toString());
+        } catch ( Exception e ) {
+            LOG.error("cluster RPC aborted", e);
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * compare the secret in constant time, thus the time of a rejection doesn't tell how many leading characters of a guess are right
+     */
+    private boolean isSecretValid(String secretOfRequest) {
+        return this.secret.length > 0 && secretOfRequest != null && MessageDigest.isEqual(this.secret, secretOfRequest.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private JSONObject handle(JSONObject request) throws JSONException {
+        String cmd = request.getString("cmd");
+        String token = request.getString("token");
+        JSONObject answer = new JSONObject();
+        if ( cmd.equals("setToken") ) {
+            answer.put("key", this.brickCommunicator.aTokenAgreementWasSentLocal(token, request.getString("robot")).name());
+        } else if ( cmd.equals("run") ) {
+            byte[] program = Base64.getDecoder().decode(request.getString("program"));
+            this.brickCommunicator.getArtifactStore().put(token, request.getString("programFileName"), program);
+            answer.put("result", this.brickCommunicator.theRunButtonWasPressedLocal(token, request.getString("programName")));
+        } else if ( cmd.equals("update") ) {
+            answer.put("result", this.brickCommunicator.firmwareUpdateRequestedLocal(token));
+        } else if ( cmd.equals("disconnect") ) {
+            this.brickCommunicator.disconnectLocal(token);
+        } else if ( cmd.equals("robotInfo") ) {
+            RobotCommunicationData state = this.brickCommunicator.getState(token);
+            if ( state != null ) {
+                JSONObject robotInfo = new JSONObject();
+                Util.addRobotInfo(robotInfo, state);
+                answer.put("robotInfo", robotInfo);
+            }
+        } else {
+            throw new JSONException("invalid cluster command: " + cmd);
+        }
+        return answer;
+    }
+}
@@ -1,11 +1,21 @@
 package de.fhg.iais.roberta.javaServer.restServices.robot;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.codehaus.jettison.json.JSONObject;
 import org.slf4j.Logger;
@@ -15,13 +25,21 @@ import com.google.inject.Inject;
 
 import de.fhg.iais.roberta.robotCommunication.RobotCommunicationData;
 import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
+import de.fhg.iais.roberta.robotCommunication.SensorFrame;
+import de.fhg.iais.roberta.robotCommunication.SensorTimeSeries;
 
 /**
- * REST service for downloading user program
+ * REST service for logging the sensor values of a robot and for exporting the sensor log for plots
  */
 @Path("/sensorlogging")
 public class RobotSensorLogging {
     private static final Logger LOG = LoggerFactory.getLogger(RobotSensorLogging.class);
+    private static final ThreadLocal<SensorFrame> frames = new ThreadLocal<SensorFrame>() {
+        @Override
+        protected SensorFrame initialValue() {
+            return new SensorFrame();
+        }
+    };
 
     private final RobotCommunicator brickCommunicator;
 
@@ -33,11 +51,56 @@ public class RobotSensorLogging {
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.TEXT_PLAIN)
-    public Response handle(JSONObject requestEntity) {
-        String token = (String) requestEntity.remove("token");
-        RobotCommunicationData state = this.brickCommunicator.getState(token);
-        state.setSensorValues(requestEntity);
-        LOG.info(requestEntity.toString());
+    public Response handle(String requestEntity) throws Exception {
+        SensorFrame frame = RobotSensorLogging.frames.get();
+        if ( frame.parse(requestEntity) ) {
+            RobotCommunicationData state = this.brickCommunicator.getState(frame.getToken());
+            state.logSensorValues(requestEntity, frame);
+        } else {
+            JSONObject request = new JSONObject(requestEntity);
+            String token = (String) request.remove("token");
+            RobotCommunicationData state = this.brickCommunicator.getState(token);
+            state.logSensorValues(request);
+        }
         return Response.ok().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * export the sensor log of a robot. The finest resolution, that has no more than maxPoints samples in the time range, is exported
+     *
+     * @param token identifying the robot
+     * @param format "csv" or "json"
+     * @param from start of the time range in msec since the epoch (inclusive)
+     * @param to end of the time range in msec since the epoch (inclusive)
+     * @param maxPoints the maximal number of samples wanted
+     */
+    @GET
+    @Path("/export")
+    public Response export(
+        @QueryParam("token") String token,
+        @QueryParam("format") @DefaultValue("csv") final String format,
+        @QueryParam("from") @DefaultValue("0") final long from,
+        @QueryParam("to") @DefaultValue("9223372036854775807") final long to,
+        @QueryParam("maxPoints") @DefaultValue("1000") int maxPoints) {
+        RobotCommunicationData state = token == null ? null : this.brickCommunicator.getState(token);
+        final SensorTimeSeries sensorLog = state == null ? null : state.getSensorLog();
+        if ( sensorLog == null ) {
+            LOG.info("sensor log export for unknown token or robot without sensor log");
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        final boolean json = format.equals("json");
+        final int resolution = sensorLog.chooseResolution(from, to, maxPoints);
+        StreamingOutput stream = new StreamingOutput() {
+            @Override
+            public void write(OutputStream output) throws IOException {
+                Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+                if ( json ) {
+                    sensorLog.exportJson(writer, from, to, resolution);
+                } else {
+                    sensorLog.exportCsv(writer, from, to, resolution);
+                }
+            }
+        };
+        return Response.ok(stream, json ? MediaType.APPLICATION_JSON : "text/csv").build();
+    }
+}
@@ -14,12 +14,15 @@ import com.google.inject.Injector;
 
 import de.fhg.iais.roberta.robotCommunication.RobotCommunicationData;
 import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
+import de.fhg.iais.roberta.robotCommunication.SensorFrame;
 
 @WebSocket
 public class Ev3SensorLoggingWS {
     private static final Logger LOG = LoggerFactory.getLogger(Ev3SensorLoggingWS.class);
     private static Injector guiceInjector = null;
 
+    private final SensorFrame frame = new SensorFrame(); // an instance is created for each connection, the frames of a connection are parsed sequentially
+
     public static void setGuiceInjector(Injector guiceInjector) {
         if ( Ev3SensorLoggingWS.guiceInjector == null ) {
             Ev3SensorLoggingWS.guiceInjector = guiceInjector;
@@ -40,12 +43,16 @@ public class Ev3SensorLoggingWS {
 
     @OnWebSocketMessage
     public void handleMessage(String requestString) throws Exception {
-        JSONObject request = new JSONObject(requestString);
-        String token = (String) request.remove("token");
-        LOG.info("@OnWebSocketMessage: " + token + " " + request);
         RobotCommunicator communicator = guiceInjector.getInstance(RobotCommunicator.class);
-        RobotCommunicationData state = communicator.getState(token);
-        state.setSensorValues(request);
+        if ( this.frame.parse(requestString) ) {
+            RobotCommunicationData state = communicator.getState(this.frame.getToken());
+            state.logSensorValues(requestString, this.frame);
+        } else {
+            JSONObject request = new JSONObject(requestString);
+            String token = (String) request.remove("token");
+            RobotCommunicationData state = communicator.getState(token);
+            state.logSensorValues(request);
+        }
     }
 
     @OnWebSocketError
@@ -0,0 +1,226 @@
+package de.fhg.iais.roberta.javaServer.websocket;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.eclipse.jetty.websocket.api.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicationData;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
+import de.fhg.iais.roberta.util.Util;
+
+/**
+ * pushes the state of robots to browsers, that subscribed with the token of their robot on a websocket (see {@link RobotStateWS}). This replaces most of the
+ * <code>/ping</code> requests of the browsers, that only carry the (in most cases unchanged) state of the robot.<br>
+ * <br>
+ * A timer thread compares the state of the robot of each subscription with the state sent last. Only the changed entries are sent (a removed entry is sent
+ * as <code>null</code>). As the comparison runs once per interval, many changes within an interval are coalesced into one message and a browser gets at
+ * most one message per interval. If the previous message to a browser is not sent yet, the browser is skipped in this interval. The connection time
+ * <code>robot.wait</code> changes always, it is not compared, but added to every message.<br>
+ * <br>
+ * The state of a robot owned by another node of a cluster is requested from this node by HTTP. The timer thread must not wait for this, thus the request is
+ * done by a small pool of threads. The timer thread uses the state fetched last and starts the next request, if the previous one is done. At most one
+ * request per subscription is running.
+ */
+public class RobotStatePublisher {
+    private static final Logger LOG = LoggerFactory.getLogger(RobotStatePublisher.class);
+    public static final String INTERVAL_PROPERTY_KEY = "websocket.robotstate.interval";
+    public static final long DEFAULT_INTERVAL_MSEC = 500;
+    private static final String ROBOT_WAIT = "robot.wait";
+    private static final int REMOTE_FETCH_THREADS = 4;
+
+    private final RobotCommunicator robotCommunicator;
+    private final Map<Session, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer;
+    private final ExecutorService remoteFetcher;
+
+    private final AtomicLong sentMessages = new AtomicLong(0);
+    private final AtomicLong skippedSlowBrowsers = new AtomicLong(0);
+
+    /**
+     * create the publisher and start its timer thread
+     *
+     * @param robotCommunicator to access the state of the robots
+     * @param intervalMsec the interval, in which the states are compared and the changes are sent
+     */
+    public RobotStatePublisher(RobotCommunicator robotCommunicator, long intervalMsec) {
+        this.robotCommunicator = robotCommunicator;
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreads("RobotStatePublisher"));
+        this.remoteFetcher = Executors.newFixedThreadPool(REMOTE_FETCH_THREADS, daemonThreads("RobotStatePublisher-remote"));
+        this.timer.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                publishChanges();
+            }
+        }, intervalMsec, intervalMsec, TimeUnit.MILLISECONDS);
+        LOG.info("publishing robot states every " + intervalMsec + " msec");
+    }
+
+    /**
+     * subscribe a browser to the state of a robot. If the browser was subscribed to another robot before, this subscription is replaced. The first message
+     * contains the complete state
+     *
+     * @param session the websocket session of the browser
+     * @param token identifying the robot
+     */
+    public void subscribe(Session session, String token) {
+        this.subscriptions.put(session, new Subscription(token));
+    }
+
+    public void unsubscribe(Session session) {
+        this.subscriptions.remove(session);
+    }
+
+    public void shutdown() {
+        this.timer.shutdownNow();
+        this.remoteFetcher.shutdownNow();
+    }
+
+    public int getNumberOfSubscriptions() {
+        return this.subscriptions.size();
+    }
+
+    public long getSentMessages() {
+        return this.sentMessages.get();
+    }
+
+    public long getSkippedSlowBrowsers() {
+        return this.skippedSlowBrowsers.get();
+    }
+
+    /**
+     * compare the state of the robots with the state sent last and send the changes. Called by the timer thread
+     */
+    void publishChanges() {
+        Iterator<Map.Entry<Session, Subscription>> iterator = this.subscriptions.entrySet().iterator();
+        while ( iterator.hasNext() ) {
+            Map.Entry<Session, Subscription> entry = iterator.next();
+            Session session = entry.getKey();
+            Subscription subscription = entry.getValue();
+            try {
+                if ( !session.isOpen() ) {
+                    iterator.remove();
+                } else if ( subscription.lastSend != null && !subscription.lastSend.isDone() ) {
+                    this.skippedSlowBrowsers.incrementAndGet();
+                } else {
+                    Map<String, Object> actualState = getRobotState(subscription);
+                    JSONObject changes = actualState == null ? new JSONObject() : changes(subscription.sentState, actualState);
+                    if ( changes.length() > 0 ) {
+                        subscription.lastSend = session.getRemote().sendStringByFuture(changes.toString());
+                        subscription.sentState = actualState;
+                        this.sentMessages.incrementAndGet();
+                    }
+                }
+            } catch ( Exception e ) {
+                LOG.error("the robot state for token " + subscription.token + " could not be published. The subscription is removed", e);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the state of the robot; null, if the robot is not owned by this node and no state was fetched from the other nodes of the cluster yet
+     */
+    private Map<String, Object> getRobotState(Subscription subscription) throws Exception {
+        RobotCommunicationData state = this.robotCommunicator.getState(subscription.token);
+        JSONObject robotInfo;
+        if ( state != null ) {
+            subscription.remoteFetch = null;
+            robotInfo = new JSONObject();
+            Util.addRobotInfo(robotInfo, state);
+        } else {
+            // the robot may be owned by another node of the cluster
+            Future<JSONObject> fetched = subscription.remoteFetch;
+            if ( fetched != null && !fetched.isDone() ) {
+                return null;
+            }
+            subscription.remoteFetch = fetchRemoteRobotInfo(subscription.token);
+            if ( fetched == null ) {
+                return null;
+            }
+            robotInfo = fetched.get();
+            if ( robotInfo == null ) {
+                return Collections.emptyMap();
+            }
+        }
+        Map<String, Object> robotState = new HashMap<>();
+        Iterator<?> keys = robotInfo.keys();
+        while ( keys.hasNext() ) {
+            String key = (String) keys.next();
+            robotState.put(key, robotInfo.get(key));
+        }
+        return robotState;
+    }
+
+    private Future<JSONObject> fetchRemoteRobotInfo(final String token) {
+        return this.remoteFetcher.submit(new Callable<JSONObject>() {
+            @Override
+            public JSONObject call() {
+                return RobotStatePublisher.this.robotCommunicator.getRemoteRobotInfo(token);
+            }
+        });
+    }
+
+    private static ThreadFactory daemonThreads(final String name) {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * compute the entries, that changed between two states of a robot
+     *
+     * @param sentState the state sent last
+     * @param actualState the actual state
+     * @return the changed entries, entries removed are mapped to null. Empty, if nothing changed
+     */
+    static JSONObject changes(Map<String, Object> sentState, Map<String, Object> actualState) throws JSONException {
+        JSONObject changes = new JSONObject();
+        for ( Map.Entry<String, Object> entry : actualState.entrySet() ) {
+            String key = entry.getKey();
+            if ( !key.equals(ROBOT_WAIT) && !String.valueOf(entry.getValue()).equals(String.valueOf(sentState.get(key))) ) {
+                changes.put(key, entry.getValue());
+            }
+        }
+        for ( String key : sentState.keySet() ) {
+            if ( !actualState.containsKey(key) ) {
+                changes.put(key, JSONObject.NULL);
+            }
+        }
+        if ( changes.length() > 0 ) {
+            changes.put(ROBOT_WAIT, actualState.containsKey(ROBOT_WAIT) ? actualState.get(ROBOT_WAIT) : JSONObject.NULL);
+        }
+        return changes;
+    }
+
+    private static class Subscription {
+        final String token;
+        Map<String, Object> sentState = Collections.emptyMap();
+        Future<Void> lastSend = null;
+        Future<JSONObject> remoteFetch = null;
+
+        Subscription(String token) {
+            this.token = token;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package de.fhg.iais.roberta.javaServer.websocket;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketConnect;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketError;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
+import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.persistence.util.HttpSessionState;
+
+/**
+ * websocket for browsers, that want the changes of the state of their robot pushed. The browser sends <code>{"cmd":"subscribe"}</code> and gets the changes
+ * from the {@link RobotStatePublisher}. The robot is the one, whose token is stored in the HTTP session of the browser (see
+ * {@link RobotStateWebSocketServlet}), a token sent by the browser is ignored. If the browser connects another robot, it subscribes again. The
+ * <code>/ping</code> REST request remains as fallback.
+ */
+@WebSocket
+public class RobotStateWS {
+    private static final Logger LOG = LoggerFactory.getLogger(RobotStateWS.class);
+    private static RobotStatePublisher publisher = null;
+
+    private final HttpSessionState httpSessionState;
+    private Session session;
+
+    /**
+     * @param httpSessionState the state of the HTTP session of the browser; null, if the browser has no session
+     */
+    public RobotStateWS(HttpSessionState httpSessionState) {
+        this.httpSessionState = httpSessionState;
+    }
+
+    public static void setPublisher(RobotStatePublisher publisher) {
+        if ( RobotStateWS.publisher == null ) {
+            RobotStateWS.publisher = publisher;
+        } else {
+            LOG.error("Publisher for robot state websockets is set twice, this call is simply ignored");
+        }
+    }
+
+    public static RobotStatePublisher getPublisher() {
+        return RobotStateWS.publisher;
+    }
+
+    @OnWebSocketConnect
+    public void handleConnect(Session session) {
+        LOG.debug("@OnWebSocketConnect");
+        this.session = session;
+    }
+
+    @OnWebSocketClose
+    public void handleClose(int statusCode, String reason) {
+        LOG.debug("@OnWebSocketClose with statusCode: " + statusCode + " and reason: " + reason);
+        if ( RobotStateWS.publisher != null && this.session != null ) {
+            RobotStateWS.publisher.unsubscribe(this.session);
+        }
+    }
+
+    @OnWebSocketMessage
+    public void handleMessage(String requestString) throws Exception {
+        JSONObject request = new JSONObject(requestString);
+        String cmd = request.optString("cmd");
+        if ( RobotStateWS.publisher == null ) {
+            LOG.error("robot state websocket used, but no publisher is set. Message ignored");
+        } else if ( cmd.equals("subscribe") ) {
+            if ( this.httpSessionState == null ) {
+                LOG.error("robot state websocket without a HTTP session. Subscription ignored");
+            } else {
+                RobotStateWS.publisher.subscribe(this.session, this.httpSessionState.getToken());
+            }
+        } else if ( cmd.equals("unsubscribe") ) {
+            RobotStateWS.publisher.unsubscribe(this.session);
+        } else {
+            LOG.error("invalid message on robot state websocket ignored: " + requestString);
+        }
+    }
+
+    @OnWebSocketError
+    public void handleError(Throwable e) {
+        LOG.error("@OnWebSocketError occurred with attached throwable", e);
+    }
+}
@@ -0,0 +1,35 @@
+package de.fhg.iais.roberta.javaServer.websocket;
+
+import javax.servlet.http.HttpSession;
+
+import org.eclipse.jetty.websocket.servlet.ServletUpgradeRequest;
+import org.eclipse.jetty.websocket.servlet.ServletUpgradeResponse;
+import org.eclipse.jetty.websocket.servlet.WebSocketCreator;
+import org.eclipse.jetty.websocket.servlet.WebSocketServlet;
+import org.eclipse.jetty.websocket.servlet.WebSocketServletFactory;
+
+import com.google.inject.Singleton;
+
+import de.fhg.iais.roberta.javaServer.provider.OraDataProvider;
+import de.fhg.iais.roberta.persistence.util.HttpSessionState;
+
+/**
+ * the servlet of the robot state websocket {@link RobotStateWS}. It is served in the context of the REST API at <code>/rest/robotState</code>, thus the
+ * browser sends the cookie of its HTTP session. The websocket is bound to the {@link HttpSessionState} of this session when it is opened.
+ */
+@Singleton
+public class RobotStateWebSocketServlet extends WebSocketServlet {
+    private static final long serialVersionUID = 4305671468396745541L;
+
+    @Override
+    public void configure(WebSocketServletFactory factory) {
+        factory.setCreator(new WebSocketCreator() {
+            @Override
+            public Object createWebSocket(ServletUpgradeRequest request, ServletUpgradeResponse response) {
+                HttpSession httpSession = request.getSession();
+                Object httpSessionState = httpSession == null ? null : httpSession.getAttribute(OraDataProvider.OPEN_ROBERTA_STATE);
+                return new RobotStateWS((HttpSessionState) httpSessionState);
+            }
+        });
+    }
+}
@@ -290,7 +290,7 @@ public class Administration {
     }
 
     private String xml2Ast2xml(String updatedProgram) throws Exception, JAXBException {
-        BlockSet program = JaxbHelper.xml2BlockSet(updatedProgram);
+        BlockSet program = JaxbHelper.xml2BlockSet(updatedProgram, false); // programs of the database were validated when they were stored
         //        EV3Factory modeFactory = new EV3Factory(null);
         Jaxb2BlocklyProgramTransformer<Void> transformer = new Jaxb2BlocklyProgramTransformer<>(null);
         transformer.transform(program);
@@ -25,6 +25,7 @@ import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
 import org.eclipse.jetty.websocket.servlet.WebSocketServlet;
 import org.eclipse.jetty.websocket.servlet.WebSocketServletFactory;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,12 +35,19 @@ import com.sun.jersey.spi.container.servlet.ServletContainer;
 
 import de.fhg.iais.roberta.factory.IRobotFactory;
 import de.fhg.iais.roberta.guice.RobertaGuiceServletConfig;
+import de.fhg.iais.roberta.javaServer.restServices.robot.HttpRobotCommandForwarder;
 import de.fhg.iais.roberta.javaServer.websocket.Ev3SensorLoggingWS;
+import de.fhg.iais.roberta.javaServer.websocket.RobotStatePublisher;
+import de.fhg.iais.roberta.javaServer.websocket.RobotStateWS;
 import de.fhg.iais.roberta.persistence.bo.Robot;
 import de.fhg.iais.roberta.persistence.dao.ProgramDao;
 import de.fhg.iais.roberta.persistence.dao.RobotDao;
 import de.fhg.iais.roberta.persistence.util.DbSession;
+import de.fhg.iais.roberta.persistence.util.DbSetup;
 import de.fhg.iais.roberta.persistence.util.SessionFactoryWrapper;
+import de.fhg.iais.roberta.robotCommunication.ArtifactStore;
+import de.fhg.iais.roberta.robotCommunication.IRobotRegistry;
+import de.fhg.iais.roberta.robotCommunication.InMemoryRobotRegistry;
 import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
 import de.fhg.iais.roberta.util.Key;
 import de.fhg.iais.roberta.util.Pair;
@@ -94,6 +102,7 @@ public class ServerStarter {
             ServerStarter serverStarter = new ServerStarter(propertyPath, defines);
             checkForUpgrade();
             Server server = serverStarter.start();
+            serverStarter.upgradeDatabaseSchema();
             serverStarter.checkRobotPluginsDB();
             serverStarter.logTheNumberOfStoredPrograms();
             server.join();
@@ -137,7 +146,12 @@ public class ServerStarter {
         });
 
         // configure robot plugins
-        RobotCommunicator robotCommunicator = new RobotCommunicator();
+        String spillThreshold = RobertaProperties.getStringProperty(ArtifactStore.SPILL_THRESHOLD_PROPERTY_KEY);
+        ArtifactStore artifactStore =
+            new ArtifactStore(
+                spillThreshold == null ? ArtifactStore.DEFAULT_SPILL_THRESHOLD : Long.parseLong(spillThreshold.trim()),
+                RobertaProperties.getTempDirFor("artifacts"));
+        RobotCommunicator robotCommunicator = createRobotCommunicator(artifactStore);
         Map<String, IRobotFactory> robotPluginMap = configureRobotPlugins(robotCommunicator);
         RobertaGuiceServletConfig robertaGuiceServletConfig =
             new RobertaGuiceServletConfig(RobertaProperties.getRobertaProperties(), robotPluginMap, robotCommunicator);
@@ -148,7 +162,8 @@ public class ServerStarter {
         versionedHttpHandler.setSessionHandler(new SessionHandler(new HashSessionManager()));
 
         versionedHttpHandler.addEventListener(robertaGuiceServletConfig);
-        versionedHttpHandler.addFilter(GuiceFilter.class, "/*", null);
+        // async support is needed by the async /pushcmd servlet, see property server.pushcmd.async
+        versionedHttpHandler.addFilter(GuiceFilter.class, "/*", null).setAsyncSupported(true);
         versionedHttpHandler.addServlet(DefaultServlet.class, "/*");
 
         // REST API without prefix (deprecated) and static resources
@@ -165,7 +180,7 @@ public class ServerStarter {
         rootHandler.addFilter(GuiceFilter.class, "/toolbox/*", null);
         rootHandler.addFilter(GuiceFilter.class, "/user/*", null);
         rootHandler.addFilter(GuiceFilter.class, "/hello/*", null);
-        rootHandler.addFilter(GuiceFilter.class, "/pushcmd/*", null);
+        rootHandler.addFilter(GuiceFilter.class, "/pushcmd/*", null).setAsyncSupported(true);
         rootHandler.addFilter(GuiceFilter.class, "/download/*", null);
         rootHandler.addFilter(GuiceFilter.class, "/update/*", null);
         ServletHolder staticResourceServlet = rootHandler.addServlet(DefaultServlet.class, "/*");
@@ -195,10 +210,51 @@ public class ServerStarter {
         }
         this.injector = robertaGuiceServletConfig.getCreatedInjector();
         Ev3SensorLoggingWS.setGuiceInjector(this.injector);
+        String robotStateInterval = RobertaProperties.getStringProperty(RobotStatePublisher.INTERVAL_PROPERTY_KEY);
+        RobotStateWS.setPublisher(
+            new RobotStatePublisher(
+                this.injector.getInstance(RobotCommunicator.class),
+                robotStateInterval == null ? RobotStatePublisher.DEFAULT_INTERVAL_MSEC : Long.parseLong(robotStateInterval.trim())));
 
         return server;
     }
 
+    /**
+     * create the robot communicator. If the property <code>cluster.node</code> is set, the server is a node of a cluster: the robots are registered in the
+     * registry, whose class is given by the property <code>cluster.registry</code>, and commands are forwarded to other nodes by HTTP. The registry must be
+     * shared by all nodes. The {@link InMemoryRobotRegistry} is rejected, because every node would get its own one.<br>
+     * <br>
+     * Cluster mode is experimental and incomplete: no shared registry is shipped, it has to be provided to enable cluster mode.
+     *
+     * @param artifactStore the store of the programs, that wait to be downloaded by the robots
+     * @return the robot communicator
+     */
+    private RobotCommunicator createRobotCommunicator(ArtifactStore artifactStore) {
+        String node = RobertaProperties.getStringProperty("cluster.node");
+        if ( node == null || node.trim().isEmpty() ) {
+            return new RobotCommunicator(artifactStore);
+        }
+        String registryClassName = RobertaProperties.getStringProperty("cluster.registry");
+        if ( registryClassName == null || registryClassName.trim().isEmpty() ) {
+            throw new DbcException("the server is a node of a cluster, but has no robot registry. Check the property cluster.registry. Server does NOT start");
+        }
+        IRobotRegistry registry;
+        try {
+            registry = (IRobotRegistry) Class.forName(registryClassName.trim()).newInstance();
+        } catch ( Exception e ) {
+            throw new DbcException("the robot registry " + registryClassName + " could not be created", e);
+        }
+        if ( registry instanceof InMemoryRobotRegistry ) {
+            throw new DbcException(
+                "the robot registry " + registryClassName + " is not shared by the nodes of a cluster. Check the property cluster.registry. "
+                    + "Server does NOT start");
+        }
+        String secret = RobertaProperties.getStringProperty("cluster.secret");
+        ServerStarter.LOG.warn("cluster mode is experimental and incomplete. Server is the node " + node + " of a cluster. Robot registry: "
+            + registryClassName);
+        return new RobotCommunicator(artifactStore, registry, node.trim(), new HttpRobotCommandForwarder(secret == null ? "" : secret.trim()));
+    }
+
     /**
      * setup the hibernate.connection.url
      *
@@ -333,6 +389,21 @@ public class ServerStarter {
         return this.injector;
     }
 
+    /**
+     * add indexes and other schema changes, that were added to <code>create-tables.sql</code> later, to the database. Idempotent.
+     */
+    private void upgradeDatabaseSchema() {
+        try {
+            Session nativeSession = this.injector.getInstance(SessionFactoryWrapper.class).getNativeSession();
+            nativeSession.beginTransaction();
+            new DbSetup(nativeSession).runUpgradeSetup();
+            nativeSession.getTransaction().commit();
+            nativeSession.close();
+        } catch ( Exception e ) {
+            ServerStarter.LOG.error("Server was started, but the upgrade of the database schema failed", e);
+        }
+    }
+
     private void logTheNumberOfStoredPrograms() {
         try {
             DbSession session = this.injector.getInstance(SessionFactoryWrapper.class).getSession();
@@ -1,7 +1,9 @@
 package de.fhg.iais.roberta.persistence;
 
 import java.sql.Timestamp;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
@@ -77,54 +79,55 @@ public class ProgramProcessor extends AbstractProcessor {
         AccessRightDao accessRightDao = new AccessRightDao(this.dbSession);
         User owner = userDao.get(ownerId);
         Robot robot = robotDao.loadRobot(robotName);
-        // First we obtain all programs owned by the user
-        List<Program> programs = programDao.loadAll(owner, robot);
-
+        // the number of queries is constant: the listing is assembled from projections, no entity is loaded lazily per program
+        // First we obtain all users, with which programs of the owner are shared, grouped by program
+        Map<Integer, JSONArray> sharedWithByProgram = new HashMap<>();
+        for ( Object[] accessRight : accessRightDao.loadAccessRightListingForOwner(owner, robot) ) {
+            JSONArray sharedWithArray = sharedWithByProgram.get(accessRight[0]);
+            if ( sharedWithArray == null ) {
+                sharedWithArray = new JSONArray();
+                sharedWithByProgram.put((Integer) accessRight[0], sharedWithArray);
+            }
+            JSONObject sharedWithUser = new JSONObject();
+            try {
+                sharedWithUser.put((String) accessRight[1], accessRight[2].toString());
+            } catch ( JSONException e ) {
+            }
+            sharedWithArray.put(sharedWithUser);
+        }
+        // Then we obtain all programs owned by the user
         JSONArray programInfos = new JSONArray();
-        for ( Program program : programs ) {
+        for ( Object[] program : programDao.loadProgramListing(owner, robot) ) {
             JSONArray programInfo = new JSONArray();
-            programInfo.put(program.getName());
-            programInfo.put(program.getOwner().getAccount());
-            // programInfo.put(program.getNumberOfBlocks());
-            List<AccessRight> accessRights = accessRightDao.loadAccessRightsByProgram(program);
+            programInfo.put(program[1]);
+            programInfo.put(owner.getAccount());
             JSONObject sharedWith = new JSONObject();
+            JSONArray sharedWithArray = sharedWithByProgram.get(program[0]);
             try {
-                if ( !accessRights.isEmpty() ) {
-                    JSONArray sharedWithArray = new JSONArray();
-                    for ( AccessRight accessRight : accessRights ) {
-                        JSONObject sharedWithUser = new JSONObject();
-                        sharedWithUser.put(accessRight.getUser().getAccount(), accessRight.getRelation().toString());
-                        sharedWithArray.put(sharedWithUser);
-                    }
+                if ( sharedWithArray != null ) {
                     sharedWith.put("sharedWith", sharedWithArray);
                 }
             } catch ( JSONException e ) {
             }
             programInfo.put(sharedWith);
-            programInfo.put(program.getCreated().getTime());
-            programInfo.put(program.getLastChanged().getTime());
+            programInfo.put(((Timestamp) program[2]).getTime());
+            programInfo.put(((Timestamp) program[3]).getTime());
             programInfos.put(programInfo);
         }
-        // Now we find all the programs which are not owned by the user but have been shared to him
-        List<AccessRight> accessRights2 = accessRightDao.loadAccessRightsForUser(owner);
-        for ( AccessRight accessRight : accessRights2 ) {
-            // Don't return programs with wrong robot type
-            Program program = programDao.load(accessRight.getProgram().getName(), accessRight.getProgram().getOwner(), robot);
-            if ( program != null ) {
-                JSONArray programInfo2 = new JSONArray();
-                programInfo2.put(accessRight.getProgram().getName());
-                programInfo2.put(accessRight.getProgram().getOwner().getAccount());
-                //            programInfo2.put(userProgram.getProgram().getNumberOfBlocks());
-                JSONObject sharedFrom = new JSONObject();
-                try {
-                    sharedFrom.put("sharedFrom", accessRight.getRelation().toString());
-                } catch ( JSONException e ) {
-                }
-                programInfo2.put(sharedFrom);
-                programInfo2.put(accessRight.getProgram().getCreated().getTime());
-                programInfo2.put(accessRight.getProgram().getLastChanged().getTime());
-                programInfos.put(programInfo2);
+        // Now we find all the programs which are not owned by the user but have been shared to him. Programs with wrong robot type are not returned
+        for ( Object[] sharedProgram : accessRightDao.loadSharedProgramListingForUser(owner, robot) ) {
+            JSONArray programInfo2 = new JSONArray();
+            programInfo2.put(sharedProgram[0]);
+            programInfo2.put(sharedProgram[1]);
+            JSONObject sharedFrom = new JSONObject();
+            try {
+                sharedFrom.put("sharedFrom", sharedProgram[2].toString());
+            } catch ( JSONException e ) {
             }
+            programInfo2.put(sharedFrom);
+            programInfo2.put(((Timestamp) sharedProgram[3]).getTime());
+            programInfo2.put(((Timestamp) sharedProgram[4]).getTime());
+            programInfos.put(programInfo2);
         }
 
         setSuccess(Key.PROGRAM_GET_ALL_SUCCESS, "" + programInfos.length());
@@ -8,6 +8,7 @@ import org.hibernate.Query;
 import de.fhg.iais.roberta.persistence.bo.AccessRight;
 import de.fhg.iais.roberta.persistence.bo.Program;
 import de.fhg.iais.roberta.persistence.bo.Relation;
+import de.fhg.iais.roberta.persistence.bo.Robot;
 import de.fhg.iais.roberta.persistence.bo.User;
 import de.fhg.iais.roberta.persistence.util.DbSession;
 import de.fhg.iais.roberta.util.dbc.Assert;
@@ -105,6 +106,45 @@ public class AccessRightDao extends AbstractDao<AccessRight> {
 
     }
 
+    /**
+     * load the access rights of all programs owned by a user given with a single query, that joins the users the programs are shared with
+     *
+     * @return the list of all access rights as arrays [program id, account of the user the program is shared with, relation], may be an empty list, but
+     *         never null
+     */
+    public List<Object[]> loadAccessRightListingForOwner(User owner, Robot robot) {
+        Assert.notNull(owner);
+
+        Query hql =
+            this.session.createQuery(
+                "select ar.program.id, ar.user.account, ar.relation from AccessRight ar where ar.program.owner=:owner and ar.program.robot=:robot order by ar.id");
+        hql.setEntity("owner", owner);
+        hql.setEntity("robot", robot);
+        @SuppressWarnings("unchecked")
+        List<Object[]> il = hql.list();
+        return Collections.unmodifiableList(il);
+    }
+
+    /**
+     * load the listing columns of all programs shared with a user given with a single query, that joins the programs and their owners. The program texts are
+     * not loaded.
+     *
+     * @return the list of all shared programs as arrays [program name, owner account, relation, created, lastChanged], may be an empty list, but never null
+     */
+    public List<Object[]> loadSharedProgramListingForUser(User user, Robot robot) {
+        Assert.notNull(user);
+
+        Query hql =
+            this.session.createQuery(
+                "select ar.program.name, ar.program.owner.account, ar.relation, ar.program.created, ar.program.lastChanged "
+                    + "from AccessRight ar where ar.user=:user and ar.program.robot=:robot order by ar.id");
+        hql.setEntity("user", user);
+        hql.setEntity("robot", robot);
+        @SuppressWarnings("unchecked")
+        List<Object[]> il = hql.list();
+        return Collections.unmodifiableList(il);
+    }
+
     /**
      * delete a given access right
      *
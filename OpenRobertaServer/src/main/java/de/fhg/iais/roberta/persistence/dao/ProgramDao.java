@@ -177,6 +177,20 @@ public class ProgramDao extends AbstractDao<Program> {
         return Collections.unmodifiableList(il);
     }
 
+    /**
+     * load the listing columns of all programs owned by a user given with a single projection query. The program texts are not loaded.
+     *
+     * @return the list of all programs as arrays [id, name, created, lastChanged], may be an empty list, but never null
+     */
+    public List<Object[]> loadProgramListing(User owner, Robot robot) {
+        Query hql = this.session.createQuery("select p.id, p.name, p.created, p.lastChanged from Program p where p.owner=:owner and p.robot=:robot");
+        hql.setEntity("owner", owner);
+        hql.setEntity("robot", robot);
+        @SuppressWarnings("unchecked")
+        List<Object[]> il = hql.list();
+        return Collections.unmodifiableList(il);
+    }
+
     /**
      * load all programs persisted in the database
      *
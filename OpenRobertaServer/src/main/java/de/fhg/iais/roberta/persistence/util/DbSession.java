@@ -13,29 +13,53 @@ import de.fhg.iais.roberta.util.dbc.Assert;
 /**
  * class for wrapping a hibernate session. This class eases the use of sessions. It creates transactions, after commits a new transaction is created
  * automatically. Closing a session forces a commit.<br>
+ * The hibernate session is opened (and its transaction started) lazily, when the database is accessed for the first time. Many commands (e.g. generating
+ * source code or compiling a program) never access the database, for them neither a connection is taken from the pool nor a transaction is run. Commit,
+ * rollback and close of a session never opened are no-ops.<br>
  * <b>If neither close nor commit are called for this wrapper objects, changes of the database w.r.t. to the wrappped session are <i>not persisted</i>!</b>
  *
  * @author rbudde
  */
 public class DbSession {
     private static final Logger LOG = LoggerFactory.getLogger(DbSession.class);
+    private final SessionFactoryWrapper sessionFactoryWrapper;
+    private String command = SessionFactoryWrapper.UNKNOWN_COMMAND;
     private Session session;
+    private boolean closed = false;
 
     /**
-     * wrap a hibernate session. Package visible: may only be called from {@link SessionFactoryWrapper}
+     * create a wrapper, that opens a hibernate session on first use. Package visible: may only be called from {@link SessionFactoryWrapper}
      *
-     * @param session the hibernate session to be wrapped
+     * @param sessionFactoryWrapper the factory, which opens the hibernate session
      */
-    DbSession(Session session) {
-        LOG.debug("open session + start transaction");
-        this.session = session;
-        this.session.beginTransaction();
+    DbSession(SessionFactoryWrapper sessionFactoryWrapper) {
+        this.sessionFactoryWrapper = sessionFactoryWrapper;
+    }
+
+    /**
+     * set the command (e.g. "program/saveP"), which uses this session. If the hibernate session is opened, it is counted for this command. Must be called
+     * before the first database access to be effective.
+     *
+     * @param command the command executed with this session
+     */
+    public void setCommand(String command) {
+        this.command = command;
+    }
+
+    /**
+     * @return true, if the hibernate session has been opened, i.e. the database was accessed
+     */
+    public boolean isOpen() {
+        return this.session != null;
     }
 
     /**
      * rollback the current transaction
      */
     public void rollback() {
+        if ( this.session == null ) {
+            return;
+        }
         LOG.info("rollback");
         Transaction transaction = this.session.getTransaction();
         if ( transaction.isActive() ) {
@@ -47,6 +71,9 @@ public class DbSession {
      * commit the current transaction and start a new one
      */
     public void commit() {
+        if ( this.session == null ) {
+            return;
+        }
         LOG.debug("commit + start transaction");
         Transaction transaction = this.session.getTransaction();
         if ( transaction.isActive() ) {
@@ -59,6 +86,10 @@ public class DbSession {
      * commit the current transaction and close the session
      */
     public void close() {
+        this.closed = true;
+        if ( this.session == null ) {
+            return;
+        }
         LOG.debug("close session (after commit)");
         Transaction transaction = this.session.getTransaction();
         if ( transaction.isActive() ) {
@@ -72,7 +103,12 @@ public class DbSession {
      * @return the hibernate session wrapped by this object. Be careful!
      */
     public Session getSession() {
-        Assert.notNull(this.session);
+        if ( this.session == null ) {
+            Assert.isTrue(!this.closed, "the session has been closed");
+            LOG.debug("open session + start transaction");
+            this.session = this.sessionFactoryWrapper.openSession(this.command);
+            this.session.beginTransaction();
+        }
         return this.session;
     }
 
@@ -83,7 +119,7 @@ public class DbSession {
      * @return the Query object
      */
     public Query createQuery(String query) {
-        return this.session.createQuery(query);
+        return getSession().createQuery(query);
     }
 
     /**
@@ -93,7 +129,7 @@ public class DbSession {
      * @return the key of the persisted object
      */
     public Serializable save(Object toBePersisted) {
-        return this.session.save(toBePersisted);
+        return getSession().save(toBePersisted);
     }
 
     /**
@@ -102,7 +138,7 @@ public class DbSession {
      * @param toBeDeleted the entity to be deleted
      */
     public void delete(Object toBeDeleted) {
-        this.session.delete(toBeDeleted);
-        this.session.flush();
+        getSession().delete(toBeDeleted);
+        getSession().flush();
     }
 }
@@ -18,6 +18,21 @@ public class DbSetup {
     private static final String SQL_RETURNING_POSITIVENUMBER_IF_SQLFILE_ALREADY_LOADED =
         "select count(*) from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'PROGRAM'";
     private static final String SQL_RETURNING_POSITIVENUMBER_IF_SETUP_WAS_SUCCESSFUL = "select count(*) from ROBOT";
+    private static final String SQL_RETURNING_POSITIVENUMBER_IF_INDEX_EXISTS =
+        "select count(*) from INFORMATION_SCHEMA.SYSTEM_INDEXINFO where INDEX_NAME = '%s'";
+    /**
+     * the indexes added to <code>create-tables.sql</code> later: the name of the index as stored in INFORMATION_SCHEMA and the statement creating it
+     */
+    private static final String[][] UPGRADE_INDEXES = {
+        {
+            "USERPROGRAMPROGRAMIDX",
+            "create index userProgramProgramIdx on USER_PROGRAM(PROGRAM_ID)"
+        },
+        {
+            "USERPROGRAMUSERIDX",
+            "create index userProgramUserIdx on USER_PROGRAM(USER_ID)"
+        }
+    };
 
     private final DbExecutor dbExecutor;
 
@@ -32,6 +47,24 @@ public class DbSetup {
             DbSetup.SQL_RETURNING_POSITIVENUMBER_IF_SETUP_WAS_SUCCESSFUL);
     }
 
+    /**
+     * add the indexes of <code>create-tables.sql</code> to a database created with an older version of it. Every index is checked on its own, thus a database,
+     * that contains some of the indexes only, gets the missing ones. Idempotent.
+     */
+    public void runUpgradeSetup() {
+        for ( String[] index : DbSetup.UPGRADE_INDEXES ) {
+            String indexName = index[0];
+            try {
+                if ( getOneBigIntegerAsLong(String.format(DbSetup.SQL_RETURNING_POSITIVENUMBER_IF_INDEX_EXISTS, indexName)) == 0 ) {
+                    this.dbExecutor.ddl(index[1]);
+                    DbSetup.LOG.info("the missing index " + indexName + " was created");
+                }
+            } catch ( Exception e ) {
+                DbSetup.LOG.error("failure when creating the missing index " + indexName, e);
+            }
+        }
+    }
+
     public void runDatabaseSetup(String sqlResource, String sqlReturningPositiveIfSqlFileAlreadyLoaded, String sqlReturningPositiveIfSetupSuccessful) {
         try {
             this.dbExecutor.sqlFile(sqlResource, sqlReturningPositiveIfSqlFileAlreadyLoaded, sqlReturningPositiveIfSetupSuccessful);
@@ -1,5 +1,11 @@
 package de.fhg.iais.roberta.persistence.util;
 
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
@@ -17,6 +23,7 @@ import de.fhg.iais.roberta.util.dbc.Assert;
  * underlying database.<br>
  * - Retrieving sessions from the factory is thread-safe and cheap.<br>
  * - The generated sessions are not thread-safe.<br>
+ * - The number of hibernate sessions opened is counted per command.<br>
  * <br>
  * The class <b>should</b> be used as a singleton. Use <b>GUICE</b> to enforce that.
  *
@@ -24,7 +31,10 @@ import de.fhg.iais.roberta.util.dbc.Assert;
  */
 public final class SessionFactoryWrapper {
     private static final Logger LOG = LoggerFactory.getLogger(SessionFactoryWrapper.class);
+    static final String UNKNOWN_COMMAND = "unknown";
+
     private SessionFactory sessionFactory;
+    private final ConcurrentMap<String, AtomicLong> openedSessionsPerCommand = new ConcurrentHashMap<>();
 
     /**
      * configure the session factory
@@ -45,15 +55,44 @@ public final class SessionFactoryWrapper {
     }
 
     /**
-     * get a new session-wrapper from the session factory. The session-wrapper and the session contained are <b>not</b> thread-safe.
+     * get a new session-wrapper from the session factory. The session-wrapper and the session contained are <b>not</b> thread-safe. The hibernate session is
+     * opened when the database is accessed for the first time, see {@link DbSession}
      *
      * @return the session-wrapper, never null
      */
     public DbSession getSession() {
         Assert.notNull(this.sessionFactory, "previous attempt to initialize the session factory failed");
-        Session session = this.sessionFactory.openSession();
-        Assert.notNull(session, "creation of session failed");
-        return new DbSession(session);
+        return new DbSession(this);
+    }
+
+    /**
+     * get the number of hibernate sessions opened by session-wrappers, grouped by the command, that used the session
+     *
+     * @return a snapshot of the counters, sorted by command
+     */
+    public Map<String, Long> getOpenedSessionsPerCommand() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        for ( Map.Entry<String, AtomicLong> entry : this.openedSessionsPerCommand.entrySet() ) {
+            snapshot.put(entry.getKey(), entry.getValue().get());
+        }
+        return snapshot;
+    }
+
+    /**
+     * open a hibernate session for a session-wrapper. Package visible: may only be called from {@link DbSession}
+     *
+     * @param command the command, for which the session is opened
+     * @return the hibernate session, never null
+     */
+    Session openSession(String command) {
+        Session session = getNativeSession();
+        AtomicLong counter = this.openedSessionsPerCommand.get(command);
+        if ( counter == null ) {
+            this.openedSessionsPerCommand.putIfAbsent(command, new AtomicLong());
+            counter = this.openedSessionsPerCommand.get(command);
+        }
+        counter.incrementAndGet();
+        return session;
     }
 
     /**
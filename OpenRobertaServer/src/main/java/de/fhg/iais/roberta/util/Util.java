@@ -1,6 +1,7 @@
 package de.fhg.iais.roberta.util;
 
 import java.util.Date;
+import java.util.Iterator;
 
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
@@ -63,23 +64,16 @@ public class Util {
                 if ( token != null ) {
                     RobotCommunicationData state = brickCommunicator.getState(token);
                     if ( state != null ) {
-                        response.put("robot.wait", state.getRobotConnectionTime());
-                        response.put("robot.battery", state.getBattery());
-                        response.put("robot.name", state.getRobotName());
-                        response.put("robot.version", state.getMenuVersion());
-                        response.put("robot.firmwareName", state.getFirmwareName());
-                        response.put("robot.sensorvalues", state.getSensorValues());
-                        response.put("robot.nepoexitvalue", state.getNepoExitValue());
-                        State communicationState = state.getState();
-                        String infoAboutState;
-                        if ( communicationState == State.ROBOT_IS_BUSY ) {
-                            infoAboutState = "busy";
-                        } else if ( state.isRobotProbablyDisconnected() || communicationState == State.GARBAGE ) {
-                            infoAboutState = "disconnected";
-                        } else {
-                            infoAboutState = "wait"; // is there a need to distinguish the communication state more detailed?
+                        Util.addRobotInfo(response, state);
+                    } else {
+                        JSONObject remoteRobotInfo = brickCommunicator.getCachedRemoteRobotInfo(token);
+                        if ( remoteRobotInfo != null ) {
+                            Iterator<?> keys = remoteRobotInfo.keys();
+                            while ( keys.hasNext() ) {
+                                String key = (String) keys.next();
+                                response.put(key, remoteRobotInfo.get(key));
+                            }
                         }
-                        response.put("robot.state", infoAboutState);
                     }
                 }
             }
@@ -87,4 +81,32 @@ public class Util {
             Util.LOG.error("when adding info for the client, an unexpected exception occurred. Some info for the client may be missing", e);
         }
     }
+
+    /**
+     * add information about the state of a robot to a json object. Used for the responses of REST requests and for the changes pushed to the browser by
+     * {@link de.fhg.iais.roberta.javaServer.websocket.RobotStatePublisher}
+     *
+     * @param response the object to enrich with data
+     * @param state the state of the robot
+     * @throws JSONException never
+     */
+    public static void addRobotInfo(JSONObject response, RobotCommunicationData state) throws JSONException {
+        response.put("robot.wait", state.getRobotConnectionTime());
+        response.put("robot.battery", state.getBattery());
+        response.put("robot.name", state.getRobotName());
+        response.put("robot.version", state.getMenuVersion());
+        response.put("robot.firmwareName", state.getFirmwareName());
+        response.put("robot.sensorvalues", state.getSensorValues());
+        response.put("robot.nepoexitvalue", state.getNepoExitValue());
+        State communicationState = state.getState();
+        String infoAboutState;
+        if ( communicationState == State.ROBOT_IS_BUSY ) {
+            infoAboutState = "busy";
+        } else if ( state.isRobotProbablyDisconnected() || communicationState == State.GARBAGE ) {
+            infoAboutState = "disconnected";
+        } else {
+            infoAboutState = "wait"; // is there a need to distinguish the communication state more detailed?
+        }
+        response.put("robot.state", infoAboutState);
+    }
 }
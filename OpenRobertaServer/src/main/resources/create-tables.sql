@@ -67,6 +67,9 @@ create table USER_PROGRAM (
   foreign key (PROGRAM_ID) references PROGRAM(ID) ON DELETE CASCADE
 );
 
+create index userProgramProgramIdx on USER_PROGRAM(PROGRAM_ID);
+create index userProgramUserIdx on USER_PROGRAM(USER_ID);
+
 create table TOOLBOX (
   ID INTEGER not null generated by default as identity (start with 42),
   NAME varchar(255) not null,
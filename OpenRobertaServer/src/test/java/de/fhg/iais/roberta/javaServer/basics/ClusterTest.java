@@ -0,0 +1,185 @@
+package de.fhg.iais.roberta.javaServer.basics;
+
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.codehaus.jettison.json.JSONObject;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.javaServer.restServices.robot.HttpRobotCommandForwarder;
+import de.fhg.iais.roberta.javaServer.restServices.robot.RobotCommunicatorRpc;
+import de.fhg.iais.roberta.robotCommunication.ArtifactStore;
+import de.fhg.iais.roberta.robotCommunication.IPushCommandListener;
+import de.fhg.iais.roberta.robotCommunication.InMemoryRobotRegistry;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicationData;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
+import de.fhg.iais.roberta.util.Key;
+import de.fhg.iais.roberta.util.RobertaProperties;
+import de.fhg.iais.roberta.util.Util1;
+
+/**
+ * a cluster of three nodes in one JVM: every node is an embedded Jetty server on localhost with the cluster RPC. The nodes share an in-memory robot
+ * registry. Robots register at node 0, the users issue their commands at the other nodes.
+ */
+public class ClusterTest {
+    private static final int NUMBER_OF_NODES = 3;
+    private static final String SECRET = "cluster-test-secret";
+
+    private final InMemoryRobotRegistry registry = new InMemoryRobotRegistry();
+    private final RobotCommunicator[] nodes = new RobotCommunicator[NUMBER_OF_NODES];
+    private final Server[] servers = new Server[NUMBER_OF_NODES];
+
+    @Before
+    public void setup() throws Exception {
+        RobertaProperties.setRobertaProperties(Util1.loadProperties(null));
+        for ( int i = 0; i < NUMBER_OF_NODES; i++ ) {
+            int port = freePort();
+            this.nodes[i] = new RobotCommunicator(new ArtifactStore(), this.registry, "http://localhost:" + port, new HttpRobotCommandForwarder(SECRET));
+            this.servers[i] = new Server();
+            ServerConnector http = new ServerConnector(this.servers[i]);
+            http.setHost("localhost");
+            http.setPort(port);
+            this.servers[i].addConnector(http);
+            ServletContextHandler handler = new ServletContextHandler();
+            handler.setContextPath("/rest");
+            handler.addServlet(new ServletHolder(new RobotCommunicatorRpc(this.nodes[i], SECRET)), "/cluster");
+            this.servers[i].setHandler(handler);
+            this.servers[i].start();
+        }
+    }
+
+    @After
+    public void teardown() throws Exception {
+        for ( Server server : this.servers ) {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testTokenApprovalIsForwardedToTheOwner() throws Exception {
+        RobotCommunicationData state = register("CLUSTER1");
+        Assert.assertEquals(Key.TOKEN_SET_ERROR_WRONG_ROBOTTYPE, this.nodes[1].aTokenAgreementWasSent("CLUSTER1", "nxt"));
+        Assert.assertEquals(Key.TOKEN_SET_SUCCESS, this.nodes[1].aTokenAgreementWasSent("CLUSTER1", "ev3"));
+        Assert.assertEquals(RobotCommunicationData.State.WAIT_FOR_PUSH_CMD_FROM_ROBOT, state.getState());
+        Assert.assertEquals(Key.TOKEN_SET_ERROR_NO_ROBOT_WAITING, this.nodes[1].aTokenAgreementWasSent("UNKNOWN1", "ev3"));
+        Assert.assertNull(this.nodes[1].getState("CLUSTER1"));
+    }
+
+    @Test
+    public void testRunCommandAndProgramAreForwardedToTheOwner() throws Exception {
+        register("CLUSTER2").userApprovedTheRobotToken();
+        CompletableFuture<String> pushedCommand = waitForAPush("CLUSTER2");
+
+        this.nodes[2].getArtifactStore().put("CLUSTER2", "prog.jar", "the program".getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(this.nodes[2].postRunCommand("CLUSTER2", "prog").get(2, TimeUnit.SECONDS));
+        Assert.assertEquals("download", pushedCommand.get(1, TimeUnit.SECONDS));
+        Assert.assertEquals("prog", this.nodes[0].getState("CLUSTER2").getProgramName());
+        Assert.assertNull(this.nodes[2].getArtifactStore().get("CLUSTER2"));
+        ArtifactStore.Artifact artifact = this.nodes[0].getArtifactStore().get("CLUSTER2");
+        Assert.assertEquals("prog.jar", artifact.getFileName());
+        try (InputStream program = artifact.openStream()) {
+            Assert.assertEquals("the program", IOUtils.toString(program, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testFirmwareUpdateRobotInfoAndDisconnectAreForwarded() throws Exception {
+        register("CLUSTER3").userApprovedTheRobotToken();
+        CompletableFuture<String> pushedCommand = waitForAPush("CLUSTER3");
+        Assert.assertTrue(this.nodes[1].firmwareUpdateRequested("CLUSTER3"));
+        Assert.assertEquals("update", pushedCommand.get(1, TimeUnit.SECONDS));
+
+        JSONObject robotInfo = this.nodes[2].getRemoteRobotInfo("CLUSTER3");
+        Assert.assertEquals("ev3-cluster", robotInfo.getString("robot.name"));
+        Assert.assertNull(this.nodes[0].getRemoteRobotInfo("CLUSTER3"));
+
+        this.nodes[1].disconnect("CLUSTER3");
+        Assert.assertNull(this.nodes[0].getState("CLUSTER3"));
+        Assert.assertNull(this.registry.getOwner("CLUSTER3"));
+        Assert.assertFalse(this.nodes[1].firmwareUpdateRequested("CLUSTER3"));
+    }
+
+    @Test
+    public void testCachedRobotInfoIsFetchedInTheBackground() throws Exception {
+        register("CLUSTER9").userApprovedTheRobotToken();
+        JSONObject robotInfo = this.nodes[2].getCachedRemoteRobotInfo("CLUSTER9");
+        for ( int i = 0; robotInfo == null && i < 50; i++ ) {
+            Thread.sleep(100);
+            robotInfo = this.nodes[2].getCachedRemoteRobotInfo("CLUSTER9");
+        }
+        Assert.assertNotNull(robotInfo);
+        Assert.assertEquals("ev3-cluster", robotInfo.getString("robot.name"));
+        Assert.assertNull(this.nodes[0].getCachedRemoteRobotInfo("CLUSTER9"));
+    }
+
+    @Test
+    public void testTokenOfAnotherNodeIsNotRegisteredAgain() throws Exception {
+        register("CLUSTER4");
+        RobotCommunicationData sameToken = new RobotCommunicationData("CLUSTER4", "ev3", "00:00:00:00:00:02", "ev3-other", "8.1", "2.2.0", "lejos", "0.9.1");
+        Assert.assertFalse(this.nodes[1].addNewRegistration(sameToken));
+    }
+
+    @Test
+    public void testRegistrationAgainWithTheSameTokenIsKept() throws Exception {
+        register("CLUSTER6");
+        this.nodes[0].getArtifactStore().put("CLUSTER6", "prog.jar", "the program".getBytes(StandardCharsets.UTF_8));
+        register("CLUSTER6");
+        Assert.assertNotNull(this.registry.getOwner("CLUSTER6"));
+        Assert.assertNotNull(this.nodes[0].getArtifactStore().get("CLUSTER6"));
+    }
+
+    @Test
+    public void testRegistrationAgainWithANewTokenRemovesTheOldToken() throws Exception {
+        RobotCommunicationData oldState = new RobotCommunicationData("CLUSTER7", "ev3", "mac-robot7", "ev3-cluster", "8.1", "2.2.0", "lejos", "0.9.1");
+        Assert.assertTrue(this.nodes[0].addNewRegistration(oldState));
+        this.nodes[0].getArtifactStore().put("CLUSTER7", "prog.jar", "the program".getBytes(StandardCharsets.UTF_8));
+        RobotCommunicationData newState = new RobotCommunicationData("CLUSTER8", "ev3", "mac-robot7", "ev3-cluster", "8.1", "2.2.0", "lejos", "0.9.1");
+        Assert.assertTrue(this.nodes[0].addNewRegistration(newState));
+        Assert.assertNull(this.registry.getOwner("CLUSTER7"));
+        Assert.assertNull(this.nodes[0].getArtifactStore().get("CLUSTER7"));
+        Assert.assertNotNull(this.registry.getOwner("CLUSTER8"));
+    }
+
+    @Test
+    public void testWrongSecretIsRejected() throws Exception {
+        register("CLUSTER5");
+        HttpRobotCommandForwarder intruder = new HttpRobotCommandForwarder("wrong");
+        Assert.assertEquals(Key.TOKEN_SET_ERROR_NO_ROBOT_WAITING, intruder.forwardTokenAgreement(this.registry.getOwner("CLUSTER5"), "CLUSTER5", "ev3"));
+        Assert.assertEquals(1, intruder.getFailed());
+        Assert.assertEquals(RobotCommunicationData.State.WAIT_FOR_TOKENAPPROVAL_FROM_USER, this.nodes[0].getState("CLUSTER5").getState());
+    }
+
+    private RobotCommunicationData register(String token) {
+        RobotCommunicationData state = new RobotCommunicationData(token, "ev3", "mac-" + token, "ev3-cluster", "8.1", "2.2.0", "lejos", "0.9.1");
+        Assert.assertTrue(this.nodes[0].addNewRegistration(state));
+        return state;
+    }
+
+    private CompletableFuture<String> waitForAPush(String token) {
+        final CompletableFuture<String> pushedCommand = new CompletableFuture<>();
+        Assert.assertTrue(this.nodes[0].brickWaitsForAnAsyncServerPush(token, "8.1", 0, new IPushCommandListener() {
+            @Override
+            public void pushCommandAvailable(String command) {
+                pushedCommand.complete(command);
+            }
+        }));
+        return pushedCommand;
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
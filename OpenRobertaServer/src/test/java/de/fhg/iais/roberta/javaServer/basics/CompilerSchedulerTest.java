@@ -0,0 +1,151 @@
+package de.fhg.iais.roberta.javaServer.basics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.javaServer.compiler.CompilerScheduler;
+import de.fhg.iais.roberta.robotCommunication.CompilationResult;
+import de.fhg.iais.roberta.util.Key;
+
+public class CompilerSchedulerTest {
+    private CompilerScheduler scheduler;
+    private ExecutorService clients;
+    private CountDownLatch firstCompilationStarted;
+    private CountDownLatch releaseFirstCompilation;
+    private List<String> order;
+
+    @Before
+    public void setup() {
+        Properties properties = new Properties();
+        properties.put("robot.plugin.1.name", "ev3");
+        properties.put("robot.plugin.1.compiler.workers", "1");
+        properties.put("robot.plugin.1.compiler.queue", "4");
+        this.scheduler = new CompilerScheduler(properties);
+        this.clients = Executors.newCachedThreadPool();
+        this.firstCompilationStarted = new CountDownLatch(1);
+        this.releaseFirstCompilation = new CountDownLatch(1);
+        this.order = Collections.synchronizedList(new ArrayList<String>());
+    }
+
+    @After
+    public void teardown() {
+        this.releaseFirstCompilation.countDown();
+        this.clients.shutdownNow();
+    }
+
+    @Test
+    public void testSessionsAreServedRoundRobin() throws Exception {
+        Future<CompilationResult> blocker = submit(0, "blocker");
+        Assert.assertTrue(this.firstCompilationStarted.await(10, TimeUnit.SECONDS));
+        List<Future<CompilationResult>> results = new ArrayList<>();
+        results.add(submitAndWaitUntilQueued(1, "a1", 1));
+        results.add(submitAndWaitUntilQueued(1, "a2", 2));
+        results.add(submitAndWaitUntilQueued(1, "a3", 3));
+        results.add(submitAndWaitUntilQueued(2, "b1", 4));
+        this.releaseFirstCompilation.countDown();
+        Assert.assertEquals(Key.COMPILERWORKFLOW_SUCCESS, blocker.get(10, TimeUnit.SECONDS).getMessageKey());
+        for ( Future<CompilationResult> result : results ) {
+            Assert.assertEquals(Key.COMPILERWORKFLOW_SUCCESS, result.get(10, TimeUnit.SECONDS).getMessageKey());
+        }
+        Assert.assertEquals("[blocker, a1, b1, a2, a3]", this.order.toString());
+    }
+
+    @Test
+    public void testFullQueueIsRejectedAtOnce() throws Exception {
+        submit(0, "blocker");
+        Assert.assertTrue(this.firstCompilationStarted.await(10, TimeUnit.SECONDS));
+        for ( int i = 1; i <= 4; i++ ) {
+            submitAndWaitUntilQueued(i, "job" + i, i);
+        }
+        CompilationResult rejected = this.scheduler.compile("ev3", 5, compilation("rejected"));
+        Assert.assertEquals(Key.COMPILERWORKFLOW_ERROR_SERVER_BUSY, rejected.getMessageKey());
+        Assert.assertTrue(this.scheduler.getRetryAfterSec("ev3") >= 1);
+        JSONObject statistics = this.scheduler.getStatistics().getJSONObject("ev3");
+        Assert.assertEquals(4, statistics.getInt("queueLength"));
+        Assert.assertEquals(1, statistics.getInt("rejected"));
+        this.releaseFirstCompilation.countDown();
+        Assert.assertFalse(this.order.contains("rejected"));
+    }
+
+    @Test
+    public void testHungCompilationIsCancelledAfterTheTimeout() throws Exception {
+        Properties properties = new Properties();
+        properties.put("robot.plugin.1.name", "ev3");
+        properties.put("robot.plugin.1.compiler.workers", "1");
+        properties.put("robot.plugin.1.compiler.timeout", "1");
+        CompilerScheduler scheduler = new CompilerScheduler(properties);
+        final CountDownLatch workerInterrupted = new CountDownLatch(1);
+        CompilationResult timedOut = scheduler.compile("ev3", 1, new Callable<CompilationResult>() {
+            @Override
+            public CompilationResult call() throws Exception {
+                try {
+                    new CountDownLatch(1).await(); // a hung compiler
+                } catch ( InterruptedException e ) {
+                    workerInterrupted.countDown();
+                }
+                return CompilationResult.success(null, null);
+            }
+        });
+        Assert.assertEquals(Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED, timedOut.getMessageKey());
+        Assert.assertTrue(workerInterrupted.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, scheduler.getStatistics().getJSONObject("ev3").getInt("timedOut"));
+        CompilationResult next = scheduler.compile("ev3", 2, compilation("next"));
+        Assert.assertEquals(Key.COMPILERWORKFLOW_SUCCESS, next.getMessageKey());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testExceptionOfTheCompilationIsPassedToTheCaller() throws Exception {
+        this.scheduler.compile("ev3", 1, new Callable<CompilationResult>() {
+            @Override
+            public CompilationResult call() {
+                throw new IllegalStateException("compiler crashed");
+            }
+        });
+    }
+
+    private Future<CompilationResult> submitAndWaitUntilQueued(long sessionNumber, String name, int expectedQueueLength) throws Exception {
+        Future<CompilationResult> result = submit(sessionNumber, name);
+        for ( int i = 0; i < 1000 && this.scheduler.getQueueLength("ev3") < expectedQueueLength; i++ ) {
+            Thread.sleep(5);
+        }
+        Assert.assertEquals(expectedQueueLength, this.scheduler.getQueueLength("ev3"));
+        return result;
+    }
+
+    private Future<CompilationResult> submit(final long sessionNumber, final String name) {
+        return this.clients.submit(new Callable<CompilationResult>() {
+            @Override
+            public CompilationResult call() throws Exception {
+                return CompilerSchedulerTest.this.scheduler.compile("ev3", sessionNumber, compilation(name));
+            }
+        });
+    }
+
+    private Callable<CompilationResult> compilation(final String name) {
+        return new Callable<CompilationResult>() {
+            @Override
+            public CompilationResult call() throws Exception {
+                CompilerSchedulerTest.this.order.add(name);
+                if ( name.equals("blocker") ) {
+                    CompilerSchedulerTest.this.firstCompilationStarted.countDown();
+                    CompilerSchedulerTest.this.releaseFirstCompilation.await();
+                }
+                return CompilationResult.success(null, null);
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package de.fhg.iais.roberta.javaServer.basics;
+
+import org.hibernate.Session;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.persistence.util.DbSetup;
+import de.fhg.iais.roberta.persistence.util.SessionFactoryWrapper;
+
+public class DbSetupTest {
+    private static final String COUNT_USER_PROGRAM_INDEXES =
+        "select count(distinct INDEX_NAME) from INFORMATION_SCHEMA.SYSTEM_INDEXINFO where INDEX_NAME in ('USERPROGRAMPROGRAMIDX', 'USERPROGRAMUSERIDX')";
+
+    @Test
+    public void testUpgradeAddsTheMissingIndexes() throws Exception {
+        SessionFactoryWrapper sessionFactoryWrapper = new SessionFactoryWrapper("hibernate-test-cfg.xml", "jdbc:hsqldb:mem:dbSetupInMemoryDb");
+        Session nativeSession = sessionFactoryWrapper.getNativeSession();
+        DbSetup dbSetup = new DbSetup(nativeSession);
+        dbSetup.runDefaultRobertaSetup();
+        Assert.assertEquals(2, dbSetup.getOneBigIntegerAsLong(COUNT_USER_PROGRAM_INDEXES));
+
+        // a database created before the indexes were added
+        nativeSession.createSQLQuery("drop index userProgramProgramIdx").executeUpdate();
+        nativeSession.createSQLQuery("drop index userProgramUserIdx").executeUpdate();
+        Assert.assertEquals(0, dbSetup.getOneBigIntegerAsLong(COUNT_USER_PROGRAM_INDEXES));
+
+        dbSetup.runUpgradeSetup();
+        Assert.assertEquals(2, dbSetup.getOneBigIntegerAsLong(COUNT_USER_PROGRAM_INDEXES));
+        dbSetup.runUpgradeSetup();
+        Assert.assertEquals(2, dbSetup.getOneBigIntegerAsLong(COUNT_USER_PROGRAM_INDEXES));
+
+        // a database, that contains one of the indexes only
+        nativeSession.createSQLQuery("drop index userProgramProgramIdx").executeUpdate();
+        Assert.assertEquals(1, dbSetup.getOneBigIntegerAsLong(COUNT_USER_PROGRAM_INDEXES));
+        dbSetup.runUpgradeSetup();
+        Assert.assertEquals(2, dbSetup.getOneBigIntegerAsLong(COUNT_USER_PROGRAM_INDEXES));
+        nativeSession.close();
+    }
+}
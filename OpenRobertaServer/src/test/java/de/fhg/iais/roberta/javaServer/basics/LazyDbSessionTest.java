@@ -0,0 +1,47 @@
+package de.fhg.iais.roberta.javaServer.basics;
+
+import org.hibernate.Session;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.persistence.dao.RobotDao;
+import de.fhg.iais.roberta.persistence.util.DbSession;
+import de.fhg.iais.roberta.persistence.util.DbSetup;
+import de.fhg.iais.roberta.persistence.util.SessionFactoryWrapper;
+
+public class LazyDbSessionTest {
+    private SessionFactoryWrapper sessionFactoryWrapper;
+
+    @Before
+    public void setup() throws Exception {
+        this.sessionFactoryWrapper = new SessionFactoryWrapper("hibernate-test-cfg.xml", "jdbc:hsqldb:mem:lazyDbSessionInMemoryDb");
+        Session nativeSession = this.sessionFactoryWrapper.getNativeSession();
+        new DbSetup(nativeSession).runDefaultRobertaSetup();
+    }
+
+    @Test
+    public void testSessionWithoutDatabaseAccessIsNeverOpened() throws Exception {
+        DbSession dbSession = this.sessionFactoryWrapper.getSession();
+        dbSession.setCommand("program/runP");
+        dbSession.commit();
+        dbSession.rollback();
+        dbSession.close();
+        Assert.assertFalse(dbSession.isOpen());
+        Assert.assertNull(this.sessionFactoryWrapper.getOpenedSessionsPerCommand().get("program/runP"));
+    }
+
+    @Test
+    public void testSessionIsOpenedOnFirstAccessAndCountedForTheCommand() throws Exception {
+        for ( int i = 0; i < 2; i++ ) {
+            DbSession dbSession = this.sessionFactoryWrapper.getSession();
+            dbSession.setCommand("program/loadP");
+            Assert.assertFalse(dbSession.isOpen());
+            Assert.assertNotNull(new RobotDao(dbSession).loadRobot("ev3"));
+            Assert.assertTrue(dbSession.isOpen());
+            Assert.assertNotNull(new RobotDao(dbSession).loadRobot("ev3"));
+            dbSession.close();
+        }
+        Assert.assertEquals(2L, this.sessionFactoryWrapper.getOpenedSessionsPerCommand().get("program/loadP").longValue());
+    }
+}
@@ -26,6 +26,7 @@ import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
 
 import de.fhg.iais.roberta.factory.IRobotFactory;
+import de.fhg.iais.roberta.javaServer.compiler.CompilerScheduler;
 import de.fhg.iais.roberta.javaServer.restServices.all.ClientAdmin;
 import de.fhg.iais.roberta.javaServer.restServices.all.ClientProgram;
 import de.fhg.iais.roberta.javaServer.restServices.all.ClientUser;
@@ -77,7 +78,7 @@ public class PerformanceUserInteractionTest {
         this.brickCommunicator = new RobotCommunicator();
 
         this.restUser = new ClientUser(this.brickCommunicator, null);
-        this.restProgram = new ClientProgram(this.sessionFactoryWrapper, this.brickCommunicator);
+        this.restProgram = new ClientProgram(this.sessionFactoryWrapper, this.brickCommunicator, new CompilerScheduler(properties));
         this.restBlocks = new ClientAdmin(this.brickCommunicator);
         this.downloadJar = new RobotDownloadProgram(this.brickCommunicator);
         this.brickCommand = new RobotCommand(this.brickCommunicator);
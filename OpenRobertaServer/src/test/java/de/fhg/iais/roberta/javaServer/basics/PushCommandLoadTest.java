@@ -0,0 +1,144 @@
+package de.fhg.iais.roberta.javaServer.basics;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.javaServer.restServices.robot.RobotCommandAsync;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicationData;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
+import de.fhg.iais.roberta.util.Clock;
+import de.fhg.iais.roberta.util.testsetup.IntegrationTest;
+
+/**
+ * load test for the async /pushcmd servlet: thousands of robots issue a push request to a local server, that has a small thread pool. All requests are
+ * suspended. Then for every robot the run button is pressed. Every robot must get its "download" command.
+ */
+@Ignore
+@Category(IntegrationTest.class)
+public class PushCommandLoadTest {
+    private static final Logger LOG = LoggerFactory.getLogger(PushCommandLoadTest.class);
+
+    private static final int NUMBER_OF_ROBOTS = 3000;
+    private static final int MAX_SERVER_THREADS = 32;
+
+    private RobotCommunicator robotCommunicator;
+    private QueuedThreadPool threadPool;
+    private Server server;
+    private int port;
+
+    @Before
+    public void setup() throws Exception {
+        this.robotCommunicator = new RobotCommunicator();
+        this.threadPool = new QueuedThreadPool(MAX_SERVER_THREADS);
+        this.server = new Server(this.threadPool);
+        ServerConnector http = new ServerConnector(this.server);
+        http.setHost("localhost");
+        http.setPort(0);
+        http.setAcceptQueueSize(NUMBER_OF_ROBOTS);
+        this.server.addConnector(http);
+        ServletContextHandler handler = new ServletContextHandler();
+        handler.setContextPath("/");
+        ServletHolder pushHolder = new ServletHolder(new RobotCommandAsync(this.robotCommunicator));
+        pushHolder.setAsyncSupported(true);
+        handler.addServlet(pushHolder, "/pushcmd/*");
+        this.server.setHandler(handler);
+        this.server.start();
+        this.port = http.getLocalPort();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        this.server.stop();
+    }
+
+    @Test
+    public void manyRobotsWaitForAPush() throws Exception {
+        Socket[] robots = new Socket[NUMBER_OF_ROBOTS];
+        Clock clock = Clock.start();
+        for ( int i = 0; i < NUMBER_OF_ROBOTS; i++ ) {
+            String token = token(i);
+            RobotCommunicationData state = new RobotCommunicationData(token, "ev3", "mac-" + i, "ev3-" + i, "8.1", "2.2.0", "lejos", "0.9.1");
+            Assert.assertTrue(this.robotCommunicator.addNewRegistration(state));
+            state.userApprovedTheRobotToken();
+            robots[i] = sendPushRequest(token);
+        }
+        LOG.info(NUMBER_OF_ROBOTS + " push requests sent in " + clock.elapsedMsecFormatted());
+
+        for ( int i = 0; i < NUMBER_OF_ROBOTS; i++ ) {
+            waitUntilRobotWaitsForPush(token(i));
+        }
+        LOG.info("all robots are waiting for a push after " + clock.elapsedMsecFormatted() + ". Server threads: " + this.threadPool.getThreads());
+        Assert.assertTrue("too many threads used", this.threadPool.getThreads() <= MAX_SERVER_THREADS);
+
+        clock = Clock.start();
+        for ( int i = 0; i < NUMBER_OF_ROBOTS; i++ ) {
+            Assert.assertTrue(this.robotCommunicator.postRunCommand(token(i), "prog" + i).get(2, TimeUnit.SECONDS));
+        }
+        for ( int i = 0; i < NUMBER_OF_ROBOTS; i++ ) {
+            String response = readResponse(robots[i]);
+            Assert.assertTrue("robot " + i + " got an invalid response: " + response, response.startsWith("HTTP/1.1 200"));
+            Assert.assertTrue("robot " + i + " got no download command: " + response, response.contains("download"));
+        }
+        LOG.info("all robots got their download command in " + clock.elapsedMsecFormatted());
+    }
+
+    private static String token(int robotNumber) {
+        return String.format("T%07d", robotNumber);
+    }
+
+    private Socket sendPushRequest(String token) throws Exception {
+        String body = "{\"cmd\":\"push\",\"token\":\"" + token + "\",\"firmwarename\":\"lejos\",\"battery\":\"8.1\",\"nepoexitvalue\":0}";
+        byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        String header = "POST /pushcmd HTTP/1.1\r\n" //
+            + "Host: localhost:"
+            + this.port
+            + "\r\n"
+            + "Content-Type: application/json\r\n"
+            + "Content-Length: "
+            + bodyBytes.length
+            + "\r\n"
+            + "Connection: close\r\n\r\n";
+        Socket socket = new Socket("localhost", this.port);
+        socket.setSoTimeout(60000);
+        OutputStream out = socket.getOutputStream();
+        out.write(header.getBytes(StandardCharsets.US_ASCII));
+        out.write(bodyBytes);
+        out.flush();
+        return socket;
+    }
+
+    private void waitUntilRobotWaitsForPush(String token) throws Exception {
+        RobotCommunicationData state = this.robotCommunicator.getState(token);
+        for ( int i = 0; i < 1000 && state.getState() != RobotCommunicationData.State.ROBOT_WAITING_FOR_PUSH_FROM_SERVER; i++ ) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(RobotCommunicationData.State.ROBOT_WAITING_FOR_PUSH_FROM_SERVER, state.getState());
+    }
+
+    private static String readResponse(Socket socket) throws Exception {
+        try {
+            InputStream in = socket.getInputStream();
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        } finally {
+            socket.close();
+        }
+    }
+}
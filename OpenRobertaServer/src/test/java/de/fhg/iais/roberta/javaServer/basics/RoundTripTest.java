@@ -33,6 +33,7 @@ import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
 
 import de.fhg.iais.roberta.factory.IRobotFactory;
+import de.fhg.iais.roberta.javaServer.compiler.CompilerScheduler;
 import de.fhg.iais.roberta.javaServer.restServices.all.ClientProgram;
 import de.fhg.iais.roberta.javaServer.restServices.all.ClientUser;
 import de.fhg.iais.roberta.main.ServerStarter;
@@ -197,7 +198,7 @@ public class RoundTripTest {
         brickCommunicator = new RobotCommunicator();
 
         restUser = new ClientUser(brickCommunicator, null);
-        restProgram = new ClientProgram(sessionFactoryWrapper, brickCommunicator);
+        restProgram = new ClientProgram(sessionFactoryWrapper, brickCommunicator, new CompilerScheduler(properties));
         Map<String, IRobotFactory> robotPlugins = new HashMap<>();
         loadPlugin(robotPlugins);
         s1 = HttpSessionState.init(brickCommunicator, robotPlugins, 1);
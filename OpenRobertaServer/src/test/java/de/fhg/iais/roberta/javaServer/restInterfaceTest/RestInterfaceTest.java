@@ -17,6 +17,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import de.fhg.iais.roberta.factory.IRobotFactory;
+import de.fhg.iais.roberta.javaServer.compiler.CompilerScheduler;
 import de.fhg.iais.roberta.javaServer.restServices.all.ClientProgram;
 import de.fhg.iais.roberta.javaServer.restServices.all.ClientUser;
 import de.fhg.iais.roberta.main.ServerStarter;
@@ -88,7 +89,7 @@ public class RestInterfaceTest {
         Session nativeSession = this.sessionFactoryWrapper.getNativeSession();
         this.memoryDbSetup = new DbSetup(nativeSession);
         this.memoryDbSetup.runDefaultRobertaSetup();
-        this.restProgram = new ClientProgram(this.sessionFactoryWrapper, this.brickCommunicator);
+        this.restProgram = new ClientProgram(this.sessionFactoryWrapper, this.brickCommunicator, new CompilerScheduler(robertaProperties));
         Map<String, IRobotFactory> robotPlugins = new HashMap<>();
         loadPlugin(robotPlugins);
         this.sPid = HttpSessionState.init(this.brickCommunicator, robotPlugins, 1);
@@ -371,11 +372,22 @@ public class RestInterfaceTest {
             JSONArray programInfo = programListing.getJSONArray(i);
             if ( programInfo.getString(0).equals("p3") ) {
                 Assert.assertEquals("p3 is owned by pid", "pid", programInfo.getString(1));
+                Assert.assertEquals("WRITE", programInfo.getJSONObject(2).getString("sharedFrom"));
                 ownershipOk = true;
                 break;
             }
         }
         Assert.assertTrue(ownershipOk);
+        boolean sharingOk = false;
+        programListing = assertProgramListingAsExpected(this.sPid, "['p1','p2','p3','p4']");
+        for ( int i = 0; i < programListing.length(); i++ ) {
+            JSONArray programInfo = programListing.getJSONArray(i);
+            if ( programInfo.getString(0).equals("p3") ) {
+                Assert.assertEquals("WRITE", programInfo.getJSONObject(2).getJSONArray("sharedWith").getJSONObject(0).getString("minscha"));
+                sharingOk = true;
+            }
+        }
+        Assert.assertTrue(sharingOk);
 
         restProgram(this.sPid, "{'cmd':'loadP';'name':'p2';'owner':'pid'}", "ok", Key.PROGRAM_GET_ONE_SUCCESS);
         Assert.assertTrue(this.response.getEntity().toString().contains(".2.pid.updated"));
@@ -0,0 +1,174 @@
+package de.fhg.iais.roberta.javaServer.websocket;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
+import org.eclipse.jetty.websocket.api.Session;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.robotCommunication.ArtifactStore;
+import de.fhg.iais.roberta.robotCommunication.IRobotCommandForwarder;
+import de.fhg.iais.roberta.robotCommunication.InMemoryRobotRegistry;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
+import de.fhg.iais.roberta.util.Key;
+
+public class RobotStatePublisherTest {
+
+    @Test
+    public void testFirstMessageContainsTheCompleteState() throws Exception {
+        JSONObject changes = RobotStatePublisher.changes(Collections.<String, Object> emptyMap(), state("wait", 10, "busy"));
+        Assert.assertEquals(4, changes.length());
+        Assert.assertEquals("ev3", changes.getString("robot.name"));
+        Assert.assertEquals("wait", changes.getString("robot.state"));
+        Assert.assertEquals("busy", changes.getString("robot.nepoexitvalue"));
+        Assert.assertEquals(10, changes.getInt("robot.wait"));
+    }
+
+    @Test
+    public void testConnectionTimeAloneIsNoChange() throws Exception {
+        JSONObject changes = RobotStatePublisher.changes(state("wait", 10, null), state("wait", 20, null));
+        Assert.assertEquals(0, changes.length());
+    }
+
+    @Test
+    public void testOnlyChangesAreSent() throws Exception {
+        JSONObject changes = RobotStatePublisher.changes(state("wait", 10, null), state("busy", 20, null));
+        Assert.assertEquals(2, changes.length());
+        Assert.assertEquals("busy", changes.getString("robot.state"));
+        Assert.assertEquals(20, changes.getInt("robot.wait"));
+    }
+
+    @Test
+    public void testRemovedEntriesAreSentAsNull() throws Exception {
+        JSONObject changes = RobotStatePublisher.changes(state("wait", 10, "busy"), Collections.<String, Object> emptyMap());
+        Assert.assertEquals(4, changes.length());
+        Assert.assertTrue(changes.isNull("robot.name"));
+        Assert.assertTrue(changes.isNull("robot.nepoexitvalue"));
+        Assert.assertTrue(changes.isNull("robot.wait"));
+    }
+
+    @Test(timeout = 10000)
+    public void testRemoteRobotInfoIsFetchedOutsideOfTheTimerThread() throws Exception {
+        final CountDownLatch ownerAnswers = new CountDownLatch(1);
+        InMemoryRobotRegistry registry = new InMemoryRobotRegistry();
+        registry.register("REMOTE1", "http://owner");
+        RobotCommunicator robotCommunicator = new RobotCommunicator(new ArtifactStore(), registry, "http://this", new SlowOwner(ownerAnswers));
+        RobotStatePublisher publisher = new RobotStatePublisher(robotCommunicator, 3600000);
+        try {
+            List<String> sent = new CopyOnWriteArrayList<>();
+            publisher.subscribe(session(sent), "REMOTE1");
+            publisher.publishChanges();
+            publisher.publishChanges();
+            Assert.assertTrue(sent.isEmpty());
+
+            ownerAnswers.countDown();
+            while ( sent.isEmpty() ) {
+                Thread.sleep(10);
+                publisher.publishChanges();
+            }
+            Assert.assertEquals("remote-ev3", new JSONObject(sent.get(0)).getString("robot.name"));
+        } finally {
+            publisher.shutdown();
+        }
+    }
+
+    /**
+     * a websocket session, that records the messages sent
+     */
+    private static Session session(final List<String> sent) {
+        final RemoteEndpoint remote = (RemoteEndpoint) Proxy.newProxyInstance(getClassLoader(), new Class<?>[] {
+            RemoteEndpoint.class
+        }, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                Assert.assertEquals("sendStringByFuture", method.getName());
+                sent.add((String) args[0]);
+                return CompletableFuture.completedFuture(null);
+            }
+        });
+        return (Session) Proxy.newProxyInstance(getClassLoader(), new Class<?>[] {
+            Session.class
+        }, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if ( method.getName().equals("isOpen") ) {
+                    return true;
+                } else if ( method.getName().equals("getRemote") ) {
+                    return remote;
+                } else if ( method.getName().equals("hashCode") ) {
+                    return System.identityHashCode(proxy);
+                } else if ( method.getName().equals("equals") ) {
+                    return proxy == args[0];
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static ClassLoader getClassLoader() {
+        return RobotStatePublisherTest.class.getClassLoader();
+    }
+
+    private static Map<String, Object> state(String robotState, long wait, String exitValue) {
+        Map<String, Object> state = new HashMap<>();
+        state.put("robot.name", "ev3");
+        state.put("robot.state", robotState);
+        state.put("robot.wait", wait);
+        if ( exitValue != null ) {
+            state.put("robot.nepoexitvalue", exitValue);
+        }
+        return state;
+    }
+
+    /**
+     * the owner of all robots, that answers the request for the robot info only after the latch is released
+     */
+    private static class SlowOwner implements IRobotCommandForwarder {
+        private final CountDownLatch answer;
+
+        SlowOwner(CountDownLatch answer) {
+            this.answer = answer;
+        }
+
+        @Override
+        public JSONObject forwardRobotInfo(String node, String token) {
+            try {
+                this.answer.await();
+                return new JSONObject().put("robot.name", "remote-ev3");
+            } catch ( Exception e ) {
+                return null;
+            }
+        }
+
+        @Override
+        public Key forwardTokenAgreement(String node, String token, String robot) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean forwardRunCommand(String node, String token, String programName, String programFileName, byte[] program) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean forwardFirmwareUpdate(String node, String token) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void forwardDisconnect(String node, String token) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
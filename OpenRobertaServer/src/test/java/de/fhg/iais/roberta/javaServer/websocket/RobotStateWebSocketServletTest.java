@@ -0,0 +1,138 @@
+package de.fhg.iais.roberta.javaServer.websocket;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketConnect;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
+import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+import org.eclipse.jetty.websocket.client.ClientUpgradeRequest;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.javaServer.provider.OraDataProvider;
+import de.fhg.iais.roberta.persistence.util.HttpSessionState;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicationData;
+import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
+import de.fhg.iais.roberta.util.RobertaProperties;
+import de.fhg.iais.roberta.util.Util1;
+
+/**
+ * the robot state websocket is bound to the token in the HTTP session of the browser, the token sent by the browser is ignored
+ */
+public class RobotStateWebSocketServletTest {
+    private static final RobotCommunicator ROBOT_COMMUNICATOR = new RobotCommunicator();
+
+    private Server server;
+    private WebSocketClient client;
+    private int port;
+
+    @Before
+    public void setup() throws Exception {
+        RobertaProperties.setRobertaProperties(Util1.loadProperties(null));
+        if ( RobotStateWS.getPublisher() == null ) {
+            RobotStateWS.setPublisher(new RobotStatePublisher(ROBOT_COMMUNICATOR, 50));
+        }
+        connect("SESSION1", "ev3-session");
+        connect("FOREIGN1", "ev3-foreign");
+
+        this.server = new Server();
+        ServerConnector http = new ServerConnector(this.server);
+        http.setHost("localhost");
+        this.server.addConnector(http);
+        ServletContextHandler handler = new ServletContextHandler(ServletContextHandler.SESSIONS);
+        handler.setContextPath("/rest");
+        handler.addServlet(SetTokenServlet.class, "/setToken");
+        handler.addServlet(RobotStateWebSocketServlet.class, "/robotState");
+        this.server.setHandler(handler);
+        this.server.start();
+        this.port = http.getLocalPort();
+        this.client = new WebSocketClient();
+        this.client.start();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        this.client.stop();
+        this.server.stop();
+        ROBOT_COMMUNICATOR.disconnect("SESSION1");
+        ROBOT_COMMUNICATOR.disconnect("FOREIGN1");
+    }
+
+    @Test
+    public void testTheRobotOfTheHttpSessionIsPublished() throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + this.port + "/rest/setToken").openConnection();
+        Assert.assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+        ClientUpgradeRequest request = new ClientUpgradeRequest();
+        request.setCookies(HttpCookie.parse(connection.getHeaderField("Set-Cookie")));
+
+        Browser browser = new Browser();
+        this.client.connect(browser, new URI("ws://localhost:" + this.port + "/rest/robotState"), request).get(5, TimeUnit.SECONDS);
+        String message = browser.messages.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull(message);
+        Assert.assertEquals("ev3-session", new JSONObject(message).getString("robot.name"));
+    }
+
+    @Test
+    public void testABrowserWithoutHttpSessionIsNotSubscribed() throws Exception {
+        Browser browser = new Browser();
+        this.client.connect(browser, new URI("ws://localhost:" + this.port + "/rest/robotState")).get(5, TimeUnit.SECONDS);
+        Assert.assertNull(browser.messages.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    private static void connect(String token, String robotName) {
+        RobotCommunicationData state = new RobotCommunicationData(token, "ev3", "mac-" + token, robotName, "8.1", "2.2.0", "lejos", "0.9.1");
+        Assert.assertTrue(ROBOT_COMMUNICATOR.addNewRegistration(state));
+        state.userApprovedTheRobotToken();
+    }
+
+    /**
+     * stores the token of the robot "SESSION1" in the HTTP session, as the REST request <code>/admin/setToken</code> does
+     */
+    public static class SetTokenServlet extends HttpServlet {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            HttpSessionState httpSessionState = HttpSessionState.init(ROBOT_COMMUNICATOR, null, 1);
+            httpSessionState.setToken("SESSION1");
+            request.getSession(true).setAttribute(OraDataProvider.OPEN_ROBERTA_STATE, httpSessionState);
+        }
+    }
+
+    /**
+     * subscribes with a token of another robot, that must be ignored
+     */
+    @WebSocket
+    public static class Browser {
+        final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+
+        @OnWebSocketConnect
+        public void onConnect(Session session) throws IOException {
+            session.getRemote().sendString("{\"cmd\":\"subscribe\",\"token\":\"FOREIGN1\"}");
+        }
+
+        @OnWebSocketMessage
+        public void onMessage(String message) {
+            this.messages.add(message);
+        }
+    }
+}
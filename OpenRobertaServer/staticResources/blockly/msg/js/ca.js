@@ -745,6 +745,7 @@ Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_CONFIGURATION_NOT_FOUND = "No se encontr
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_CONFIGURATION_TRANSFORM_FAILED = "No se pudo transformar la configuración del robot en el lenguaje de programación del robot.";
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED = "El programa no se pudo compilar.";
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_GENERATION_FAILED = "No se pudo generar el programa";
+Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_SERVER_BUSY = "The server is busy compiling other programs. Please try again in $ seconds.";  // untranslated
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_NOT_FOUND = "El programa no se pudo transformar en el lenguaje de programación del robot";
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_STORE_FAILED = "No se pudo guardar el programa debido a un error interno.";
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_TRANSFORM_FAILED = "El programa no se pudo transformar en el lenguaje de programación del robot";
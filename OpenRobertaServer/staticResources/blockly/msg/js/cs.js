@@ -745,6 +745,7 @@ Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_CONFIGURATION_NOT_FOUND = "Nastavení rob
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_CONFIGURATION_TRANSFORM_FAILED = "Nastavení robota nemůže být převedeno do programovacího jazyka robota.";
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED = "Program nemůže být přeložen do strojového kódu.";
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_GENERATION_FAILED = "Program nemůže být vygenerován.";
+Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_SERVER_BUSY = "The server is busy compiling other programs. Please try again in $ seconds.";  // untranslated
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_NOT_FOUND = "Program nelze převést do programovacího jazyku robota.";
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_STORE_FAILED = "Program nelze uložit z důvodu vnitřní chyby.";
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_TRANSFORM_FAILED = "Program nelze převést do programovacího jazyku robota.";
@@ -745,6 +745,7 @@ Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_CONFIGURATION_NOT_FOUND = "Der Server kon
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_CONFIGURATION_TRANSFORM_FAILED = "Die Roboterkonfiguration konnte nicht in die entsprechende Programmiersprache übertragen werden.";
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED = "Das Programm konnte nicht in Maschinensprache übersetzt werden.";
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_GENERATION_FAILED = "Das Programm konnte nicht generiert werden.";
+Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_SERVER_BUSY = "Der Server übersetzt gerade viele Programme. Bitte versuche es in $ Sekunden noch einmal.";
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_NOT_FOUND = "Das Programm konnte in der Datenbank nicht gefunden werden.";
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_STORE_FAILED = "Ein Fehler ist beim internen Speichern des Programmes aufgetreten.";
 Blockly.Msg.ORA_COMPILERWORKFLOW_ERROR_PROGRAM_TRANSFORM_FAILED = "Das Programm konnte nicht in die entsprechende Programmiersprache übertragen werden.";
@@ -554,6 +554,11 @@ define([ 'exports', 'util', 'log', 'message', 'guiState.model', 'jquery' ], func
     }
     exports.getRobotFWName = getRobotFWName;
 
+    function getRobotToken() {
+        return GUISTATE.robot.token;
+    }
+    exports.getRobotToken = getRobotToken;
+
     function setRobotToken(token) {
         GUISTATE.robot.token = token;
     }
@@ -7,11 +7,32 @@ define([ 'exports', 'log', 'util', 'message', 'comm', 'robot.controller', 'user.
         initMenu();
         initMenuEvents();
         /**
-         * Regularly ping the server to keep status information up-to-date
+         * The server pushes the changes of the robot state on a websocket. If
+         * the websocket is open, the server is pinged only every 30 seconds,
+         * otherwise regularly to keep status information up-to-date
          */
+        var robotState = COMM.robotStateChannel(function(result) {
+            GUISTATE_C.setState(result);
+        });
+        var subscribedToken;
+        var pingCounter = 0;
         function pingServer() {
+            if (robotState && robotState.open) {
+                var token = GUISTATE_C.getRobotToken();
+                if (token !== subscribedToken) {
+                    subscribedToken = token;
+                    robotState.subscribe(token);
+                }
+                pingCounter = (pingCounter + 1) % 10;
+                if (pingCounter !== 0) {
+                    return;
+                }
+            }
             if (GUISTATE_C.doPing()) {
                 COMM.ping(function(result) {
+                    if (robotState) {
+                        robotState.merge(result);
+                    }
                     GUISTATE_C.setState(result);
                 });
             }
@@ -555,7 +555,7 @@ define([ 'exports', 'comm', 'message', 'log', 'util', 'guiState.controller', 'pr
                         $('#save-client-compiled-program').modal('show');
                     }
                 } else {
-                    MSG.displayInformation(result, "", result.message, "");
+                    MSG.displayInformation(result, "", result.message, result.retryAfter || "");
                     GUISTATE_C.setAutoConnectedBusy(false);
                 }
                 reloadProgram(result);
@@ -566,7 +566,7 @@ define([ 'exports', 'comm', 'message', 'log', 'util', 'guiState.controller', 'pr
                 if (result.rc == "ok") {
                     MSG.displayMessage("MESSAGE_EDIT_START", "TOAST", GUISTATE_C.getProgramName());
                 } else {
-                    MSG.displayInformation(result, "", result.message, "");
+                    MSG.displayInformation(result, "", result.message, result.retryAfter || "");
                 }
                 reloadProgram(result);
             });
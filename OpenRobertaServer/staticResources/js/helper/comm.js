@@ -85,4 +85,60 @@ define([ 'exports', 'jquery', 'wrap', 'log' ], function(exports, $, WRAP, LOG) {
         } : successFn);
     }
     exports.ping = ping;
+
+    /**
+     * open a websocket, on which the server pushes the changes of the state
+     * of a robot. The changes are merged into the last state known and the
+     * complete state is given to successFn. The server pushes the state of
+     * the robot, whose token is stored in the HTTP session. Call
+     * subscribe(token) on the object returned, whenever this token changes.
+     * Returns undefined, if the browser has no websockets. The ping is the
+     * fallback in this case.
+     */
+    function robotStateChannel(successFn) {
+        if (!window.WebSocket) {
+            return undefined;
+        }
+        var protocol = window.location.protocol === 'https:' ? 'wss://' : 'ws://';
+        var socket = new WebSocket(protocol + window.location.host + urlPrefix + '/robotState');
+        var state = {};
+        var token;
+        var channel = {
+            open : false,
+            subscribe : function(newToken) {
+                token = newToken;
+                state = {};
+                if (channel.open && token) {
+                    socket.send(JSON.stringify({
+                        cmd : 'subscribe'
+                    }));
+                }
+            },
+            merge : function(result) {
+                for ( var key in result) {
+                    state[key] = result[key];
+                }
+            }
+        };
+        socket.onopen = function() {
+            channel.open = true;
+            channel.subscribe(token);
+        };
+        socket.onclose = function() {
+            channel.open = false;
+        };
+        socket.onmessage = function(event) {
+            var changes = JSON.parse(event.data);
+            for ( var key in changes) {
+                if (changes[key] === null) {
+                    delete state[key];
+                } else {
+                    state[key] = changes[key];
+                }
+            }
+            successFn(state);
+        };
+        return channel;
+    }
+    exports.robotStateChannel = robotStateChannel;
 });
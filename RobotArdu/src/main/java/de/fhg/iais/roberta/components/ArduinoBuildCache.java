@@ -0,0 +1,183 @@
+package de.fhg.iais.roberta.components;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.robotCommunication.CompileCache;
+
+/**
+ * a build cache for the objects of the Arduino core and the libraries, that <code>arduino-builder</code> compiles into the directories "core" and
+ * "libraries" of its build path. These objects are the same for all programs, only the sketch differs. The cache is shared by all users: the objects of a
+ * successful build are stored, before the next build they are copied into its (new) build path and <code>arduino-builder</code> finds them up to date.<br>
+ * <br>
+ * <code>arduino-builder</code> checks an object with the dependency file written by the compiler. This file contains absolute paths, thus the build path is
+ * replaced by a placeholder when storing and by the new build path when restoring. The modification times are kept. If an object is not up to date for
+ * whatever reason, <code>arduino-builder</code> recompiles it, the cache never makes a build wrong.<br>
+ * <br>
+ * The cache directory is keyed by a digest of the build options (board, os) and of the toolchain (hardware, tools, libraries and compiler). For the
+ * toolchain the path, the size and the modification time of every file are digested, thus an updated toolchain gets a new cache directory. The toolchain
+ * is digested when the cache is created, i.e. at server start.<br>
+ * <br>
+ * An entry is replaced, if a build produced other objects than the entry contains (<code>arduino-builder</code> recompiled them). Thread-safe: entries are
+ * written to a temporary directory and moved into the cache atomically. A reader, that runs while an entry is replaced, misses the entry and builds it.
+ */
+public class ArduinoBuildCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ArduinoBuildCache.class);
+
+    static final String BUILD_PATH_PLACEHOLDER = "{build.path}";
+    private static final String CORE = "core";
+    private static final String LIBRARIES = "libraries";
+
+    private final File cacheDir;
+
+    /**
+     * @param baseDir the directory containing the caches for all build options
+     * @param buildOptions the options of <code>arduino-builder</code>, that influence the objects
+     * @param toolchain the directories (or files) of the toolchain, that influence the objects. An element may be null, if not configured
+     */
+    public ArduinoBuildCache(String baseDir, String[] buildOptions, File... toolchain) {
+        this.cacheDir = new File(baseDir, key(buildOptions, toolchain));
+    }
+
+    static String key(String[] buildOptions, File... toolchain) {
+        List<String> parts = new ArrayList<>();
+        Collections.addAll(parts, buildOptions);
+        for ( File tree : toolchain ) {
+            if ( tree == null ) {
+                parts.add("not configured");
+            } else {
+                parts.add(tree.getAbsolutePath());
+                parts.addAll(fingerprint(tree));
+            }
+        }
+        return CompileCache.key(parts.toArray(new String[parts.size()]));
+    }
+
+    /**
+     * @return the relative path, the size and the modification time of every file of a directory tree, sorted by the path
+     */
+    private static List<String> fingerprint(File tree) {
+        List<String> files = new ArrayList<>();
+        if ( tree.isFile() ) {
+            files.add(tree.length() + ":" + tree.lastModified());
+        } else if ( tree.isDirectory() ) {
+            for ( File file : FileUtils.listFiles(tree, null, true) ) {
+                files.add(tree.toPath().relativize(file.toPath()) + ":" + file.length() + ":" + file.lastModified());
+            }
+            Collections.sort(files);
+        } else {
+            files.add("missing");
+        }
+        return files;
+    }
+
+    /**
+     * copy the cached objects into the build path. Objects already contained in the build path are not replaced
+     *
+     * @param buildPath the build path of <code>arduino-builder</code>
+     */
+    public void restore(File buildPath) {
+        try {
+            copyEntry(new File(this.cacheDir, CORE), new File(buildPath, CORE), BUILD_PATH_PLACEHOLDER, buildPath.getAbsolutePath());
+            File[] libraries = new File(this.cacheDir, LIBRARIES).listFiles();
+            if ( libraries != null ) {
+                for ( File library : libraries ) {
+                    copyEntry(library, new File(buildPath, LIBRARIES + "/" + library.getName()), BUILD_PATH_PLACEHOLDER, buildPath.getAbsolutePath());
+                }
+            }
+        } catch ( IOException e ) {
+            ArduinoBuildCache.LOG.error("the build cache " + this.cacheDir + " could not be restored into " + buildPath, e);
+        }
+    }
+
+    /**
+     * store the objects of a successful build, that are not yet cached or differ from the cached ones
+     *
+     * @param buildPath the build path of <code>arduino-builder</code>
+     */
+    public void store(File buildPath) {
+        try {
+            storeEntry(new File(buildPath, CORE), new File(this.cacheDir, CORE), buildPath);
+            File[] libraries = new File(buildPath, LIBRARIES).listFiles();
+            if ( libraries != null ) {
+                for ( File library : libraries ) {
+                    storeEntry(library, new File(this.cacheDir, LIBRARIES + "/" + library.getName()), buildPath);
+                }
+            }
+        } catch ( IOException e ) {
+            ArduinoBuildCache.LOG.error("the build path " + buildPath + " could not be stored into the build cache " + this.cacheDir, e);
+        }
+    }
+
+    private void storeEntry(File source, File entry, File buildPath) throws IOException {
+        if ( !source.isDirectory() || entry.exists() && isUpToDate(entry, source) ) {
+            return;
+        }
+        File tmp = new File(this.cacheDir, ".tmp-" + UUID.randomUUID());
+        File stale = new File(this.cacheDir, ".stale-" + UUID.randomUUID());
+        try {
+            copyEntry(source, tmp, buildPath.getAbsolutePath(), BUILD_PATH_PLACEHOLDER);
+            entry.getParentFile().mkdirs();
+            if ( entry.exists() ) {
+                Files.move(entry.toPath(), stale.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.move(tmp.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            ArduinoBuildCache.LOG.info("build cache entry " + entry + " stored");
+        } catch ( IOException e ) {
+            if ( !entry.exists() ) {
+                throw e;
+            }
+            // another build stored or replaced the same entry meanwhile
+        } finally {
+            FileUtils.deleteQuietly(tmp);
+            FileUtils.deleteQuietly(stale);
+        }
+    }
+
+    /**
+     * an entry is up to date, if it contains the same files with the same modification times as the build path. The objects of a build, that got them from
+     * this entry, are unchanged, because the modification times are kept when restoring
+     */
+    private static boolean isUpToDate(File entry, File source) {
+        return lastModified(entry).equals(lastModified(source));
+    }
+
+    private static Map<String, Long> lastModified(File dir) {
+        Map<String, Long> files = new HashMap<>();
+        for ( File file : FileUtils.listFiles(dir, null, true) ) {
+            files.put(dir.toPath().relativize(file.toPath()).toString(), file.lastModified());
+        }
+        return files;
+    }
+
+    /**
+     * copy a directory tree, if the target does not exist. In dependency files the path "from" is replaced by "to"
+     */
+    private static void copyEntry(File source, File target, String from, String to) throws IOException {
+        if ( !source.isDirectory() || target.exists() ) {
+            return;
+        }
+        FileUtils.copyDirectory(source, target, true);
+        for ( File dependencies : FileUtils.listFiles(target, new String[] {
+            "d"
+        }, true) ) {
+            long lastModified = dependencies.lastModified();
+            String content = FileUtils.readFileToString(dependencies, StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(dependencies, content.replace(from, to), StandardCharsets.UTF_8);
+            dependencies.setLastModified(lastModified);
+        }
+    }
+}
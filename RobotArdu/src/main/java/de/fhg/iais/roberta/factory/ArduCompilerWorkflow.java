@@ -1,11 +1,14 @@
 package de.fhg.iais.roberta.factory;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.ProcessBuilder.Redirect;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.SystemUtils;
@@ -14,8 +17,10 @@ import org.slf4j.LoggerFactory;
 
 import de.fhg.iais.roberta.blockly.generated.BlockSet;
 import de.fhg.iais.roberta.components.ArduConfiguration;
+import de.fhg.iais.roberta.components.ArduinoBuildCache;
 import de.fhg.iais.roberta.components.Configuration;
 import de.fhg.iais.roberta.jaxb.JaxbHelper;
+import de.fhg.iais.roberta.robotCommunication.CompilationResult;
 import de.fhg.iais.roberta.robotCommunication.ICompilerWorkflow;
 import de.fhg.iais.roberta.syntax.codegen.Ast2ArduVisitor;
 import de.fhg.iais.roberta.transformer.BlocklyProgramAndConfigTransformer;
@@ -26,16 +31,53 @@ import de.fhg.iais.roberta.util.dbc.Assert;
 public class ArduCompilerWorkflow implements ICompilerWorkflow {
 
     private static final Logger LOG = LoggerFactory.getLogger(ArduCompilerWorkflow.class);
+    private static final String FQBN = "arduino:avr:uno";
+    /**
+     * the binaries of the avr compiler, that produce the cached objects. Only these are fingerprinted for the build cache, not the whole compiler directory,
+     * that may be a system directory as <code>/usr/bin/</code>
+     */
+    private static final String[] AVR_BINARIES = {
+        "avr-gcc",
+        "avr-g++",
+        "avr-ar",
+        "avr-objcopy"
+    };
 
     public final String pathToCrosscompilerBaseDir;
     public final String robotCompilerResourcesDir;
     public final String robotCompilerDir;
+    private final String os;
+    private final ArduinoBuildCache buildCache;
 
-    public ArduCompilerWorkflow(String pathToCrosscompilerBaseDir, String robotCompilerResourcesDir, String robotCompilerDir) {
+    /**
+     * @param pathToCrosscompilerBaseDir the directory of the token-specific build directories
+     * @param robotCompilerResourcesDir the directory with arduino-builder, the hardware and the libraries
+     * @param robotCompilerDir the directory of the avr compiler
+     * @param buildCacheDir the directory of the build cache for the core and library objects, see {@link ArduinoBuildCache}
+     */
+    public ArduCompilerWorkflow(String pathToCrosscompilerBaseDir, String robotCompilerResourcesDir, String robotCompilerDir, String buildCacheDir) {
         this.pathToCrosscompilerBaseDir = pathToCrosscompilerBaseDir;
         this.robotCompilerResourcesDir = robotCompilerResourcesDir;
         this.robotCompilerDir = robotCompilerDir;
-
+        if ( SystemUtils.IS_OS_WINDOWS ) {
+            this.os = "windows";
+        } else if ( SystemUtils.IS_OS_MAC ) {
+            this.os = "osx";
+        } else {
+            this.os = "linux";
+        }
+        List<File> toolchain = new ArrayList<>();
+        toolchain.add(new File(absolutePath(robotCompilerResourcesDir + "/hardware")));
+        toolchain.add(new File(absolutePath(robotCompilerResourcesDir + "/" + this.os + "/tools-builder")));
+        toolchain.add(new File(absolutePath(robotCompilerResourcesDir + "/libraries")));
+        for ( String avrBinary : AVR_BINARIES ) {
+            String fileName = SystemUtils.IS_OS_WINDOWS ? avrBinary + ".exe" : avrBinary;
+            toolchain.add(robotCompilerDir == null ? null : new File(absolutePath(robotCompilerDir + "/" + fileName)));
+        }
+        this.buildCache = new ArduinoBuildCache(buildCacheDir, new String[] {
+            FQBN,
+            this.os
+        }, toolchain.toArray(new File[toolchain.size()]));
     }
 
     /**
@@ -62,26 +104,46 @@ public class ArduCompilerWorkflow implements ICompilerWorkflow {
      * @param configurationText
      *        the hardware configuration source that describes
      *        characteristic data of the robot
-     * @return a message key in case of an error; null otherwise
+     * @return the result of this compilation, never null
      */
     @Override
-    public Key execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
+    public CompilationResult execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
         String sourceCode = Ast2ArduVisitor.generate((ArduConfiguration) data.getBrickConfiguration(), data.getProgramTransformer().getTree(), true);
 
         try {
             storeGeneratedProgram(token, programName, sourceCode, ".ino");
         } catch ( Exception e ) {
             ArduCompilerWorkflow.LOG.error("Storing the generated program into directory " + token + " failed", e);
-            return Key.COMPILERWORKFLOW_ERROR_PROGRAM_STORE_FAILED;
+            return CompilationResult.error(Key.COMPILERWORKFLOW_ERROR_PROGRAM_STORE_FAILED, sourceCode);
         }
 
-        Key messageKey = runBuild(token, programName, "generated.main");
-        if ( messageKey == Key.COMPILERWORKFLOW_SUCCESS ) {
+        try {
+            Key messageKey = runBuild(token, programName, "generated.main");
+            if ( messageKey != Key.COMPILERWORKFLOW_SUCCESS ) {
+                ArduCompilerWorkflow.LOG.info(messageKey.toString());
+                return CompilationResult.error(messageKey, sourceCode);
+            }
             ArduCompilerWorkflow.LOG.info("hex for program {} generated successfully", programName);
-        } else {
-            ArduCompilerWorkflow.LOG.info(messageKey.toString());
+            // the cross compiler needs files. The result is kept in memory, because the robot downloads it later from the artifact store
+            File compiledFile = new File(this.pathToCrosscompilerBaseDir + token + "/" + programName + "/target/" + programName + ".ino.hex");
+            try {
+                return CompilationResult.success(sourceCode, programName + ".ino.hex", FileUtils.readFileToByteArray(compiledFile));
+            } catch ( IOException e ) {
+                ArduCompilerWorkflow.LOG.error("the compiled program " + compiledFile.getPath() + " could not be read", e);
+                return CompilationResult.error(Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED, sourceCode);
+            }
+        } finally {
+            removeBuildDirectory(token, programName);
         }
-        return messageKey;
+    }
+
+    /**
+     * the build directory is not needed after a build: the result is kept in memory and the objects of the core and the libraries are kept in the build
+     * cache. The token directory is removed, too, if no other program uses it
+     */
+    private void removeBuildDirectory(String token, String programName) {
+        FileUtils.deleteQuietly(new File(this.pathToCrosscompilerBaseDir + token + "/" + programName));
+        new File(this.pathToCrosscompilerBaseDir + token).delete();
     }
 
     /**
@@ -111,6 +173,11 @@ public class ArduCompilerWorkflow implements ICompilerWorkflow {
             return null;
         }
 
+        return generateSourceCode(programName, data);
+    }
+
+    @Override
+    public String generateSourceCode(String programName, BlocklyProgramAndConfigTransformer data) {
         return Ast2ArduVisitor.generate((ArduConfiguration) data.getBrickConfiguration(), data.getProgramTransformer().getTree(), true);
     }
 
@@ -124,66 +191,68 @@ public class ArduCompilerWorkflow implements ICompilerWorkflow {
     }
 
     /**
-     * 1. Make target folder (if not exists).<br>
-     * 2. Clean target folder (everything inside).<br>
-     * 3. Compile .java files to .class.<br>
-     * 4. Make jar from class files and add META-INF entries.<br>
+     * compile the sketch stored in the token-specific directory with arduino-builder. Before the build the objects of the core and the libraries are
+     * restored from the build cache, after a successful build new objects are stored into it. Thus only the sketch is compiled, if the cache is warm.
      *
      * @param token
      * @param mainFile
      * @param mainPackage
      */
     Key runBuild(String token, String mainFile, String mainPackage) {
-        final StringBuilder sb = new StringBuilder();
-
         String scriptName = this.robotCompilerResourcesDir + "/linux/arduino-builder";
-        String os = "linux";
-
         if ( SystemUtils.IS_OS_WINDOWS ) {
             scriptName = this.robotCompilerResourcesDir + "/windows/arduino-builder.exe";
-            os = "windows";
         } else if ( SystemUtils.IS_OS_MAC ) {
             scriptName = this.robotCompilerResourcesDir + "/osx/arduino-builder";
-            os = "osx";
         }
 
-        Path path = Paths.get(this.pathToCrosscompilerBaseDir + token + "/" + mainFile);
-        Path base = Paths.get("");
+        String programDir = absolutePath(this.pathToCrosscompilerBaseDir + token + "/" + mainFile);
+        File buildPath = new File(programDir, "target");
+        this.buildCache.restore(buildPath);
 
         try {
             ProcessBuilder procBuilder = new ProcessBuilder(new String[] {
                 scriptName,
                 "-hardware=" + this.robotCompilerResourcesDir + "/hardware",
-                "-tools=" + this.robotCompilerResourcesDir + "/" + os + "/tools-builder",
+                "-tools=" + this.robotCompilerResourcesDir + "/" + this.os + "/tools-builder",
                 "-libraries=" + this.robotCompilerResourcesDir + "/libraries",
-                "-fqbn=arduino:avr:uno",
+                "-fqbn=" + FQBN,
                 "-prefs=compiler.path=" + this.robotCompilerDir,
-                "-build-path=" + base.resolve(path).toAbsolutePath().normalize().toString() + "/target/",
-                base.resolve(path).toAbsolutePath().normalize().toString() + "/src/" + mainFile + ".ino"
+                "-build-path=" + buildPath.getAbsolutePath() + "/",
+                programDir + "/src/" + mainFile + ".ino"
             });
 
             procBuilder.redirectInput(Redirect.INHERIT);
             procBuilder.redirectOutput(Redirect.INHERIT);
             procBuilder.redirectError(Redirect.INHERIT);
             Process p = procBuilder.start();
-            int ecode = p.waitFor();
+            int ecode;
+            try {
+                ecode = p.waitFor();
+            } catch ( InterruptedException e ) {
+                // the compilation was cancelled, e.g. after its timeout. The process must not keep running
+                p.destroyForcibly();
+                Thread.currentThread().interrupt();
+                ArduCompilerWorkflow.LOG.info("the build was cancelled. The compiler is destroyed");
+                return Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED;
+            }
             System.err.println("Exit code " + ecode);
 
             if ( ecode != 0 ) {
                 return Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED;
             }
+            this.buildCache.store(buildPath);
             return Key.COMPILERWORKFLOW_SUCCESS;
         } catch ( Exception e ) {
-            if ( sb.length() > 0 ) {
-                ArduCompilerWorkflow.LOG.error("build exception. Messages from the build script are:\n" + sb.toString(), e);
-            } else {
-                ArduCompilerWorkflow.LOG.error("exception when preparing the build", e);
-            }
-            e.printStackTrace();
+            ArduCompilerWorkflow.LOG.error("exception when preparing the build", e);
             return Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED;
         }
     }
 
+    private static String absolutePath(String path) {
+        return Paths.get(path).toAbsolutePath().normalize().toString();
+    }
+
     /**
      * return the brick configuration for given XML configuration text.
      *
@@ -198,10 +267,4 @@ public class ArduCompilerWorkflow implements ICompilerWorkflow {
         Jaxb2ArduConfigurationTransformer transformer = new Jaxb2ArduConfigurationTransformer(factory);
         return transformer.transform(project);
     }
-
-    @Override
-    public String getCompiledCode() {
-        // TODO Auto-generated method stub
-        return null;
-    }
 }
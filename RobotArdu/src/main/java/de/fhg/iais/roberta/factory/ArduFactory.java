@@ -38,6 +38,8 @@ import de.fhg.iais.roberta.mode.sensor.arduino.SensorPort;
 import de.fhg.iais.roberta.mode.sensor.arduino.SoundSensorMode;
 import de.fhg.iais.roberta.mode.sensor.arduino.TouchSensorMode;
 import de.fhg.iais.roberta.mode.sensor.arduino.UltrasonicSensorMode;
+import de.fhg.iais.roberta.robotCommunication.CachingCompilerWorkflow;
+import de.fhg.iais.roberta.robotCommunication.CompileCache;
 import de.fhg.iais.roberta.robotCommunication.ICompilerWorkflow;
 import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
 import de.fhg.iais.roberta.syntax.Phrase;
@@ -48,7 +50,7 @@ import de.fhg.iais.roberta.util.Util1;
 import de.fhg.iais.roberta.util.dbc.DbcException;
 
 public class ArduFactory extends AbstractRobotFactory {
-    private ArduCompilerWorkflow compilerWorkflow;
+    private ICompilerWorkflow compilerWorkflow;
     private final Properties arduProperties;
     private final String name;
     private final int robotPropertyNumber;
@@ -60,11 +62,13 @@ public class ArduFactory extends AbstractRobotFactory {
         }
         this.name = "ardu";
         this.robotPropertyNumber = RobertaProperties.getRobotNumberFromProperty(this.name);
-        this.compilerWorkflow =
+        ArduCompilerWorkflow arduCompilerWorkflow =
             new ArduCompilerWorkflow(
                 RobertaProperties.getTempDirForUserProjects(),
                 RobertaProperties.getStringProperty("robot.plugin." + this.robotPropertyNumber + ".compiler.resources.dir"),
-                RobertaProperties.getStringProperty("robot.plugin." + this.robotPropertyNumber + ".compiler." + os + ".dir"));
+                RobertaProperties.getStringProperty("robot.plugin." + this.robotPropertyNumber + ".compiler." + os + ".dir"),
+                RobertaProperties.getTempDirFor("arduinoBuildCache"));
+        this.compilerWorkflow = new CachingCompilerWorkflow(this.name, arduCompilerWorkflow, CompileCache.getSharedCache());
         this.arduProperties = Util1.loadProperties("classpath:Ardu.properties");
         addBlockTypesFromProperties("Ardu.properties", this.arduProperties);
     }
@@ -40,7 +40,6 @@ import de.fhg.iais.roberta.syntax.action.generic.ToneAction;
 import de.fhg.iais.roberta.syntax.action.generic.TurnAction;
 import de.fhg.iais.roberta.syntax.action.generic.VolumeAction;
 import de.fhg.iais.roberta.syntax.blocksequence.MainTask;
-import de.fhg.iais.roberta.syntax.check.LoopsCounterVisitor;
 import de.fhg.iais.roberta.syntax.expr.Binary;
 import de.fhg.iais.roberta.syntax.expr.Binary.Op;
 import de.fhg.iais.roberta.syntax.expr.ConnectConst;
@@ -109,7 +108,7 @@ public class Ast2ArduVisitor extends Ast2CppVisitor {
         super(brickConfiguration, usedHardwareVisitor.getUsedSensors(), indentation);
         this.isTimeSensorUsed = usedHardwareVisitor.isTimerSensorUsed();
         this.phrases = phrases;
-        this.loopsLabels = new LoopsCounterVisitor(phrases).getloopsLabelContainer();
+        this.loopsLabels = usedHardwareVisitor.getloopsLabelContainer();
     }
 
     /**
@@ -0,0 +1,115 @@
+package de.fhg.iais.roberta.components;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ArduinoBuildCacheTest {
+    private static final long LAST_MODIFIED = 1500000000000L;
+    private static final String[] UNO = {
+        "arduino:avr:uno"
+    };
+
+    private File tmp;
+    private String cacheDir;
+
+    @Before
+    public void setup() throws Exception {
+        this.tmp = new File("target/arduinoBuildCacheTest").getAbsoluteFile();
+        FileUtils.deleteDirectory(this.tmp);
+        this.cacheDir = new File(this.tmp, "cache").getPath();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        FileUtils.deleteDirectory(this.tmp);
+    }
+
+    @Test
+    public void testObjectsAreRestoredIntoAnotherBuildPath() throws Exception {
+        File firstBuild = new File(this.tmp, "token1/prog/target");
+        write(firstBuild, "core/wiring.c.o", "object");
+        write(firstBuild, "core/wiring.c.d", firstBuild.getAbsolutePath() + "/core/wiring.c.o: /hardware/wiring.c");
+        write(firstBuild, "libraries/Servo/Servo.cpp.o", "servo");
+        write(firstBuild, "sketch/prog.ino.cpp.o", "sketch");
+        new ArduinoBuildCache(this.cacheDir, UNO).store(firstBuild);
+
+        File secondBuild = new File(this.tmp, "token2/other/target");
+        new ArduinoBuildCache(this.cacheDir, UNO).restore(secondBuild);
+        Assert.assertEquals("object", read(secondBuild, "core/wiring.c.o"));
+        Assert.assertEquals(secondBuild.getAbsolutePath() + "/core/wiring.c.o: /hardware/wiring.c", read(secondBuild, "core/wiring.c.d"));
+        Assert.assertEquals("servo", read(secondBuild, "libraries/Servo/Servo.cpp.o"));
+        Assert.assertFalse(new File(secondBuild, "sketch").exists());
+        Assert.assertEquals(LAST_MODIFIED, new File(secondBuild, "core/wiring.c.o").lastModified());
+        Assert.assertEquals(LAST_MODIFIED, new File(secondBuild, "core/wiring.c.d").lastModified());
+    }
+
+    @Test
+    public void testCachesAreSeparatedByBuildOptions() throws Exception {
+        File firstBuild = new File(this.tmp, "token1/prog/target");
+        write(firstBuild, "core/wiring.c.o", "object");
+        new ArduinoBuildCache(this.cacheDir, UNO).store(firstBuild);
+
+        File secondBuild = new File(this.tmp, "token2/prog/target");
+        new ArduinoBuildCache(this.cacheDir, new String[] {
+            "arduino:avr:mega"
+        }).restore(secondBuild);
+        Assert.assertFalse(new File(secondBuild, "core").exists());
+    }
+
+    @Test
+    public void testStoredEntriesAreNotReplaced() throws Exception {
+        File firstBuild = new File(this.tmp, "token1/prog/target");
+        write(firstBuild, "core/wiring.c.o", "first");
+        new ArduinoBuildCache(this.cacheDir, UNO).store(firstBuild);
+        File secondBuild = new File(this.tmp, "token2/prog/target");
+        write(secondBuild, "core/wiring.c.o", "second");
+        new ArduinoBuildCache(this.cacheDir, UNO).store(secondBuild);
+
+        File thirdBuild = new File(this.tmp, "token3/prog/target");
+        new ArduinoBuildCache(this.cacheDir, UNO).restore(thirdBuild);
+        Assert.assertEquals("first", read(thirdBuild, "core/wiring.c.o"));
+    }
+
+    @Test
+    public void testStaleEntriesAreReplaced() throws Exception {
+        File firstBuild = new File(this.tmp, "token1/prog/target");
+        write(firstBuild, "core/wiring.c.o", "first");
+        new ArduinoBuildCache(this.cacheDir, UNO).store(firstBuild);
+        File secondBuild = new File(this.tmp, "token2/prog/target");
+        write(secondBuild, "core/wiring.c.o", "recompiled");
+        new File(secondBuild, "core/wiring.c.o").setLastModified(LAST_MODIFIED + 1000);
+        new ArduinoBuildCache(this.cacheDir, UNO).store(secondBuild);
+
+        File thirdBuild = new File(this.tmp, "token3/prog/target");
+        new ArduinoBuildCache(this.cacheDir, UNO).restore(thirdBuild);
+        Assert.assertEquals("recompiled", read(thirdBuild, "core/wiring.c.o"));
+        Assert.assertEquals(1, new File(this.cacheDir).list().length);
+    }
+
+    @Test
+    public void testUpdatedToolchainChangesTheKey() throws Exception {
+        File hardware = new File(this.tmp, "hardware");
+        write(hardware, "arduino/avr/cores/wiring.c", "void init() {}");
+        String key = ArduinoBuildCache.key(UNO, hardware);
+        Assert.assertEquals(key, ArduinoBuildCache.key(UNO, hardware));
+        write(hardware, "arduino/avr/cores/wiring.c", "void init() { sei(); }");
+        Assert.assertNotEquals(key, ArduinoBuildCache.key(UNO, hardware));
+        Assert.assertNotEquals(key, ArduinoBuildCache.key(UNO, new File(this.tmp, "other")));
+    }
+
+    private static void write(File buildPath, String fileName, String content) throws Exception {
+        File file = new File(buildPath, fileName);
+        FileUtils.writeStringToFile(file, content, StandardCharsets.UTF_8);
+        file.setLastModified(LAST_MODIFIED);
+    }
+
+    private static String read(File buildPath, String fileName) throws Exception {
+        return FileUtils.readFileToString(new File(buildPath, fileName), StandardCharsets.UTF_8);
+    }
+}
@@ -1,7 +1,12 @@
 package de.fhg.iais.roberta.syntax.codegen;
 
+import java.util.ArrayList;
+
+import org.junit.Assert;
 import org.junit.Test;
 
+import de.fhg.iais.roberta.syntax.Phrase;
+import de.fhg.iais.roberta.syntax.hardwarecheck.arduino.UsedHardwareVisitor;
 import de.fhg.iais.roberta.util.test.ardu.Helper;
 
 public class Ast2CVisitorTest {
@@ -336,6 +341,16 @@ public class Ast2CVisitorTest {
             + "}\n";
 
         this.h.assertCodeIsOk(a, "/syntax/stmt/forEach_stmt.xml", true);
+        assertLoopsAreLabeled("{1=false}", "/syntax/stmt/forEach_stmt.xml");
     }
 
+    @Test
+    public void check_loopsWithBreakAndContinueFitstInWaitSecondNot_returnsFirstLoopLabeled() throws Exception {
+        assertLoopsAreLabeled("{1=true, 2=false}", "/syntax/stmt/two_loop_with_break_and_continue_one_inside_wait_another_not.xml");
+    }
+
+    private void assertLoopsAreLabeled(String labels, String fileName) throws Exception {
+        ArrayList<ArrayList<Phrase<Void>>> phrases = this.h.generateASTs(fileName);
+        Assert.assertEquals(labels, new UsedHardwareVisitor(phrases).getloopsLabelContainer().toString());
+    }
 }
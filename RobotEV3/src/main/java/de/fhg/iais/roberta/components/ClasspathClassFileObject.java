@@ -0,0 +1,34 @@
+package de.fhg.iais.roberta.components;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+
+import javax.tools.SimpleJavaFileObject;
+
+/**
+ * a class file from a jar of the classpath, whose content is kept in memory. Immutable, thus it can be shared by concurrent compilations
+ */
+public class ClasspathClassFileObject extends SimpleJavaFileObject {
+    private final String binaryName;
+    private final byte[] content;
+
+    /**
+     * @param binaryName the binary name of the class, e.g. <code>lejos.hardware.Button</code>
+     * @param content the bytes of the class file
+     */
+    public ClasspathClassFileObject(String binaryName, byte[] content) {
+        super(URI.create("classpath:///" + binaryName.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+        this.binaryName = binaryName;
+        this.content = content;
+    }
+
+    public String getBinaryName() {
+        return this.binaryName;
+    }
+
+    @Override
+    public InputStream openInputStream() {
+        return new ByteArrayInputStream(this.content);
+    }
+}
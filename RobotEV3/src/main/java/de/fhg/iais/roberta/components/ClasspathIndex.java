@@ -0,0 +1,122 @@
+package de.fhg.iais.roberta.components;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import javax.tools.JavaFileObject;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * in-memory index of all class files of the jars, that are on the classpath of the generated EV3 programs. The jars are opened and read once, when the
+ * index is created. Afterwards the compiler looks up classes without any file access. Immutable, thus it is shared by concurrent compilations.<br>
+ * <br>
+ * The indexes are cached by directory and (sorted) jar names. An index is cached only, if all of its jars were read, thus a jar, that is missing or
+ * broken when the index is requested first, is read again by the next request.
+ */
+public class ClasspathIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(ClasspathIndex.class);
+
+    private static final Map<String, ClasspathIndex> indexOfClasspath = new HashMap<>(); // guarded by the class
+
+    private final Map<String, List<JavaFileObject>> classesOfPackage;
+    private final boolean complete;
+
+    private ClasspathIndex(Map<String, List<JavaFileObject>> classesOfPackage, boolean complete) {
+        this.classesOfPackage = classesOfPackage;
+        this.complete = complete;
+    }
+
+    /**
+     * get the index of the jars of a directory. The index is created when it is requested first
+     *
+     * @param classpathDir the directory containing the jars, with trailing separator. May be the empty String
+     * @param jarNames the names of the jars. Their order doesn't matter
+     * @return the index, never null. Jars, that cannot be read, are logged and skipped; such an index is not cached.
+     */
+    public static synchronized ClasspathIndex getIndex(String classpathDir, String... jarNames) {
+        String[] sortedJarNames = jarNames.clone();
+        Arrays.sort(sortedJarNames);
+        String key = classpathDir + "|" + String.join("|", sortedJarNames);
+        ClasspathIndex index = indexOfClasspath.get(key);
+        if ( index == null ) {
+            index = createIndex(classpathDir, sortedJarNames);
+            if ( index.complete ) {
+                indexOfClasspath.put(key, index);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @param packageName the name of the package, e.g. <code>lejos.hardware</code>
+     * @param recurse if true, the classes of the subpackages are returned, too
+     * @return the class files of the package
+     */
+    public List<JavaFileObject> list(String packageName, boolean recurse) {
+        if ( !recurse ) {
+            List<JavaFileObject> classes = this.classesOfPackage.get(packageName);
+            return classes == null ? Collections.<JavaFileObject> emptyList() : classes;
+        }
+        List<JavaFileObject> classes = new ArrayList<>();
+        String subpackagePrefix = packageName.isEmpty() ? "" : packageName + ".";
+        for ( Map.Entry<String, List<JavaFileObject>> entry : this.classesOfPackage.entrySet() ) {
+            if ( entry.getKey().equals(packageName) || entry.getKey().startsWith(subpackagePrefix) ) {
+                classes.addAll(entry.getValue());
+            }
+        }
+        return classes;
+    }
+
+    public int getNumberOfPackages() {
+        return this.classesOfPackage.size();
+    }
+
+    private static ClasspathIndex createIndex(String classpathDir, String... jarNames) {
+        Map<String, List<JavaFileObject>> classesOfPackage = new HashMap<>();
+        int numberOfClasses = 0;
+        boolean complete = true;
+        for ( String jarName : jarNames ) {
+            File jar = new File(classpathDir + jarName);
+            try (JarFile jarFile = new JarFile(jar)) {
+                Enumeration<JarEntry> entries = jarFile.entries();
+                while ( entries.hasMoreElements() ) {
+                    JarEntry entry = entries.nextElement();
+                    String path = entry.getName();
+                    if ( entry.isDirectory() || !path.endsWith(JavaFileObject.Kind.CLASS.extension) ) {
+                        continue;
+                    }
+                    String binaryName = path.substring(0, path.length() - JavaFileObject.Kind.CLASS.extension.length()).replace('/', '.');
+                    int lastDot = binaryName.lastIndexOf('.');
+                    String packageName = lastDot < 0 ? "" : binaryName.substring(0, lastDot);
+                    List<JavaFileObject> classes = classesOfPackage.get(packageName);
+                    if ( classes == null ) {
+                        classes = new ArrayList<>();
+                        classesOfPackage.put(packageName, classes);
+                    }
+                    classes.add(new ClasspathClassFileObject(binaryName, IOUtils.toByteArray(jarFile.getInputStream(entry))));
+                    numberOfClasses++;
+                }
+            } catch ( IOException e ) {
+                complete = false;
+                LOG.error("jar " + jar.getPath() + " could not be read. It is not on the classpath of generated programs", e);
+            }
+        }
+        for ( Map.Entry<String, List<JavaFileObject>> entry : classesOfPackage.entrySet() ) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        LOG.info("classpath index for {} created. {} classes in {} packages", classpathDir, numberOfClasses, classesOfPackage.size());
+        return new ClasspathIndex(classesOfPackage, complete);
+    }
+}
@@ -2,6 +2,8 @@ package de.fhg.iais.roberta.components;
 
 import java.io.IOException;
 import java.security.SecureClassLoader;
+import java.util.Collections;
+import java.util.Set;
 
 import javax.tools.FileObject;
 import javax.tools.ForwardingJavaFileManager;
@@ -9,9 +11,11 @@ import javax.tools.JavaFileManager;
 import javax.tools.JavaFileObject;
 import javax.tools.JavaFileObject.Kind;
 import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
 
 public class CustomJavaFileManager extends ForwardingJavaFileManager<JavaFileManager> {
 
+    private final ClasspathIndex classpathIndex;
     private ClassJavaFileObject classJavaFileObject;
 
     /**
@@ -24,12 +28,45 @@ public class CustomJavaFileManager extends ForwardingJavaFileManager<JavaFileMan
 
     /**
      * Will initialize the manager with the specified
-     * standard java file manager
+     * standard java file manager. The classes of the
+     * classpath are taken from the index, the standard
+     * manager is asked for the platform classes only
      *
      * @param standardManger
+     * @param classpathIndex the classes of the classpath
      */
-    public CustomJavaFileManager(StandardJavaFileManager standardManager) {
+    public CustomJavaFileManager(StandardJavaFileManager standardManager, ClasspathIndex classpathIndex) {
         super(standardManager);
+        this.classpathIndex = classpathIndex;
+    }
+
+    @Override
+    public boolean hasLocation(Location location) {
+        return location == StandardLocation.CLASS_PATH || super.hasLocation(location);
+    }
+
+    @Override
+    public Iterable<JavaFileObject> list(Location location, String packageName, Set<Kind> kinds, boolean recurse) throws IOException {
+        if ( location == StandardLocation.CLASS_PATH ) {
+            return kinds.contains(Kind.CLASS) ? this.classpathIndex.list(packageName, recurse) : Collections.<JavaFileObject> emptyList();
+        }
+        return super.list(location, packageName, kinds, recurse);
+    }
+
+    @Override
+    public String inferBinaryName(Location location, JavaFileObject file) {
+        if ( file instanceof ClasspathClassFileObject ) {
+            return ((ClasspathClassFileObject) file).getBinaryName();
+        }
+        return super.inferBinaryName(location, file);
+    }
+
+    @Override
+    public boolean isSameFile(FileObject a, FileObject b) {
+        if ( a instanceof ClasspathClassFileObject || b instanceof ClasspathClassFileObject ) {
+            return a == b;
+        }
+        return super.isSameFile(a, b);
     }
 
     /**
@@ -1,7 +1,6 @@
 package de.fhg.iais.roberta.components;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,70 +13,78 @@ import javax.tools.DiagnosticCollector;
 import javax.tools.JavaCompiler;
 import javax.tools.JavaCompiler.CompilationTask;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 
-import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * compiles a generated EV3 program in memory and packages it into a jar.<br>
+ * <br>
+ * The expensive parts are shared by all compilations: the compiler, a {@link ClasspathIndex} with the class files of the jars of the classpath and, per
+ * thread, the standard file manager with its cache of the platform classes. Thus a compilation only pays for parsing and attributing the generated class.
+ */
 public class JavaSourceCompiler {
     private static final Logger LOG = LoggerFactory.getLogger(JavaSourceCompiler.class);
 
-    private CustomJavaFileManager fileManager;
+    private static final String[] CLASSPATH_JARS = {
+        "dbusjava.jar",
+        "ev3classes.jar",
+        "EV3Runtime.jar",
+        "Java-WebSocket.jar",
+        "jna.jar",
+        "json.jar"
+    };
+    private static final JavaCompiler COMPILER = ToolProvider.getSystemJavaCompiler();
+    // a file manager may be reused for many compilations, but is not thread-safe. The compiler workers are long-living threads
+    private static final ThreadLocal<StandardJavaFileManager> STANDARD_FILE_MANAGER = new ThreadLocal<StandardJavaFileManager>() {
+        @Override
+        protected StandardJavaFileManager initialValue() {
+            return COMPILER.getStandardFileManager(null, null, null);
+        }
+    };
+
+    private final CustomJavaFileManager fileManager;
     private CompilerFeedback feedback;
-    private final JavaCompiler compiler;
     private final String programName;
     private final String sourceCode;
     private final String packageName = "generated.main.";
-    private final String classPath;
 
     /**
      * @param programName
      *        Name of the program
      * @param sourceCode
      *        Here we specify the source code of the class to be compiled
+     * @param classPath
+     *        the directory containing the jars of the classpath
      */
     public JavaSourceCompiler(String programName, String sourceCode, String classPath) {
         this.programName = programName;
         this.sourceCode = sourceCode;
-        this.compiler = ToolProvider.getSystemJavaCompiler();
-        this.fileManager = initFileManager();
-        this.classPath = classPath;
-    }
-
-    private CustomJavaFileManager initFileManager() {
-        if ( this.fileManager != null ) {
-            return this.fileManager;
-        } else {
-            this.fileManager = new CustomJavaFileManager(this.compiler.getStandardFileManager(null, null, null));
-            return this.fileManager;
-        }
+        this.fileManager = new CustomJavaFileManager(STANDARD_FILE_MANAGER.get(), ClasspathIndex.getIndex(classPath, CLASSPATH_JARS));
     }
 
     private Boolean compile() {
         DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
         List<JavaFileObject> javaFiles = getJavaFiles();
         List<String> compilationOptions = getCompilerProperties();
-        CompilationTask task = this.compiler.getTask(null, this.fileManager, diagnostics, compilationOptions, null, javaFiles);
+        CompilationTask task = COMPILER.getTask(null, this.fileManager, diagnostics, compilationOptions, null, javaFiles);
         Boolean isSuccess = task.call();
         this.feedback = new CompilerFeedback(isSuccess, diagnostics);
         return isSuccess;
     }
 
-    public boolean compileAndPackage(String pathToCrosscompilerBaseDir, String token) {
-        Boolean isSuccess = compile();
-        File jarFile;
-        if ( isSuccess ) {
-            ByteArrayOutputStream jarArchive = createJarArchive();
-            jarFile = new File(pathToCrosscompilerBaseDir + "/" + token + "/target/" + this.programName + ".jar");
-            try {
-                FileUtils.writeByteArrayToFile(jarFile, jarArchive.toByteArray());
-            } catch ( IOException e ) {
-                JavaSourceCompiler.LOG.error("build exception. Messages from the build script are:\n" + e);
-                return false;
-            }
+    /**
+     * compile the program and package it into a jar. Nothing is written to disk
+     *
+     * @return the content of the jar; null, if the compilation failed. Use {@link #getCompilationMessages()} to get the reason
+     */
+    public byte[] compileAndPackage() {
+        if ( !compile() ) {
+            return null;
         }
-        return isSuccess;
+        return createJarArchive().toByteArray();
     }
 
     private List<JavaFileObject> getJavaFiles() {
@@ -92,20 +99,8 @@ public class JavaSourceCompiler {
         compilationOptions.add("1.7");
         compilationOptions.add("-target");
         compilationOptions.add("1.7");
-        compilationOptions.add("-classpath");
-        compilationOptions.add(
-            this.classPath
-                + "dbusjava.jar:"
-                + this.classPath
-                + "ev3classes.jar:"
-                + this.classPath
-                + "EV3Runtime.jar:"
-                + this.classPath
-                + "Java-WebSocket.jar:"
-                + this.classPath
-                + "jna.jar:"
-                + this.classPath
-                + "json.jar");
+        // no -classpath option: the classpath is supplied by the file manager from the ClasspathIndex
+        compilationOptions.add("-proc:none");
         return compilationOptions;
     }
 
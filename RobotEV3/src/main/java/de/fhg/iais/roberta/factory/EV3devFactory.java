@@ -55,7 +55,7 @@ public class EV3devFactory extends AbstractRobotFactory {
         this.name = "ev3dev";
         this.robotPropertyNumber = RobertaProperties.getRobotNumberFromProperty(this.name);
         this.ev3Properties = Util1.loadProperties("classpath:EV3dev.properties");
-        this.robotCompilerWorkflow = new Ev3devCompilerWorkflow(RobertaProperties.getTempDirForUserProjects());
+        this.robotCompilerWorkflow = new Ev3devCompilerWorkflow();
         this.simCompilerWorkflow = new Ev3SimCompilerWorkflow();
         addBlockTypesFromProperties("EV3dev.properties", this.ev3Properties);
     }
@@ -36,6 +36,8 @@ import de.fhg.iais.roberta.mode.sensor.ev3.MotorTachoMode;
 import de.fhg.iais.roberta.mode.sensor.ev3.SensorPort;
 import de.fhg.iais.roberta.mode.sensor.ev3.TouchSensorMode;
 import de.fhg.iais.roberta.mode.sensor.ev3.UltrasonicSensorMode;
+import de.fhg.iais.roberta.robotCommunication.CachingCompilerWorkflow;
+import de.fhg.iais.roberta.robotCommunication.CompileCache;
 import de.fhg.iais.roberta.robotCommunication.ICompilerWorkflow;
 import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
 import de.fhg.iais.roberta.syntax.Phrase;
@@ -45,7 +47,7 @@ import de.fhg.iais.roberta.util.Util1;
 import de.fhg.iais.roberta.util.dbc.DbcException;
 
 public class EV3lejosFactory extends AbstractRobotFactory {
-    private final Ev3lejosCompilerWorkflow robotCompilerWorkflow;
+    private final ICompilerWorkflow robotCompilerWorkflow;
     private final Ev3SimCompilerWorkflow simCompilerWorkflow;
     private final Properties ev3Properties;
     private final String name;
@@ -56,10 +58,9 @@ public class EV3lejosFactory extends AbstractRobotFactory {
         this.robotPropertyNumber = RobertaProperties.getRobotNumberFromProperty(this.name);
         this.ev3Properties = Util1.loadProperties("classpath:EV3lejos.properties");
 
-        this.robotCompilerWorkflow =
-            new Ev3lejosCompilerWorkflow(
-                RobertaProperties.getTempDirForUserProjects(),
-                RobertaProperties.getStringProperty("robot.plugin." + this.robotPropertyNumber + ".compiler.resources.dir"));
+        Ev3lejosCompilerWorkflow ev3lejosCompilerWorkflow =
+            new Ev3lejosCompilerWorkflow(RobertaProperties.getStringProperty("robot.plugin." + this.robotPropertyNumber + ".compiler.resources.dir"));
+        this.robotCompilerWorkflow = new CachingCompilerWorkflow(this.name, ev3lejosCompilerWorkflow, CompileCache.getSharedCache());
 
         this.simCompilerWorkflow = new Ev3SimCompilerWorkflow();
 
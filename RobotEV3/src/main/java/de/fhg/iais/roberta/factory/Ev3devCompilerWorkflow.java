@@ -1,58 +1,42 @@
 package de.fhg.iais.roberta.factory;
 
-import java.io.File;
 import java.nio.charset.StandardCharsets;
 
-import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.fhg.iais.roberta.blockly.generated.BlockSet;
 import de.fhg.iais.roberta.components.Configuration;
 import de.fhg.iais.roberta.jaxb.JaxbHelper;
+import de.fhg.iais.roberta.robotCommunication.CompilationResult;
 import de.fhg.iais.roberta.robotCommunication.ICompilerWorkflow;
 import de.fhg.iais.roberta.syntax.codegen.Ast2Ev3PythonVisitor;
 import de.fhg.iais.roberta.transformer.BlocklyProgramAndConfigTransformer;
 import de.fhg.iais.roberta.transformer.Jaxb2Ev3ConfigurationTransformer;
-import de.fhg.iais.roberta.util.Key;
-import de.fhg.iais.roberta.util.dbc.Assert;
 
 public class Ev3devCompilerWorkflow implements ICompilerWorkflow {
     private static final Logger LOG = LoggerFactory.getLogger(Ev3devCompilerWorkflow.class);
-    public final String pathToCrosscompilerBaseDir;
-
-    public Ev3devCompilerWorkflow(String pathToCrosscompilerBaseDir) {
-        this.pathToCrosscompilerBaseDir = pathToCrosscompilerBaseDir;
-    }
 
     /**
      * - load the program from the database<br>
      * - generate the AST<br>
      * - typecheck the AST, execute sanity checks, check a matching brick configuration<br>
      * - generate Java code<br>
-     * - store the code in a token-specific (thus user-specific) directory<br>
-     * - compile the code and generate a jar in the token-specific directory (use a ant script, will be replaced later)<br>
-     * <b>Note:</b> the jar is prepared for upload, but not uploaded from here. After a handshake with the brick (the brick has to tell, that it is ready) the
-     * jar is uploaded to the brick from another thread and then started on the brick
+     * - return the code as program to be downloaded. Nothing is written to disk<br>
+     * <b>Note:</b> the program is prepared for upload, but not uploaded from here. After a handshake with the robot (the robot has to tell, that it is ready)
+     * the program is uploaded to the robot from another thread and then started on the robot
      *
      * @param token the credential the end user (at the terminal) and the brick have both agreed to use
      * @param programName name of the program
      * @param programText source of the program
      * @param configurationText the hardware configuration source that describes characteristic data of the robot
-     * @return a message key in case of an error; null otherwise
+     * @return the result of this compilation, never null
      */
     @Override
-    public Key execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
+    public CompilationResult execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
         String sourceCode = Ast2Ev3PythonVisitor.generate(programName, data.getBrickConfiguration(), data.getProgramTransformer().getTree(), true);
-        try {
-            storeGeneratedProgram(token, programName, sourceCode);
-        } catch ( Exception e ) {
-            Ev3devCompilerWorkflow.LOG.error("Storing the generated program into directory " + token + " failed", e);
-            return Key.COMPILERWORKFLOW_ERROR_PROGRAM_STORE_FAILED;
-        }
-
-        return Key.COMPILERWORKFLOW_SUCCESS;
-
+        Ev3devCompilerWorkflow.LOG.info("python program {} generated", programName);
+        return CompilationResult.success(sourceCode, programName + ".py", sourceCode.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
@@ -75,6 +59,11 @@ public class Ev3devCompilerWorkflow implements ICompilerWorkflow {
             return null;
         }
 
+        return generateSourceCode(programName, data);
+    }
+
+    @Override
+    public String generateSourceCode(String programName, BlocklyProgramAndConfigTransformer data) {
         return Ast2Ev3PythonVisitor.generate(programName, data.getBrickConfiguration(), data.getProgramTransformer().getTree(), true);
     }
 
@@ -91,17 +80,4 @@ public class Ev3devCompilerWorkflow implements ICompilerWorkflow {
         Jaxb2Ev3ConfigurationTransformer transformer = new Jaxb2Ev3ConfigurationTransformer(factory);
         return transformer.transform(project);
     }
-
-    @Override
-    public String getCompiledCode() {
-        return null;
-    }
-
-    private void storeGeneratedProgram(String token, String programName, String sourceCode) throws Exception {
-        Assert.isTrue(token != null && programName != null && sourceCode != null);
-        File sourceFile = new File(this.pathToCrosscompilerBaseDir + token + "/src/" + programName + ".py");
-        Ev3devCompilerWorkflow.LOG.info("stored under: " + sourceFile.getPath());
-        FileUtils.writeStringToFile(sourceFile, sourceCode, StandardCharsets.UTF_8.displayName());
-    }
-
 }
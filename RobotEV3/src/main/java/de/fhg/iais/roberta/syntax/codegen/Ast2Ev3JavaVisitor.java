@@ -113,7 +113,7 @@ public class Ast2Ev3JavaVisitor extends Ast2JavaVisitor {
 
         UsedHardwareVisitor checkVisitor = new UsedHardwareVisitor(phrasesSet);
         Ast2Ev3JavaVisitor astVisitor = new Ast2Ev3JavaVisitor(programName, brickConfiguration, checkVisitor.getUsedSensors(), withWrapping ? 1 : 0);
-        astVisitor.genearateCode(phrasesSet, withWrapping);
+        astVisitor.genearateCode(phrasesSet, checkVisitor.getloopsLabelContainer(), withWrapping);
 
         return astVisitor.sb.toString();
     }
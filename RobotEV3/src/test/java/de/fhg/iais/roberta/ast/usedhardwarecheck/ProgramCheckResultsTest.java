@@ -0,0 +1,43 @@
+package de.fhg.iais.roberta.ast.usedhardwarecheck;
+
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.components.Actor;
+import de.fhg.iais.roberta.components.ActorType;
+import de.fhg.iais.roberta.components.EV3Configuration;
+import de.fhg.iais.roberta.jaxb.JaxbHelper;
+import de.fhg.iais.roberta.mode.action.DriveDirection;
+import de.fhg.iais.roberta.mode.action.MotorSide;
+import de.fhg.iais.roberta.mode.action.ev3.ActorPort;
+import de.fhg.iais.roberta.syntax.Phrase;
+import de.fhg.iais.roberta.syntax.hardwarecheck.generic.RobotProgramCheckVisitor;
+import de.fhg.iais.roberta.testutil.Helper;
+import de.fhg.iais.roberta.transformer.Jaxb2BlocklyProgramTransformer;
+
+/**
+ * a program, that was checked and returned to the client with errors attached, is recognized as containing check results when it is sent again
+ */
+public class ProgramCheckResultsTest {
+
+    @Test
+    public void testCheckResultsOfAnEarlierCheckAreDetected() throws Exception {
+        Jaxb2BlocklyProgramTransformer<Void> transformer = Helper.generateTransformer("/syntax/code_generator/java/java_code_generator2.xml");
+        Assert.assertFalse(transformer.containsCheckResults());
+
+        // the program uses sensors, that are missing in the configuration
+        EV3Configuration.Builder builder = new EV3Configuration.Builder();
+        builder.setTrackWidth(17).setWheelDiameter(5.6);
+        builder.addActor(ActorPort.A, new Actor(ActorType.MEDIUM, true, DriveDirection.FOREWARD, MotorSide.LEFT)).addActor(
+            ActorPort.B,
+            new Actor(ActorType.LARGE, true, DriveDirection.FOREWARD, MotorSide.RIGHT));
+        RobotProgramCheckVisitor programChecker = new RobotProgramCheckVisitor(builder.build());
+        Assert.assertTrue(programChecker.check(transformer.getTree()) > 0);
+        ArrayList<ArrayList<Phrase<Void>>> checkedProgram = programChecker.getCheckedProgram();
+        String checkedProgramText = JaxbHelper.blockSet2xmlFragment(JaxbHelper.astToBlockSet(checkedProgram));
+
+        Assert.assertTrue(Helper.generateProgramTransformer(checkedProgramText).containsCheckResults());
+    }
+}
@@ -0,0 +1,57 @@
+package de.fhg.iais.roberta.components;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClasspathIndexTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testIndexesOfDifferentJarsOfTheSameDirectoryDiffer() throws Exception {
+        String dir = createJar("a.jar", "pa/A.class") + File.separator;
+        createJar("b.jar", "pb/B.class");
+        ClasspathIndex a = ClasspathIndex.getIndex(dir, "a.jar");
+        ClasspathIndex b = ClasspathIndex.getIndex(dir, "b.jar");
+        Assert.assertEquals(1, a.list("pa", false).size());
+        Assert.assertEquals(0, a.list("pb", false).size());
+        Assert.assertEquals(1, b.list("pb", false).size());
+        Assert.assertEquals(0, b.list("pa", false).size());
+        Assert.assertSame(a, ClasspathIndex.getIndex(dir, "a.jar"));
+        Assert.assertSame(ClasspathIndex.getIndex(dir, "a.jar", "b.jar"), ClasspathIndex.getIndex(dir, "b.jar", "a.jar"));
+    }
+
+    @Test
+    public void testIndexWithAMissingJarIsNotCached() throws Exception {
+        String dir = createJar("a.jar", "pa/A.class") + File.separator;
+        ClasspathIndex incomplete = ClasspathIndex.getIndex(dir, "a.jar", "late.jar");
+        Assert.assertEquals(0, incomplete.list("late", false).size());
+        createJar("late.jar", "late/L.class");
+        ClasspathIndex complete = ClasspathIndex.getIndex(dir, "a.jar", "late.jar");
+        Assert.assertNotSame(incomplete, complete);
+        Assert.assertEquals(1, complete.list("late", false).size());
+        Assert.assertSame(complete, ClasspathIndex.getIndex(dir, "a.jar", "late.jar"));
+    }
+
+    private String createJar(String jarName, String classFileName) throws Exception {
+        File jar = new File(this.folder.getRoot(), jarName);
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new JarEntry(classFileName));
+            out.write(new byte[] {
+                (byte) 0xCA,
+                (byte) 0xFE,
+                (byte) 0xBA,
+                (byte) 0xBE
+            });
+            out.closeEntry();
+        }
+        return this.folder.getRoot().getPath();
+    }
+}
@@ -1,5 +1,8 @@
 package de.fhg.iais.roberta.components;
 
+import java.io.ByteArrayInputStream;
+import java.util.jar.JarInputStream;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -49,7 +52,28 @@ public class CompileSourceInMemoryTest {
     public void testParsing() throws Exception {
 
         JavaSourceCompiler csm = new JavaSourceCompiler("NEPOprog", code, "");
-        csm.compileAndPackage("a", "a");
+        Assert.assertNull(csm.compileAndPackage());
         Assert.assertEquals(false, csm.isSuccess());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCompileAgainstTheClasspathIndex() throws Exception {
+        String validCode =
+            "package generated.main;\n"
+                + "import lejos.hardware.Button;\n"
+                + "public class NEPOprog {\n"
+                + "    public static void main(String[] args) {\n"
+                + "        Button.waitForAnyPress();\n"
+                + "    }\n"
+                + "}";
+        for ( int i = 0; i < 2; i++ ) {
+            JavaSourceCompiler csm = new JavaSourceCompiler("NEPOprog", validCode, "resources/crossCompilerResources/");
+            byte[] jar = csm.compileAndPackage();
+            Assert.assertNotNull(csm.getCompilationMessages(), jar);
+            try (JarInputStream jarStream = new JarInputStream(new ByteArrayInputStream(jar))) {
+                Assert.assertEquals("generated.main.NEPOprog", jarStream.getManifest().getMainAttributes().getValue("Main-Class"));
+                Assert.assertEquals("generated/main/NEPOprog.class", jarStream.getNextJarEntry().getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package de.fhg.iais.roberta.components;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.mode.action.DriveDirection;
+import de.fhg.iais.roberta.mode.action.MotorSide;
+import de.fhg.iais.roberta.mode.action.ev3.ActorPort;
+import de.fhg.iais.roberta.testutil.Helper;
+import de.fhg.iais.roberta.util.Clock;
+import de.fhg.iais.roberta.util.testsetup.IntegrationTest;
+
+/**
+ * compiles the generated code of the EV3 test programs back to back. Compares the warm {@link JavaSourceCompiler} (shared compiler, classpath index
+ * and file manager) with a cold compilation, that opens a new file manager and reads the jars of the classpath for every program (the old behavior).
+ */
+@Ignore
+@Category(IntegrationTest.class)
+public class JavaSourceCompilerPerformanceTest {
+    private static final Logger LOG = LoggerFactory.getLogger(JavaSourceCompilerPerformanceTest.class);
+
+    private static final String CLASSPATH_DIR = "resources/crossCompilerResources/";
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Test
+    public void compareWarmAndColdCompilation() throws Exception {
+        List<String> programs = generatePrograms();
+        LOG.info(programs.size() + " generated programs are compiled");
+        for ( int i = 0; i < WARMUP_ROUNDS; i++ ) {
+            compileWarm(programs);
+            compileCold(programs);
+        }
+        Clock clock = Clock.start();
+        for ( int i = 0; i < MEASURED_ROUNDS; i++ ) {
+            compileWarm(programs);
+        }
+        long warmMsec = clock.elapsedMsec();
+        clock = Clock.start();
+        for ( int i = 0; i < MEASURED_ROUNDS; i++ ) {
+            compileCold(programs);
+        }
+        long coldMsec = clock.elapsedMsec();
+        int compilations = MEASURED_ROUNDS * programs.size();
+        LOG.info("warm compiler: " + warmMsec + " msec for " + compilations + " compilations, " + warmMsec / compilations + " msec per program");
+        LOG.info("cold compiler: " + coldMsec + " msec for " + compilations + " compilations, " + coldMsec / compilations + " msec per program");
+    }
+
+    private static List<String> generatePrograms() throws Exception {
+        Configuration brickConfiguration =
+            new EV3Configuration.Builder()
+                .setWheelDiameter(5.6)
+                .setTrackWidth(18.0)
+                .addActor(ActorPort.A, new Actor(ActorType.MEDIUM, true, DriveDirection.FOREWARD, MotorSide.NONE))
+                .addActor(ActorPort.B, new Actor(ActorType.LARGE, true, DriveDirection.FOREWARD, MotorSide.RIGHT))
+                .addActor(ActorPort.C, new Actor(ActorType.LARGE, true, DriveDirection.FOREWARD, MotorSide.LEFT))
+                .build();
+        List<String> programs = new ArrayList<>();
+        for ( File xml : FileUtils.listFiles(new File("src/test/resources/syntax/code_generator/java"), new String[] {
+            "xml"
+        }, false) ) {
+            String program = Helper.generateString("/syntax/code_generator/java/" + xml.getName(), brickConfiguration);
+            JavaSourceCompiler compiler = new JavaSourceCompiler("Test", program, CLASSPATH_DIR);
+            if ( compiler.compileAndPackage() != null ) {
+                programs.add(program);
+            } else {
+                LOG.info("program " + xml.getName() + " is not compilable and not used");
+            }
+        }
+        Assert.assertFalse(programs.isEmpty());
+        return programs;
+    }
+
+    private static void compileWarm(List<String> programs) {
+        for ( String program : programs ) {
+            JavaSourceCompiler compiler = new JavaSourceCompiler("Test", program, CLASSPATH_DIR);
+            Assert.assertNotNull(compiler.compileAndPackage());
+        }
+    }
+
+    private static void compileCold(List<String> programs) throws IOException {
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        String classpath = "";
+        for ( String jar : Arrays.asList("dbusjava.jar", "ev3classes.jar", "EV3Runtime.jar", "Java-WebSocket.jar", "jna.jar", "json.jar") ) {
+            classpath += CLASSPATH_DIR + jar + File.pathSeparator;
+        }
+        List<String> options = Arrays.asList("-source", "1.7", "-target", "1.7", "-classpath", classpath);
+        for ( String program : programs ) {
+            StandardJavaFileManager standardFileManager = javac.getStandardFileManager(null, null, null);
+            ForwardingJavaFileManager<StandardJavaFileManager> fileManager = new ForwardingJavaFileManager<StandardJavaFileManager>(standardFileManager) {
+                @Override
+                public JavaFileObject getJavaFileForOutput(Location location, String className, Kind kind, FileObject sibling) {
+                    return new ClassJavaFileObject(className);
+                }
+            };
+            List<JavaFileObject> sources = Collections.<JavaFileObject> singletonList(new SourceJavaFileObject("generated.main.Test", program));
+            Assert.assertTrue(javac.getTask(null, fileManager, null, options, null, sources).call());
+            fileManager.close();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.factory.EV3lejosFactory;
+import de.fhg.iais.roberta.factory.Ev3SimCompilerWorkflow;
+import de.fhg.iais.roberta.transformer.BlocklyProgramAndConfigTransformer;
+import de.fhg.iais.roberta.util.RobertaProperties;
+import de.fhg.iais.roberta.util.Util1;
+
+public class Ev3SimCompilerWorkflowTest {
+
+    @Test
+    public void testGenerationFromTheTransformedProgramEqualsGenerationFromXml() throws Exception {
+        RobertaProperties.setRobertaProperties(Util1.loadProperties(null));
+        EV3lejosFactory factory = new EV3lejosFactory(null);
+        String programText = resource("/syntax/code_generator/java/java_code_generator.xml");
+        String configurationText = resource("/ast/brickConfiguration/brick_configuration0.xml");
+        Ev3SimCompilerWorkflow workflow = new Ev3SimCompilerWorkflow();
+
+        BlocklyProgramAndConfigTransformer data = BlocklyProgramAndConfigTransformer.transform(factory, programText, configurationText);
+        Assert.assertNull(data.getErrorMessage());
+        String javaScriptFromData = workflow.generateSourceCode("NEPOprog", data);
+        Assert.assertNotNull(javaScriptFromData);
+        Assert.assertEquals(workflow.generateSourceCode(factory, null, "NEPOprog", programText, configurationText), javaScriptFromData);
+    }
+
+    private static String resource(String path) throws Exception {
+        return IOUtils.toString(Ev3SimCompilerWorkflowTest.class.getResourceAsStream(path), "UTF-8");
+    }
+}
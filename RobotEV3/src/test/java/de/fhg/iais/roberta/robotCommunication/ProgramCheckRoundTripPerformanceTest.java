@@ -0,0 +1,118 @@
+package de.fhg.iais.roberta.robotCommunication;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.blockly.generated.BlockSet;
+import de.fhg.iais.roberta.factory.EV3lejosFactory;
+import de.fhg.iais.roberta.jaxb.JaxbHelper;
+import de.fhg.iais.roberta.syntax.hardwarecheck.generic.ProgramCheckVisitor;
+import de.fhg.iais.roberta.transformer.BlocklyProgramAndConfigTransformer;
+import de.fhg.iais.roberta.util.RobertaProperties;
+import de.fhg.iais.roberta.util.Util1;
+import de.fhg.iais.roberta.util.testsetup.IntegrationTest;
+
+/**
+ * measures the program check of the run path (runP, runPsim) followed by the generation of the XML returned to the client. Compares the old behavior (a new
+ * JAXBContext per request and the checked AST always serialized) with the pooled marshaller of {@link JaxbHelper}, that serializes the AST only if the check
+ * attached errors or warnings. The transformation of the XML into the AST is not measured, it is the same in both cases.
+ */
+@Ignore
+@Category(IntegrationTest.class)
+public class ProgramCheckRoundTripPerformanceTest {
+    private static final Logger LOG = LoggerFactory.getLogger(ProgramCheckRoundTripPerformanceTest.class);
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Test
+    public void compareCheckedProgramRoundTrip() throws Exception {
+        RobertaProperties.setRobertaProperties(Util1.loadProperties(null));
+        EV3lejosFactory factory = new EV3lejosFactory(null);
+        String configurationText =
+            IOUtils.toString(getClass().getResourceAsStream("/ast/brickConfiguration/brick_configuration0.xml"), StandardCharsets.UTF_8);
+        List<String> corpus = loadCorpus(factory, configurationText);
+        LOG.info(corpus.size() + " EV3 programs of the test resources are checked");
+
+        for ( int i = 0; i < WARMUP_ROUNDS; i++ ) {
+            checkAndSerialize(factory, corpus, configurationText, false);
+            checkAndSerialize(factory, corpus, configurationText, true);
+        }
+        long oldNanos = 0;
+        long newNanos = 0;
+        for ( int i = 0; i < MEASURED_ROUNDS; i++ ) {
+            oldNanos += checkAndSerialize(factory, corpus, configurationText, false);
+            newNanos += checkAndSerialize(factory, corpus, configurationText, true);
+        }
+        long runs = (long) MEASURED_ROUNDS * corpus.size();
+        LOG.info("new JAXBContext, always serialized:   " + oldNanos / 1000000 + " msec for " + runs + " runs, " + oldNanos / 1000 / runs + " usec per run");
+        LOG.info("pooled, serialized only if necessary: " + newNanos / 1000000 + " msec for " + runs + " runs, " + newNanos / 1000 / runs + " usec per run");
+    }
+
+    /**
+     * @return all XML files of the EV3 test resources, that can be transformed together with the standard configuration. Other files are skipped
+     */
+    private static List<String> loadCorpus(EV3lejosFactory factory, String configurationText) throws Exception {
+        List<String> corpus = new ArrayList<>();
+        for ( File xml : FileUtils.listFiles(new File("src/test/resources/syntax"), new String[] {
+            "xml"
+        }, true) ) {
+            String programText = FileUtils.readFileToString(xml, StandardCharsets.UTF_8);
+            try {
+                BlocklyProgramAndConfigTransformer data = BlocklyProgramAndConfigTransformer.transform(factory, programText, configurationText);
+                if ( data.getErrorMessage() == null ) {
+                    corpus.add(programText);
+                }
+            } catch ( Exception e ) {
+                // not a complete program, skipped
+            }
+        }
+        Assert.assertFalse(corpus.isEmpty());
+        return corpus;
+    }
+
+    /**
+     * @return the nanoseconds needed to check the programs and to generate the XML returned to the client
+     */
+    private static long checkAndSerialize(EV3lejosFactory factory, List<String> corpus, String configurationText, boolean pooled) throws Exception {
+        long nanos = 0;
+        for ( String programText : corpus ) {
+            BlocklyProgramAndConfigTransformer data = BlocklyProgramAndConfigTransformer.transform(factory, programText, configurationText);
+            long start = System.nanoTime();
+            ProgramCheckVisitor programChecker = factory.getProgramCheckVisitor(data.getBrickConfiguration());
+            int errorCounter = programChecker.check(data.getTransformedProgram());
+            String xml;
+            if ( pooled ) {
+                if ( errorCounter > 0 || programChecker.getWarningCount() > 0 || data.getProgramTransformer().containsCheckResults() ) {
+                    xml = JaxbHelper.blockSet2xmlFragment(JaxbHelper.astToBlockSet(programChecker.getCheckedProgram()));
+                } else {
+                    xml = programText;
+                }
+            } else {
+                Marshaller m = JAXBContext.newInstance(BlockSet.class).createMarshaller();
+                m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+                StringWriter writer = new StringWriter();
+                m.marshal(JaxbHelper.astToBlockSet(programChecker.getCheckedProgram()), writer);
+                xml = writer.toString();
+            }
+            nanos += System.nanoTime() - start;
+            Assert.assertNotNull(xml);
+        }
+        return nanos;
+    }
+}
@@ -1,5 +1,7 @@
 package de.fhg.iais.roberta.syntax.codegen;
 
+import java.util.ArrayList;
+
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -14,6 +16,8 @@ import de.fhg.iais.roberta.mode.action.DriveDirection;
 import de.fhg.iais.roberta.mode.action.MotorSide;
 import de.fhg.iais.roberta.mode.action.ev3.ActorPort;
 import de.fhg.iais.roberta.mode.sensor.ev3.SensorPort;
+import de.fhg.iais.roberta.syntax.Phrase;
+import de.fhg.iais.roberta.syntax.hardwarecheck.ev3.UsedHardwareVisitor;
 import de.fhg.iais.roberta.testutil.Helper;
 
 public class AstToLejosJavaVisitorTest {
@@ -598,6 +602,7 @@ public class AstToLejosJavaVisitorTest {
             + "}\n";
 
         assertCodeIsOk(a, "/syntax/code_generator/java/no_loops.xml");
+        assertLoopsAreLabeled("{}", "/syntax/code_generator/java/no_loops.xml");
     }
 
     @Test
@@ -627,6 +632,7 @@ public class AstToLejosJavaVisitorTest {
             + "}"
             + "}\n";
         assertCodeIsOk(a, "/syntax/code_generator/java/nested_loops.xml");
+        assertLoopsAreLabeled("{1=false, 2=false}", "/syntax/code_generator/java/nested_loops.xml");
     }
 
     @Test
@@ -647,6 +653,7 @@ public class AstToLejosJavaVisitorTest {
             + "} else if(30==12){continue;}}}for(floati=1;i<10;i+=1){hal.driveDistance(DriveDirection.FOREWARD,30,20);if(30==20){continue;}elseif(30==12){break;}}for(floatitem:item2){hal.driveDistance(DriveDirection.FOREWARD,30,20);if(30==20){continue;}elseif(30==20){break;}}while(true){if(30==20){continue;}elseif(30==20){break;}}for(floatk0=0;k0<10;k0+=1){if(30==20){break;}elseif(30==20){continue;}}while(true){if(hal.isPressed(SensorPort.S1)==true){break;}if(hal.isPressed(SensorPort.S1)==true){break;}hal.waitFor(15);}hal.closeResources();}}";
 
         assertCodeIsOk(a, "/syntax/code_generator/java/loops_with_break_and_continue.xml");
+        assertLoopsAreLabeled("{1=false, 2=false, 3=false, 4=false, 5=false}", "/syntax/code_generator/java/loops_with_break_and_continue.xml");
     }
 
     @Test
@@ -682,6 +689,7 @@ public class AstToLejosJavaVisitorTest {
             + "}\n";
 
         assertCodeIsOk(a, "/syntax/code_generator/java/loop_with_break_and_continue_inside_wait.xml");
+        assertLoopsAreLabeled("{1=true}", "/syntax/code_generator/java/loop_with_break_and_continue_inside_wait.xml");
     }
 
     @Test
@@ -721,6 +729,7 @@ public class AstToLejosJavaVisitorTest {
             + "}\n";
 
         assertCodeIsOk(a, "/syntax/code_generator/java/two_loop_with_break_and_continue_one_inside_wait_another_not.xml");
+        assertLoopsAreLabeled("{1=true, 2=false}", "/syntax/code_generator/java/two_loop_with_break_and_continue_one_inside_wait_another_not.xml");
     }
 
     @Test
@@ -756,6 +765,7 @@ public class AstToLejosJavaVisitorTest {
             + "}"
             + "}\n";
         assertCodeIsOk(a, "/syntax/code_generator/java/two_nested_loops_first_with_break_in_wait_second_not.xml");
+        assertLoopsAreLabeled("{1=true, 2=false}", "/syntax/code_generator/java/two_nested_loops_first_with_break_in_wait_second_not.xml");
     }
 
     @Test
@@ -796,6 +806,7 @@ public class AstToLejosJavaVisitorTest {
             + "}\n";
 
         assertCodeIsOk(a, "/syntax/code_generator/java/loop_with_nested_two_loops_inside_wait.xml");
+        assertLoopsAreLabeled("{1=true, 2=false, 3=false}", "/syntax/code_generator/java/loop_with_nested_two_loops_inside_wait.xml");
     }
 
     @Test
@@ -845,6 +856,7 @@ public class AstToLejosJavaVisitorTest {
             + "}\n";
 
         assertCodeIsOk(a, "/syntax/code_generator/java/loop_with_nested_two_loops_inside_wait_second_contain_wait.xml");
+        assertLoopsAreLabeled("{1=true, 2=false, 3=true}", "/syntax/code_generator/java/loop_with_nested_two_loops_inside_wait_second_contain_wait.xml");
     }
 
     @Test
@@ -916,10 +928,16 @@ public class AstToLejosJavaVisitorTest {
             + "}"
             + "}\n";
         assertCodeIsOk(a, "/syntax/code_generator/java/three_loops_with_nested_two_loops_inside_wait_second_contain_wait.xml");
+        assertLoopsAreLabeled("{1=true, 2=false, 3=true, 4=false, 5=true}", "/syntax/code_generator/java/three_loops_with_nested_two_loops_inside_wait_second_contain_wait.xml");
     }
 
     private void assertCodeIsOk(String a, String fileName) throws Exception {
         // Assert.assertEquals(a, Helper.generateString(fileName, brickConfiguration));
         Assert.assertEquals(a.replaceAll("\\s+", ""), Helper.generateString(fileName, brickConfiguration).replaceAll("\\s+", ""));
     }
+
+    private void assertLoopsAreLabeled(String labels, String fileName) throws Exception {
+        ArrayList<ArrayList<Phrase<Void>>> phrases = Helper.generateASTs(fileName);
+        Assert.assertEquals(labels, new UsedHardwareVisitor(phrases).getloopsLabelContainer().toString());
+    }
 }
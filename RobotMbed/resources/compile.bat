@@ -29,8 +29,3 @@ IF %errorlevel% NEQ 0 (
     echo "Error creating firmware.hex !!!"
     exit 1
 )
-srec_cat %compiler_resources%/BLE_BOOTLOADER_RESERVED.hex -intel %compiler_resources%/s110_nrf51822_8.0.0_softdevice.hex -intel %program_location%target/firmware.hex -intel -o %program_location%target/%program_name%.hex -intel --line-length=44
-IF %errorlevel% NEQ 0 (
-    echo "Error creating the HEX !!!"
-    exit 1
-)
\ No newline at end of file
@@ -0,0 +1,25 @@
+#!/bin/bash
+# builds the precompiled header with the runtime headers included by every generated program. compile.sh uses it, if its directory is given
+
+
+compiler="$1"
+compiler_resources="$2"
+precompiled_header_dir="$3"
+
+source "$(dirname "$0")/calliope_flags.sh"
+
+mkdir -p "${precompiled_header_dir}"
+cat > "${precompiled_header_dir}/CalliopeRuntime.h" <<END_OF_HEADER
+#define _GNU_SOURCE
+#include "MicroBit.h"
+#include <array>
+#include <stdlib.h>
+END_OF_HEADER
+
+echo "[1/1] Precompiling the runtime headers"
+run="${compiler}arm-none-eabi-g++ ${include_paths} ${cppc_flags} -x c++-header -o ${precompiled_header_dir}/CalliopeRuntime.h.gch ${precompiled_header_dir}/CalliopeRuntime.h"
+if ! $run; then
+    echo "Error in precompiling !!!"
+    rm -f "${precompiled_header_dir}/CalliopeRuntime.h.gch"
+    exit 1
+fi
@@ -0,0 +1,301 @@
+package de.fhg.iais.roberta.components;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import de.fhg.iais.roberta.util.dbc.DbcException;
+
+/**
+ * an image of the flash memory read from or written to a file in the Intel HEX format. The image consists of segments of contiguous bytes. Images can be
+ * merged, this replaces the call of <code>srec_cat</code>, that combined the bootloader, the softdevice and the firmware of the Calliope.<br>
+ * <br>
+ * The output is written like <code>srec_cat ... -o out.hex -intel --line-length=44</code> does: segments in ascending address order, data records with 16
+ * bytes, an extended linear address record at the start and whenever the upper 16 bits of the address change, the execution start address (if any) and the
+ * end of file record. Lines are terminated by '\n'.<br>
+ * <br>
+ * Immutable. Every segment is encoded once when it is created. Thus images, that are read once and merged with many firmwares (as the bootloader and the
+ * softdevice are), contribute to the output by appending their pre-encoded text.
+ */
+public class IntelHex {
+    private static final int BYTES_PER_RECORD = 16;
+    private static final int DATA = 0;
+    private static final int END_OF_FILE = 1;
+    private static final int EXTENDED_SEGMENT_ADDRESS = 2;
+    private static final int START_SEGMENT_ADDRESS = 3;
+    private static final int EXTENDED_LINEAR_ADDRESS = 4;
+    private static final int START_LINEAR_ADDRESS = 5;
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final List<Segment> segments;
+    private final Long executionStartAddress;
+
+    private IntelHex(List<Segment> segments, Long executionStartAddress) {
+        this.segments = Collections.unmodifiableList(segments);
+        this.executionStartAddress = executionStartAddress;
+    }
+
+    /**
+     * parse a file in the Intel HEX format. Records with different values for the same address are rejected
+     *
+     * @param hex the content of the file; never null
+     * @return the image; never null
+     * @throws DbcException if the hex is malformed
+     */
+    public static IntelHex parse(String hex) {
+        List<Segment> segments = new ArrayList<>();
+        Long executionStartAddress = null;
+        long base = 0;
+        long runStart = 0;
+        long runEnd = -1;
+        ByteArrayOutputStream run = new ByteArrayOutputStream();
+        int lineNumber = 0;
+        for ( String line : hex.split("\n") ) {
+            lineNumber++;
+            line = line.trim();
+            if ( line.isEmpty() ) {
+                continue;
+            }
+            byte[] record = decodeRecord(line, lineNumber);
+            int length = record[0] & 0xff;
+            int offset = (record[1] & 0xff) << 8 | record[2] & 0xff;
+            int type = record[3] & 0xff;
+            switch ( type ) {
+                case DATA:
+                    long address = base + offset;
+                    if ( address != runEnd ) {
+                        if ( run.size() > 0 ) {
+                            segments.add(new Segment(runStart, run.toByteArray()));
+                        }
+                        run = new ByteArrayOutputStream();
+                        runStart = address;
+                    }
+                    run.write(record, 4, length);
+                    runEnd = address + length;
+                    break;
+                case END_OF_FILE:
+                    break;
+                case EXTENDED_SEGMENT_ADDRESS:
+                    base = readBigEndian(record, 4, length) << 4;
+                    break;
+                case START_SEGMENT_ADDRESS:
+                    long startSegment = readBigEndian(record, 4, length);
+                    executionStartAddress = ((startSegment >>> 16) << 4) + (startSegment & 0xffff);
+                    break;
+                case EXTENDED_LINEAR_ADDRESS:
+                    base = readBigEndian(record, 4, length) << 16;
+                    break;
+                case START_LINEAR_ADDRESS:
+                    executionStartAddress = readBigEndian(record, 4, length);
+                    break;
+                default:
+                    throw new DbcException("invalid record type " + type + " in line " + lineNumber);
+            }
+        }
+        if ( run.size() > 0 ) {
+            segments.add(new Segment(runStart, run.toByteArray()));
+        }
+        return new IntelHex(normalize(segments), executionStartAddress);
+    }
+
+    /**
+     * merge this image with another one. Bytes present in both images must have the same value. The execution start address of this image is kept, if it
+     * has one; otherwise the one of the other image is taken (<code>srec_cat</code> keeps the start address of the first input, too).
+     *
+     * @param other the image to merge into this one; never null
+     * @return the merged image; never null
+     * @throws DbcException if both images contain different values for the same address
+     */
+    public IntelHex merge(IntelHex other) {
+        List<Segment> all = new ArrayList<>(this.segments.size() + other.segments.size());
+        all.addAll(this.segments);
+        all.addAll(other.segments);
+        return new IntelHex(normalize(all), this.executionStartAddress != null ? this.executionStartAddress : other.executionStartAddress);
+    }
+
+    /**
+     * @return the image in the Intel HEX format; never null
+     */
+    public String toHex() {
+        int capacity = 64;
+        for ( Segment segment : this.segments ) {
+            capacity += segment.encoded.length() + 16;
+        }
+        StringBuilder hex = new StringBuilder(capacity);
+        long upperAddress = -1;
+        for ( Segment segment : this.segments ) {
+            if ( segment.start >>> 16 != upperAddress ) {
+                appendExtendedLinearAddress(hex, segment.start >>> 16);
+            }
+            hex.append(segment.encoded);
+            upperAddress = (segment.end() - 1) >>> 16;
+        }
+        if ( this.executionStartAddress != null ) {
+            long address = this.executionStartAddress;
+            appendRecord(hex, START_LINEAR_ADDRESS, 0, new byte[] {
+                (byte) (address >>> 24),
+                (byte) (address >>> 16),
+                (byte) (address >>> 8),
+                (byte) address
+            }, 0, 4);
+        }
+        appendRecord(hex, END_OF_FILE, 0, new byte[0], 0, 0);
+        return hex.toString();
+    }
+
+    /**
+     * @return the value of the byte at the address given or -1, if the image contains no byte at this address
+     */
+    public int get(long address) {
+        for ( Segment segment : this.segments ) {
+            if ( address >= segment.start && address < segment.end() ) {
+                return segment.data[(int) (address - segment.start)] & 0xff;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the execution start address; null, if the image has none
+     */
+    public Long getExecutionStartAddress() {
+        return this.executionStartAddress;
+    }
+
+    /**
+     * sort the segments and combine overlapping and adjacent ones. Segments, that are left unchanged, are reused together with their encoding
+     */
+    private static List<Segment> normalize(List<Segment> segments) {
+        Segment[] sorted = segments.toArray(new Segment[segments.size()]);
+        Arrays.sort(sorted);
+        List<Segment> normalized = new ArrayList<>();
+        int i = 0;
+        while ( i < sorted.length ) {
+            Segment first = sorted[i];
+            long end = first.end();
+            int j = i + 1;
+            while ( j < sorted.length && sorted[j].start <= end ) {
+                end = Math.max(end, sorted[j].end());
+                j++;
+            }
+            if ( j == i + 1 ) {
+                normalized.add(first);
+            } else {
+                byte[] data = new byte[(int) (end - first.start)];
+                boolean[] set = new boolean[data.length];
+                for ( int k = i; k < j; k++ ) {
+                    Segment segment = sorted[k];
+                    int offset = (int) (segment.start - first.start);
+                    for ( int l = 0; l < segment.data.length; l++ ) {
+                        if ( set[offset + l] && data[offset + l] != segment.data[l] ) {
+                            throw new DbcException("contradictory values for address 0x" + Long.toHexString(segment.start + l));
+                        }
+                        data[offset + l] = segment.data[l];
+                        set[offset + l] = true;
+                    }
+                }
+                normalized.add(new Segment(first.start, data));
+            }
+            i = j;
+        }
+        return normalized;
+    }
+
+    private static byte[] decodeRecord(String line, int lineNumber) {
+        if ( line.charAt(0) != ':' || line.length() < 11 || line.length() % 2 == 0 ) {
+            throw new DbcException("invalid record in line " + lineNumber);
+        }
+        byte[] record = new byte[(line.length() - 1) / 2];
+        int checksum = 0;
+        for ( int i = 0; i < record.length; i++ ) {
+            int high = Character.digit(line.charAt(2 * i + 1), 16);
+            int low = Character.digit(line.charAt(2 * i + 2), 16);
+            if ( high < 0 || low < 0 ) {
+                throw new DbcException("invalid hex digit in line " + lineNumber);
+            }
+            record[i] = (byte) (high << 4 | low);
+            checksum += record[i];
+        }
+        if ( (checksum & 0xff) != 0 ) {
+            throw new DbcException("invalid checksum in line " + lineNumber);
+        }
+        if ( (record[0] & 0xff) != record.length - 5 ) {
+            throw new DbcException("invalid record length in line " + lineNumber);
+        }
+        return record;
+    }
+
+    private static long readBigEndian(byte[] record, int offset, int length) {
+        long value = 0;
+        for ( int i = offset; i < offset + length; i++ ) {
+            value = value << 8 | record[i] & 0xff;
+        }
+        return value;
+    }
+
+    private static void appendExtendedLinearAddress(StringBuilder hex, long upperAddress) {
+        appendRecord(hex, EXTENDED_LINEAR_ADDRESS, 0, new byte[] {
+            (byte) (upperAddress >>> 8),
+            (byte) upperAddress
+        }, 0, 2);
+    }
+
+    private static void appendRecord(StringBuilder hex, int type, int address, byte[] data, int offset, int length) {
+        hex.append(':');
+        appendByte(hex, length);
+        appendByte(hex, address >> 8 & 0xff);
+        appendByte(hex, address & 0xff);
+        appendByte(hex, type);
+        int checksum = length + (address >> 8 & 0xff) + (address & 0xff) + type;
+        for ( int i = offset; i < offset + length; i++ ) {
+            checksum += data[i] & 0xff;
+            appendByte(hex, data[i] & 0xff);
+        }
+        appendByte(hex, -checksum & 0xff);
+        hex.append('\n');
+    }
+
+    private static void appendByte(StringBuilder hex, int b) {
+        hex.append(HEX_DIGITS[b >> 4 & 0xf]).append(HEX_DIGITS[b & 0xf]);
+    }
+
+    /**
+     * contiguous bytes of the image together with their data records. An extended linear address record is included, if the segment crosses a 64K boundary,
+     * the one needed at the start of the segment is not
+     */
+    private static final class Segment implements Comparable<Segment> {
+        final long start;
+        final byte[] data;
+        final String encoded;
+
+        Segment(long start, byte[] data) {
+            this.start = start;
+            this.data = data;
+            StringBuilder sb = new StringBuilder(data.length / BYTES_PER_RECORD * 44 + 64);
+            long address = start;
+            int offset = 0;
+            while ( offset < data.length ) {
+                long nextBoundary = (address >>> 16) + 1 << 16;
+                int length = (int) Math.min(Math.min(BYTES_PER_RECORD, data.length - offset), nextBoundary - address);
+                if ( offset > 0 && (address & 0xffff) == 0 ) {
+                    appendExtendedLinearAddress(sb, address >>> 16);
+                }
+                appendRecord(sb, DATA, (int) (address & 0xffff), data, offset, length);
+                address += length;
+                offset += length;
+            }
+            this.encoded = sb.toString();
+        }
+
+        long end() {
+            return this.start + this.data.length;
+        }
+
+        @Override
+        public int compareTo(Segment other) {
+            return Long.compare(this.start, other.start);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package de.fhg.iais.roberta.components;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+
+import de.fhg.iais.roberta.util.dbc.Assert;
+import de.fhg.iais.roberta.util.dbc.DbcException;
+
+/**
+ * builds the hex file for the micro:bit from a generated python program. The program is encoded the same way as uflash does it (this replaces the call of
+ * the python script <code>compile.py</code>): a header with the magic bytes "MP" and the length of the script, followed by the script, padded with zero
+ * bytes. This block is written as Intel HEX data records to the flash address 0x3e000 and the records are inserted into the MicroPython runtime hex two
+ * records from its end.<br>
+ * <br>
+ * The runtime is read once and kept split into the part before and after the insertion point. Thread-safe, one object is shared by all compilations.
+ */
+public class MicrobitHexBuilder {
+    public static final String RUNTIME_HEX = "microbit-micropython.hex";
+
+    private static final int SCRIPT_ADDRESS = 0x3e000;
+    private static final int MAX_SIZE = 8192;
+    private static final int BYTES_PER_RECORD = 16;
+    private static final String SCRIPT_EXTENDED_ADDRESS_RECORD = ":020000040003F7";
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final String runtimeHead;
+    private final String runtimeTail;
+
+    /**
+     * @param runtimeHex the file with the MicroPython runtime in Intel HEX format; never null
+     * @throws IOException if the runtime cannot be read
+     */
+    public MicrobitHexBuilder(File runtimeHex) throws IOException {
+        String[] records = FileUtils.readFileToString(runtimeHex, StandardCharsets.US_ASCII).trim().split("\\s+");
+        Assert.isTrue(records.length > 2, "the runtime hex is incomplete: " + runtimeHex);
+        this.runtimeHead = join(records, 0, records.length - 2);
+        this.runtimeTail = join(records, records.length - 2, records.length);
+    }
+
+    /**
+     * @param pythonScript the program to embed into the runtime; never null
+     * @return the hex file to be flashed, the records separated by newlines
+     * @throws DbcException if the program is too large for the flash area reserved for scripts
+     */
+    public String build(String pythonScript) {
+        byte[] script = pythonScript.replace("\r\n", "\n").replace('\r', '\n').getBytes(StandardCharsets.UTF_8);
+        StringBuilder hex = new StringBuilder(this.runtimeHead.length() + this.runtimeTail.length() + 3 * script.length + 64);
+        hex.append(this.runtimeHead);
+        if ( script.length > 0 ) {
+            appendScriptRecords(hex, script);
+        }
+        hex.append(this.runtimeTail);
+        // compile.py printed the hex, that already ended with a newline
+        hex.append('\n');
+        return hex.toString();
+    }
+
+    private static void appendScriptRecords(StringBuilder hex, byte[] script) {
+        ByteArrayOutputStream data = new ByteArrayOutputStream(script.length + 2 * BYTES_PER_RECORD);
+        data.write('M');
+        data.write('P');
+        data.write(script.length & 0xff);
+        data.write(script.length >> 8 & 0xff);
+        data.write(script, 0, script.length);
+        // like uflash: if the data fills the last record completely, a record with zero bytes is appended nevertheless
+        int padding = BYTES_PER_RECORD - data.size() % BYTES_PER_RECORD;
+        for ( int i = 0; i < padding; i++ ) {
+            data.write(0);
+        }
+        if ( data.size() > MAX_SIZE ) {
+            throw new DbcException("Python script must be less than " + (MAX_SIZE - 4) + " bytes.");
+        }
+        byte[] bytes = data.toByteArray();
+        hex.append(SCRIPT_EXTENDED_ADDRESS_RECORD).append('\n');
+        int address = SCRIPT_ADDRESS;
+        for ( int offset = 0; offset < bytes.length; offset += BYTES_PER_RECORD ) {
+            appendDataRecord(hex, address & 0xffff, bytes, offset);
+            address += BYTES_PER_RECORD;
+        }
+    }
+
+    private static void appendDataRecord(StringBuilder hex, int address, byte[] bytes, int offset) {
+        hex.append(':');
+        int checksum = BYTES_PER_RECORD + (address >> 8) + (address & 0xff);
+        appendByte(hex, BYTES_PER_RECORD);
+        appendByte(hex, address >> 8);
+        appendByte(hex, address & 0xff);
+        appendByte(hex, 0);
+        for ( int i = offset; i < offset + BYTES_PER_RECORD; i++ ) {
+            int b = bytes[i] & 0xff;
+            checksum += b;
+            appendByte(hex, b);
+        }
+        appendByte(hex, -checksum & 0xff);
+        hex.append('\n');
+    }
+
+    private static void appendByte(StringBuilder hex, int b) {
+        hex.append(HEX_DIGITS[b >> 4 & 0xf]).append(HEX_DIGITS[b & 0xf]);
+    }
+
+    private static String join(String[] records, int from, int to) {
+        StringBuilder sb = new StringBuilder();
+        for ( int i = from; i < to; i++ ) {
+            sb.append(records[i]).append('\n');
+        }
+        return sb.toString();
+    }
+}
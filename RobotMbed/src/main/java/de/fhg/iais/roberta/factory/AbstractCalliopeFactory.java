@@ -33,7 +33,7 @@ import de.fhg.iais.roberta.util.dbc.DbcException;
 
 public abstract class AbstractCalliopeFactory extends AbstractRobotFactory {
 
-    protected CalliopeCompilerWorkflow compilerWorkflow;
+    protected ICompilerWorkflow compilerWorkflow;
     protected MbedSimCompilerWorkflow calliopeSimCompilerWorkflow;
     protected Properties calliopeProperties;
     protected String name;
@@ -43,6 +43,28 @@ public abstract class AbstractCalliopeFactory extends AbstractRobotFactory {
         super();
     }
 
+    /**
+     * if the property <code>robot.plugin.N.compiler.precompiled.headers</code> is true, precompile the runtime headers for the compiler workflow given. This
+     * is done in a background thread, the plugin is usable immediately.
+     *
+     * @param calliopeCompilerWorkflow the workflow of this plugin
+     */
+    protected void prepareToolchain(final CalliopeCompilerWorkflow calliopeCompilerWorkflow) {
+        String precompile = RobertaProperties.getStringProperty("robot.plugin." + this.robotPropertyNumber + ".compiler.precompiled.headers");
+        if ( !Boolean.parseBoolean(precompile) ) {
+            return;
+        }
+        final String precompiledHeaderDir = RobertaProperties.getTempDirFor("precompiledHeaders") + this.name;
+        Thread precompiler = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                calliopeCompilerWorkflow.precompileRuntimeHeaders(precompiledHeaderDir);
+            }
+        }, "precompile-" + this.name);
+        precompiler.setDaemon(true);
+        precompiler.start();
+    }
+
     @Override
     public IBlinkMode getBlinkMode(String mode) {
         return null;
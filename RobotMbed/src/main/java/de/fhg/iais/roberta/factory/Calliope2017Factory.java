@@ -3,6 +3,8 @@ package de.fhg.iais.roberta.factory;
 import java.util.ArrayList;
 
 import de.fhg.iais.roberta.components.Configuration;
+import de.fhg.iais.roberta.robotCommunication.CachingCompilerWorkflow;
+import de.fhg.iais.roberta.robotCommunication.CompileCache;
 import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
 import de.fhg.iais.roberta.syntax.Phrase;
 import de.fhg.iais.roberta.util.RobertaProperties;
@@ -14,11 +16,13 @@ public class Calliope2017Factory extends AbstractCalliopeFactory {
 
         this.name = "calliope2017";
         this.robotPropertyNumber = RobertaProperties.getRobotNumberFromProperty(this.name);
-        this.compilerWorkflow =
+        CalliopeCompilerWorkflow calliopeCompilerWorkflow =
             new CalliopeCompilerWorkflow(
                 RobertaProperties.getTempDirForUserProjects(),
                 RobertaProperties.getStringProperty("robot.plugin." + this.robotPropertyNumber + ".compiler.resources.dir"),
                 RobertaProperties.getStringProperty("robot.plugin." + this.robotPropertyNumber + ".compiler.dir"));
+        this.compilerWorkflow = new CachingCompilerWorkflow(this.name, calliopeCompilerWorkflow, CompileCache.getSharedCache());
+        prepareToolchain(calliopeCompilerWorkflow);
         this.calliopeProperties = Util1.loadProperties("classpath:Calliope2017.properties");
         this.calliopeSimCompilerWorkflow = new MbedSimCompilerWorkflow();
         addBlockTypesFromProperties("Calliope2017.properties", this.calliopeProperties);
@@ -1,6 +1,7 @@
 package de.fhg.iais.roberta.factory;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.ProcessBuilder.Redirect;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -15,7 +16,9 @@ import org.slf4j.LoggerFactory;
 import de.fhg.iais.roberta.blockly.generated.BlockSet;
 import de.fhg.iais.roberta.components.CalliopeConfiguration;
 import de.fhg.iais.roberta.components.Configuration;
+import de.fhg.iais.roberta.components.IntelHex;
 import de.fhg.iais.roberta.jaxb.JaxbHelper;
+import de.fhg.iais.roberta.robotCommunication.CompilationResult;
 import de.fhg.iais.roberta.robotCommunication.ICompilerWorkflow;
 import de.fhg.iais.roberta.syntax.codegen.CppCodeGenerationVisitor;
 import de.fhg.iais.roberta.syntax.hardwarecheck.mbed.UsedHardwareVisitor;
@@ -31,8 +34,8 @@ public class CalliopeCompilerWorkflow implements ICompilerWorkflow {
     public final String pathToCrosscompilerBaseDir;
     public final String robotCompilerResourcesDir;
     public String robotCompilerDir;
-
-    private String compiledHex = "";
+    private IntelHex bootloaderAndSoftdevice = null;
+    private volatile String precompiledHeaderDir = null;
 
     public CalliopeCompilerWorkflow(String pathToCrosscompilerBaseDir, String robotCompilerResourcesDir, String robotCompilerDir) {
         this.pathToCrosscompilerBaseDir = pathToCrosscompilerBaseDir;
@@ -65,10 +68,10 @@ public class CalliopeCompilerWorkflow implements ICompilerWorkflow {
      * @param configurationText
      *        the hardware configuration source that describes
      *        characteristic data of the robot
-     * @return a message key in case of an error; null otherwise
+     * @return the result of this compilation, never null
      */
     @Override
-    public Key execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
+    public CompilationResult execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
         String sourceCode =
             CppCodeGenerationVisitor.generate((CalliopeConfiguration) data.getBrickConfiguration(), data.getProgramTransformer().getTree(), true);
         UsedHardwareVisitor usedHardwareVisitor = new UsedHardwareVisitor(data.getProgramTransformer().getTree());
@@ -76,16 +79,40 @@ public class CalliopeCompilerWorkflow implements ICompilerWorkflow {
             storeGeneratedProgram(token, programName, sourceCode, ".cpp");
         } catch ( Exception e ) {
             CalliopeCompilerWorkflow.LOG.error("Storing the generated program into directory " + token + " failed", e);
-            return Key.COMPILERWORKFLOW_ERROR_PROGRAM_STORE_FAILED;
+            return CompilationResult.error(Key.COMPILERWORKFLOW_ERROR_PROGRAM_STORE_FAILED, sourceCode);
         }
 
         Key messageKey = runBuild(token, programName, "generated.main", usedHardwareVisitor.isRadioUsed());
-        if ( messageKey == Key.COMPILERWORKFLOW_SUCCESS ) {
-            CalliopeCompilerWorkflow.LOG.info("hex for program {} generated successfully", programName);
-        } else {
+        if ( messageKey != Key.COMPILERWORKFLOW_SUCCESS ) {
             CalliopeCompilerWorkflow.LOG.info(messageKey.toString());
+            return CompilationResult.error(messageKey, sourceCode);
+        }
+        File firmwareFile = new File(this.pathToCrosscompilerBaseDir + token + "/" + programName + "/target/firmware.hex");
+        try {
+            IntelHex firmware = IntelHex.parse(FileUtils.readFileToString(firmwareFile, StandardCharsets.US_ASCII));
+            String compiledHex = getBootloaderAndSoftdevice().merge(firmware).toHex();
+            CalliopeCompilerWorkflow.LOG.info("hex for program {} generated successfully", programName);
+            return CompilationResult.success(sourceCode, compiledHex);
+        } catch ( Exception e ) {
+            CalliopeCompilerWorkflow.LOG.error("the firmware " + firmwareFile.getPath() + " could not be merged with bootloader and softdevice", e);
+            return CompilationResult.error(Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED, sourceCode);
         }
-        return messageKey;
+    }
+
+    /**
+     * the bootloader and the softdevice are the same for all programs. They are read once and kept merged and encoded, see {@link IntelHex}
+     */
+    private synchronized IntelHex getBootloaderAndSoftdevice() throws IOException {
+        if ( this.bootloaderAndSoftdevice == null ) {
+            IntelHex bootloader = IntelHex.parse(readResource("BLE_BOOTLOADER_RESERVED.hex"));
+            IntelHex softdevice = IntelHex.parse(readResource("s110_nrf51822_8.0.0_softdevice.hex"));
+            this.bootloaderAndSoftdevice = bootloader.merge(softdevice);
+        }
+        return this.bootloaderAndSoftdevice;
+    }
+
+    private String readResource(String fileName) throws IOException {
+        return FileUtils.readFileToString(new File(this.robotCompilerResourcesDir, fileName), StandardCharsets.US_ASCII);
     }
 
     /**
@@ -114,6 +141,11 @@ public class CalliopeCompilerWorkflow implements ICompilerWorkflow {
         if ( data.getErrorMessage() != null ) {
             return null;
         }
+        return generateSourceCode(programName, data);
+    }
+
+    @Override
+    public String generateSourceCode(String programName, BlocklyProgramAndConfigTransformer data) {
         return CppCodeGenerationVisitor.generate((CalliopeConfiguration) data.getBrickConfiguration(), data.getProgramTransformer().getTree(), true);
     }
 
@@ -127,18 +159,15 @@ public class CalliopeCompilerWorkflow implements ICompilerWorkflow {
     }
 
     /**
-     * 1. Make target folder (if not exists).<br>
-     * 2. Clean target folder (everything inside).<br>
-     * 3. Compile .java files to .class.<br>
-     * 4. Make jar from class files and add META-INF entries.<br>
+     * compile the program stored in the token-specific directory, link it and write the firmware as hex file. The script <code>compile.sh</code> is used,
+     * on Windows <code>compile.bat</code>. If the runtime headers are precompiled, see {@link #precompileRuntimeHeaders(String)}, they are used.
      *
      * @param token
      * @param mainFile
      * @param mainPackage
+     * @param radioUsed true, if the program uses the radio. Then the runtime libraries without bluetooth are linked
      */
     Key runBuild(String token, String mainFile, String mainPackage, boolean radioUsed) {
-        final StringBuilder sb = new StringBuilder();
-
         String scriptName = this.robotCompilerResourcesDir + "/../compile.sh";
 
         if ( SystemUtils.IS_OS_WINDOWS ) {
@@ -150,36 +179,67 @@ public class CalliopeCompilerWorkflow implements ICompilerWorkflow {
         String bluetooth = radioUsed ? "" : "-b";
         Path path = Paths.get(this.pathToCrosscompilerBaseDir + token + "/" + mainFile);
         Path base = Paths.get("");
+        String precompiledHeaderDir = this.precompiledHeaderDir;
 
-        try {
-            ProcessBuilder procBuilder = new ProcessBuilder(new String[] {
-                scriptName,
-                this.robotCompilerDir,
-                mainFile,
-                base.resolve(path).toAbsolutePath().normalize().toString() + "/",
-                this.robotCompilerResourcesDir,
-                bluetooth
-            });
+        return runScript(
+            scriptName,
+            this.robotCompilerDir,
+            mainFile,
+            base.resolve(path).toAbsolutePath().normalize().toString() + "/",
+            this.robotCompilerResourcesDir,
+            bluetooth,
+            precompiledHeaderDir == null ? "" : precompiledHeaderDir);
+    }
 
+    /**
+     * precompile the runtime headers, that every generated program includes. Parsing these headers dominates the compilation of a program. Called once
+     * when the plugin is started, see {@link AbstractCalliopeFactory}. Programs compiled before the precompiled header is available are compiled without
+     * it. Both variants (with and without bluetooth) use the same header, they differ in the libraries linked only. Not supported on Windows.
+     *
+     * @param precompiledHeaderDir the directory to store the precompiled header into
+     * @return true, if the precompiled header is available
+     */
+    public boolean precompileRuntimeHeaders(String precompiledHeaderDir) {
+        if ( SystemUtils.IS_OS_WINDOWS ) {
+            CalliopeCompilerWorkflow.LOG.info("precompiled headers are not supported on Windows");
+            return false;
+        }
+        String headerDir = Paths.get(precompiledHeaderDir).toAbsolutePath().normalize().toString();
+        long start = System.currentTimeMillis();
+        Key result = runScript(this.robotCompilerResourcesDir + "/../precompile.sh", this.robotCompilerDir, this.robotCompilerResourcesDir, headerDir);
+        if ( result != Key.COMPILERWORKFLOW_SUCCESS ) {
+            CalliopeCompilerWorkflow.LOG.error("the runtime headers in " + this.robotCompilerResourcesDir + " could not be precompiled");
+            return false;
+        }
+        CalliopeCompilerWorkflow.LOG.info("runtime headers in {} precompiled in {} msec", this.robotCompilerResourcesDir, System.currentTimeMillis() - start);
+        this.precompiledHeaderDir = headerDir;
+        return true;
+    }
+
+    private static Key runScript(String... command) {
+        try {
+            ProcessBuilder procBuilder = new ProcessBuilder(command);
             procBuilder.redirectInput(Redirect.INHERIT);
             procBuilder.redirectOutput(Redirect.INHERIT);
             procBuilder.redirectError(Redirect.INHERIT);
             Process p = procBuilder.start();
-            int ecode = p.waitFor();
-            System.err.println("Exit code " + ecode);
-
+            int ecode;
+            try {
+                ecode = p.waitFor();
+            } catch ( InterruptedException e ) {
+                // the compilation was cancelled, e.g. after its timeout. The process must not keep running
+                p.destroyForcibly();
+                Thread.currentThread().interrupt();
+                CalliopeCompilerWorkflow.LOG.info(command[0] + " was cancelled. The process is destroyed");
+                return Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED;
+            }
             if ( ecode != 0 ) {
+                CalliopeCompilerWorkflow.LOG.info("exit code " + ecode + " of " + command[0]);
                 return Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED;
             }
-            this.compiledHex = FileUtils.readFileToString(new File(path + "/target/" + mainFile + ".hex"), "UTF-8");
             return Key.COMPILERWORKFLOW_SUCCESS;
         } catch ( Exception e ) {
-            if ( sb.length() > 0 ) {
-                CalliopeCompilerWorkflow.LOG.error("build exception. Messages from the build script are:\n" + sb.toString(), e);
-            } else {
-                CalliopeCompilerWorkflow.LOG.error("exception when preparing the build", e);
-            }
-            e.printStackTrace();
+            CalliopeCompilerWorkflow.LOG.error("exception when running " + command[0], e);
             return Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED;
         }
     }
@@ -199,8 +259,4 @@ public class CalliopeCompilerWorkflow implements ICompilerWorkflow {
         return transformer.transform(project);
     }
 
-    @Override
-    public String getCompiledCode() {
-        return this.compiledHex;
-    }
 }
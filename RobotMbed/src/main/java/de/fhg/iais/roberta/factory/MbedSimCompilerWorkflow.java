@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import de.fhg.iais.roberta.blockly.generated.BlockSet;
 import de.fhg.iais.roberta.components.Configuration;
 import de.fhg.iais.roberta.jaxb.JaxbHelper;
+import de.fhg.iais.roberta.robotCommunication.CompilationResult;
 import de.fhg.iais.roberta.robotCommunication.ICompilerWorkflow;
 import de.fhg.iais.roberta.syntax.codegen.Ast2MbedSimVisitor;
 import de.fhg.iais.roberta.transformer.BlocklyProgramAndConfigTransformer;
@@ -30,11 +31,11 @@ public class MbedSimCompilerWorkflow implements ICompilerWorkflow {
      * @param programName name of the program
      * @param programText source of the program
      * @param configurationText the hardware configuration source that describes characteristic data of the robot
-     * @return a message key in case of an error; null otherwise
+     * @return the result of this compilation, never null
      */
     @Override
-    public Key execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
-        return null;
+    public CompilationResult execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
+        return CompilationResult.error(Key.COMMAND_INVALID, null); // simulation programs are not compiled
     }
 
     /**
@@ -56,10 +57,11 @@ public class MbedSimCompilerWorkflow implements ICompilerWorkflow {
         if ( data.getErrorMessage() != null ) {
             return null;
         }
-        return generateProgram(programName, data);
+        return generateSourceCode(programName, data);
     }
 
-    private String generateProgram(String programName, BlocklyProgramAndConfigTransformer data) {
+    @Override
+    public String generateSourceCode(String programName, BlocklyProgramAndConfigTransformer data) {
         String sourceCode = Ast2MbedSimVisitor.generate(data.getBrickConfiguration(), data.getProgramTransformer().getTree());
         MbedSimCompilerWorkflow.LOG.info("generating javascript code");
 
@@ -80,9 +82,5 @@ public class MbedSimCompilerWorkflow implements ICompilerWorkflow {
         return transformer.transform(project);
     }
 
-    @Override
-    public String getCompiledCode() {
-        return null;
-    }
 
 }
@@ -1,14 +1,15 @@
 package de.fhg.iais.roberta.factory;
 
-import java.lang.ProcessBuilder.Redirect;
+import java.io.File;
 
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.fhg.iais.roberta.blockly.generated.BlockSet;
 import de.fhg.iais.roberta.components.Configuration;
+import de.fhg.iais.roberta.components.MicrobitHexBuilder;
 import de.fhg.iais.roberta.jaxb.JaxbHelper;
+import de.fhg.iais.roberta.robotCommunication.CompilationResult;
 import de.fhg.iais.roberta.robotCommunication.ICompilerWorkflow;
 import de.fhg.iais.roberta.syntax.codegen.PythonCodeGeneratorVisitor;
 import de.fhg.iais.roberta.transformer.BlocklyProgramAndConfigTransformer;
@@ -21,13 +22,18 @@ public class MicrobitCompilerWorkflow implements ICompilerWorkflow {
 
     public final String robotCompilerResourcesDir;
     public final String robotCompilerDir;
-
-    private String compiledHex = "";
+    private final MicrobitHexBuilder hexBuilder;
 
     public MicrobitCompilerWorkflow(String robotCompilerResourcesDir, String robotCompilerDir) {
         this.robotCompilerResourcesDir = robotCompilerResourcesDir;
         this.robotCompilerDir = robotCompilerDir;
-
+        MicrobitHexBuilder builder = null;
+        try {
+            builder = new MicrobitHexBuilder(new File(robotCompilerResourcesDir, MicrobitHexBuilder.RUNTIME_HEX));
+        } catch ( Exception e ) {
+            MicrobitCompilerWorkflow.LOG.error("the MicroPython runtime could not be loaded. Compilation of micro:bit programs will fail", e);
+        }
+        this.hexBuilder = builder;
     }
 
     /**
@@ -54,19 +60,19 @@ public class MicrobitCompilerWorkflow implements ICompilerWorkflow {
      * @param configurationText
      *        the hardware configuration source that describes
      *        characteristic data of the robot
-     * @return a message key in case of an error; null otherwise
+     * @return the result of this compilation, never null
      */
     @Override
-    public Key execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
+    public CompilationResult execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
         String sourceCode = PythonCodeGeneratorVisitor.generate(data.getBrickConfiguration(), data.getProgramTransformer().getTree(), true);
 
-        Key messageKey = runBuild(sourceCode);
-        if ( messageKey == Key.COMPILERWORKFLOW_SUCCESS ) {
+        CompilationResult result = runBuild(sourceCode);
+        if ( result.isSuccess() ) {
             MicrobitCompilerWorkflow.LOG.info("hex for program {} generated successfully", programName);
         } else {
-            MicrobitCompilerWorkflow.LOG.info(messageKey.toString());
+            MicrobitCompilerWorkflow.LOG.info(result.getMessageKey().toString());
         }
-        return messageKey;
+        return result;
     }
 
     /**
@@ -96,54 +102,33 @@ public class MicrobitCompilerWorkflow implements ICompilerWorkflow {
             return null;
         }
 
+        return generateSourceCode(programName, data);
+    }
+
+    @Override
+    public String generateSourceCode(String programName, BlocklyProgramAndConfigTransformer data) {
         return PythonCodeGeneratorVisitor.generate(data.getBrickConfiguration(), data.getProgramTransformer().getTree(), true);
     }
 
     /**
-     * 1. Make target folder (if not exists).<br>
-     * 2. Clean target folder (everything inside).<br>
-     * 3. Compile .java files to .class.<br>
-     * 4. Make jar from class files and add META-INF entries.<br>
+     * embed the python program into the MicroPython runtime. This is done in memory, no external process is started.
      *
-     * @param token
-     * @param mainFile
-     * @param mainPackage
+     * @param sourceCode the generated python program
+     * @return the result of the build; the program is the hex file to be flashed
      */
-    Key runBuild(String sourceCode) {
-        final StringBuilder sb = new StringBuilder();
-
-        String scriptName = this.robotCompilerResourcesDir + "/compile.py";
-
+    CompilationResult runBuild(String sourceCode) {
+        if ( this.hexBuilder == null ) {
+            return CompilationResult.error(Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED, sourceCode);
+        }
         try {
-            ProcessBuilder procBuilder = new ProcessBuilder(new String[] {
-                this.robotCompilerDir + "python",
-                scriptName,
-                sourceCode
-            });
-
-            procBuilder.redirectInput(Redirect.INHERIT);
-            procBuilder.redirectError(Redirect.INHERIT);
-            Process p = procBuilder.start();
-
-            this.compiledHex = IOUtils.toString(p.getInputStream(), "US-ASCII");
-            //            FileUtils.writeStringToFile(new File("/home/kcvejoski/Desktop/test.hex"), out); TESTING PURPOSE
-            return Key.COMPILERWORKFLOW_SUCCESS;
+            String compiledHex = this.hexBuilder.build(sourceCode);
+            return CompilationResult.success(sourceCode, compiledHex);
         } catch ( Exception e ) {
-            if ( sb.length() > 0 ) {
-                MicrobitCompilerWorkflow.LOG.error("build exception. Messages from the build script are:\n" + sb.toString(), e);
-            } else {
-                MicrobitCompilerWorkflow.LOG.error("exception when preparing the build", e);
-            }
-            e.printStackTrace();
-            return Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED;
+            MicrobitCompilerWorkflow.LOG.error("the hex file could not be generated", e);
+            return CompilationResult.error(Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED, sourceCode);
         }
     }
 
-    @Override
-    public String getCompiledCode() {
-        return this.compiledHex;
-    }
-
     /**
      * return the brick configuration for given XML configuration text.
      *
@@ -25,6 +25,8 @@ import de.fhg.iais.roberta.inter.mode.sensor.ITouchSensorMode;
 import de.fhg.iais.roberta.inter.mode.sensor.IUltrasonicSensorMode;
 import de.fhg.iais.roberta.mode.sensor.TimerSensorMode;
 import de.fhg.iais.roberta.mode.sensor.mbed.BrickKey;
+import de.fhg.iais.roberta.robotCommunication.CachingCompilerWorkflow;
+import de.fhg.iais.roberta.robotCommunication.CompileCache;
 import de.fhg.iais.roberta.robotCommunication.ICompilerWorkflow;
 import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
 import de.fhg.iais.roberta.syntax.Phrase;
@@ -36,7 +38,7 @@ import de.fhg.iais.roberta.util.dbc.DbcException;
 
 public class MicrobitFactory extends AbstractRobotFactory {
 
-    private MicrobitCompilerWorkflow compilerWorkflow;
+    private ICompilerWorkflow compilerWorkflow;
     private final MbedSimCompilerWorkflow microbitSimCompilerWorkflow;
     private final Properties calliopeProperties;
     private final String name;
@@ -46,10 +48,11 @@ public class MicrobitFactory extends AbstractRobotFactory {
 
         this.name = "microbit";
         this.robotPropertyNumber = RobertaProperties.getRobotNumberFromProperty(this.name);
-        this.compilerWorkflow =
+        MicrobitCompilerWorkflow microbitCompilerWorkflow =
             new MicrobitCompilerWorkflow(
                 RobertaProperties.getStringProperty("robot.plugin." + this.robotPropertyNumber + ".compiler.resources.dir"),
                 RobertaProperties.getStringProperty("robot.plugin." + this.robotPropertyNumber + ".compiler.dir"));
+        this.compilerWorkflow = new CachingCompilerWorkflow(this.name, microbitCompilerWorkflow, CompileCache.getSharedCache());
         this.calliopeProperties = Util1.loadProperties("classpath:Microbit.properties");
         this.microbitSimCompilerWorkflow = new MbedSimCompilerWorkflow();
         addBlockTypesFromProperties("Microbit.properties", this.calliopeProperties);
@@ -1,172 +0,0 @@
-package de.fhg.iais.roberta.syntax.check;
-
-import java.util.ArrayList;
-
-import de.fhg.iais.roberta.syntax.Phrase;
-import de.fhg.iais.roberta.syntax.action.mbed.DisplayGetBrightnessAction;
-import de.fhg.iais.roberta.syntax.action.mbed.DisplayGetPixelAction;
-import de.fhg.iais.roberta.syntax.action.mbed.DisplayImageAction;
-import de.fhg.iais.roberta.syntax.action.mbed.DisplaySetBrightnessAction;
-import de.fhg.iais.roberta.syntax.action.mbed.DisplaySetPixelAction;
-import de.fhg.iais.roberta.syntax.action.mbed.DisplayTextAction;
-import de.fhg.iais.roberta.syntax.action.mbed.LedOnAction;
-import de.fhg.iais.roberta.syntax.action.mbed.PinWriteValueSensor;
-import de.fhg.iais.roberta.syntax.action.mbed.PlayNoteAction;
-import de.fhg.iais.roberta.syntax.action.mbed.RadioReceiveAction;
-import de.fhg.iais.roberta.syntax.action.mbed.RadioSendAction;
-import de.fhg.iais.roberta.syntax.expr.Image;
-import de.fhg.iais.roberta.syntax.expr.PredefinedImage;
-import de.fhg.iais.roberta.syntax.expr.RgbColor;
-import de.fhg.iais.roberta.syntax.expr.mbed.LedColor;
-import de.fhg.iais.roberta.syntax.functions.ImageInvertFunction;
-import de.fhg.iais.roberta.syntax.functions.ImageShiftFunction;
-import de.fhg.iais.roberta.syntax.sensor.mbed.AccelerometerOrientationSensor;
-import de.fhg.iais.roberta.syntax.sensor.mbed.AccelerometerSensor;
-import de.fhg.iais.roberta.syntax.sensor.mbed.AmbientLightSensor;
-import de.fhg.iais.roberta.syntax.sensor.mbed.GestureSensor;
-import de.fhg.iais.roberta.syntax.sensor.mbed.MbedGetSampleSensor;
-import de.fhg.iais.roberta.syntax.sensor.mbed.MicrophoneSensor;
-import de.fhg.iais.roberta.syntax.sensor.mbed.PinGetValueSensor;
-import de.fhg.iais.roberta.syntax.sensor.mbed.PinTouchSensor;
-import de.fhg.iais.roberta.syntax.sensor.mbed.TemperatureSensor;
-import de.fhg.iais.roberta.visitor.MbedAstVisitor;
-
-public class MbedLoopsCounterVisitor extends LoopsCounterVisitor implements MbedAstVisitor<Void> {
-
-    public MbedLoopsCounterVisitor(ArrayList<ArrayList<Phrase<Void>>> phrasesSet) {
-        super(phrasesSet);
-
-    }
-
-    @Override
-    public Void visitDisplayTextAction(DisplayTextAction<Void> displayTextAction) {
-        return null;
-    }
-
-    @Override
-    public Void visitPredefinedImage(PredefinedImage<Void> predefinedImage) {
-        return null;
-    }
-
-    @Override
-    public Void visitDisplayImageAction(DisplayImageAction<Void> displayImageAction) {
-        return null;
-    }
-
-    @Override
-    public Void visitPlayNoteAction(PlayNoteAction<Void> playNoteAction) {
-        return null;
-    }
-
-    @Override
-    public Void visitImageShiftFunction(ImageShiftFunction<Void> imageShiftFunction) {
-        return null;
-    }
-
-    @Override
-    public Void visitImageInvertFunction(ImageInvertFunction<Void> imageInvertFunction) {
-        return null;
-    }
-
-    @Override
-    public Void visitImage(Image<Void> image) {
-        return null;
-    }
-
-    @Override
-    public Void visitGestureSensor(GestureSensor<Void> gestureSensor) {
-        return null;
-    }
-
-    @Override
-    public Void visitTemperatureSensor(TemperatureSensor<Void> temperatureSensor) {
-        return null;
-    }
-
-    @Override
-    public Void visitLedColor(LedColor<Void> ledColor) {
-        return null;
-    }
-
-    @Override
-    public Void visitLedOnAction(LedOnAction<Void> ledOnAction) {
-        return null;
-    }
-
-    @Override
-    public Void visitAmbientLightSensor(AmbientLightSensor<Void> ambientLightSensor) {
-        return null;
-    }
-
-    @Override
-    public Void visitRadioSendAction(RadioSendAction<Void> radioSendAction) {
-        return null;
-    }
-
-    @Override
-    public Void visitRadioReceiveAction(RadioReceiveAction<Void> radioReceiveAction) {
-        return null;
-    }
-
-    @Override
-    public Void visitMbedGetSampleSensor(MbedGetSampleSensor<Void> getSampleSensor) {
-        return null;
-    }
-
-    @Override
-    public Void visitRgbColor(RgbColor<Void> rgbColor) {
-        return null;
-    }
-
-    @Override
-    public Void visitPinTouchSensor(PinTouchSensor<Void> pinTouchSensor) {
-        return null;
-    }
-
-    @Override
-    public Void visitPinGetValueSensor(PinGetValueSensor<Void> pinValueSensor) {
-        return null;
-    }
-
-    @Override
-    public Void visitPinWriteValueSensor(PinWriteValueSensor<Void> pinWriteValueSensor) {
-        return null;
-    }
-
-    @Override
-    public Void visitDisplaySetBrightnessAction(DisplaySetBrightnessAction<Void> displaySetBrightnessAction) {
-        return null;
-    }
-
-    @Override
-    public Void visitDisplayGetBrightnessAction(DisplayGetBrightnessAction<Void> displayGetBrightnessAction) {
-        return null;
-    }
-
-    @Override
-    public Void visitDisplaySetPixelAction(DisplaySetPixelAction<Void> displaySetPixelAction) {
-        return null;
-    }
-
-    @Override
-    public Void visitDisplayGetPixelAction(DisplayGetPixelAction<Void> displayGetPixelAction) {
-        return null;
-    }
-
-    @Override
-    public Void visitAccelerometerSensor(AccelerometerSensor<Void> accelerometerSensor) {
-        return null;
-    }
-
-    @Override
-    public Void visitAccelerometerOrientationSensor(AccelerometerOrientationSensor<Void> accelerometerOrientationSensor) {
-        return null;
-    }
-
-    @Override
-    public Void visitMicrophoneSensor(MicrophoneSensor<Void> microphoneSensor) {
-        // TODO Auto-generated method stub
-        return null;
-    }
-
-}
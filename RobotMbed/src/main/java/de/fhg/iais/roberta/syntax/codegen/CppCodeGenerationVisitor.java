@@ -53,7 +53,6 @@ import de.fhg.iais.roberta.syntax.blocksequence.ActivityTask;
 import de.fhg.iais.roberta.syntax.blocksequence.Location;
 import de.fhg.iais.roberta.syntax.blocksequence.MainTask;
 import de.fhg.iais.roberta.syntax.blocksequence.StartActivityTask;
-import de.fhg.iais.roberta.syntax.check.MbedLoopsCounterVisitor;
 import de.fhg.iais.roberta.syntax.expr.ActionExpr;
 import de.fhg.iais.roberta.syntax.expr.Binary;
 import de.fhg.iais.roberta.syntax.expr.Binary.Op;
@@ -179,7 +178,7 @@ public class CppCodeGenerationVisitor implements MbedAstVisitor<Void> {
         this.phrases = phrases;
         this.usedHardwareVisitor = usedHardware;
         this.indentation = indentation;
-        this.loopsLabels = new MbedLoopsCounterVisitor(phrases).getloopsLabelContainer();
+        this.loopsLabels = usedHardware.getloopsLabelContainer();
     }
 
     /**
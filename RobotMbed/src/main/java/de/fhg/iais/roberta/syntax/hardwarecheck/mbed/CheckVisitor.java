@@ -69,6 +69,7 @@ import de.fhg.iais.roberta.syntax.functions.MathRandomIntFunct;
 import de.fhg.iais.roberta.syntax.functions.MathSingleFunct;
 import de.fhg.iais.roberta.syntax.functions.TextJoinFunct;
 import de.fhg.iais.roberta.syntax.functions.TextPrintFunct;
+import de.fhg.iais.roberta.syntax.hardwarecheck.AbstractCheckVisitor;
 import de.fhg.iais.roberta.syntax.methods.MethodCall;
 import de.fhg.iais.roberta.syntax.methods.MethodIfReturn;
 import de.fhg.iais.roberta.syntax.methods.MethodReturn;
@@ -94,16 +95,13 @@ import de.fhg.iais.roberta.syntax.stmt.ExprStmt;
 import de.fhg.iais.roberta.syntax.stmt.FunctionStmt;
 import de.fhg.iais.roberta.syntax.stmt.IfStmt;
 import de.fhg.iais.roberta.syntax.stmt.MethodStmt;
-import de.fhg.iais.roberta.syntax.stmt.RepeatStmt;
 import de.fhg.iais.roberta.syntax.stmt.SensorStmt;
 import de.fhg.iais.roberta.syntax.stmt.Stmt;
-import de.fhg.iais.roberta.syntax.stmt.StmtFlowCon;
 import de.fhg.iais.roberta.syntax.stmt.StmtList;
-import de.fhg.iais.roberta.syntax.stmt.WaitStmt;
 import de.fhg.iais.roberta.syntax.stmt.WaitTimeStmt;
 import de.fhg.iais.roberta.visitor.MbedAstVisitor;
 
-public abstract class CheckVisitor implements MbedAstVisitor<Void> {
+public abstract class CheckVisitor extends AbstractCheckVisitor implements MbedAstVisitor<Void> {
 
     @Override
     public Void visitNumConst(NumConst<Void> numConst) {
@@ -231,24 +229,12 @@ public abstract class CheckVisitor implements MbedAstVisitor<Void> {
         return null;
     }
 
-    @Override
-    public Void visitRepeatStmt(RepeatStmt<Void> repeatStmt) {
-        repeatStmt.getExpr().visit(this);
-        repeatStmt.getList().visit(this);
-        return null;
-    }
-
     @Override
     public Void visitSensorStmt(SensorStmt<Void> sensorStmt) {
         sensorStmt.getSensor().visit(this);
         return null;
     }
 
-    @Override
-    public Void visitStmtFlowCon(StmtFlowCon<Void> stmtFlowCon) {
-        return null;
-    }
-
     @Override
     public Void visitStmtList(StmtList<Void> stmtList) {
         for ( Stmt<Void> stmt : stmtList.get() ) {
@@ -339,12 +325,6 @@ public abstract class CheckVisitor implements MbedAstVisitor<Void> {
         return null;
     }
 
-    @Override
-    public Void visitWaitStmt(WaitStmt<Void> waitStmt) {
-        waitStmt.getStatements().visit(this);
-        return null;
-    }
-
     @Override
     public Void visitWaitTimeStmt(WaitTimeStmt<Void> waitTimeStmt) {
         waitTimeStmt.getTime().visit(this);
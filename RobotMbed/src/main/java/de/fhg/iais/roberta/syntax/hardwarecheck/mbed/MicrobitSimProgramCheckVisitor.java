@@ -45,12 +45,14 @@ public class MicrobitSimProgramCheckVisitor extends SimulationProgramCheckVisito
     @Override
     public Void visitMotorOnAction(MotorOnAction<Void> motorOnAction) {
         motorOnAction.addInfo(NepoInfo.warning("SIM_BLOCK_NOT_SUPPORTED"));
+        this.warningCount++;
         return null;
     }
 
     @Override
     public Void visitMotorStopAction(MotorStopAction<Void> motorStopAction) {
         motorStopAction.addInfo(NepoInfo.warning("SIM_BLOCK_NOT_SUPPORTED"));
+        this.warningCount++;
         return null;
     }
 
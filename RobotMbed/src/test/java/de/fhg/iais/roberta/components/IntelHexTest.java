@@ -0,0 +1,78 @@
+package de.fhg.iais.roberta.components;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.util.dbc.DbcException;
+
+public class IntelHexTest {
+
+    /**
+     * the golden file <code>merged.hex</code> in <code>src/test/resources/hex</code> is written by hand following the record layout of srec_cat (16 data bytes
+     * per record, extended linear address records, start linear address before the end of file record). It is NOT checked against the output of srec_cat,
+     * thus this test only protects the layout of {@link IntelHex#toHex()} against changes. If srec_cat is available, the golden file should be replaced by the
+     * output of the command line of the old <code>compile.sh</code>:
+     *
+     * <pre>
+     * srec_cat bootloader.hex -intel softdevice.hex -intel firmware.hex -intel -o merged.hex -intel --line-length=44
+     * </pre>
+     */
+    @Test
+    public void testMergeEqualsGoldenFile() throws Exception {
+        IntelHex bootloaderAndSoftdevice = IntelHex.parse(resource("bootloader.hex")).merge(IntelHex.parse(resource("softdevice.hex")));
+        String merged = bootloaderAndSoftdevice.merge(IntelHex.parse(resource("firmware.hex"))).toHex();
+        Assert.assertEquals(resource("merged.hex"), merged);
+        Assert.assertEquals(merged, IntelHex.parse(merged).toHex());
+    }
+
+    @Test
+    public void testMergeHasTheBytesOfTheGoldenFile() throws Exception {
+        IntelHex bootloaderAndSoftdevice = IntelHex.parse(resource("bootloader.hex")).merge(IntelHex.parse(resource("softdevice.hex")));
+        IntelHex merged = bootloaderAndSoftdevice.merge(IntelHex.parse(resource("firmware.hex")));
+        IntelHex golden = IntelHex.parse(resource("merged.hex"));
+        Assert.assertEquals(golden.getExecutionStartAddress(), merged.getExecutionStartAddress());
+        long[][] ranges = { { 0x0L, 0x100L }, { 0x18000L, 0x20100L }, { 0x3c000L, 0x3c100L }, { 0x10001000L, 0x10001100L } };
+        for ( long[] range : ranges ) {
+            for ( long address = range[0]; address < range[1]; address++ ) {
+                Assert.assertEquals("byte at " + Long.toHexString(address), golden.get(address), merged.get(address));
+            }
+        }
+    }
+
+    @Test
+    public void testMergedCalliopeImagesContainAllBytes() throws Exception {
+        IntelHex bootloader = IntelHex.parse(libs("BLE_BOOTLOADER_RESERVED.hex"));
+        IntelHex softdevice = IntelHex.parse(libs("s110_nrf51822_8.0.0_softdevice.hex"));
+        IntelHex merged = IntelHex.parse(bootloader.merge(softdevice).toHex());
+        Assert.assertEquals(0x3c0c1L, merged.getExecutionStartAddress().longValue());
+        for ( long address = 0; address < 0x40000; address++ ) {
+            int expected = softdevice.get(address) >= 0 ? softdevice.get(address) : bootloader.get(address);
+            Assert.assertEquals(expected, merged.get(address));
+        }
+        Assert.assertEquals(0x00, merged.get(0x10001014L));
+        Assert.assertEquals(0xc0, merged.get(0x10001015L));
+    }
+
+    @Test(expected = DbcException.class)
+    public void testContradictoryValuesAreRejected() throws Exception {
+        IntelHex.parse(":0100000001FE\n:00000001FF\n").merge(IntelHex.parse(":0100000002FD\n:00000001FF\n"));
+    }
+
+    @Test(expected = DbcException.class)
+    public void testInvalidChecksumIsRejected() throws Exception {
+        IntelHex.parse(":0100000001FF\n:00000001FF\n");
+    }
+
+    private static String resource(String fileName) throws Exception {
+        return IOUtils.toString(IntelHexTest.class.getResourceAsStream("/hex/" + fileName), StandardCharsets.US_ASCII);
+    }
+
+    private static String libs(String fileName) throws Exception {
+        return FileUtils.readFileToString(new File("resources/libs2017/" + fileName), StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,74 @@
+package de.fhg.iais.roberta.components;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.fhg.iais.roberta.util.dbc.DbcException;
+
+public class MicrobitHexBuilderTest {
+    private static final File RUNTIME = new File("resources/" + MicrobitHexBuilder.RUNTIME_HEX);
+    private static final String RUNTIME_END = ":04000005000153891A\n:00000001FF\n";
+
+    private static String runtime;
+    private static MicrobitHexBuilder hexBuilder;
+
+    @BeforeClass
+    public static void loadRuntime() throws Exception {
+        runtime = FileUtils.readFileToString(RUNTIME, StandardCharsets.US_ASCII);
+        hexBuilder = new MicrobitHexBuilder(RUNTIME);
+    }
+
+    @Test
+    public void testScriptIsInsertedBeforeTheLastTwoRecords() throws Exception {
+        String expected =
+            runtime.substring(0, runtime.length() - RUNTIME_END.length())
+                + ":020000040003F7\n"
+                + ":10E000004D50170066726F6D206D6963726F6269A3\n"
+                + ":10E010007420696D706F7274202A0A00000000007D\n"
+                + RUNTIME_END
+                + "\n";
+        Assert.assertEquals(expected, hexBuilder.build("from microbit import *\n"));
+        Assert.assertEquals(expected, hexBuilder.build("from microbit import *\r\n"));
+    }
+
+    @Test
+    public void testScriptFillingTheLastRecordGetsARecordOfZeros() throws Exception {
+        String hex = hexBuilder.build("0123456789AB");
+        Assert.assertTrue(hex.contains(":10E000004D500C00303132333435363738394142D7\n:10E010000000000000000000000000000000000000\n" + RUNTIME_END));
+    }
+
+    @Test
+    public void testAllRecordsHaveValidChecksums() throws Exception {
+        StringBuilder script = new StringBuilder();
+        for ( int i = 0; i < 200; i++ ) {
+            script.append("display.scroll('äöü ").append(i).append("')\n");
+        }
+        String hex = hexBuilder.build(script.toString());
+        for ( String record : hex.trim().split("\n") ) {
+            Assert.assertEquals(':', record.charAt(0));
+            int sum = 0;
+            for ( int i = 1; i < record.length(); i += 2 ) {
+                sum += Integer.parseInt(record.substring(i, i + 2), 16);
+            }
+            Assert.assertEquals(record, 0, sum & 0xff);
+        }
+    }
+
+    @Test
+    public void testEmptyScriptLeavesTheRuntimeUnchanged() throws Exception {
+        Assert.assertEquals(runtime + "\n", hexBuilder.build(""));
+    }
+
+    @Test(expected = DbcException.class)
+    public void testTooLargeScriptIsRejected() throws Exception {
+        char[] script = new char[8188];
+        Arrays.fill(script, 'x');
+        hexBuilder.build(new String(script));
+    }
+}
@@ -0,0 +1,81 @@
+package de.fhg.iais.roberta.factory;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.fhg.iais.roberta.components.CalliopeConfiguration;
+import de.fhg.iais.roberta.testutil.Helper;
+import de.fhg.iais.roberta.util.Key;
+import de.fhg.iais.roberta.util.testsetup.IntegrationTest;
+
+/**
+ * measures the compilation of the C++ programs generated from the mbed test resources with and without the precompiled runtime headers. Needs the
+ * arm-none-eabi toolchain on the PATH.
+ */
+@Ignore
+@Category(IntegrationTest.class)
+public class CalliopeCompilePerformanceTest {
+    private static final Logger LOG = LoggerFactory.getLogger(CalliopeCompilePerformanceTest.class);
+
+    private static final String RESOURCES_DIR = "resources/libs2017";
+    private static final String TEMP_DIR = "target/calliopeCompilePerformance/";
+    private static final String PROGRAM_NAME = "NEPOprog";
+    private static final int NUMBER_OF_PROGRAMS = 10;
+
+    @Test
+    public void compareCompilationWithAndWithoutPrecompiledHeaders() throws Exception {
+        List<String> programs = generatePrograms();
+        LOG.info(programs.size() + " programs of the test resources are compiled");
+
+        CalliopeCompilerWorkflow workflow = new CalliopeCompilerWorkflow(TEMP_DIR, RESOURCES_DIR, "");
+        long withoutNanos = compile(workflow, programs, "without");
+        Assert.assertTrue(workflow.precompileRuntimeHeaders(TEMP_DIR + "precompiledHeaders"));
+        long withNanos = compile(workflow, programs, "with");
+        LOG.info("without precompiled headers: " + withoutNanos / 1000000 / programs.size() + " msec per program");
+        LOG.info("with precompiled headers:    " + withNanos / 1000000 / programs.size() + " msec per program");
+    }
+
+    private static List<String> generatePrograms() throws Exception {
+        CalliopeConfiguration configuration = (CalliopeConfiguration) new CalliopeConfiguration.Builder().build();
+        List<String> programs = new ArrayList<>();
+        for ( File xml : FileUtils.listFiles(new File("src/test/resources"), new String[] {
+            "xml"
+        }, true) ) {
+            if ( programs.size() == NUMBER_OF_PROGRAMS ) {
+                break;
+            }
+            try {
+                programs.add(Helper.generateString("/" + new File("src/test/resources").toURI().relativize(xml.toURI()).getPath(), configuration));
+            } catch ( Exception e ) {
+                // not a program, skipped
+            }
+        }
+        Assert.assertFalse(programs.isEmpty());
+        return programs;
+    }
+
+    /**
+     * @return the nanoseconds needed to compile, link and convert the programs into hex files
+     */
+    private static long compile(CalliopeCompilerWorkflow workflow, List<String> programs, String token) throws Exception {
+        long nanos = 0;
+        for ( String program : programs ) {
+            FileUtils.writeStringToFile(new File(TEMP_DIR + token + "/" + PROGRAM_NAME + "/source/" + PROGRAM_NAME + ".cpp"), program, StandardCharsets.UTF_8);
+            new File(TEMP_DIR + token + "/" + PROGRAM_NAME + "/target").mkdirs();
+            long start = System.nanoTime();
+            Assert.assertEquals(Key.COMPILERWORKFLOW_SUCCESS, workflow.runBuild(token, PROGRAM_NAME, "generated.main", false));
+            nanos += System.nanoTime() - start;
+        }
+        return nanos;
+    }
+}
@@ -1,5 +1,7 @@
 package de.fhg.iais.roberta.syntax.codegen;
 
+import java.util.ArrayList;
+
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
@@ -7,6 +9,8 @@ import org.junit.Test;
 
 import de.fhg.iais.roberta.components.CalliopeConfiguration;
 import de.fhg.iais.roberta.components.Configuration;
+import de.fhg.iais.roberta.syntax.Phrase;
+import de.fhg.iais.roberta.syntax.hardwarecheck.mbed.UsedHardwareVisitor;
 import de.fhg.iais.roberta.testutil.Helper;
 
 public class CppCodeGeneratorVisitorTest {
@@ -514,6 +518,7 @@ public class CppCodeGeneratorVisitorTest {
             + END;
 
         assertCodeIsOk(a, "/stmts/no_loops.xml");
+        assertLoopsAreLabeled("{}", "/stmts/no_loops.xml");
     }
 
     @Test
@@ -536,6 +541,7 @@ public class CppCodeGeneratorVisitorTest {
             + "}"
             + END;
         assertCodeIsOk(a, "/stmts/nested_loops.xml");
+        assertLoopsAreLabeled("{1=false, 2=false}", "/stmts/nested_loops.xml");
     }
 
     @Test
@@ -582,6 +588,7 @@ public class CppCodeGeneratorVisitorTest {
             + "}"
             + END;
         assertCodeIsOk(a, "/stmts/loops_with_break_and_continue.xml");
+        assertLoopsAreLabeled("{1=false, 2=false, 3=false, 4=false, 5=false}", "/stmts/loops_with_break_and_continue.xml");
     }
 
     @Test
@@ -608,6 +615,7 @@ public class CppCodeGeneratorVisitorTest {
             + "break_loop1:"
             + END;
         assertCodeIsOk(a, "/stmts/loop_with_break_and_continue_inside_wait.xml");
+        assertLoopsAreLabeled("{1=true}", "/stmts/loop_with_break_and_continue_inside_wait.xml");
     }
 
     @Test
@@ -639,6 +647,7 @@ public class CppCodeGeneratorVisitorTest {
             + END;
 
         assertCodeIsOk(a, "/stmts/two_loop_with_break_and_continue_one_inside_wait_another_not.xml");
+        assertLoopsAreLabeled("{1=true, 2=false}", "/stmts/two_loop_with_break_and_continue_one_inside_wait_another_not.xml");
     }
 
     @Test
@@ -669,6 +678,7 @@ public class CppCodeGeneratorVisitorTest {
             + "break_loop1:"
             + END;
         assertCodeIsOk(a, "/stmts/two_nested_loops_first_with_break_in_wait_second_not.xml");
+        assertLoopsAreLabeled("{1=true, 2=false}", "/stmts/two_nested_loops_first_with_break_in_wait_second_not.xml");
     }
 
     @Test
@@ -705,6 +715,7 @@ public class CppCodeGeneratorVisitorTest {
             + END;
 
         assertCodeIsOk(a, "/stmts/loop_with_nested_two_loops_inside_wait.xml");
+        assertLoopsAreLabeled("{1=true, 2=false, 3=false}", "/stmts/loop_with_nested_two_loops_inside_wait.xml");
     }
 
     @Test
@@ -750,6 +761,7 @@ public class CppCodeGeneratorVisitorTest {
             + "break_loop1:"
             + END;
         assertCodeIsOk(a, "/stmts/loop_with_nested_two_loops_inside_wait_second_contain_wait.xml");
+        assertLoopsAreLabeled("{1=true, 2=false, 3=true}", "/stmts/loop_with_nested_two_loops_inside_wait_second_contain_wait.xml");
     }
 
     @Test
@@ -817,9 +829,15 @@ public class CppCodeGeneratorVisitorTest {
             + "break_loop5:"
             + END;
         assertCodeIsOk(a, "/stmts/three_loops_with_nested_two_loops_inside_wait_second_contain_wait.xml");
+        assertLoopsAreLabeled("{1=true, 2=false, 3=true, 4=false, 5=true}", "/stmts/three_loops_with_nested_two_loops_inside_wait_second_contain_wait.xml");
     }
 
     private void assertCodeIsOk(String a, String fileName) throws Exception {
         Assert.assertEquals(a.replaceAll("\\s+", ""), Helper.generateString(fileName, brickConfiguration).replaceAll("\\s+", ""));
     }
+
+    private void assertLoopsAreLabeled(String labels, String fileName) throws Exception {
+        ArrayList<ArrayList<Phrase<Void>>> phrases = Helper.generateASTs(fileName);
+        Assert.assertEquals(labels, new UsedHardwareVisitor(phrases).getloopsLabelContainer().toString());
+    }
 }
@@ -1,30 +1,25 @@
 package de.fhg.iais.roberta.factory;
 
-import java.io.File;
 import java.nio.charset.StandardCharsets;
 
-import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.fhg.iais.roberta.blockly.generated.BlockSet;
 import de.fhg.iais.roberta.components.Configuration;
 import de.fhg.iais.roberta.jaxb.JaxbHelper;
+import de.fhg.iais.roberta.robotCommunication.CompilationResult;
 import de.fhg.iais.roberta.robotCommunication.ICompilerWorkflow;
 import de.fhg.iais.roberta.syntax.codegen.Ast2NaoPythonVisitor;
 import de.fhg.iais.roberta.transformer.BlocklyProgramAndConfigTransformer;
 import de.fhg.iais.roberta.transformer.Jaxb2NaoConfigurationTransformer;
-import de.fhg.iais.roberta.util.Key;
-import de.fhg.iais.roberta.util.dbc.Assert;
 
 public class NAOCompilerWorkflow implements ICompilerWorkflow {
 
     private static final Logger LOG = LoggerFactory.getLogger(NAOCompilerWorkflow.class);
-    public final String pathToCrosscompilerBaseDir;
     public final String crossCompilerResourcesDir;
 
-    public NAOCompilerWorkflow(String pathToCrosscompilerBaseDir, String crossCompilerResourcesDir) {
-        this.pathToCrosscompilerBaseDir = pathToCrosscompilerBaseDir;
+    public NAOCompilerWorkflow(String crossCompilerResourcesDir) {
         this.crossCompilerResourcesDir = crossCompilerResourcesDir;
 
     }
@@ -34,31 +29,23 @@ public class NAOCompilerWorkflow implements ICompilerWorkflow {
      * - generate the AST<br>
      * - typecheck the AST, execute sanity checks, check a matching brick configuration<br>
      * - generate Java code<br>
-     * - store the code in a token-specific (thus user-specific) directory<br>
-     * - compile the code and generate a jar in the token-specific directory (use a ant script, will be replaced later)<br>
-     * <b>Note:</b> the jar is prepared for upload, but not uploaded from here. After a handshake with the brick (the brick has to tell, that it is ready) the
-     * jar is uploaded to the brick from another thread and then started on the brick
+     * - return the code as program to be downloaded. Nothing is written to disk<br>
+     * <b>Note:</b> the program is prepared for upload, but not uploaded from here. After a handshake with the robot (the robot has to tell, that it is ready)
+     * the program is uploaded to the robot from another thread and then started on the robot
      *
      * @param token the credential the end user (at the terminal) and the brick have both agreed to use
      * @param programName name of the program
      * @param programText source of the program
      * @param configurationText the hardware configuration source that describes characteristic data of the robot
-     * @return a message key in case of an error; null otherwise
+     * @return the result of this compilation, never null
      */
     @Override
-    public Key execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
-        String sourceCode = generateProgram(programName, data);
+    public CompilationResult execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
+        String sourceCode = generateSourceCode(programName, data);
         //Ev3CompilerWorkflow.LOG.info("generated code:\n{}", sourceCode); // only needed for EXTREME debugging
-        try {
-            storeGeneratedProgram(token, programName, sourceCode, ".py");
-        } catch ( final Exception e ) {
-            NAOCompilerWorkflow.LOG.error("Storing the generated program into directory " + token + " failed", e);
-            return Key.COMPILERWORKFLOW_ERROR_PROGRAM_STORE_FAILED;
-        }
-
         // maybe copy from /src/ to /target/
         // python -c "import py_compile; py_compile.compile('.../src/...py','.../target/....pyc')"
-        return Key.COMPILERWORKFLOW_SUCCESS;
+        return CompilationResult.success(sourceCode, programName + ".py", sourceCode.getBytes(StandardCharsets.UTF_8));
 
     }
 
@@ -81,22 +68,16 @@ public class NAOCompilerWorkflow implements ICompilerWorkflow {
         if ( data.getErrorMessage() != null ) {
             return null;
         }
-        return generateProgram(programName, data);
+        return generateSourceCode(programName, data);
     }
 
-    private String generateProgram(String programName, BlocklyProgramAndConfigTransformer data) {
+    @Override
+    public String generateSourceCode(String programName, BlocklyProgramAndConfigTransformer data) {
         String sourceCode = Ast2NaoPythonVisitor.generate(programName, data.getBrickConfiguration(), data.getProgramTransformer().getTree(), true);
         NAOCompilerWorkflow.LOG.info("generating {} code", toString().toLowerCase());
         return sourceCode;
     }
 
-    private void storeGeneratedProgram(String token, String programName, String sourceCode, String ext) throws Exception {
-        Assert.isTrue(token != null && programName != null && sourceCode != null);
-        File sourceFile = new File(this.pathToCrosscompilerBaseDir + token + "/src/" + programName + ext);
-        NAOCompilerWorkflow.LOG.info("stored under: " + sourceFile.getPath());
-        FileUtils.writeStringToFile(sourceFile, sourceCode, StandardCharsets.UTF_8.displayName());
-    }
-
     /**
      * return the brick configuration for given XML configuration text.
      *
@@ -110,10 +91,4 @@ public class NAOCompilerWorkflow implements ICompilerWorkflow {
         final Jaxb2NaoConfigurationTransformer transformer = new Jaxb2NaoConfigurationTransformer(factory);
         return transformer.transform(project);
     }
-
-    @Override
-    public String getCompiledCode() {
-        return null;
-    }
-
 }
@@ -57,9 +57,7 @@ public class NAOFactory extends AbstractRobotFactory {
         this.naoProperties = Util1.loadProperties("classpath:NAO.properties");
 
         this.compilerWorkflow =
-            new NAOCompilerWorkflow(
-                RobertaProperties.getTempDirForUserProjects(),
-                RobertaProperties.getStringProperty("robot.plugin." + this.robotPropertyNumber + ".compiler.resources.dir"));
+            new NAOCompilerWorkflow(RobertaProperties.getStringProperty("robot.plugin." + this.robotPropertyNumber + ".compiler.resources.dir"));
         addBlockTypesFromProperties("NAO.properties", this.naoProperties);
     }
 
@@ -78,7 +78,6 @@ import de.fhg.iais.roberta.syntax.blocksequence.ActivityTask;
 import de.fhg.iais.roberta.syntax.blocksequence.Location;
 import de.fhg.iais.roberta.syntax.blocksequence.MainTask;
 import de.fhg.iais.roberta.syntax.blocksequence.StartActivityTask;
-import de.fhg.iais.roberta.syntax.check.NaoLoopsCounterVisitor;
 import de.fhg.iais.roberta.syntax.expr.ActionExpr;
 import de.fhg.iais.roberta.syntax.expr.Binary;
 import de.fhg.iais.roberta.syntax.expr.BoolConst;
@@ -200,6 +199,7 @@ public class Ast2NaoPythonVisitor implements NaoAstVisitor<Void> {
         //this.brickConfiguration = brickConfiguration;
         this.indentation = indentation;
         //this.usedHardware = usedHardwareVisitor;
+        this.loopsLabels = usedHardwareVisitor.getloopsLabelContainer();
         for ( int i = 0; i < indentation; i++ ) {
             this.indent.append(INDENT);
         }
@@ -230,7 +230,6 @@ public class Ast2NaoPythonVisitor implements NaoAstVisitor<Void> {
     }
 
     private void generateCodeFromPhrases(ArrayList<ArrayList<Phrase<Void>>> phrasesSet, boolean withWrapping, Ast2NaoPythonVisitor astVisitor) {
-        this.loopsLabels = new NaoLoopsCounterVisitor(phrasesSet).getloopsLabelContainer();
         boolean mainBlock = false;
         for ( ArrayList<Phrase<Void>> phrases : phrasesSet ) {
             for ( Phrase<Void> phrase : phrases ) {
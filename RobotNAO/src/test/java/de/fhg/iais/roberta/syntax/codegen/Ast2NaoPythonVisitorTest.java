@@ -1,9 +1,16 @@
 package de.fhg.iais.roberta.syntax.codegen;
 
+import java.util.ArrayList;
+
+import org.junit.Assert;
 import org.junit.BeforeClass;
+import org.junit.Test;
 
 import de.fhg.iais.roberta.components.Configuration;
 import de.fhg.iais.roberta.components.NAOConfiguration;
+import de.fhg.iais.roberta.syntax.Phrase;
+import de.fhg.iais.roberta.syntax.hardwarecheck.nao.UsedHardwareVisitor;
+import de.fhg.iais.roberta.testutil.Helper;
 
 public class Ast2NaoPythonVisitorTest {
 
@@ -31,4 +38,14 @@ public class Ast2NaoPythonVisitorTest {
         Configuration.Builder<?> configuration = new NAOConfiguration.Builder();
         brickConfiguration = configuration.build();
     }
+
+    @Test
+    public void check_loopsWithBreakAndContinueFitstInWaitSecondNot_returnsFirstLoopLabeled() throws Exception {
+        assertLoopsAreLabeled("{1=true, 2=false}", "/stmt/two_loop_with_break_and_continue_one_inside_wait_another_not.xml");
+    }
+
+    private void assertLoopsAreLabeled(String labels, String fileName) throws Exception {
+        ArrayList<ArrayList<Phrase<Void>>> phrases = Helper.generateASTs(fileName);
+        Assert.assertEquals(labels, new UsedHardwareVisitor(phrases).getloopsLabelContainer().toString());
+    }
 }
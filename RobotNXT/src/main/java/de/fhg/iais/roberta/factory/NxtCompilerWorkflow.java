@@ -1,6 +1,7 @@
 package de.fhg.iais.roberta.factory;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.ProcessBuilder.Redirect;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -15,6 +16,7 @@ import de.fhg.iais.roberta.blockly.generated.BlockSet;
 import de.fhg.iais.roberta.components.Configuration;
 import de.fhg.iais.roberta.components.NxtConfiguration;
 import de.fhg.iais.roberta.jaxb.JaxbHelper;
+import de.fhg.iais.roberta.robotCommunication.CompilationResult;
 import de.fhg.iais.roberta.robotCommunication.ICompilerWorkflow;
 import de.fhg.iais.roberta.syntax.codegen.Ast2NxcVisitor;
 import de.fhg.iais.roberta.transformer.BlocklyProgramAndConfigTransformer;
@@ -49,26 +51,33 @@ public class NxtCompilerWorkflow implements ICompilerWorkflow {
      * @param programName name of the program
      * @param programText source of the program
      * @param configurationText the hardware configuration source that describes characteristic data of the robot
-     * @return a message key in case of an error; null otherwise
+     * @return the result of this compilation, never null
      */
     @Override
-    public Key execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
+    public CompilationResult execute(String token, String programName, BlocklyProgramAndConfigTransformer data) {
         String sourceCode = Ast2NxcVisitor.generate((NxtConfiguration) data.getBrickConfiguration(), data.getProgramTransformer().getTree(), true);
 
         try {
             storeGeneratedProgram(token, programName, sourceCode, ".nxc");
         } catch ( Exception e ) {
             NxtCompilerWorkflow.LOG.error("Storing the generated program into directory " + token + " failed", e);
-            return Key.COMPILERWORKFLOW_ERROR_PROGRAM_STORE_FAILED;
+            return CompilationResult.error(Key.COMPILERWORKFLOW_ERROR_PROGRAM_STORE_FAILED, sourceCode);
         }
 
         Key messageKey = runBuild(token, programName, "generated.main");
-        if ( messageKey == Key.COMPILERWORKFLOW_SUCCESS ) {
-            NxtCompilerWorkflow.LOG.info("rxc for program {} generated successfully", programName);
-        } else {
+        if ( messageKey != Key.COMPILERWORKFLOW_SUCCESS ) {
             NxtCompilerWorkflow.LOG.info(messageKey.toString());
+            return CompilationResult.error(messageKey, sourceCode);
+        }
+        NxtCompilerWorkflow.LOG.info("rxc for program {} generated successfully", programName);
+        // the cross compiler needs files. The result is kept in memory, because the robot downloads it later from the artifact store
+        File compiledFile = new File(this.pathToCrosscompilerBaseDir + token + "/" + programName + ".rxe");
+        try {
+            return CompilationResult.success(sourceCode, programName + ".rxe", FileUtils.readFileToByteArray(compiledFile));
+        } catch ( IOException e ) {
+            NxtCompilerWorkflow.LOG.error("the compiled program " + compiledFile.getPath() + " could not be read", e);
+            return CompilationResult.error(Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED, sourceCode);
         }
-        return messageKey;
     }
 
     /**
@@ -91,6 +100,11 @@ public class NxtCompilerWorkflow implements ICompilerWorkflow {
             return null;
         }
 
+        return generateSourceCode(programName, data);
+    }
+
+    @Override
+    public String generateSourceCode(String programName, BlocklyProgramAndConfigTransformer data) {
         return Ast2NxcVisitor.generate((NxtConfiguration) data.getBrickConfiguration(), data.getProgramTransformer().getTree(), true);
     }
 
@@ -135,7 +149,16 @@ public class NxtCompilerWorkflow implements ICompilerWorkflow {
             procBuilder.redirectOutput(Redirect.INHERIT);
             procBuilder.redirectError(Redirect.INHERIT);
             Process p = procBuilder.start();
-            int ecode = p.waitFor();
+            int ecode;
+            try {
+                ecode = p.waitFor();
+            } catch ( InterruptedException e ) {
+                // the compilation was cancelled, e.g. after its timeout. The process must not keep running
+                p.destroyForcibly();
+                Thread.currentThread().interrupt();
+                NxtCompilerWorkflow.LOG.info("the build was cancelled. The compiler is destroyed");
+                return Key.COMPILERWORKFLOW_ERROR_PROGRAM_COMPILE_FAILED;
+            }
             System.err.println("Exit code " + ecode);
 
             if ( ecode != 0 ) {
@@ -166,10 +189,4 @@ public class NxtCompilerWorkflow implements ICompilerWorkflow {
         Jaxb2NxtConfigurationTransformer transformer = new Jaxb2NxtConfigurationTransformer(factory);
         return transformer.transform(project);
     }
-
-    @Override
-    public String getCompiledCode() {
-        // TODO Auto-generated method stub
-        return null;
-    }
 }
@@ -42,6 +42,8 @@ import de.fhg.iais.roberta.mode.sensor.nxt.SoundSensorMode;
 import de.fhg.iais.roberta.mode.sensor.nxt.TimerSensorMode;
 import de.fhg.iais.roberta.mode.sensor.nxt.TouchSensorMode;
 import de.fhg.iais.roberta.mode.sensor.nxt.UltrasonicSensorMode;
+import de.fhg.iais.roberta.robotCommunication.CachingCompilerWorkflow;
+import de.fhg.iais.roberta.robotCommunication.CompileCache;
 import de.fhg.iais.roberta.robotCommunication.ICompilerWorkflow;
 import de.fhg.iais.roberta.robotCommunication.RobotCommunicator;
 import de.fhg.iais.roberta.syntax.Phrase;
@@ -51,7 +53,7 @@ import de.fhg.iais.roberta.util.Util1;
 import de.fhg.iais.roberta.util.dbc.DbcException;
 
 public class NxtFactory extends AbstractRobotFactory {
-    private final NxtCompilerWorkflow robotCompilerWorkflow;
+    private final ICompilerWorkflow robotCompilerWorkflow;
     private final NxtSimCompilerWorkflow simCompilerWorkflow;
     private final Properties nxtProperties;
     private final String name;
@@ -61,10 +63,11 @@ public class NxtFactory extends AbstractRobotFactory {
 
         this.name = "nxt";
         this.robotPropertyNumber = RobertaProperties.getRobotNumberFromProperty(this.name);
-        this.robotCompilerWorkflow =
+        NxtCompilerWorkflow nxtCompilerWorkflow =
             new NxtCompilerWorkflow(
                 RobertaProperties.getTempDirForUserProjects(),
                 RobertaProperties.getStringProperty("robot.plugin." + this.robotPropertyNumber + ".compiler.resources.dir"));
+        this.robotCompilerWorkflow = new CachingCompilerWorkflow(this.name, nxtCompilerWorkflow, CompileCache.getSharedCache());
         this.nxtProperties = Util1.loadProperties("classpath:NXT.properties");
 
         this.simCompilerWorkflow = new NxtSimCompilerWorkflow();
@@ -48,7 +48,6 @@ import de.fhg.iais.roberta.syntax.blocksequence.ActivityTask;
 import de.fhg.iais.roberta.syntax.blocksequence.Location;
 import de.fhg.iais.roberta.syntax.blocksequence.MainTask;
 import de.fhg.iais.roberta.syntax.blocksequence.StartActivityTask;
-import de.fhg.iais.roberta.syntax.check.NxcLoopsCounterVisitor;
 import de.fhg.iais.roberta.syntax.expr.ActionExpr;
 import de.fhg.iais.roberta.syntax.expr.Binary;
 import de.fhg.iais.roberta.syntax.expr.Binary.Op;
@@ -88,6 +87,7 @@ import de.fhg.iais.roberta.syntax.functions.MathRandomIntFunct;
 import de.fhg.iais.roberta.syntax.functions.MathSingleFunct;
 import de.fhg.iais.roberta.syntax.functions.TextJoinFunct;
 import de.fhg.iais.roberta.syntax.functions.TextPrintFunct;
+import de.fhg.iais.roberta.syntax.hardwarecheck.nxt.UsedHardwareVisitor;
 import de.fhg.iais.roberta.syntax.methods.MethodCall;
 import de.fhg.iais.roberta.syntax.methods.MethodIfReturn;
 import de.fhg.iais.roberta.syntax.methods.MethodReturn;
@@ -147,21 +147,20 @@ public class Ast2NxcVisitor implements NxtAstVisitor<Void> {
      * initialize the Java code generator visitor.
      *
      * @param brickConfiguration hardware configuration of the brick
-     * @param usedFunctions in the current program
      * @param indentation to start with. Will be incr/decr depending on block structure
+     * @param usedHardwareVisitor the analysis of the program: used timer and volume, labels of the loops
      */
     public Ast2NxcVisitor(
         NxtConfiguration brickConfiguration,
         int indentation,
-        boolean timeSensorUsed,
-        boolean volumeActionUsed,
+        UsedHardwareVisitor usedHardwareVisitor,
         ArrayList<ArrayList<Phrase<Void>>> phrases) {
         this.brickConfiguration = brickConfiguration;
         this.indentation = indentation;
-        this.timeSensorUsed = timeSensorUsed;
-        this.volumeActionUsed = volumeActionUsed;
+        this.timeSensorUsed = usedHardwareVisitor.isTimerSensorUsed();
+        this.volumeActionUsed = usedHardwareVisitor.isVolumeUsed();
         this.phrases = phrases;
-        this.loopsLabels = new NxcLoopsCounterVisitor(phrases).getloopsLabelContainer();
+        this.loopsLabels = usedHardwareVisitor.getloopsLabelContainer();
     }
 
     /**
@@ -176,10 +175,8 @@ public class Ast2NxcVisitor implements NxtAstVisitor<Void> {
         Assert.notNull(brickConfiguration);
         Assert.isTrue(phrasesSet.size() >= 1);
 
-        boolean timeSensorUsed = NxtUsedTimerVisitor.check(phrasesSet);
-
-        boolean volumeActionUsed = NxtUsedVolumeVisitor.check(phrasesSet);
-        final Ast2NxcVisitor astVisitor = new Ast2NxcVisitor(brickConfiguration, withWrapping ? 1 : 0, timeSensorUsed, volumeActionUsed, phrasesSet);
+        UsedHardwareVisitor usedHardwareVisitor = new UsedHardwareVisitor(phrasesSet);
+        final Ast2NxcVisitor astVisitor = new Ast2NxcVisitor(brickConfiguration, withWrapping ? 1 : 0, usedHardwareVisitor, phrasesSet);
         astVisitor.generatePrefix(withWrapping, phrasesSet);
         astVisitor.generateCodeFromPhrases(phrasesSet, withWrapping, astVisitor);
         return astVisitor.sb.toString();
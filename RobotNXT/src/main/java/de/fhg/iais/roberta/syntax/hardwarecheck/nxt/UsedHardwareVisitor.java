@@ -1,4 +1,4 @@
-package de.fhg.iais.roberta.syntax.codegen;
+package de.fhg.iais.roberta.syntax.hardwarecheck.nxt;
 
 import java.util.ArrayList;
 
@@ -12,7 +12,9 @@ import de.fhg.iais.roberta.syntax.action.generic.MotorGetPowerAction;
 import de.fhg.iais.roberta.syntax.action.generic.MotorOnAction;
 import de.fhg.iais.roberta.syntax.action.generic.MotorSetPowerAction;
 import de.fhg.iais.roberta.syntax.action.generic.MotorStopAction;
+import de.fhg.iais.roberta.syntax.action.generic.ToneAction;
 import de.fhg.iais.roberta.syntax.action.generic.TurnAction;
+import de.fhg.iais.roberta.syntax.action.generic.VolumeAction;
 import de.fhg.iais.roberta.syntax.action.nxt.addition.ShowHelloWorldAction;
 import de.fhg.iais.roberta.syntax.expr.ConnectConst;
 import de.fhg.iais.roberta.syntax.hardwarecheck.CheckVisitor;
@@ -28,35 +30,53 @@ import de.fhg.iais.roberta.syntax.sensor.generic.TouchSensor;
 import de.fhg.iais.roberta.syntax.sensor.generic.UltrasonicSensor;
 import de.fhg.iais.roberta.syntax.sensor.generic.VoltageSensor;
 import de.fhg.iais.roberta.util.dbc.Assert;
-import de.fhg.iais.roberta.visitor.AstVisitor;
 import de.fhg.iais.roberta.visitor.NxtAstVisitor;
 
 /**
- * This class is implementing {@link AstVisitor}. All methods are implemented and they
- * append a human-readable JAVA code representation of a phrase to a StringBuilder. <b>This representation is correct JAVA code.</b> <br>
+ * collects in one traversal of the AST, what the NXC code generator has to know about a program: whether the timer sensor is used, whether the volume is
+ * used by a volume or tone action and the labels of the loops (see {@link CheckVisitor}). Sensors and actions without subexpressions contribute nothing.
  */
-public class NxtUsedTimerVisitor extends CheckVisitor implements NxtAstVisitor<Void> {
+public class UsedHardwareVisitor extends CheckVisitor implements NxtAstVisitor<Void> {
 
-    private boolean isUsed = false;
+    private boolean timerSensorUsed = false;
+    private boolean volumeUsed = false;
 
-    public static boolean check(ArrayList<ArrayList<Phrase<Void>>> phrasesSet) {
+    public UsedHardwareVisitor(ArrayList<ArrayList<Phrase<Void>>> phrasesSet) {
+        check(phrasesSet);
+    }
+
+    private void check(ArrayList<ArrayList<Phrase<Void>>> phrasesSet) {
         Assert.isTrue(phrasesSet.size() >= 1);
-        NxtUsedTimerVisitor checkVisitor = new NxtUsedTimerVisitor();
         for ( ArrayList<Phrase<Void>> phrases : phrasesSet ) {
             for ( Phrase<Void> phrase : phrases ) {
-                phrase.visit(checkVisitor);
+                phrase.visit(this);
             }
         }
-        return checkVisitor.isUsed();
     }
 
-    public boolean isUsed() {
-        return this.isUsed;
+    public boolean isTimerSensorUsed() {
+        return this.timerSensorUsed;
+    }
+
+    public boolean isVolumeUsed() {
+        return this.volumeUsed;
+    }
+
+    @Override
+    public Void visitVolumeAction(VolumeAction<Void> volumeAction) {
+        this.volumeUsed = true;
+        return super.visitVolumeAction(volumeAction);
+    }
+
+    @Override
+    public Void visitToneAction(ToneAction<Void> toneAction) {
+        this.volumeUsed = true;
+        return super.visitToneAction(toneAction);
     }
 
     @Override
     public Void visitTimerSensor(TimerSensor<Void> timerSensor) {
-        this.isUsed = true;
+        this.timerSensorUsed = true;
         return null;
     }
 
@@ -82,13 +102,11 @@ public class NxtUsedTimerVisitor extends CheckVisitor implements NxtAstVisitor<V
 
     @Override
     public Void visitLightSensorAction(LightSensorAction<Void> lightSensorAction) {
-        // TODO Auto-generated method stub
         return null;
     }
 
     @Override
     public Void visitMotorGetPowerAction(MotorGetPowerAction<Void> motorGetPowerAction) {
-        // TODO Auto-generated method stub
         return null;
     }
 
@@ -97,7 +115,6 @@ public class NxtUsedTimerVisitor extends CheckVisitor implements NxtAstVisitor<V
         final boolean isDuration = motorOnAction.getParam().getDuration() != null;
         if ( isDuration ) {
             motorOnAction.getDurationValue().visit(this);
-            motorOnAction.getParam().getDuration().getValue().visit(this);
         }
         motorOnAction.getParam().getSpeed().visit(this);
         return null;
@@ -111,85 +128,77 @@ public class NxtUsedTimerVisitor extends CheckVisitor implements NxtAstVisitor<V
 
     @Override
     public Void visitMotorStopAction(MotorStopAction<Void> motorStopAction) {
-        // TODO Auto-generated method stub
         return null;
     }
 
     @Override
     public Void visitMotorDriveStopAction(MotorDriveStopAction<Void> stopAction) {
-        // TODO Auto-generated method stub
         return null;
     }
 
     @Override
     public Void visitColorSensor(ColorSensor<Void> colorSensor) {
-        // TODO Auto-generated method stub
         return null;
     }
 
     @Override
     public Void visitLightSensor(LightSensor<Void> lightSensor) {
-        // TODO Auto-generated method stub
         return null;
     }
 
     @Override
     public Void visitSoundSensor(SoundSensor<Void> soundSensor) {
-        // TODO Auto-generated method stub
         return null;
     }
 
     @Override
     public Void visitEncoderSensor(EncoderSensor<Void> encoderSensor) {
-        // TODO Auto-generated method stub
         return null;
     }
 
     @Override
     public Void visitGyroSensor(GyroSensor<Void> gyroSensor) {
-        // TODO Auto-generated method stub
         return null;
     }
 
     @Override
     public Void visitInfraredSensor(InfraredSensor<Void> infraredSensor) {
-        // TODO Auto-generated method stub
         return null;
     }
 
     @Override
     public Void visitTouchSensor(TouchSensor<Void> touchSensor) {
-        // TODO Auto-generated method stub
         return null;
     }
 
     @Override
     public Void visitUltrasonicSensor(UltrasonicSensor<Void> ultrasonicSensor) {
-        // TODO Auto-generated method stub
         return null;
     }
 
     @Override
-    public Void visitCurveAction(CurveAction<Void> driveAction) {
-        // TODO Auto-generated method stub
+    public Void visitCurveAction(CurveAction<Void> curveAction) {
+        curveAction.getParamLeft().getSpeed().visit(this);
+        curveAction.getParamRight().getSpeed().visit(this);
+        if ( curveAction.getParamLeft().getDuration() != null ) {
+            curveAction.getParamLeft().getDuration().getValue().visit(this);
+        }
         return null;
     }
 
     @Override
     public Void visitCompassSensor(CompassSensor<Void> compassSensor) {
-        // TODO Auto-generated method stub
         return null;
     }
 
     @Override
     public Void visitConnectConst(ConnectConst<Void> connectConst) {
-        // TODO Auto-generated method stub
         return null;
     }
 
     @Override
     public Void visitBluetoothCheckConnectAction(BluetoothCheckConnectAction<Void> bluetoothCheckConnectAction) {
-        // TODO Auto-generated method stub
+        bluetoothCheckConnectAction.getConnection().visit(this);
         return null;
     }
 
@@ -200,8 +209,6 @@ public class NxtUsedTimerVisitor extends CheckVisitor implements NxtAstVisitor<V
 
     @Override
     public Void visitVoltageSensor(VoltageSensor<Void> voltageSensor) {
-        // TODO Auto-generated method stub
         return null;
     }
-
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package de.fhg.iais.roberta.syntax.codegen;
 
+import java.util.ArrayList;
+
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
@@ -14,6 +16,8 @@ import de.fhg.iais.roberta.mode.action.DriveDirection;
 import de.fhg.iais.roberta.mode.action.MotorSide;
 import de.fhg.iais.roberta.mode.action.nxt.ActorPort;
 import de.fhg.iais.roberta.mode.sensor.nxt.SensorPort;
+import de.fhg.iais.roberta.syntax.Phrase;
+import de.fhg.iais.roberta.syntax.hardwarecheck.nxt.UsedHardwareVisitor;
 import de.fhg.iais.roberta.testutil.Helper;
 
 public class Ast2NxcVisitorTest {
@@ -483,6 +487,7 @@ public class Ast2NxcVisitorTest {
             + "}}";
 
         assertCodeIsOk(a, "/syntax/stmt/no_loops.xml");
+        assertLoopsAreLabeled("{}", "/syntax/stmt/no_loops.xml");
     }
 
     @Test
@@ -504,6 +509,7 @@ public class Ast2NxcVisitorTest {
             + "}"
             + "}";
         assertCodeIsOk(a, "/syntax/stmt/nested_loops.xml");
+        assertLoopsAreLabeled("{1=false, 2=false}", "/syntax/stmt/nested_loops.xml");
     }
 
     @Test
@@ -558,6 +564,7 @@ public class Ast2NxcVisitorTest {
             + "}"
             + "}";
         assertCodeIsOk(a, "/syntax/stmt/loops_with_break_and_continue.xml");
+        assertLoopsAreLabeled("{1=false, 2=false, 3=false, 4=false, 5=false}", "/syntax/stmt/loops_with_break_and_continue.xml");
     }
 
     @Test
@@ -582,6 +589,7 @@ public class Ast2NxcVisitorTest {
             + "break_loop1:"
             + "}";
         assertCodeIsOk(a, "/syntax/stmt/loop_with_break_and_continue_inside_wait.xml");
+        assertLoopsAreLabeled("{1=true}", "/syntax/stmt/loop_with_break_and_continue_inside_wait.xml");
     }
 
     @Test
@@ -612,6 +620,7 @@ public class Ast2NxcVisitorTest {
             + "}";
 
         assertCodeIsOk(a, "/syntax/stmt/two_loop_with_break_and_continue_one_inside_wait_another_not.xml");
+        assertLoopsAreLabeled("{1=true, 2=false}", "/syntax/stmt/two_loop_with_break_and_continue_one_inside_wait_another_not.xml");
     }
 
     @Test
@@ -641,6 +650,7 @@ public class Ast2NxcVisitorTest {
             + "break_loop1:"
             + "}";
         assertCodeIsOk(a, "/syntax/stmt/two_nested_loops_first_with_break_in_wait_second_not.xml");
+        assertLoopsAreLabeled("{1=true, 2=false}", "/syntax/stmt/two_nested_loops_first_with_break_in_wait_second_not.xml");
     }
 
     @Test
@@ -676,6 +686,7 @@ public class Ast2NxcVisitorTest {
             + "}";
 
         assertCodeIsOk(a, "/syntax/stmt/loop_with_nested_two_loops_inside_wait.xml");
+        assertLoopsAreLabeled("{1=true, 2=false, 3=false}", "/syntax/stmt/loop_with_nested_two_loops_inside_wait.xml");
     }
 
     @Test
@@ -720,6 +731,7 @@ public class Ast2NxcVisitorTest {
             + "break_loop1:"
             + "}";
         assertCodeIsOk(a, "/syntax/stmt/loop_with_nested_two_loops_inside_wait_second_contain_wait.xml");
+        assertLoopsAreLabeled("{1=true, 2=false, 3=true}", "/syntax/stmt/loop_with_nested_two_loops_inside_wait_second_contain_wait.xml");
     }
 
     @Test
@@ -784,6 +796,7 @@ public class Ast2NxcVisitorTest {
             + "break_loop5:"
             + "}";
         assertCodeIsOk(a, "/syntax/stmt/three_loops_with_nested_two_loops_inside_wait_second_contain_wait.xml");
+        assertLoopsAreLabeled("{1=true, 2=false, 3=true, 4=false, 5=true}", "/syntax/stmt/three_loops_with_nested_two_loops_inside_wait_second_contain_wait.xml");
     }
 
     private void assertCodeIsOk(String a, String fileName) throws Exception {
@@ -792,4 +805,9 @@ public class Ast2NxcVisitorTest {
         System.out.println(Helper.generateString(fileName, brickConfiguration).replaceAll("\\s+", ""));
         Assert.assertEquals(a.replaceAll("\\s+", ""), Helper.generateString(fileName, brickConfiguration).replaceAll("\\s+", ""));
     }
+
+    private void assertLoopsAreLabeled(String labels, String fileName) throws Exception {
+        ArrayList<ArrayList<Phrase<Void>>> phrases = Helper.generateASTs(fileName);
+        Assert.assertEquals(labels, new UsedHardwareVisitor(phrases).getloopsLabelContainer().toString());
+    }
 }